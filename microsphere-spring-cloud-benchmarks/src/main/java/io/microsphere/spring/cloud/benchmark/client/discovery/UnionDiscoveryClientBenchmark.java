@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.client.discovery;
+
+import io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * The JMH benchmark of {@link UnionDiscoveryClient#getInstances(String)} across N stub {@link DiscoveryClient}s.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar UnionDiscoveryClientBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see UnionDiscoveryClient
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnionDiscoveryClientBenchmark {
+
+    static final String SERVICE_ID = "test-service";
+
+    @Param({"1", "4", "16"})
+    private int clients;
+
+    @Param({"10"})
+    private int instancesPerClient;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    @Param({"false", "true"})
+    private boolean parallelEnabled;
+
+    private GenericApplicationContext context;
+
+    private UnionDiscoveryClient unionDiscoveryClient;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.context = new GenericApplicationContext();
+        Map<String, Object> properties = newHashMap();
+        properties.put(UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME, this.cacheEnabled);
+        properties.put(UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME, this.parallelEnabled);
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        for (int i = 0; i < this.clients; i++) {
+            StubDiscoveryClient discoveryClient = new StubDiscoveryClient("stub-" + i, this.instancesPerClient);
+            this.context.registerBean(discoveryClient.description(), DiscoveryClient.class, () -> discoveryClient);
+        }
+        this.context.registerBean(UnionDiscoveryClient.class);
+        this.context.refresh();
+        this.unionDiscoveryClient = this.context.getBean(UnionDiscoveryClient.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public List<ServiceInstance> getInstances() {
+        return this.unionDiscoveryClient.getInstances(SERVICE_ID);
+    }
+
+    @Benchmark
+    public List<String> getServices() {
+        return this.unionDiscoveryClient.getServices();
+    }
+
+    /**
+     * The stub {@link DiscoveryClient} returns the fixed {@link ServiceInstance service instances}
+     */
+    static class StubDiscoveryClient implements DiscoveryClient {
+
+        private final String name;
+
+        private final List<ServiceInstance> serviceInstances;
+
+        private final List<String> services;
+
+        StubDiscoveryClient(String name, int instances) {
+            this.name = name;
+            List<ServiceInstance> serviceInstances = newArrayList(instances);
+            for (int i = 0; i < instances; i++) {
+                serviceInstances.add(new DefaultServiceInstance(name + "-" + i, SERVICE_ID, "127.0.0." + (i + 1),
+                        8080, false));
+            }
+            this.serviceInstances = unmodifiableList(serviceInstances);
+            this.services = ofList(SERVICE_ID, name);
+        }
+
+        @Override
+        public String description() {
+            return this.name;
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return this.serviceInstances;
+        }
+
+        @Override
+        public List<String> getServices() {
+            return this.services;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.client.service.util;
+
+import io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils;
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.constants.SeparatorConstants.LINE_SEPARATOR;
+import static io.microsphere.constants.SymbolConstants.COMMA;
+import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
+import static io.microsphere.constants.SymbolConstants.RIGHT_SQUARE_BRACKET;
+import static io.microsphere.net.URLUtils.encode;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.attachMetadata;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.servlet;
+import static io.microsphere.util.StringUtils.EMPTY_STRING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The JMH benchmark of {@link ServiceInstanceUtils#attachMetadata(String, ServiceInstance, Collection)} writing the
+ * URL-encoded JSON of the {@link WebEndpointMapping}s in a single pass, compared with the former path joining the
+ * JSON by {@link StringJoiner}, removing the line separators and then encoding the whole JSON.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar AttachMetadataBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstanceUtils
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttachMetadataBenchmark {
+
+    @Param({"1000", "10000"})
+    private int mappings;
+
+    private List<WebEndpointMapping> webEndpointMappings;
+
+    private ServiceInstance serviceInstance;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.webEndpointMappings = newArrayList(this.mappings);
+        for (int i = 0; i < this.mappings; i++) {
+            this.webEndpointMappings.add(servlet()
+                    .endpoint("endpoint-" + i)
+                    .method(i % 2 == 0 ? "GET" : "POST")
+                    .pattern("/api/v1/resources-" + i + "/{id}")
+                    .build());
+        }
+        this.serviceInstance = new DefaultServiceInstance("instance-1", "test-service", "127.0.0.1", 8080,
+                false, newHashMap());
+    }
+
+    @Benchmark
+    public ServiceInstance singlePass() {
+        attachMetadata("/", this.serviceInstance, this.webEndpointMappings);
+        return this.serviceInstance;
+    }
+
+    @Benchmark
+    public String joinReplaceAndEncode() {
+        StringJoiner jsonBuilder = new StringJoiner(COMMA + LINE_SEPARATOR, LEFT_SQUARE_BRACKET, RIGHT_SQUARE_BRACKET);
+        this.webEndpointMappings.stream().map(WebEndpointMapping::toJSON).forEach(jsonBuilder::add);
+        String json = jsonBuilder.toString();
+        json = json.replace(LINE_SEPARATOR, EMPTY_STRING);
+        return encode(json);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.client.service.util;
+
+import io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils;
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.attachMetadata;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getWebEndpointMappings;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.servlet;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * The JMH benchmark of {@link ServiceInstanceUtils#getWebEndpointMappings(ServiceInstance)} parsing the metadata
+ * attached by {@link ServiceInstanceUtils#attachMetadata(String, ServiceInstance, Collection, boolean)} in the JSON
+ * or the compact format.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar ServiceInstanceUtilsBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstanceUtils
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceInstanceUtilsBenchmark {
+
+    @Param({"1", "16", "128"})
+    private int mappings;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private ServiceInstance serviceInstance;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<WebEndpointMapping> webEndpointMappings = newArrayList(this.mappings);
+        for (int i = 0; i < this.mappings; i++) {
+            webEndpointMappings.add(servlet()
+                    .endpoint("endpoint-" + i)
+                    .method(i % 2 == 0 ? "GET" : "POST")
+                    .pattern("/api/v1/resources-" + i + "/{id}")
+                    .build());
+        }
+        this.serviceInstance = new DefaultServiceInstance("instance-1", "test-service", "127.0.0.1", 8080,
+                false, newHashMap());
+        attachMetadata("/", this.serviceInstance, webEndpointMappings, this.compact);
+    }
+
+    @Benchmark
+    public Collection<WebEndpointMapping> getWebEndpointMappingsFromMetadata() {
+        return getWebEndpointMappings(this.serviceInstance);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.fault.tolerance.loadbalancer;
+
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStats;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.PowerOfTwoChoicesLoadBalancer;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobin;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers.toProvider;
+
+/**
+ * The JMH benchmark of the {@link WeightedRoundRobin} selection under contention, the Power-of-Two-Choices selection
+ * is measured as the baseline.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar WeightedRoundRobinBenchmark -t 8
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WeightedRoundRobin
+ * @see WeightedRoundRobinLoadBalancer
+ * @see PowerOfTwoChoicesLoadBalancer
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class WeightedRoundRobinBenchmark {
+
+    static final String SERVICE_ID = "test-service";
+
+    @Param({"3", "16", "64"})
+    private int instances;
+
+    private List<ServiceInstance> serviceInstances;
+
+    private WeightedRoundRobin weightedRoundRobin;
+
+    private WeightedRoundRobinLoadBalancer weightedRoundRobinLoadBalancer;
+
+    private WeightedRoundRobinLoadBalancer adaptiveWeightedRoundRobinLoadBalancer;
+
+    private PowerOfTwoChoicesLoadBalancer powerOfTwoChoicesLoadBalancer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.serviceInstances = newArrayList(this.instances);
+        for (int i = 0; i < this.instances; i++) {
+            Map<String, String> metadata = newHashMap();
+            metadata.put(WEIGHT_PROPERTY_NAME, String.valueOf(100 * (i % 3 + 1)));
+            this.serviceInstances.add(new DefaultServiceInstance("instance-" + i, SERVICE_ID, "127.0.0." + (i + 1),
+                    8080, false, metadata));
+        }
+        ServiceInstance[] array = this.serviceInstances.toArray(new ServiceInstance[0]);
+        this.weightedRoundRobin = new WeightedRoundRobin("instance-0");
+        this.weightedRoundRobin.setWeight(100);
+        this.weightedRoundRobinLoadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID, array));
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        this.adaptiveWeightedRoundRobinLoadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID,
+                toProvider(SERVICE_ID, array), loadBalancerStats);
+        this.powerOfTwoChoicesLoadBalancer = new PowerOfTwoChoicesLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID, array),
+                loadBalancerStats, 0L);
+    }
+
+    @Benchmark
+    public long increaseCurrentAndSel() {
+        long current = this.weightedRoundRobin.increaseCurrent();
+        this.weightedRoundRobin.sel(100);
+        return current;
+    }
+
+    @Benchmark
+    public ServiceInstance selectWeightedRoundRobin() {
+        return this.weightedRoundRobinLoadBalancer.select(this.serviceInstances);
+    }
+
+    @Benchmark
+    public ServiceInstance selectAdaptiveWeightedRoundRobin() {
+        return this.adaptiveWeightedRoundRobinLoadBalancer.select(this.serviceInstances);
+    }
+
+    @Benchmark
+    public ServiceInstance selectPowerOfTwoChoices() {
+        return this.powerOfTwoChoicesLoadBalancer.select(this.serviceInstances);
+    }
+}
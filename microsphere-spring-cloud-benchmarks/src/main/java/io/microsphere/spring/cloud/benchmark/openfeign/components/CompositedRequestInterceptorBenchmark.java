@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.openfeign.components;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import io.microsphere.spring.cloud.openfeign.components.CompositedRequestInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The JMH benchmark of {@link CompositedRequestInterceptor#apply(RequestTemplate)} with N
+ * {@link RequestInterceptor}s and the default headers and query parameters.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar CompositedRequestInterceptorBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CompositedRequestInterceptor
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CompositedRequestInterceptorBenchmark {
+
+    static final String CONTEXT_ID = "test-context";
+
+    @Param({"1", "4", "16"})
+    private int interceptors;
+
+    private GenericApplicationContext context;
+
+    private CompositedRequestInterceptor compositedRequestInterceptor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FeignClientProperties feignClientProperties = new FeignClientProperties();
+        FeignClientConfiguration configuration = new FeignClientConfiguration();
+        Map<String, Collection<String>> headers = newHashMap();
+        headers.put("X-Benchmark", ofList("true"));
+        configuration.setDefaultRequestHeaders(headers);
+        Map<String, Collection<String>> queries = newHashMap();
+        queries.put("benchmark", ofList("true"));
+        configuration.setDefaultQueryParameters(queries);
+        Map<String, FeignClientConfiguration> config = feignClientProperties.getConfig();
+        config.put(CONTEXT_ID, configuration);
+        config.put(feignClientProperties.getDefaultConfig(), new FeignClientConfiguration());
+
+        this.context = new GenericApplicationContext();
+        this.context.setId(CONTEXT_ID);
+        this.context.registerBean(FeignClientProperties.class, () -> feignClientProperties);
+        this.context.refresh();
+
+        this.compositedRequestInterceptor = new CompositedRequestInterceptor(CONTEXT_ID, this.context);
+        this.compositedRequestInterceptor.refresh();
+        for (int i = 0; i < this.interceptors; i++) {
+            String name = "X-Interceptor-" + i;
+            this.compositedRequestInterceptor.addRequestInterceptor(template -> template.header(name, "value"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public RequestTemplate apply() {
+        RequestTemplate template = new RequestTemplate();
+        this.compositedRequestInterceptor.apply(template);
+        return template;
+    }
+}
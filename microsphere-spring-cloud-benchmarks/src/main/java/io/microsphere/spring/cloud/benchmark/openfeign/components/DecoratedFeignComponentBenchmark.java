@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.benchmark.openfeign.components;
+
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedEncoder;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedFeignComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.openfeign.FeignClientFactory;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The JMH benchmark of the {@link DecoratedFeignComponent#delegate()} indirection, the direct invocation on the
+ * original component is measured as the baseline.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * java -jar microsphere-spring-cloud-benchmarks/target/benchmarks.jar DecoratedFeignComponentBenchmark
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DecoratedFeignComponent
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class DecoratedFeignComponentBenchmark {
+
+    static final String BODY = "benchmark";
+
+    private Encoder encoder;
+
+    private DecoratedEncoder decoratedEncoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.encoder = new Encoder.Default();
+        this.decoratedEncoder = new DecoratedEncoder("test-context", new FeignClientFactory(),
+                new FeignClientProperties(), this.encoder);
+    }
+
+    @Benchmark
+    public Encoder delegate() {
+        return this.decoratedEncoder.delegate();
+    }
+
+    @Benchmark
+    public RequestTemplate encodeDirectly() {
+        RequestTemplate template = new RequestTemplate();
+        this.encoder.encode(BODY, String.class, template);
+        return template;
+    }
+
+    @Benchmark
+    public RequestTemplate encodeByDecorated() {
+        RequestTemplate template = new RequestTemplate();
+        this.decoratedEncoder.encode(BODY, String.class, template);
+        return template;
+    }
+}
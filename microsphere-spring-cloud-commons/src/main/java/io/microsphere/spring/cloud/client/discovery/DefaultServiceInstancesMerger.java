@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
+import static io.microsphere.constants.SymbolConstants.COLON_CHAR;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.util.Locale.ENGLISH;
+
+/**
+ * The default {@link ServiceInstancesMerger} identifies the {@link ServiceInstance service instances} by the
+ * {@link Identity} and merges the metadata of the duplicated ones by the {@link MetadataStrategy}.
+ * <p>
+ * The merging runs in linear time over the combined list, the first occurrence keeps its position, and the original
+ * list will be returned as it is if no duplicate is found. The merged instance keeps the first occurrence, including
+ * its type and {@link ServiceInstance#getScheme() scheme}, and only overlays its metadata.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * ServiceInstancesMerger merger = new DefaultServiceInstancesMerger(Identity.HOST_PORT, MetadataStrategy.MERGE);
+ * List<ServiceInstance> merged = merger.merge(serviceInstances);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstancesMerger
+ * @since 1.0.0
+ */
+public class DefaultServiceInstancesMerger implements ServiceInstancesMerger {
+
+    private final Identity identity;
+
+    private final MetadataStrategy metadataStrategy;
+
+    /**
+     * Creates a new {@link DefaultServiceInstancesMerger} with {@link Identity#HOST_PORT} and
+     * {@link MetadataStrategy#FIRST}, the same instance registered into different registries is merged even if each
+     * registry assigns its own instance id.
+     */
+    public DefaultServiceInstancesMerger() {
+        this(Identity.HOST_PORT, MetadataStrategy.FIRST);
+    }
+
+    /**
+     * Creates a new {@link DefaultServiceInstancesMerger}
+     *
+     * @param identity         the {@link Identity}
+     * @param metadataStrategy the {@link MetadataStrategy}
+     */
+    public DefaultServiceInstancesMerger(Identity identity, MetadataStrategy metadataStrategy) {
+        assertNotNull(identity, () -> "The 'identity' must not be null!");
+        assertNotNull(metadataStrategy, () -> "The 'metadataStrategy' must not be null!");
+        this.identity = identity;
+        this.metadataStrategy = metadataStrategy;
+    }
+
+    @Override
+    public List<ServiceInstance> merge(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        if (size < 2) {
+            return serviceInstances;
+        }
+        Map<String, ServiceInstance> index = newLinkedHashMap(size);
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            String key = this.identity.key(serviceInstance);
+            ServiceInstance existing = index.putIfAbsent(key, serviceInstance);
+            if (existing != null && this.metadataStrategy != MetadataStrategy.FIRST) {
+                index.put(key, this.metadataStrategy.merge(existing, serviceInstance));
+            }
+        }
+        return index.size() == size ? serviceInstances : newArrayList(index.values());
+    }
+
+    /**
+     * Returns the {@link Identity}
+     *
+     * @return the {@link Identity}
+     */
+    public Identity getIdentity() {
+        return this.identity;
+    }
+
+    /**
+     * Returns the {@link MetadataStrategy}
+     *
+     * @return the {@link MetadataStrategy}
+     */
+    public MetadataStrategy getMetadataStrategy() {
+        return this.metadataStrategy;
+    }
+
+    /**
+     * The identity of {@link ServiceInstance}
+     */
+    public enum Identity {
+
+        /**
+         * Identified by {@link ServiceInstance#getInstanceId()}, or "scheme://host:port" if the instance id is absent
+         */
+        INSTANCE_ID {
+            @Override
+            String key(ServiceInstance serviceInstance) {
+                String instanceId = serviceInstance.getInstanceId();
+                return isBlank(instanceId) ? HOST_PORT.key(serviceInstance) : instanceId;
+            }
+        },
+
+        /**
+         * Identified by "scheme://host:port", the scheme is resolved by {@link ServiceInstance#isSecure()} if
+         * {@link ServiceInstance#getScheme()} is absent
+         */
+        HOST_PORT {
+            @Override
+            String key(ServiceInstance serviceInstance) {
+                return scheme(serviceInstance) + "://" + serviceInstance.getHost() + COLON_CHAR + serviceInstance.getPort();
+            }
+        };
+
+        abstract String key(ServiceInstance serviceInstance);
+
+        /**
+         * Resolves the {@link Identity} from the property value, e.g, "instance-id" or "host-port"
+         *
+         * @param value the property value
+         * @return non-null
+         * @throws IllegalArgumentException if the value is unknown
+         */
+        public static Identity parse(String value) {
+            return valueOf(normalize(value));
+        }
+    }
+
+    /**
+     * The strategy to merge the metadata of the duplicated {@link ServiceInstance service instances}
+     */
+    public enum MetadataStrategy {
+
+        /**
+         * The first occurrence is kept as it is
+         */
+        FIRST,
+
+        /**
+         * The first occurrence wins the conflicting metadata, and the absent ones are added from the others
+         */
+        MERGE,
+
+        /**
+         * The latter occurrence overrides the conflicting metadata
+         */
+        OVERRIDE;
+
+        ServiceInstance merge(ServiceInstance existing, ServiceInstance duplicate) {
+            Map<String, String> existingMetadata = existing.getMetadata();
+            Map<String, String> duplicateMetadata = duplicate.getMetadata();
+            if (duplicateMetadata == null || duplicateMetadata.isEmpty()) {
+                return existing;
+            }
+            Map<String, String> metadata = newLinkedHashMap(existingMetadata == null ? duplicateMetadata.size() :
+                    existingMetadata.size() + duplicateMetadata.size());
+            if (existingMetadata != null) {
+                metadata.putAll(existingMetadata);
+            }
+            if (this == OVERRIDE) {
+                metadata.putAll(duplicateMetadata);
+            } else {
+                duplicateMetadata.forEach(metadata::putIfAbsent);
+            }
+            if (metadata.equals(existingMetadata)) {
+                return existing;
+            }
+            return new MergedServiceInstance(existing, metadata);
+        }
+
+        /**
+         * Resolves the {@link MetadataStrategy} from the property value, e.g, "first", "merge" or "override"
+         *
+         * @param value the property value
+         * @return non-null
+         * @throws IllegalArgumentException if the value is unknown
+         */
+        public static MetadataStrategy parse(String value) {
+            return valueOf(normalize(value));
+        }
+    }
+
+    static String normalize(String value) {
+        return value.trim().replace('-', '_').toUpperCase(ENGLISH);
+    }
+
+    static String scheme(ServiceInstance serviceInstance) {
+        String scheme = serviceInstance.getScheme();
+        if (isBlank(scheme)) {
+            return serviceInstance.isSecure() ? "https" : "http";
+        }
+        return scheme.toLowerCase(ENGLISH);
+    }
+
+    /**
+     * The first occurrence of the duplicated {@link ServiceInstance service instances} with the merged metadata,
+     * all other properties are delegated to it.
+     */
+    static final class MergedServiceInstance implements ServiceInstance {
+
+        private final ServiceInstance delegate;
+
+        private final Map<String, String> metadata;
+
+        MergedServiceInstance(ServiceInstance delegate, Map<String, String> metadata) {
+            // unwraps the merged one to avoid the nesting
+            this.delegate = delegate instanceof MergedServiceInstance ? ((MergedServiceInstance) delegate).delegate : delegate;
+            this.metadata = metadata;
+        }
+
+        /**
+         * Get the first occurrence of the {@link ServiceInstance}
+         *
+         * @return the first occurrence of the {@link ServiceInstance}
+         */
+        ServiceInstance getDelegate() {
+            return this.delegate;
+        }
+
+        @Override
+        public String getInstanceId() {
+            return this.delegate.getInstanceId();
+        }
+
+        @Override
+        public String getServiceId() {
+            return this.delegate.getServiceId();
+        }
+
+        @Override
+        public String getHost() {
+            return this.delegate.getHost();
+        }
+
+        @Override
+        public int getPort() {
+            return this.delegate.getPort();
+        }
+
+        @Override
+        public boolean isSecure() {
+            return this.delegate.isSecure();
+        }
+
+        @Override
+        public URI getUri() {
+            return this.delegate.getUri();
+        }
+
+        @Override
+        public Map<String, String> getMetadata() {
+            return this.metadata;
+        }
+
+        @Override
+        public String getScheme() {
+            return this.delegate.getScheme();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MergedServiceInstance)) {
+                return false;
+            }
+            MergedServiceInstance that = (MergedServiceInstance) o;
+            return this.delegate.equals(that.delegate) && this.metadata.equals(that.metadata);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.delegate.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", MergedServiceInstance.class.getSimpleName() + "[", "]")
+                    .add("delegate=" + delegate)
+                    .add("metadata=" + metadata)
+                    .toString();
+        }
+    }
+}
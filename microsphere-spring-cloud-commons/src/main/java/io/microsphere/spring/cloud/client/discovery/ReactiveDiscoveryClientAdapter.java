@@ -17,28 +17,75 @@
 
 package io.microsphere.spring.cloud.client.discovery;
 
+import io.microsphere.logging.Logger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
 import static io.microsphere.lang.function.ThrowableSupplier.execute;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT;
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Flux.interval;
+import static reactor.core.publisher.Mono.empty;
 import static reactor.core.scheduler.Schedulers.isInNonBlockingThread;
 
 /**
  * An adapter {@link DiscoveryClient} class based on {@link ReactiveDiscoveryClient}
+ * <p>
+ * If the local view is enabled by {@link #ReactiveDiscoveryClientAdapter(ReactiveDiscoveryClient, Duration, Duration)},
+ * the results of the looked-up serviceIds and services are kept in memory and continuously refreshed by the
+ * subscription to the {@link ReactiveDiscoveryClient} in the background, thus the blocking {@link #getInstances(String)}
+ * and {@link #getServices()} read the memory directly without any thread handoff or blocking. Only the miss falls back
+ * to a fetch that waits no longer than the given timeout, if it fails or times out, the empty result is returned
+ * without being kept, thus the next read retries the fetch rather than serving the empty one until the next refresh.
+ * <p>
+ * The local view is bounded, the serviceIds without the reads for the max idle time are neither refreshed nor kept,
+ * and then the least recently read ones are evicted if the serviceIds are still more than the max size.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @see DiscoveryClient
  * @since 1.0.0
  */
-public class ReactiveDiscoveryClientAdapter implements DiscoveryClient {
+public class ReactiveDiscoveryClientAdapter implements DiscoveryClient, DisposableBean {
+
+    private static final Logger logger = getLogger(ReactiveDiscoveryClientAdapter.class);
 
     private final ReactiveDiscoveryClient reactiveDiscoveryClient;
 
+    private final Duration refreshInterval;
+
+    private final Duration timeout;
+
+    private final int maxSize;
+
+    private final long maxIdle;
+
+    private final Map<String, View> instancesView;
+
+    private volatile List<String> servicesView;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile Disposable refresher;
+
     /**
      * Create a new {@link ReactiveDiscoveryClientAdapter} that wraps the given
      * {@link ReactiveDiscoveryClient} as a blocking {@link DiscoveryClient}.
@@ -53,7 +100,58 @@ public class ReactiveDiscoveryClientAdapter implements DiscoveryClient {
      * @param reactiveDiscoveryClient the {@link ReactiveDiscoveryClient} to adapt, must not be {@code null}
      */
     public ReactiveDiscoveryClientAdapter(ReactiveDiscoveryClient reactiveDiscoveryClient) {
+        this(reactiveDiscoveryClient, null, null);
+    }
+
+    /**
+     * Create a new {@link ReactiveDiscoveryClientAdapter} that wraps the given {@link ReactiveDiscoveryClient} as a
+     * blocking {@link DiscoveryClient} with the local view which is refreshed in the given interval.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ReactiveDiscoveryClient reactiveClient = new SimpleReactiveDiscoveryClient(properties);
+     * DiscoveryClient adapter = new ReactiveDiscoveryClientAdapter(reactiveClient, Duration.ofSeconds(30), Duration.ofSeconds(3));
+     * List<String> services = adapter.getServices();
+     * }</pre>
+     *
+     * @param reactiveDiscoveryClient the {@link ReactiveDiscoveryClient} to adapt, must not be {@code null}
+     * @param refreshInterval         the refresh interval of the local view, {@code null} to disable the local view
+     * @param timeout                 the max wait of the fetch on the cold miss or refresh, {@code null} means
+     *                                the default 3 seconds
+     */
+    public ReactiveDiscoveryClientAdapter(ReactiveDiscoveryClient reactiveDiscoveryClient, Duration refreshInterval,
+                                          Duration timeout) {
+        this(reactiveDiscoveryClient, refreshInterval, timeout, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE,
+                ofMillis(DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE));
+    }
+
+    /**
+     * Create a new {@link ReactiveDiscoveryClientAdapter} that wraps the given {@link ReactiveDiscoveryClient} as a
+     * blocking {@link DiscoveryClient} with the bounded local view which is refreshed in the given interval.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ReactiveDiscoveryClient reactiveClient = new SimpleReactiveDiscoveryClient(properties);
+     * DiscoveryClient adapter = new ReactiveDiscoveryClientAdapter(reactiveClient, Duration.ofSeconds(30),
+     *         Duration.ofSeconds(3), 1024, Duration.ofMinutes(10));
+     * List<ServiceInstance> serviceInstances = adapter.getInstances("test-service");
+     * }</pre>
+     *
+     * @param reactiveDiscoveryClient the {@link ReactiveDiscoveryClient} to adapt, must not be {@code null}
+     * @param refreshInterval         the refresh interval of the local view, {@code null} to disable the local view
+     * @param timeout                 the max wait of the fetch on the cold miss or refresh, {@code null} means
+     *                                the default 3 seconds
+     * @param maxSize                 the max number of the serviceIds kept in the local view
+     * @param maxIdle                 the max idle time of the serviceId without the reads in the local view
+     */
+    public ReactiveDiscoveryClientAdapter(ReactiveDiscoveryClient reactiveDiscoveryClient, Duration refreshInterval,
+                                          Duration timeout, int maxSize, Duration maxIdle) {
         this.reactiveDiscoveryClient = reactiveDiscoveryClient;
+        this.refreshInterval = refreshInterval;
+        this.timeout = timeout == null ? ofMillis(DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT) : timeout;
+        this.maxSize = maxSize;
+        this.maxIdle = maxIdle.toMillis();
+        this.instancesView = refreshInterval == null ? null : newConcurrentHashMap();
     }
 
     /**
@@ -85,8 +183,30 @@ public class ReactiveDiscoveryClientAdapter implements DiscoveryClient {
      */
     @Override
     public List<ServiceInstance> getInstances(String serviceId) {
-        Flux<ServiceInstance> flux = this.reactiveDiscoveryClient.getInstances(serviceId);
-        return toList(flux);
+        Map<String, View> instancesView = this.instancesView;
+        if (instancesView == null) {
+            Flux<ServiceInstance> flux = this.reactiveDiscoveryClient.getInstances(serviceId);
+            return toList(flux);
+        }
+        View view = instancesView.get(serviceId);
+        if (view == null) {
+            // cold miss, the failed fetch is not kept, thus the next read retries
+            List<ServiceInstance> serviceInstances = fetch(this.reactiveDiscoveryClient.getInstances(serviceId), serviceId);
+            if (serviceInstances == null) {
+                return emptyList();
+            }
+            view = new View(serviceInstances, currentTimeMillis());
+            View previous = instancesView.putIfAbsent(serviceId, view);
+            if (previous == null) {
+                evictViews();
+                startRefreshing();
+            } else {
+                view = previous;
+            }
+        } else {
+            view.lastAccessTime = currentTimeMillis();
+        }
+        return view.serviceInstances;
     }
 
     /**
@@ -102,8 +222,21 @@ public class ReactiveDiscoveryClientAdapter implements DiscoveryClient {
      */
     @Override
     public List<String> getServices() {
-        Flux<String> flux = this.reactiveDiscoveryClient.getServices();
-        return toList(flux);
+        if (this.instancesView == null) {
+            Flux<String> flux = this.reactiveDiscoveryClient.getServices();
+            return toList(flux);
+        }
+        List<String> services = this.servicesView;
+        if (services == null) {
+            // cold miss, the failed fetch is not kept, thus the next read retries
+            services = fetch(this.reactiveDiscoveryClient.getServices(), "services");
+            if (services == null) {
+                return emptyList();
+            }
+            this.servicesView = services;
+            startRefreshing();
+        }
+        return services;
     }
 
     /**
@@ -135,11 +268,147 @@ public class ReactiveDiscoveryClientAdapter implements DiscoveryClient {
         return this.reactiveDiscoveryClient.getOrder();
     }
 
+    /**
+     * Whether the local view is enabled or not.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * boolean localViewEnabled = adapter.isLocalViewEnabled();
+     * }</pre>
+     *
+     * @return {@code true} if enabled, otherwise {@code false}
+     */
+    public boolean isLocalViewEnabled() {
+        return this.instancesView != null;
+    }
+
+    /**
+     * Returns the number of the serviceIds kept in the local view.
+     *
+     * @return zero if the local view is disabled
+     */
+    int getLocalViewSize() {
+        return this.instancesView == null ? 0 : this.instancesView.size();
+    }
+
+    /**
+     * Stops the refreshing of the local view when this bean is destroyed.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * // Automatically called by the Spring container on shutdown
+     * adapter.destroy();
+     * }</pre>
+     */
+    @Override
+    public void destroy() {
+        Disposable refresher = this.refresher;
+        if (refresher != null) {
+            refresher.dispose();
+        }
+        if (this.instancesView != null) {
+            this.instancesView.clear();
+        }
+        this.servicesView = null;
+    }
+
+    private void startRefreshing() {
+        if (this.refreshing.compareAndSet(false, true)) {
+            this.refresher = interval(this.refreshInterval, this.refreshInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> refresh())
+                    .subscribe();
+        }
+    }
+
+    Mono<Void> refresh() {
+        evictViews();
+        Mono<Void> services = this.servicesView == null ? empty() :
+                refresh(this.reactiveDiscoveryClient.getServices(), "services")
+                        .doOnNext(servicesView -> this.servicesView = servicesView)
+                        .then();
+        Mono<Void> instances = fromIterable(this.instancesView.keySet())
+                .flatMap(serviceId -> refresh(this.reactiveDiscoveryClient.getInstances(serviceId), serviceId)
+                        // the evicted serviceId is not brought back
+                        .doOnNext(serviceInstances -> this.instancesView.computeIfPresent(serviceId,
+                                (id, view) -> new View(serviceInstances, view.lastAccessTime))))
+                .then();
+        return services.then(instances);
+    }
+
+    private <T> Mono<List<T>> refresh(Flux<T> flux, String name) {
+        return collect(flux, this.timeout)
+                .onErrorResume(e -> {
+                    logger.warn("The local view['{}'] of ReactiveDiscoveryClient['{}'] can't be refreshed, the stale one will be used",
+                            name, description(), e);
+                    return empty();
+                });
+    }
+
+    /**
+     * Fetches the results on the cold miss of the local view.
+     *
+     * @param flux the {@link Flux} of the results
+     * @param name the name of the local view
+     * @param <T>  the type of the results
+     * @return <code>null</code> if the fetch fails or times out
+     */
+    private <T> List<T> fetch(Flux<T> flux, String name) {
+        try {
+            return toList(collect(flux, this.timeout));
+        } catch (Throwable e) {
+            logger.warn("The local view['{}'] of ReactiveDiscoveryClient['{}'] can't be fetched in {}, the empty one is returned and the next read will retry",
+                    name, description(), this.timeout, e);
+            return null;
+        }
+    }
+
+    /**
+     * Evicts the serviceIds without the reads for the max idle time, and then the least recently read ones if the
+     * serviceIds are still more than the max size.
+     */
+    void evictViews() {
+        long now = currentTimeMillis();
+        long maxIdle = this.maxIdle;
+        Map<String, View> instancesView = this.instancesView;
+        instancesView.values().removeIf(view -> now - view.lastAccessTime >= maxIdle);
+        int excess = instancesView.size() - this.maxSize;
+        if (excess > 0) {
+            instancesView.entrySet().stream()
+                    .sorted(comparingLong(entry -> entry.getValue().lastAccessTime))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .forEach(instancesView::remove);
+        }
+    }
+
+    private static <T> Mono<List<T>> collect(Flux<T> flux, Duration timeout) {
+        return flux.collectList().map(list -> unmodifiableList(list)).timeout(timeout);
+    }
+
     static <T> List<T> toList(Flux<T> flux) {
-        Mono<List<T>> mono = flux.collectList();
+        return toList(flux.collectList());
+    }
+
+    static <T> List<T> toList(Mono<List<T>> mono) {
         if (isInNonBlockingThread()) {
             return execute(() -> mono.toFuture().get());
         }
         return mono.block();
     }
+
+    /**
+     * The view of {@link ServiceInstance service instances} of the serviceId
+     */
+    static final class View {
+
+        final List<ServiceInstance> serviceInstances;
+
+        volatile long lastAccessTime;
+
+        View(List<ServiceInstance> serviceInstances, long lastAccessTime) {
+            this.serviceInstances = serviceInstances;
+            this.lastAccessTime = lastAccessTime;
+        }
+    }
 }
\ No newline at end of file
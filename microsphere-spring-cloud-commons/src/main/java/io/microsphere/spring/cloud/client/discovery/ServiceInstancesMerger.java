@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+
+/**
+ * The merger of the {@link ServiceInstance service instances} that were collected from the multiple
+ * {@link org.springframework.cloud.client.discovery.DiscoveryClient DiscoveryClients}, e.g, removing the duplicated
+ * instances which were registered into more than one registry.
+ * <p>
+ * If a bean of {@link ServiceInstancesMerger} is present in the Spring context, it will be used by
+ * {@link UnionDiscoveryClient}, otherwise {@link DefaultServiceInstancesMerger} will be used if the property
+ * {@code "microsphere.spring.cloud.client.discovery.union.merge.enabled"} is {@code true}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * @Bean
+ * public ServiceInstancesMerger serviceInstancesMerger() {
+ *     return new DefaultServiceInstancesMerger(Identity.HOST_PORT, MetadataStrategy.MERGE);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DefaultServiceInstancesMerger
+ * @see UnionDiscoveryClient
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ServiceInstancesMerger {
+
+    /**
+     * Merges the given {@link ServiceInstance service instances} of the same service.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * List<ServiceInstance> merged = serviceInstancesMerger.merge(serviceInstances);
+     * }</pre>
+     *
+     * @param serviceInstances the combined {@link ServiceInstance service instances}
+     * @return non-null merged {@link ServiceInstance service instances}
+     */
+    List<ServiceInstance> merge(List<ServiceInstance> serviceInstances);
+}
@@ -16,6 +16,9 @@
  */
 package io.microsphere.spring.cloud.client.discovery;
 
+import io.microsphere.logging.Logger;
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity;
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.SmartInitializingSingleton;
@@ -24,20 +27,94 @@ import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClient;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.env.Environment;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static io.microsphere.collection.CollectionUtils.isNotEmpty;
 import static io.microsphere.collection.ListUtils.newArrayList;
 import static io.microsphere.collection.ListUtils.newLinkedList;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
 import static io.microsphere.collection.SetUtils.newLinkedHashSet;
+import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.reflect.TypeUtils.getClassName;
 import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
 import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientConstants.COMPOSITE_DISCOVERY_CLIENT_CLASS_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_TTL_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_METADATA_STRATEGY_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_THREADS_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_VIRTUAL_THREADS_PROPERTY_NAME;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 
 /**
  * The {@link DiscoveryClient} implementation for a union of the given {@link DiscoveryClient}
+ * <p>
+ * If the property {@code "microsphere.spring.cloud.client.discovery.union.cache.enabled"} is {@code true},
+ * the merged {@link ServiceInstance service instances} will be kept as a per-serviceId snapshot whose time-to-live
+ * is specified by the property {@code "microsphere.spring.cloud.client.discovery.union.cache.ttl"}.
+ * An expired snapshot is still served while it's being revalidated in the background, thus the request path only
+ * blocks on the registries when the serviceId is looked up for the first time. The snapshots are bounded by the
+ * property {@code "microsphere.spring.cloud.client.discovery.union.cache.max-size"}, the snapshot without the reads
+ * for the time specified by the property {@code "microsphere.spring.cloud.client.discovery.union.cache.max-idle"}
+ * will be evicted, and then the least recently read ones if the snapshots are still more than the max size.
+ * <p>
+ * If the property {@code "microsphere.spring.cloud.client.discovery.union.parallel.enabled"} is {@code true},
+ * the underlying {@link DiscoveryClient DiscoveryClients} will be queried concurrently by a virtual thread per
+ * task if the JDK supports, or by a bounded thread pool failing fast when saturated, thus the latency of the lookup
+ * is nearly the slowest one rather than the sum of all registries. Each {@link DiscoveryClient} has to answer within
+ * the timeout specified by the property {@code "microsphere.spring.cloud.client.discovery.union.parallel.timeout"},
+ * otherwise its result will be skipped and the partial results from the others will be returned, the failed ones
+ * could be retrieved by {@link #getFailures()}. The timed-out call is cancelled by the interruption, and its
+ * {@link DiscoveryClient} will be skipped until that call finishes.
+ * If the snapshot cache is enabled, the partial results are cached for one second({@link #RETRY_TTL}) rather than
+ * the full time-to-live, and the revalidation keeps the stale snapshot rather than replacing it with the partial one.
+ * <p>
+ * The combined {@link ServiceInstance service instances} will be merged by the {@link ServiceInstancesMerger} bean
+ * if present, or by {@link DefaultServiceInstancesMerger} if the property
+ * {@code "microsphere.spring.cloud.client.discovery.union.merge.enabled"} is {@code true}, e.g, the instance
+ * registered into more than one registry will be returned only once.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -53,10 +130,48 @@ import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryCl
  */
 public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationContextAware, SmartInitializingSingleton, DisposableBean {
 
+    private static final Logger logger = getLogger(UnionDiscoveryClient.class);
+
+    /**
+     * The time-to-live in milliseconds of the snapshot whose latest load was partial, thus the failed or skipped
+     * {@link DiscoveryClient DiscoveryClients} will be retried soon rather than after the full time-to-live
+     */
+    static final long RETRY_TTL = 1000L;
+
+    private final Map<String, Snapshot> snapshots = newConcurrentHashMap();
+
     private ApplicationContext context;
 
     private List<DiscoveryClient> discoveryClients;
 
+    private boolean cacheEnabled;
+
+    private long cacheTtl = DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL;
+
+    private int cacheMaxSize = DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE;
+
+    private long cacheMaxIdle = DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE;
+
+    private int revalidationThreads = DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS;
+
+    private volatile ExecutorService revalidationExecutor;
+
+    private final Map<DiscoveryClient, Throwable> failures = newConcurrentHashMap();
+
+    private final Map<DiscoveryClient, AtomicInteger> unfinishedCalls = newConcurrentHashMap();
+
+    private boolean parallelEnabled;
+
+    private int parallelThreads = DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS;
+
+    private boolean virtualThreads = true;
+
+    private long parallelTimeout = DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT;
+
+    private volatile ExecutorService fanOutExecutor;
+
+    private ServiceInstancesMerger serviceInstancesMerger;
+
     /**
      * Returns a human-readable description of this {@link DiscoveryClient}.
      *
@@ -74,7 +189,8 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
 
     /**
      * Returns a merged list of {@link ServiceInstance} objects from all registered
-     * {@link DiscoveryClient} instances for the given service ID.
+     * {@link DiscoveryClient} instances for the given service ID. If the snapshot cache is
+     * {@link #isCacheEnabled() enabled}, the unmodifiable snapshot will be returned.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -86,15 +202,26 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
      */
     @Override
     public List<ServiceInstance> getInstances(String serviceId) {
-        List<ServiceInstance> serviceInstances = newLinkedList();
-        List<DiscoveryClient> discoveryClients = getDiscoveryClients();
-        for (DiscoveryClient discoveryClient : discoveryClients) {
-            List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
-            if (isNotEmpty(instances)) {
-                serviceInstances.addAll(instances);
+        if (!this.cacheEnabled) {
+            return doGetInstances(serviceId);
+        }
+        Snapshot snapshot = this.snapshots.get(serviceId);
+        if (snapshot == null) {
+            // cold miss, loads the service instances synchronously for the first time
+            snapshot = loadSnapshot(serviceId, currentTimeMillis());
+            Snapshot previous = this.snapshots.putIfAbsent(serviceId, snapshot);
+            if (previous == null) {
+                evictSnapshots();
+            } else {
+                snapshot = previous;
+            }
+        } else {
+            snapshot.lastAccessTime = currentTimeMillis();
+            if (snapshot.isExpired(this.cacheTtl)) {
+                revalidate(serviceId, snapshot);
             }
         }
-        return serviceInstances;
+        return snapshot.serviceInstances;
     }
 
     /**
@@ -111,16 +238,266 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
     @Override
     public List<String> getServices() {
         Set<String> services = newLinkedHashSet();
-        List<DiscoveryClient> discoveryClients = getDiscoveryClients();
-        for (DiscoveryClient discoveryClient : discoveryClients) {
-            List<String> serviceForClient = discoveryClient.getServices();
-            if (isNotEmpty(serviceForClient)) {
-                services.addAll(serviceForClient);
+        if (isParallel()) {
+            fanOut(DiscoveryClient::getServices, services);
+        } else {
+            List<DiscoveryClient> discoveryClients = getDiscoveryClients();
+            for (DiscoveryClient discoveryClient : discoveryClients) {
+                List<String> serviceForClient = discoveryClient.getServices();
+                if (isNotEmpty(serviceForClient)) {
+                    services.addAll(serviceForClient);
+                }
             }
         }
         return newArrayList(services);
     }
 
+    /**
+     * Whether the snapshot cache of the service instances is enabled or not.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * boolean cacheEnabled = unionDiscoveryClient.isCacheEnabled();
+     * }</pre>
+     *
+     * @return {@code true} if enabled, otherwise {@code false}
+     */
+    public boolean isCacheEnabled() {
+        return this.cacheEnabled;
+    }
+
+    /**
+     * Enables or disables the snapshot cache of the service instances.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setCacheEnabled(true);
+     * }</pre>
+     *
+     * @param cacheEnabled {@code true} to enable, {@code false} to disable
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        if (!cacheEnabled) {
+            this.snapshots.clear();
+        }
+    }
+
+    /**
+     * Returns the time-to-live of the snapshot of the service instances in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long ttl = unionDiscoveryClient.getCacheTtl(); // 30000 by default
+     * }</pre>
+     *
+     * @return the time-to-live in milliseconds
+     */
+    public long getCacheTtl() {
+        return this.cacheTtl;
+    }
+
+    /**
+     * Sets the time-to-live of the snapshot of the service instances in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setCacheTtl(10000L);
+     * }</pre>
+     *
+     * @param cacheTtl the time-to-live in milliseconds
+     */
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Returns the max number of the snapshots of the service instances.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * int maxSize = unionDiscoveryClient.getCacheMaxSize(); // 1024 by default
+     * }</pre>
+     *
+     * @return the max number of the snapshots
+     */
+    public int getCacheMaxSize() {
+        return this.cacheMaxSize;
+    }
+
+    /**
+     * Sets the max number of the snapshots of the service instances, the least recently read snapshots will be
+     * evicted if exceeded.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setCacheMaxSize(256);
+     * }</pre>
+     *
+     * @param cacheMaxSize the max number of the snapshots
+     */
+    public void setCacheMaxSize(int cacheMaxSize) {
+        this.cacheMaxSize = max(1, cacheMaxSize);
+    }
+
+    /**
+     * Returns the max idle time of the snapshot without the reads in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long maxIdle = unionDiscoveryClient.getCacheMaxIdle(); // 600000 by default
+     * }</pre>
+     *
+     * @return the max idle time in milliseconds
+     */
+    public long getCacheMaxIdle() {
+        return this.cacheMaxIdle;
+    }
+
+    /**
+     * Sets the max idle time of the snapshot without the reads in milliseconds, the idle snapshot will be evicted.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setCacheMaxIdle(60000L);
+     * }</pre>
+     *
+     * @param cacheMaxIdle the max idle time in milliseconds
+     */
+    public void setCacheMaxIdle(long cacheMaxIdle) {
+        this.cacheMaxIdle = cacheMaxIdle;
+    }
+
+    /**
+     * Returns the number of the snapshots of the service instances.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * int size = unionDiscoveryClient.getCacheSize();
+     * }</pre>
+     *
+     * @return the number of the snapshots
+     */
+    public int getCacheSize() {
+        return this.snapshots.size();
+    }
+
+    /**
+     * Evicts the snapshot of the service instances for the given service ID, the next lookup will load them
+     * from the underlying {@link DiscoveryClient DiscoveryClients}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.evict("test");
+     * }</pre>
+     *
+     * @param serviceId the service ID
+     */
+    public void evict(String serviceId) {
+        this.snapshots.remove(serviceId);
+    }
+
+    /**
+     * Whether the parallel fan-out across the underlying {@link DiscoveryClient DiscoveryClients} is enabled or not.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * boolean parallelEnabled = unionDiscoveryClient.isParallelEnabled();
+     * }</pre>
+     *
+     * @return {@code true} if enabled, otherwise {@code false}
+     */
+    public boolean isParallelEnabled() {
+        return this.parallelEnabled;
+    }
+
+    /**
+     * Enables or disables the parallel fan-out across the underlying {@link DiscoveryClient DiscoveryClients}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setParallelEnabled(true);
+     * }</pre>
+     *
+     * @param parallelEnabled {@code true} to enable, {@code false} to disable
+     */
+    public void setParallelEnabled(boolean parallelEnabled) {
+        this.parallelEnabled = parallelEnabled;
+    }
+
+    /**
+     * Returns the timeout per the underlying {@link DiscoveryClient} of the parallel fan-out in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long timeout = unionDiscoveryClient.getParallelTimeout(); // 3000 by default
+     * }</pre>
+     *
+     * @return the timeout in milliseconds
+     */
+    public long getParallelTimeout() {
+        return this.parallelTimeout;
+    }
+
+    /**
+     * Sets the timeout per the underlying {@link DiscoveryClient} of the parallel fan-out in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setParallelTimeout(1000L);
+     * }</pre>
+     *
+     * @param parallelTimeout the timeout in milliseconds
+     */
+    public void setParallelTimeout(long parallelTimeout) {
+        this.parallelTimeout = parallelTimeout;
+    }
+
+    /**
+     * Returns the {@link ServiceInstancesMerger} for the combined {@link ServiceInstance service instances}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ServiceInstancesMerger merger = unionDiscoveryClient.getServiceInstancesMerger();
+     * }</pre>
+     *
+     * @return <code>null</code> if the merging is disabled
+     */
+    public ServiceInstancesMerger getServiceInstancesMerger() {
+        return this.serviceInstancesMerger;
+    }
+
+    /**
+     * Sets the {@link ServiceInstancesMerger} for the combined {@link ServiceInstance service instances}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.setServiceInstancesMerger(new DefaultServiceInstancesMerger());
+     * }</pre>
+     *
+     * @param serviceInstancesMerger the {@link ServiceInstancesMerger}, <code>null</code> to disable the merging
+     */
+    public void setServiceInstancesMerger(ServiceInstancesMerger serviceInstancesMerger) {
+        this.serviceInstancesMerger = serviceInstancesMerger;
+    }
+
+    /**
+     * Returns the read-only view of the underlying {@link DiscoveryClient DiscoveryClients} that failed or timed out
+     * in their latest parallel lookups, the value is the cause. A {@link DiscoveryClient} will be removed once it
+     * answers successfully.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionDiscoveryClient.getFailures().forEach((client, cause) ->
+     *     System.out.println(client.description() + " failed : " + cause));
+     * }</pre>
+     *
+     * @return non-null read-only {@link Map}
+     */
+    public Map<DiscoveryClient, Throwable> getFailures() {
+        return unmodifiableMap(this.failures);
+    }
+
     /**
      * Returns the sorted list of underlying {@link DiscoveryClient DiscoveryClients}, excluding
      * {@link CompositeDiscoveryClient} and this instance itself. The list is lazily initialized
@@ -183,6 +560,10 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
     @Override
     public void afterSingletonsInstantiated() {
         this.discoveryClients = getDiscoveryClients();
+        ServiceInstancesMerger serviceInstancesMerger = this.context.getBeanProvider(ServiceInstancesMerger.class).getIfAvailable();
+        if (serviceInstancesMerger != null) {
+            setServiceInstancesMerger(serviceInstancesMerger);
+        }
     }
 
     /**
@@ -199,6 +580,17 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
     @Override
     public void destroy() throws Exception {
         this.discoveryClients.clear();
+        this.snapshots.clear();
+        this.failures.clear();
+        this.unfinishedCalls.clear();
+        ExecutorService revalidationExecutor = this.revalidationExecutor;
+        if (revalidationExecutor != null) {
+            revalidationExecutor.shutdownNow();
+        }
+        ExecutorService fanOutExecutor = this.fanOutExecutor;
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -216,5 +608,414 @@ public final class UnionDiscoveryClient implements DiscoveryClient, ApplicationC
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.context = applicationContext;
+        Environment environment = applicationContext.getEnvironment();
+        setCacheEnabled(environment.getProperty(UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME, boolean.class, false));
+        setCacheTtl(environment.getProperty(UNION_DISCOVERY_CLIENT_CACHE_TTL_PROPERTY_NAME, long.class, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL));
+        setCacheMaxSize(environment.getProperty(UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE_PROPERTY_NAME, int.class, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE));
+        setCacheMaxIdle(environment.getProperty(UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE_PROPERTY_NAME, long.class, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE));
+        this.revalidationThreads = environment.getProperty(UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS_PROPERTY_NAME, int.class, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS);
+        setParallelEnabled(environment.getProperty(UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME, boolean.class, false));
+        setParallelTimeout(environment.getProperty(UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT_PROPERTY_NAME, long.class, DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT));
+        this.parallelThreads = environment.getProperty(UNION_DISCOVERY_CLIENT_PARALLEL_THREADS_PROPERTY_NAME, int.class, DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS);
+        this.virtualThreads = environment.getProperty(UNION_DISCOVERY_CLIENT_PARALLEL_VIRTUAL_THREADS_PROPERTY_NAME, boolean.class, true);
+        if (environment.getProperty(UNION_DISCOVERY_CLIENT_MERGE_ENABLED_PROPERTY_NAME, boolean.class, false)) {
+            Identity identity = Identity.parse(environment.getProperty(UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME, "host-port"));
+            MetadataStrategy metadataStrategy = MetadataStrategy.parse(environment.getProperty(UNION_DISCOVERY_CLIENT_MERGE_METADATA_STRATEGY_PROPERTY_NAME, "first"));
+            setServiceInstancesMerger(new DefaultServiceInstancesMerger(identity, metadataStrategy));
+        }
+    }
+
+    List<ServiceInstance> doGetInstances(String serviceId) {
+        List<ServiceInstance> serviceInstances = newArrayList();
+        doGetInstances(serviceId, serviceInstances);
+        return merge(serviceInstances);
+    }
+
+    /**
+     * Collects the {@link ServiceInstance service instances} of the given service ID from the underlying
+     * {@link DiscoveryClient DiscoveryClients}.
+     *
+     * @param serviceId        the service ID
+     * @param serviceInstances the target to collect the service instances
+     * @return <code>true</code> if all {@link DiscoveryClient DiscoveryClients} answered, <code>false</code> if any of
+     * them failed or was skipped in the parallel fan-out, thus the collected ones are partial
+     */
+    boolean doGetInstances(String serviceId, List<ServiceInstance> serviceInstances) {
+        if (isParallel()) {
+            return fanOut(discoveryClient -> discoveryClient.getInstances(serviceId), serviceInstances);
+        }
+        List<DiscoveryClient> discoveryClients = getDiscoveryClients();
+        for (DiscoveryClient discoveryClient : discoveryClients) {
+            List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+            if (isNotEmpty(instances)) {
+                serviceInstances.addAll(instances);
+            }
+        }
+        return true;
+    }
+
+    private List<ServiceInstance> merge(List<ServiceInstance> serviceInstances) {
+        ServiceInstancesMerger serviceInstancesMerger = this.serviceInstancesMerger;
+        return serviceInstancesMerger == null ? serviceInstances : serviceInstancesMerger.merge(serviceInstances);
+    }
+
+    /**
+     * Loads the {@link Snapshot} of the given service ID, the partial one expires after {@link #RETRY_TTL}.
+     *
+     * @param serviceId      the service ID
+     * @param lastAccessTime the last access time of the snapshot
+     * @return the new {@link Snapshot}
+     */
+    Snapshot loadSnapshot(String serviceId, long lastAccessTime) {
+        List<ServiceInstance> serviceInstances = newArrayList();
+        boolean complete = doGetInstances(serviceId, serviceInstances);
+        return new Snapshot(merge(serviceInstances), complete, !complete, lastAccessTime);
+    }
+
+    /**
+     * Reloads the given {@link Snapshot} of the given service ID. If the reloading is partial while the given
+     * {@link Snapshot} is complete, the stale service instances are kept and retried after {@link #RETRY_TTL},
+     * rather than being replaced by the partial or empty ones.
+     *
+     * @param serviceId the service ID
+     * @param snapshot  the stale {@link Snapshot}
+     * @return the new {@link Snapshot}
+     */
+    Snapshot reloadSnapshot(String serviceId, Snapshot snapshot) {
+        Snapshot reloaded = loadSnapshot(serviceId, snapshot.lastAccessTime);
+        if (reloaded.complete || !snapshot.complete) {
+            return reloaded;
+        }
+        logger.warn("The service instances of '{}' are partially revalidated, the stale snapshot will be used", serviceId);
+        return new Snapshot(snapshot.serviceInstances, true, true, snapshot.lastAccessTime);
+    }
+
+    private boolean isParallel() {
+        return this.parallelEnabled && getDiscoveryClients().size() > 1;
+    }
+
+    /**
+     * Queries the underlying {@link DiscoveryClient DiscoveryClients} concurrently, and then collects their results
+     * in the original order. The {@link DiscoveryClient} which fails or does not answer before the deadline will be
+     * skipped and recorded into {@link #failures}, its call will be cancelled by the interruption. The
+     * {@link DiscoveryClient} whose timed-out call is still running (e.g, ignoring the interruption) will be skipped
+     * until that call finishes rather than piling new tasks onto it, and the call which can't be submitted (the
+     * executor is saturated) will be skipped at once.
+     *
+     * @param function the query function
+     * @param results  the target to collect the results
+     * @param <T>      the type of element
+     * @return <code>true</code> if all {@link DiscoveryClient DiscoveryClients} answered, otherwise <code>false</code>
+     */
+    <T> boolean fanOut(Function<DiscoveryClient, List<T>> function, Collection<T> results) {
+        List<DiscoveryClient> discoveryClients = getDiscoveryClients();
+        int size = discoveryClients.size();
+        boolean complete = true;
+        ExecutorService executor = getFanOutExecutor();
+        FanOutCall<T>[] calls = new FanOutCall[size];
+        Future<List<T>>[] futures = new Future[size];
+        for (int i = 0; i < size; i++) {
+            DiscoveryClient discoveryClient = discoveryClients.get(i);
+            AtomicInteger unfinishedCalls = getUnfinishedCalls(discoveryClient);
+            if (unfinishedCalls.get() > 0) {
+                recordFailure(discoveryClient, new IllegalStateException("The previous timed-out call of DiscoveryClient['"
+                        + discoveryClient.description() + "'] is still unfinished"));
+                complete = false;
+                continue;
+            }
+            FanOutCall<T> call = new FanOutCall<>(discoveryClient, function, unfinishedCalls);
+            try {
+                futures[i] = executor.submit(call);
+                calls[i] = call;
+            } catch (RejectedExecutionException e) {
+                recordFailure(discoveryClient, e);
+                complete = false;
+            }
+        }
+
+        // All delegates start at once, so the shared deadline is the timeout per delegate
+        long deadline = nanoTime() + MILLISECONDS.toNanos(this.parallelTimeout);
+        for (int i = 0; i < size; i++) {
+            Future<List<T>> future = futures[i];
+            if (future == null) {
+                continue;
+            }
+            DiscoveryClient discoveryClient = discoveryClients.get(i);
+            try {
+                List<T> result = future.get(max(0L, deadline - nanoTime()), NANOSECONDS);
+                if (isNotEmpty(result)) {
+                    results.addAll(result);
+                }
+                this.failures.remove(discoveryClient);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                calls[i].abandon();
+                recordFailure(discoveryClient, e);
+                complete = false;
+            } catch (ExecutionException e) {
+                recordFailure(discoveryClient, e.getCause());
+                complete = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                calls[i].abandon();
+                recordFailure(discoveryClient, e);
+                complete = false;
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Returns the number of the timed-out calls of the underlying {@link DiscoveryClient DiscoveryClients} which are
+     * still running.
+     *
+     * @return the number of the unfinished calls
+     */
+    int getUnfinishedCalls() {
+        int count = 0;
+        for (AtomicInteger unfinishedCalls : this.unfinishedCalls.values()) {
+            count += unfinishedCalls.get();
+        }
+        return count;
+    }
+
+    private AtomicInteger getUnfinishedCalls(DiscoveryClient discoveryClient) {
+        return this.unfinishedCalls.computeIfAbsent(discoveryClient, client -> new AtomicInteger());
+    }
+
+    private void recordFailure(DiscoveryClient discoveryClient, Throwable cause) {
+        this.failures.put(discoveryClient, cause);
+        logger.warn("The DiscoveryClient['{}'] failed or timed out({} ms) in the parallel fan-out, its result is skipped",
+                discoveryClient.description(), this.parallelTimeout, cause);
+    }
+
+    private ExecutorService getFanOutExecutor() {
+        ExecutorService fanOutExecutor = this.fanOutExecutor;
+        if (fanOutExecutor == null) {
+            synchronized (this) {
+                fanOutExecutor = this.fanOutExecutor;
+                if (fanOutExecutor == null) {
+                    fanOutExecutor = this.virtualThreads ? virtualThreadPerTaskExecutor() : null;
+                    if (fanOutExecutor == null) {
+                        int threads = max(1, this.parallelThreads);
+                        AtomicInteger counter = new AtomicInteger();
+                        // The bounded queue fails fast(AbortPolicy) rather than queuing the calls behind the hung ones
+                        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60, SECONDS,
+                                new ArrayBlockingQueue<>(threads), runnable -> {
+                            Thread thread = new Thread(runnable, "UnionDiscoveryClient-FanOut-" + counter.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                        threadPoolExecutor.allowCoreThreadTimeOut(true);
+                        fanOutExecutor = threadPoolExecutor;
+                    }
+                    this.fanOutExecutor = fanOutExecutor;
+                }
+            }
+        }
+        return fanOutExecutor;
+    }
+
+    /**
+     * Creates the {@link ExecutorService} starting a new virtual thread per task by the reflection if the JDK
+     * supports (21+).
+     *
+     * @return <code>null</code> if the virtual threads are not supported
+     */
+    static ExecutorService virtualThreadPerTaskExecutor() {
+        ThreadFactory threadFactory = virtualThreadFactory();
+        if (threadFactory == null) {
+            return null;
+        }
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, threadFactory);
+        } catch (Throwable e) {
+            logger.trace("The thread-per-task executor is not supported by current JDK", e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the {@link ThreadFactory} of the virtual threads by the reflection if the JDK supports (21+).
+     *
+     * @return <code>null</code> if the virtual threads are not supported
+     */
+    static ThreadFactory virtualThreadFactory() {
+        try {
+            Method ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            Object builder = ofVirtualMethod.invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "UnionDiscoveryClient-FanOut-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Throwable e) {
+            logger.trace("The virtual threads are not supported by current JDK", e);
+            return null;
+        }
+    }
+
+    private void revalidate(String serviceId, Snapshot snapshot) {
+        if (!snapshot.revalidating.compareAndSet(false, true)) {
+            // The other thread is revalidating
+            return;
+        }
+        try {
+            getRevalidationExecutor().execute(() -> {
+                try {
+                    this.snapshots.replace(serviceId, snapshot, reloadSnapshot(serviceId, snapshot));
+                } catch (Throwable e) {
+                    logger.warn("The service instances of '{}' can't be revalidated, the stale snapshot will be used", serviceId, e);
+                } finally {
+                    snapshot.revalidating.set(false);
+                }
+            });
+        } catch (Throwable e) {
+            snapshot.revalidating.set(false);
+            logger.warn("The revalidation of service instances of '{}' can't be submitted", serviceId, e);
+        }
+    }
+
+    /**
+     * Evicts the snapshots without the reads for {@link #getCacheMaxIdle() the max idle time}, and then the least
+     * recently read ones if the snapshots are still more than {@link #getCacheMaxSize() the max size}.
+     */
+    void evictSnapshots() {
+        long now = currentTimeMillis();
+        long maxIdle = this.cacheMaxIdle;
+        this.snapshots.values().removeIf(snapshot -> snapshot.isIdle(now, maxIdle));
+        int excess = this.snapshots.size() - this.cacheMaxSize;
+        if (excess > 0) {
+            List<String> serviceIds = this.snapshots.entrySet().stream()
+                    .sorted(comparingLong(entry -> entry.getValue().lastAccessTime))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(toList());
+            serviceIds.forEach(this.snapshots::remove);
+        }
+    }
+
+    private ExecutorService getRevalidationExecutor() {
+        ExecutorService revalidationExecutor = this.revalidationExecutor;
+        if (revalidationExecutor == null) {
+            synchronized (this) {
+                revalidationExecutor = this.revalidationExecutor;
+                if (revalidationExecutor == null) {
+                    int threads = max(1, this.revalidationThreads);
+                    AtomicInteger counter = new AtomicInteger();
+                    // The queue is bounded by the max size of snapshots, at most one revalidation per snapshot
+                    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(threads, threads, 60, SECONDS,
+                            new ArrayBlockingQueue<>(this.cacheMaxSize), runnable -> {
+                        Thread thread = new Thread(runnable, "UnionDiscoveryClient-Revalidation-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    threadPoolExecutor.allowCoreThreadTimeOut(true);
+                    revalidationExecutor = threadPoolExecutor;
+                    this.revalidationExecutor = revalidationExecutor;
+                }
+            }
+        }
+        return revalidationExecutor;
+    }
+
+    /**
+     * The call of the parallel fan-out, which tracks whether it's still running after being abandoned on timeout
+     *
+     * @param <T> the type of element
+     */
+    static final class FanOutCall<T> implements Callable<List<T>> {
+
+        private static final int PENDING = 0;
+
+        private static final int RUNNING = 1;
+
+        private static final int FINISHED = 2;
+
+        private static final int ABANDONED = 3;
+
+        private final DiscoveryClient discoveryClient;
+
+        private final Function<DiscoveryClient, List<T>> function;
+
+        private final AtomicInteger unfinishedCalls;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        FanOutCall(DiscoveryClient discoveryClient, Function<DiscoveryClient, List<T>> function, AtomicInteger unfinishedCalls) {
+            this.discoveryClient = discoveryClient;
+            this.function = function;
+            this.unfinishedCalls = unfinishedCalls;
+        }
+
+        @Override
+        public List<T> call() {
+            if (!this.state.compareAndSet(PENDING, RUNNING)) {
+                // abandoned before running
+                return emptyList();
+            }
+            try {
+                return this.function.apply(this.discoveryClient);
+            } finally {
+                if (!this.state.compareAndSet(RUNNING, FINISHED)) {
+                    // abandoned while running
+                    this.unfinishedCalls.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Abandons this call, the running one will be counted as unfinished until it returns
+         */
+        void abandon() {
+            if (this.state.compareAndSet(PENDING, ABANDONED)) {
+                return;
+            }
+            this.unfinishedCalls.incrementAndGet();
+            if (!this.state.compareAndSet(RUNNING, ABANDONED)) {
+                // finished or abandoned already
+                this.unfinishedCalls.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The snapshot of {@link ServiceInstance service instances}
+     */
+    static final class Snapshot {
+
+        final List<ServiceInstance> serviceInstances;
+
+        /**
+         * Whether the {@link #serviceInstances} were answered by all {@link DiscoveryClient DiscoveryClients}
+         */
+        final boolean complete;
+
+        /**
+         * Whether the latest load was partial, thus the snapshot expires after {@link #RETRY_TTL}
+         */
+        final boolean retrying;
+
+        final long timestamp;
+
+        final AtomicBoolean revalidating = new AtomicBoolean(false);
+
+        volatile long lastAccessTime;
+
+        Snapshot(List<ServiceInstance> serviceInstances, boolean complete, boolean retrying, long lastAccessTime) {
+            this.serviceInstances = unmodifiableList(serviceInstances);
+            this.complete = complete;
+            this.retrying = retrying;
+            this.timestamp = currentTimeMillis();
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        boolean isExpired(long ttl) {
+            return currentTimeMillis() - this.timestamp >= (this.retrying ? min(ttl, RETRY_TTL) : ttl);
+        }
+
+        boolean isIdle(long now, long maxIdle) {
+            return now - this.lastAccessTime >= maxIdle;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.env.Environment;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.ListUtils.newLinkedList;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.reflect.TypeUtils.getClassName;
+import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientConstants.REACTIVE_COMPOSITE_DISCOVERY_CLIENT_CLASS_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_REACTIVE_DISCOVERY_CLIENT_DISTINCT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT_PROPERTY_NAME;
+import static java.time.Duration.ofMillis;
+import static reactor.core.publisher.Flux.empty;
+import static reactor.core.publisher.Flux.merge;
+import static reactor.core.publisher.Mono.delay;
+
+/**
+ * The {@link ReactiveDiscoveryClient} implementation for a union of the given {@link ReactiveDiscoveryClient}
+ * <p>
+ * The {@link Flux results} of the underlying {@link ReactiveDiscoveryClient ReactiveDiscoveryClients} are merged by
+ * {@link Flux#merge(Iterable)}, thus they are subscribed concurrently and no thread will be parked on the discovery.
+ * Each source has to complete within the timeout specified by the property
+ * {@code "microsphere.spring.cloud.client.discovery.union.reactive.timeout"}, which is a deadline of the whole source
+ * rather than of every element, otherwise the remaining of the source will be skipped with a warning while the others
+ * are still emitted.
+ * <p>
+ * If the property {@code "microsphere.spring.cloud.client.discovery.union.reactive.distinct"} is {@code true}, the
+ * {@link ServiceInstance service instances} are distinct by the {@link Identity} specified by the property
+ * {@code "microsphere.spring.cloud.client.discovery.union.merge.identity"}, the first emitted one wins.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * UnionReactiveDiscoveryClient unionReactiveDiscoveryClient = applicationContext.getBean(UnionReactiveDiscoveryClient.class);
+ * Flux<ServiceInstance> instances = unionReactiveDiscoveryClient.getInstances("test");
+ * Flux<String> services = unionReactiveDiscoveryClient.getServices();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see UnionDiscoveryClient
+ * @see ReactiveCompositeDiscoveryClient
+ * @since 1.0.0
+ */
+public final class UnionReactiveDiscoveryClient implements ReactiveDiscoveryClient, ApplicationContextAware,
+        SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = getLogger(UnionReactiveDiscoveryClient.class);
+
+    private ApplicationContext context;
+
+    private List<ReactiveDiscoveryClient> reactiveDiscoveryClients;
+
+    private Duration timeout = ofMillis(DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT);
+
+    private Identity identity;
+
+    /**
+     * Returns a human-readable description of this {@link ReactiveDiscoveryClient}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * String desc = unionReactiveDiscoveryClient.description();
+     * }</pre>
+     *
+     * @return the description string {@code "Union Reactive Discovery Client"}
+     */
+    @Override
+    public String description() {
+        return "Union Reactive Discovery Client";
+    }
+
+    /**
+     * Returns the merged {@link Flux} of {@link ServiceInstance} from all underlying
+     * {@link ReactiveDiscoveryClient ReactiveDiscoveryClients} for the given service ID.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * Flux<ServiceInstance> instances = unionReactiveDiscoveryClient.getInstances("test");
+     * }</pre>
+     *
+     * @param serviceId the service ID to look up
+     * @return the merged {@link Flux} of {@link ServiceInstance}
+     */
+    @Override
+    public Flux<ServiceInstance> getInstances(String serviceId) {
+        Flux<ServiceInstance> serviceInstances = merge(sources(client -> client.getInstances(serviceId)));
+        Identity identity = this.identity;
+        return identity == null ? serviceInstances : serviceInstances.distinct(identity::key);
+    }
+
+    /**
+     * Returns the merged and distinct {@link Flux} of service names from all underlying
+     * {@link ReactiveDiscoveryClient ReactiveDiscoveryClients}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * Flux<String> services = unionReactiveDiscoveryClient.getServices();
+     * }</pre>
+     *
+     * @return the merged {@link Flux} of unique service names
+     */
+    @Override
+    public Flux<String> getServices() {
+        return merge(sources(ReactiveDiscoveryClient::getServices)).distinct();
+    }
+
+    /**
+     * Returns the timeout per the underlying {@link ReactiveDiscoveryClient}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * Duration timeout = unionReactiveDiscoveryClient.getTimeout(); // 3 seconds by default
+     * }</pre>
+     *
+     * @return the timeout
+     */
+    public Duration getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Sets the timeout per the underlying {@link ReactiveDiscoveryClient}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionReactiveDiscoveryClient.setTimeout(Duration.ofSeconds(1));
+     * }</pre>
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the {@link Identity} to distinct the {@link ServiceInstance service instances}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * Identity identity = unionReactiveDiscoveryClient.getIdentity();
+     * }</pre>
+     *
+     * @return <code>null</code> if the distinct stage is disabled
+     */
+    public Identity getIdentity() {
+        return this.identity;
+    }
+
+    /**
+     * Sets the {@link Identity} to distinct the {@link ServiceInstance service instances}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * unionReactiveDiscoveryClient.setIdentity(Identity.HOST_PORT);
+     * }</pre>
+     *
+     * @param identity the {@link Identity}, <code>null</code> to disable the distinct stage
+     */
+    public void setIdentity(Identity identity) {
+        this.identity = identity;
+    }
+
+    /**
+     * Returns the sorted list of underlying {@link ReactiveDiscoveryClient ReactiveDiscoveryClients}, excluding
+     * {@link ReactiveCompositeDiscoveryClient} and this instance itself.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * List<ReactiveDiscoveryClient> clients = unionReactiveDiscoveryClient.getReactiveDiscoveryClients();
+     * clients.forEach(c -> System.out.println(c.description()));
+     * }</pre>
+     *
+     * @return the list of {@link ReactiveDiscoveryClient} instances
+     */
+    public List<ReactiveDiscoveryClient> getReactiveDiscoveryClients() {
+        List<ReactiveDiscoveryClient> reactiveDiscoveryClients = this.reactiveDiscoveryClients;
+        if (reactiveDiscoveryClients != null) {
+            return reactiveDiscoveryClients;
+        }
+
+        reactiveDiscoveryClients = newLinkedList();
+        for (ReactiveDiscoveryClient reactiveDiscoveryClient : getSortedBeans(this.context, ReactiveDiscoveryClient.class)) {
+            String className = getClassName(reactiveDiscoveryClient.getClass());
+            if (REACTIVE_COMPOSITE_DISCOVERY_CLIENT_CLASS_NAME.equals(className) || this.equals(reactiveDiscoveryClient)) {
+                // excludes ReactiveCompositeDiscoveryClient and self
+                continue;
+            }
+            reactiveDiscoveryClients.add(reactiveDiscoveryClient);
+        }
+        this.reactiveDiscoveryClients = reactiveDiscoveryClients;
+        return reactiveDiscoveryClients;
+    }
+
+    /**
+     * Returns the order value of this client. This client uses {@code HIGHEST_PRECEDENCE}
+     * to ensure it takes priority over other {@link ReactiveDiscoveryClient} implementations.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * int order = unionReactiveDiscoveryClient.getOrder();
+     * }</pre>
+     *
+     * @return {@link org.springframework.core.Ordered#HIGHEST_PRECEDENCE}
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Callback invoked after all singleton beans have been instantiated. Eagerly initializes
+     * the internal list of {@link ReactiveDiscoveryClient} instances.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.reactiveDiscoveryClients = getReactiveDiscoveryClients();
+    }
+
+    /**
+     * Clears the cached list of {@link ReactiveDiscoveryClient} instances when this bean is destroyed.
+     *
+     * @throws Exception if an error occurs during cleanup
+     */
+    @Override
+    public void destroy() throws Exception {
+        this.reactiveDiscoveryClients.clear();
+    }
+
+    /**
+     * Sets the {@link ApplicationContext} used to look up {@link ReactiveDiscoveryClient} beans and the properties.
+     *
+     * @param applicationContext the {@link ApplicationContext} to set
+     * @throws BeansException if an error occurs while setting the context
+     */
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.context = applicationContext;
+        Environment environment = applicationContext.getEnvironment();
+        setTimeout(ofMillis(environment.getProperty(UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT_PROPERTY_NAME, long.class,
+                DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT)));
+        if (environment.getProperty(UNION_REACTIVE_DISCOVERY_CLIENT_DISTINCT_PROPERTY_NAME, boolean.class, false)) {
+            setIdentity(Identity.parse(environment.getProperty(UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME, "host-port")));
+        }
+    }
+
+    <T> List<Flux<T>> sources(Function<ReactiveDiscoveryClient, Flux<T>> function) {
+        List<ReactiveDiscoveryClient> reactiveDiscoveryClients = getReactiveDiscoveryClients();
+        List<Flux<T>> sources = newArrayList(reactiveDiscoveryClients.size());
+        Duration timeout = this.timeout;
+        for (ReactiveDiscoveryClient reactiveDiscoveryClient : reactiveDiscoveryClients) {
+            Flux<T> source = function.apply(reactiveDiscoveryClient)
+                    .takeUntilOther(delay(timeout).doOnNext(t ->
+                            logger.warn("The ReactiveDiscoveryClient['{}'] timed out({}), the remaining results are skipped",
+                                    reactiveDiscoveryClient.description(), timeout)))
+                    .onErrorResume(e -> {
+                        logger.warn("The ReactiveDiscoveryClient['{}'] failed, the remaining results are skipped",
+                                reactiveDiscoveryClient.description(), e);
+                        return empty();
+                    });
+            sources.add(source);
+        }
+        return sources;
+    }
+}
@@ -18,18 +18,38 @@
 package io.microsphere.spring.cloud.client.discovery.autoconfigure;
 
 import io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter;
+import io.microsphere.spring.cloud.client.discovery.UnionReactiveDiscoveryClient;
 import io.microsphere.spring.cloud.client.discovery.condition.ConditionalOnReactiveDiscoveryAvailable;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.client.ConditionalOnBlockingDiscoveryEnabled;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
+import static io.microsphere.spring.cloud.client.discovery.autoconfigure.DiscoveryClientAutoConfiguration.DISCOVERY_CLIENT_MODE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.autoconfigure.DiscoveryClientAutoConfiguration.UNION_DISCOVERY_CLIENT_MODE;
 import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientConstants.REACTIVE_COMMONS_CLIENT_AUTO_CONFIGURATION_CLASS_NAME;
 import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientConstants.REACTIVE_COMPOSITE_DISCOVERY_CLIENT_AUTO_CONFIGURATION_CLASS_NAME;
 import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientConstants.SIMPLE_REACTIVE_DISCOVERY_CLIENT_AUTO_CONFIGURATION_CLASS_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT_PROPERTY_NAME;
+import static java.time.Duration.ofMillis;
 
 /**
  * The Auto-Configuration class for {@link ReactiveDiscoveryClient}
@@ -50,6 +70,41 @@ import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryCl
 })
 public class ReactiveDiscoveryClientAutoConfiguration {
 
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = DISCOVERY_CLIENT_MODE_PROPERTY_NAME, havingValue = UNION_DISCOVERY_CLIENT_MODE)
+    public static class UnionConfiguration {
+
+        /**
+         * Creates a primary {@link UnionReactiveDiscoveryClient} bean that merges all {@link ReactiveDiscoveryClient}
+         * instances in the {@link org.springframework.context.ApplicationContext}.
+         *
+         * <h3>Example Usage</h3>
+         * <pre>{@code
+         * // Activated when microsphere.spring.cloud.client.discovery.mode=union
+         * ReactiveDiscoveryClient client = applicationContext.getBean(ReactiveDiscoveryClient.class);
+         * Flux<String> services = client.getServices();
+         * }</pre>
+         *
+         * @return a new {@link UnionReactiveDiscoveryClient} instance
+         */
+        @Bean
+        @Primary
+        public UnionReactiveDiscoveryClient unionReactiveDiscoveryClient() {
+            return new UnionReactiveDiscoveryClient();
+        }
+
+        /**
+         * Demotes the primary {@link ReactiveCompositeDiscoveryClient} bean, thus {@link UnionReactiveDiscoveryClient}
+         * will be injected as the {@link ReactiveDiscoveryClient}.
+         *
+         * @return {@link BeanFactoryPostProcessor}
+         */
+        @Bean
+        public static BeanFactoryPostProcessor reactiveCompositeDiscoveryClientDemotionPostProcessor() {
+            return ReactiveDiscoveryClientAutoConfiguration::demoteReactiveCompositeDiscoveryClient;
+        }
+    }
+
     @Configuration(proxyBeanMethods = false)
     @ConditionalOnBlockingDiscoveryEnabled
     public static class BlockingConfiguration {
@@ -66,12 +121,32 @@ public class ReactiveDiscoveryClientAutoConfiguration {
          * }</pre>
          *
          * @param reactiveDiscoveryClient the {@link ReactiveDiscoveryClient} to adapt
+         * @param environment             the {@link Environment} to resolve the properties of the local view
          * @return a new {@link ReactiveDiscoveryClientAdapter} instance
          */
         @Bean
         @ConditionalOnBean(ReactiveDiscoveryClient.class)
-        public ReactiveDiscoveryClientAdapter reactiveDiscoveryClientAdapter(ReactiveDiscoveryClient reactiveDiscoveryClient) {
+        public ReactiveDiscoveryClientAdapter reactiveDiscoveryClientAdapter(ReactiveDiscoveryClient reactiveDiscoveryClient,
+                                                                             Environment environment) {
+            if (environment.getProperty(REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_ENABLED_PROPERTY_NAME, boolean.class, false)) {
+                long refreshInterval = environment.getProperty(REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL_PROPERTY_NAME,
+                        long.class, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL);
+                long timeout = environment.getProperty(REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT_PROPERTY_NAME,
+                        long.class, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT);
+                int maxSize = environment.getProperty(REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE_PROPERTY_NAME,
+                        int.class, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE);
+                long maxIdle = environment.getProperty(REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE_PROPERTY_NAME,
+                        long.class, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE);
+                return new ReactiveDiscoveryClientAdapter(reactiveDiscoveryClient, ofMillis(refreshInterval), ofMillis(timeout),
+                        maxSize, ofMillis(maxIdle));
+            }
             return new ReactiveDiscoveryClientAdapter(reactiveDiscoveryClient);
         }
     }
-}
\ No newline at end of file
+
+    static void demoteReactiveCompositeDiscoveryClient(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String beanName : beanFactory.getBeanNamesForType(ReactiveCompositeDiscoveryClient.class, true, false)) {
+            beanFactory.getBeanDefinition(beanName).setPrimary(false);
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.cloud.client.ReactiveCommonsClientAutoConfiguration;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
 import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient;
 import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClientAutoConfiguration;
 import org.springframework.cloud.client.discovery.simple.reactive.SimpleReactiveDiscoveryClientAutoConfiguration;
 
@@ -53,6 +54,13 @@ public interface DiscoveryClientConstants {
      */
     String COMPOSITE_DISCOVERY_CLIENT_CLASS_NAME = "org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClient";
 
+    /**
+     * The class name of {@link ReactiveCompositeDiscoveryClient}
+     *
+     * @see org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient
+     */
+    String REACTIVE_COMPOSITE_DISCOVERY_CLIENT_CLASS_NAME = "org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient";
+
     /**
      * The class name of {@link CommonsClientAutoConfiguration}
      *
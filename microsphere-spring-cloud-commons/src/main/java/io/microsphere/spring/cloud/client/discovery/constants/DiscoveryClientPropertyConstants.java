@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery.constants;
+
+import io.microsphere.annotation.ConfigurationProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import static io.microsphere.annotation.ConfigurationProperty.APPLICATION_SOURCE;
+import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX;
+
+/**
+ * The property constants for {@link DiscoveryClient}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient
+ * @since 1.0.0
+ */
+public interface DiscoveryClientPropertyConstants {
+
+    /**
+     * The property prefix of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union."
+     */
+    String UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "client.discovery.union.";
+
+    /**
+     * The property name of the snapshot cache of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} enabled :
+     * "microsphere.spring.cloud.client.discovery.union.cache.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "cache.enabled";
+
+    /**
+     * The property name of the snapshot cache TTL(milliseconds) of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.cache.ttl"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "30000",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_CACHE_TTL_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "cache.ttl";
+
+    /**
+     * The property name of the max number of the snapshots of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.cache.max-size"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "1024",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "cache.max-size";
+
+    /**
+     * The property name of the max idle time(milliseconds) of the snapshot without the reads of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient}, the idle snapshot will be evicted :
+     * "microsphere.spring.cloud.client.discovery.union.cache.max-idle"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "600000",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "cache.max-idle";
+
+    /**
+     * The property name of the threads revalidating the expired snapshots of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.cache.revalidation-threads"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "4",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "cache.revalidation-threads";
+
+    /**
+     * The default value of the snapshot cache TTL(milliseconds) : 30 seconds
+     */
+    long DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL = 30 * 1000L;
+
+    /**
+     * The default value of the max number of the snapshots : 1024
+     */
+    int DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE = 1024;
+
+    /**
+     * The default value of the max idle time(milliseconds) of the snapshot : 10 minutes
+     */
+    long DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE = 10 * 60 * 1000L;
+
+    /**
+     * The default value of the threads revalidating the expired snapshots : 4
+     */
+    int DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS = 4;
+
+    /**
+     * The property name of the parallel fan-out of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} enabled :
+     * "microsphere.spring.cloud.client.discovery.union.parallel.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "parallel.enabled";
+
+    /**
+     * The property name of the max threads of the parallel fan-out of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.parallel.threads"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "16",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_PARALLEL_THREADS_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "parallel.threads";
+
+    /**
+     * The property name of the parallel fan-out of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient}
+     * uses the virtual threads if the JDK supports : "microsphere.spring.cloud.client.discovery.union.parallel.virtual-threads"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "true",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_PARALLEL_VIRTUAL_THREADS_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "parallel.virtual-threads";
+
+    /**
+     * The property name of the timeout(milliseconds) per the delegate {@link DiscoveryClient} of the parallel fan-out
+     * of {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.parallel.timeout"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "3000",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "parallel.timeout";
+
+    /**
+     * The default value of the max threads of the parallel fan-out : 16
+     */
+    int DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS = 16;
+
+    /**
+     * The default value of the timeout(milliseconds) per the delegate {@link DiscoveryClient} : 3 seconds
+     */
+    long DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT = 3 * 1000L;
+
+    /**
+     * The property name of the merging of the service instances of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient} enabled :
+     * "microsphere.spring.cloud.client.discovery.union.merge.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_MERGE_ENABLED_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "merge.enabled";
+
+    /**
+     * The property name of the identity of the service instance to be merged by
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient}, the value is "host-port" or
+     * "instance-id" : "microsphere.spring.cloud.client.discovery.union.merge.identity"
+     *
+     * @see io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity
+     */
+    @ConfigurationProperty(
+            defaultValue = "host-port",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "merge.identity";
+
+    /**
+     * The property name of the metadata strategy of the duplicated service instances merged by
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient}, the value is "first", "merge" or
+     * "override" : "microsphere.spring.cloud.client.discovery.union.merge.metadata-strategy"
+     *
+     * @see io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy
+     */
+    @ConfigurationProperty(
+            defaultValue = "first",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_DISCOVERY_CLIENT_MERGE_METADATA_STRATEGY_PROPERTY_NAME = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "merge.metadata-strategy";
+
+    /**
+     * The property prefix of {@link io.microsphere.spring.cloud.client.discovery.UnionReactiveDiscoveryClient} :
+     * "microsphere.spring.cloud.client.discovery.union.reactive."
+     */
+    String UNION_REACTIVE_DISCOVERY_CLIENT_PROPERTY_PREFIX = UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX + "reactive.";
+
+    /**
+     * The property name of the timeout(milliseconds) per the delegate {@link org.springframework.cloud.client.discovery.ReactiveDiscoveryClient}
+     * of {@link io.microsphere.spring.cloud.client.discovery.UnionReactiveDiscoveryClient}, the results emitted after it
+     * are skipped : "microsphere.spring.cloud.client.discovery.union.reactive.timeout"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "3000",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT_PROPERTY_NAME = UNION_REACTIVE_DISCOVERY_CLIENT_PROPERTY_PREFIX + "timeout";
+
+    /**
+     * The property name of the distinct stage of the service instances of
+     * {@link io.microsphere.spring.cloud.client.discovery.UnionReactiveDiscoveryClient} enabled :
+     * "microsphere.spring.cloud.client.discovery.union.reactive.distinct"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String UNION_REACTIVE_DISCOVERY_CLIENT_DISTINCT_PROPERTY_NAME = UNION_REACTIVE_DISCOVERY_CLIENT_PROPERTY_PREFIX + "distinct";
+
+    /**
+     * The default value of the timeout(milliseconds) per the delegate
+     * {@link org.springframework.cloud.client.discovery.ReactiveDiscoveryClient} : 3 seconds
+     */
+    long DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT = 3 * 1000L;
+
+    /**
+     * The property prefix of the local view of {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter} :
+     * "microsphere.spring.cloud.client.discovery.adapter.local-view."
+     */
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "client.discovery.adapter.local-view.";
+
+    /**
+     * The property name of the local view of {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter} enabled :
+     * "microsphere.spring.cloud.client.discovery.adapter.local-view.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_ENABLED_PROPERTY_NAME = REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX + "enabled";
+
+    /**
+     * The property name of the refresh interval(milliseconds) of the local view of
+     * {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter} :
+     * "microsphere.spring.cloud.client.discovery.adapter.local-view.refresh-interval"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "30000",
+            source = APPLICATION_SOURCE
+    )
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL_PROPERTY_NAME = REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX + "refresh-interval";
+
+    /**
+     * The property name of the max wait(milliseconds) of the fetch on the cold miss of the local view of
+     * {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter} :
+     * "microsphere.spring.cloud.client.discovery.adapter.local-view.timeout"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "3000",
+            source = APPLICATION_SOURCE
+    )
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT_PROPERTY_NAME = REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX + "timeout";
+
+    /**
+     * The property name of the max number of the serviceIds kept in the local view of
+     * {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter} :
+     * "microsphere.spring.cloud.client.discovery.adapter.local-view.max-size"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "1024",
+            source = APPLICATION_SOURCE
+    )
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE_PROPERTY_NAME = REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX + "max-size";
+
+    /**
+     * The property name of the max idle time(milliseconds) of the serviceId without the reads in the local view of
+     * {@link io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter}, the idle one will be
+     * neither refreshed nor kept : "microsphere.spring.cloud.client.discovery.adapter.local-view.max-idle"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "600000",
+            source = APPLICATION_SOURCE
+    )
+    String REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE_PROPERTY_NAME = REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX + "max-idle";
+
+    /**
+     * The default value of the refresh interval(milliseconds) of the local view : 30 seconds
+     */
+    long DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL = 30 * 1000L;
+
+    /**
+     * The default value of the max wait(milliseconds) of the fetch on the cold miss of the local view : 3 seconds
+     */
+    long DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT = 3 * 1000L;
+
+    /**
+     * The default value of the max number of the serviceIds kept in the local view : 1024
+     */
+    int DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE = 1024;
+
+    /**
+     * The default value of the max idle time(milliseconds) of the serviceId in the local view : 10 minutes
+     */
+    long DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE = 10 * 60 * 1000L;
+}
@@ -1,25 +1,48 @@
 package io.microsphere.spring.cloud.client.service.registry;
 
+import io.microsphere.logging.Logger;
 import org.springframework.cloud.client.serviceregistry.Registration;
 import org.springframework.util.CollectionUtils;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
+import static io.microsphere.collection.SetUtils.newLinkedHashSet;
+import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.reflect.MethodUtils.invokeMethod;
-import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.removeMetadata;
-import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.setMetadata;
 import static io.microsphere.util.Assert.assertNotEmpty;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static java.util.Collections.unmodifiableMap;
 import static org.springframework.aop.framework.AopProxyUtils.ultimateTargetClass;
 
 /**
  * A {@link Map}-based metadata container for {@link Registration} instances that synchronizes
  * metadata changes across all underlying registrations. This class wraps one or more
  * {@link Registration} objects and ensures that any metadata modifications (put, remove, clear)
- * are propagated to every registration in a thread-safe manner.
+ * are propagated to every registration in a thread-safe manner. The multiple changes could be applied atomically
+ * once by a {@link #batch() batch}, and the {@link RegistrationMetaDataListener listeners} are notified once per
+ * the applied change set with its {@link RegistrationMetaDataDelta delta}.
+ * <p>
+ * The writes are serialized by the lock, while the reads (e.g. {@link #get(Object)}, {@link #entrySet()}) are not
+ * locked, so they may see a part of the batch being applied, the {@link #snapshot()} is consistent. The listeners
+ * are notified after the lock is released, the deltas are queued in the order they were applied and delivered
+ * serially by one thread at a time, thus the listeners see them in order without any concurrent notification, and
+ * the failure of a listener is logged and doesn't affect the others.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -27,6 +50,7 @@ import static org.springframework.aop.framework.AopProxyUtils.ultimateTargetClas
  * metaData.put("key", "value");
  * String value = metaData.get("key");
  * metaData.remove("key");
+ * metaData.batch().put("key1", "value1").put("key2", "value2").commit();
  * }</pre>
  *
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
@@ -35,6 +59,8 @@ import static org.springframework.aop.framework.AopProxyUtils.ultimateTargetClas
  */
 public final class RegistrationMetaData implements Map<String, String> {
 
+    private static final Logger logger = getLogger(RegistrationMetaData.class);
+
     /**
      * The class name of {@link org.springframework.cloud.zookeeper.serviceregistry.ServiceInstanceRegistration}
      */
@@ -54,6 +80,18 @@ public final class RegistrationMetaData implements Map<String, String> {
 
     private final Object lock = new Object();
 
+    private final List<RegistrationMetaDataListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The deltas to be delivered in the order they were applied
+     */
+    private final Queue<RegistrationMetaDataDelta> pendingDeltas = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a thread is delivering the {@link #pendingDeltas}
+     */
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
     /**
      * Constructs a new {@link RegistrationMetaData} that aggregates metadata from the given
      * collection of {@link Registration} instances. Metadata changes are synchronized across
@@ -173,6 +211,24 @@ public final class RegistrationMetaData implements Map<String, String> {
         return this.applicationMetaData.get(key);
     }
 
+    /**
+     * Returns the consistent snapshot of the metadata, which never sees a part of a {@link #batch() batch}
+     * unlike the other reads.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * RegistrationMetaData metaData = new RegistrationMetaData(registrations);
+     * Map<String, String> snapshot = metaData.snapshot();
+     * }</pre>
+     *
+     * @return the unmodifiable copy of the metadata
+     */
+    public Map<String, String> snapshot() {
+        synchronized (lock) {
+            return unmodifiableMap(new LinkedHashMap<>(this.applicationMetaData));
+        }
+    }
+
     /**
      * Puts a metadata entry and synchronizes it across all underlying {@link Registration}
      * instances.
@@ -190,12 +246,13 @@ public final class RegistrationMetaData implements Map<String, String> {
      */
     @Override
     public String put(String key, String value) {
+        String previousValue;
         synchronized (lock) {
-            this.registrations.forEach(registration -> {
-                setMetadata(registration, key, value);
-            });
+            previousValue = this.applicationMetaData.get(key);
+            apply(singletonMap(key, value), emptySet());
         }
-        return this.applicationMetaData.put(key, value);
+        dispatch();
+        return previousValue;
     }
 
     /**
@@ -214,12 +271,13 @@ public final class RegistrationMetaData implements Map<String, String> {
      */
     @Override
     public String remove(Object key) {
+        String previousValue;
         synchronized (lock) {
-            this.registrations.forEach(registration -> {
-                removeMetadata(registration, (String) key);
-            });
+            previousValue = this.applicationMetaData.get(key);
+            apply(emptyMap(), singleton((String) key));
         }
-        return this.applicationMetaData.remove(key);
+        dispatch();
+        return previousValue;
     }
 
     /**
@@ -237,11 +295,9 @@ public final class RegistrationMetaData implements Map<String, String> {
     @Override
     public void putAll(Map<? extends String, ? extends String> m) {
         synchronized (lock) {
-            this.registrations.forEach(registration -> {
-                registration.getMetadata().putAll(m);
-            });
+            apply(m, emptySet());
         }
-        this.applicationMetaData.putAll(m);
+        dispatch();
     }
 
     /**
@@ -257,10 +313,14 @@ public final class RegistrationMetaData implements Map<String, String> {
      */
     @Override
     public void clear() {
+        Set<String> removedKeys;
         synchronized (lock) {
             this.registrations.forEach(registration -> registration.getMetadata().clear());
+            removedKeys = newLinkedHashSet(this.applicationMetaData.keySet());
+            this.applicationMetaData.clear();
+            enqueue(new RegistrationMetaDataDelta(emptyMap(), removedKeys));
         }
-        this.applicationMetaData.clear();
+        dispatch();
     }
 
     /**
@@ -300,7 +360,8 @@ public final class RegistrationMetaData implements Map<String, String> {
     /**
      * Returns a modifiable {@link Set} view of the metadata entries. Unlike
      * {@link #keySet()} and {@link #values()}, the returned set is not wrapped
-     * in an unmodifiable view.
+     * in an unmodifiable view. The iteration may see a part of the {@link #batch() batch} being applied,
+     * the {@link #snapshot()} should be used if the consistent view is required.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -315,6 +376,217 @@ public final class RegistrationMetaData implements Map<String, String> {
         return this.applicationMetaData.entrySet();
     }
 
+    /**
+     * Starts a {@link Batch} collecting the metadata changes, which are applied to all underlying
+     * {@link Registration} instances atomically once {@link Batch#commit() committed}, and then the
+     * {@link RegistrationMetaDataListener listeners} are notified once with the delta.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * RegistrationMetaData metaData = new RegistrationMetaData(registrations);
+     * RegistrationMetaDataDelta delta = metaData.batch()
+     *         .put("key4", "value4")
+     *         .put("key5", "value5")
+     *         .remove("key1")
+     *         .commit();
+     * }</pre>
+     *
+     * @return a new {@link Batch}
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Adds a {@link RegistrationMetaDataListener} notified once per the applied change set.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * RegistrationMetaData metaData = new RegistrationMetaData(registrations);
+     * metaData.addListener((source, delta) -> log.info("metadata changed : {}", delta));
+     * }</pre>
+     *
+     * @param listener the {@link RegistrationMetaDataListener}
+     */
+    public void addListener(RegistrationMetaDataListener listener) {
+        assertNotNull(listener, () -> "The 'listener' must not be null!");
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Removes the {@link RegistrationMetaDataListener}
+     *
+     * @param listener the {@link RegistrationMetaDataListener}
+     */
+    public void removeListener(RegistrationMetaDataListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Applies the changes to all underlying {@link Registration} instances and the application metadata, and then
+     * queues the delta, the caller must hold the lock, and notify the listeners by {@link #dispatch()} after
+     * releasing the lock.
+     *
+     * @param puts        the metadata to be put
+     * @param removedKeys the keys of metadata to be removed
+     * @return the {@link RegistrationMetaDataDelta}
+     */
+    private RegistrationMetaDataDelta apply(Map<? extends String, ? extends String> puts, Set<String> removedKeys) {
+        Map<String, String> changedMetadata = newLinkedHashMap(puts.size());
+        Set<String> actualRemovedKeys = newLinkedHashSet(removedKeys.size());
+        for (Registration registration : this.registrations) {
+            Map<String, String> metadata = registration.getMetadata();
+            for (String key : removedKeys) {
+                metadata.remove(key);
+            }
+            metadata.putAll(puts);
+        }
+        for (String key : removedKeys) {
+            if (this.applicationMetaData.remove(key) != null) {
+                actualRemovedKeys.add(key);
+            }
+        }
+        for (Entry<? extends String, ? extends String> entry : puts.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (!Objects.equals(this.applicationMetaData.put(key, value), value)) {
+                changedMetadata.put(key, value);
+            }
+        }
+        RegistrationMetaDataDelta delta = new RegistrationMetaDataDelta(changedMetadata, actualRemovedKeys);
+        enqueue(delta);
+        return delta;
+    }
+
+    /**
+     * Queues the delta if the metadata was changed, the caller must hold the lock, thus the deltas are queued in the
+     * order they were applied.
+     *
+     * @param delta the {@link RegistrationMetaDataDelta}
+     */
+    private void enqueue(RegistrationMetaDataDelta delta) {
+        if (!delta.isEmpty() && !this.listeners.isEmpty()) {
+            this.pendingDeltas.add(delta);
+        }
+    }
+
+    /**
+     * Delivers the queued deltas to the listeners in order, the caller must not hold the lock. Only one thread
+     * delivers at a time, the others return at once and leave their deltas to the delivering thread, as well as the
+     * changes made by the listeners themselves.
+     */
+    private void dispatch() {
+        while (!this.pendingDeltas.isEmpty() && this.dispatching.compareAndSet(false, true)) {
+            try {
+                RegistrationMetaDataDelta delta;
+                while ((delta = this.pendingDeltas.poll()) != null) {
+                    fireChanged(delta);
+                }
+            } finally {
+                this.dispatching.set(false);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of the delta
+     *
+     * @param delta the non-empty {@link RegistrationMetaDataDelta}
+     */
+    private void fireChanged(RegistrationMetaDataDelta delta) {
+        for (RegistrationMetaDataListener listener : this.listeners) {
+            try {
+                listener.onChanged(this, delta);
+            } catch (RuntimeException e) {
+                logger.error("The RegistrationMetaDataListener[{}] failed to handle the delta : {}", listener, delta, e);
+            }
+        }
+    }
+
+    /**
+     * The transactional batch of the {@link RegistrationMetaData} changes, the later change of the same key wins,
+     * all changes are applied atomically under the lock of {@link RegistrationMetaData} on {@link #commit()}.
+     * A {@link Batch} is not thread-safe and can be committed only once.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * metaData.batch()
+     *         .putAll(Map.of("zone", "zone-1", "version", "1.0.1"))
+     *         .remove("deprecated")
+     *         .commit();
+     * }</pre>
+     */
+    public final class Batch {
+
+        private final Map<String, String> puts = newLinkedHashMap();
+
+        private final Set<String> removedKeys = newLinkedHashSet();
+
+        private boolean committed;
+
+        private Batch() {
+        }
+
+        /**
+         * Collects the metadata to be put
+         *
+         * @param key   the metadata key
+         * @param value the metadata value
+         * @return this {@link Batch}
+         */
+        public Batch put(String key, String value) {
+            assertNotNull(key, () -> "The metadata 'key' must not be null!");
+            assertNotNull(value, () -> "The metadata 'value' must not be null!");
+            this.removedKeys.remove(key);
+            this.puts.put(key, value);
+            return this;
+        }
+
+        /**
+         * Collects all the metadata to be put
+         *
+         * @param metadata the metadata
+         * @return this {@link Batch}
+         */
+        public Batch putAll(Map<String, String> metadata) {
+            metadata.forEach(this::put);
+            return this;
+        }
+
+        /**
+         * Collects the key of the metadata to be removed
+         *
+         * @param key the metadata key
+         * @return this {@link Batch}
+         */
+        public Batch remove(String key) {
+            assertNotNull(key, () -> "The metadata 'key' must not be null!");
+            this.puts.remove(key);
+            this.removedKeys.add(key);
+            return this;
+        }
+
+        /**
+         * Applies the collected changes atomically, the {@link RegistrationMetaDataListener listeners} are notified
+         * once after the changes are applied if the metadata was changed.
+         *
+         * @return the {@link RegistrationMetaDataDelta delta} of the metadata, may be empty
+         * @throws IllegalStateException if this batch was committed
+         */
+        public RegistrationMetaDataDelta commit() throws IllegalStateException {
+            if (this.committed) {
+                throw new IllegalStateException("The batch of RegistrationMetaData was committed!");
+            }
+            this.committed = true;
+            RegistrationMetaDataDelta delta;
+            synchronized (lock) {
+                delta = apply(this.puts, this.removedKeys);
+            }
+            dispatch();
+            return delta;
+        }
+    }
+
     private void initializeIfZookeeperRegistrationAvailable(Registration registration) {
         Class<?> registrationClass = ultimateTargetClass(registration);
         if (ZOOKEEPER_REGISTRATION_CLASS_NAME.equals(registrationClass.getName())) {
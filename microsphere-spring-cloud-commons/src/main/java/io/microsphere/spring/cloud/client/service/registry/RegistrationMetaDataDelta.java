@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.service.registry;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * The delta of the {@link RegistrationMetaData} applied at once, including the added or updated metadata and the
+ * keys of the removed metadata.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * RegistrationMetaDataDelta delta = metaData.batch()
+ *         .put("version", "1.0.1")
+ *         .remove("deprecated")
+ *         .commit();
+ * Map<String, String> changedMetadata = delta.getChangedMetadata(); // {version=1.0.1}
+ * Set<String> removedKeys = delta.getRemovedKeys(); // [deprecated]
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RegistrationMetaData
+ * @see RegistrationMetaDataListener
+ * @since 1.0.0
+ */
+public final class RegistrationMetaDataDelta {
+
+    private final Map<String, String> changedMetadata;
+
+    private final Set<String> removedKeys;
+
+    RegistrationMetaDataDelta(Map<String, String> changedMetadata, Set<String> removedKeys) {
+        this.changedMetadata = unmodifiableMap(changedMetadata);
+        this.removedKeys = unmodifiableSet(removedKeys);
+    }
+
+    /**
+     * Returns the added or updated metadata with their new values.
+     *
+     * @return the unmodifiable {@link Map} of the changed metadata
+     */
+    public Map<String, String> getChangedMetadata() {
+        return this.changedMetadata;
+    }
+
+    /**
+     * Returns the keys of the removed metadata.
+     *
+     * @return the unmodifiable {@link Set} of the removed keys
+     */
+    public Set<String> getRemovedKeys() {
+        return this.removedKeys;
+    }
+
+    /**
+     * Whether nothing was changed
+     *
+     * @return {@code true} if no metadata was added, updated or removed
+     */
+    public boolean isEmpty() {
+        return this.changedMetadata.isEmpty() && this.removedKeys.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RegistrationMetaDataDelta)) {
+            return false;
+        }
+        RegistrationMetaDataDelta that = (RegistrationMetaDataDelta) o;
+        return this.changedMetadata.equals(that.changedMetadata) && this.removedKeys.equals(that.removedKeys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.changedMetadata, this.removedKeys);
+    }
+
+    @Override
+    public String toString() {
+        return "RegistrationMetaDataDelta{" +
+                "changedMetadata=" + this.changedMetadata +
+                ", removedKeys=" + this.removedKeys +
+                '}';
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.service.registry;
+
+/**
+ * The listener of the {@link RegistrationMetaData} changes, which is notified once per the applied change set, e.g.
+ * one {@link RegistrationMetaData.Batch#commit() committed batch}, thus the registry integrations could push one
+ * update with the {@link RegistrationMetaDataDelta delta} instead of one per key.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * RegistrationMetaData metaData = (RegistrationMetaData) multipleRegistration.getMetadata();
+ * metaData.addListener((source, delta) -> registryClient.updateMetadata(delta.getChangedMetadata(), delta.getRemovedKeys()));
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RegistrationMetaData
+ * @see RegistrationMetaDataDelta
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface RegistrationMetaDataListener {
+
+    /**
+     * Callback when the metadata of {@link RegistrationMetaData} was changed, it's invoked outside the lock of
+     * {@link RegistrationMetaData}. The deltas are delivered serially in the order they were applied, never
+     * concurrently, but maybe by the thread of the other change rather than the one making this change, so the
+     * implementation should not block, and the {@link RegistrationMetaData#snapshot() snapshot} may be newer than
+     * the delta.
+     *
+     * @param metaData the changed {@link RegistrationMetaData}
+     * @param delta    the non-empty {@link RegistrationMetaDataDelta delta}
+     */
+    void onChanged(RegistrationMetaData metaData, RegistrationMetaDataDelta delta);
+}
@@ -33,6 +33,7 @@ import java.util.Set;
 import static io.microsphere.collection.SetUtils.newHashSet;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.attachMetadata;
+import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.WEB_MAPPINGS_COMPACT_ENABLED_PROPERTY_NAME;
 
 /**
  * Auto-Configuration class for {@link ServiceRegistry ServiceRegistry} on the Spring WebMVC Application
@@ -47,6 +48,9 @@ public abstract class WebServiceRegistryAutoConfiguration implements Application
     @Value("${management.endpoints.web.base-path:/actuator}")
     protected String actuatorBasePath;
 
+    @Value("${" + WEB_MAPPINGS_COMPACT_ENABLED_PROPERTY_NAME + ":false}")
+    protected boolean compactWebMappings;
+
     /**
      * Handles {@link WebEndpointMappingsReadyEvent} by attaching web endpoint mapping metadata
      * to all available {@link Registration} instances.
@@ -71,7 +75,7 @@ public abstract class WebServiceRegistryAutoConfiguration implements Application
     private void attachWebMappingsMetadata(Registration registration, Collection<WebEndpointMapping> webEndpointMappings) {
         Set<WebEndpointMapping> mappings = newHashSet(webEndpointMappings);
         excludeMappings(mappings);
-        attachMetadata(getContextPath(), registration, mappings);
+        attachMetadata(getContextPath(), registration, mappings, compactWebMappings);
     }
 
     void excludeMappings(Collection<WebEndpointMapping> mappings) {
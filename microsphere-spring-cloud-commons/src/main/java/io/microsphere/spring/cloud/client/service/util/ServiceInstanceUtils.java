@@ -31,29 +31,30 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
 import static io.microsphere.constants.SeparatorConstants.LINE_SEPARATOR;
 import static io.microsphere.constants.SymbolConstants.COLON_CHAR;
 import static io.microsphere.constants.SymbolConstants.COMMA;
-import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
-import static io.microsphere.constants.SymbolConstants.RIGHT_SQUARE_BRACKET;
 import static io.microsphere.json.JSONUtils.jsonArray;
 import static io.microsphere.json.JSONUtils.readArray;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.net.URLUtils.decode;
-import static io.microsphere.net.URLUtils.encode;
 import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_CONTEXT_PATH_METADATA_NAME;
 import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_MAPPINGS_METADATA_NAME;
 import static io.microsphere.spring.web.metadata.WebEndpointMapping.Kind.valueOf;
 import static io.microsphere.spring.web.metadata.WebEndpointMapping.of;
-import static io.microsphere.util.StringUtils.EMPTY_STRING;
 import static io.microsphere.util.StringUtils.EMPTY_STRING_ARRAY;
 import static io.microsphere.util.StringUtils.isBlank;
 import static java.lang.String.valueOf;
+import static java.lang.System.currentTimeMillis;
 import static java.net.URI.create;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
 
 /**
  * {@link ServiceInstance} Utilities class
@@ -65,6 +66,33 @@ public class ServiceInstanceUtils extends BaseUtils {
 
     private static final Logger logger = getLogger(ServiceInstanceUtils.class);
 
+    private static final String ENCODED_LEFT_SQUARE_BRACKET = "%5B";
+
+    private static final String ENCODED_RIGHT_SQUARE_BRACKET = "%5D";
+
+    private static final String ENCODED_COMMA = "%2C";
+
+    private static final char LINE_SEPARATOR_FIRST_CHAR = LINE_SEPARATOR.charAt(0);
+
+    private static final char[] UPPER_HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The max size of the cache of the parsed {@link WebEndpointMapping}s
+     */
+    static final int WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE = 256;
+
+    /**
+     * The lock-free cache of the parsed {@link WebEndpointMapping}s keyed by the hash of the encoded metadata, the
+     * content is verified on the hit, the values are strongly held, and the least recently accessed ones are evicted
+     * if the size exceeds {@link #WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE}
+     */
+    private static final Map<Integer, WebEndpointMappingsEntry> webEndpointMappingsCache = newConcurrentHashMap();
+
+    /**
+     * Whether the {@link #webEndpointMappingsCache} is being evicted, only one thread evicts at a time
+     */
+    private static final AtomicBoolean evictingWebEndpointMappingsCache = new AtomicBoolean();
+
     /**
      * Attach {@link WebEndpointMapping} metadata to the given {@link ServiceInstance}.
      * The web endpoint mappings are serialized as JSON and stored in the service instance's
@@ -82,18 +110,35 @@ public class ServiceInstanceUtils extends BaseUtils {
      * @param webEndpointMappings the collection of {@link WebEndpointMapping}s to attach
      */
     public static void attachMetadata(String contextPath, ServiceInstance serviceInstance, Collection<WebEndpointMapping> webEndpointMappings) {
+        attachMetadata(contextPath, serviceInstance, webEndpointMappings, false);
+    }
+
+    /**
+     * Attach {@link WebEndpointMapping} metadata to the given {@link ServiceInstance}.
+     * The web endpoint mappings are serialized as JSON, or the compact format (the deflated and dictionary-coded
+     * binary layout in Base64) if <code>compact</code> is <code>true</code>, and stored in the service instance's
+     * metadata under the {@link io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants#WEB_MAPPINGS_METADATA_NAME} key.
+     * Both formats are read by {@link #getWebEndpointMappings(ServiceInstance)}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ServiceInstance serviceInstance = new DefaultServiceInstance("id", "service", "localhost", 8080, false);
+     * Collection<WebEndpointMapping> mappings = new ArrayList<>();
+     * ServiceInstanceUtils.attachMetadata("/context", serviceInstance, mappings, true);
+     * }</pre>
+     *
+     * @param contextPath         the web application context path
+     * @param serviceInstance     the {@link ServiceInstance} to attach metadata to
+     * @param webEndpointMappings the collection of {@link WebEndpointMapping}s to attach
+     * @param compact             whether the compact format is used or not
+     */
+    public static void attachMetadata(String contextPath, ServiceInstance serviceInstance, Collection<WebEndpointMapping> webEndpointMappings,
+                                      boolean compact) {
         Map<String, String> metadata = serviceInstance.getMetadata();
-        StringJoiner jsonBuilder = new StringJoiner(COMMA + LINE_SEPARATOR, LEFT_SQUARE_BRACKET, RIGHT_SQUARE_BRACKET);
-        webEndpointMappings.stream().map(WebEndpointMapping::toJSON).forEach(jsonBuilder::add);
-        String json = jsonBuilder.toString();
-        if (logger.isTraceEnabled()) {
-            logger.trace("Web Endpoint Mappings JSON: \n{}", json);
-        }
-        json = json.replace(LINE_SEPARATOR, EMPTY_STRING);
-        String encodedJson = encode(json);
+        String webMappings = compact ? WebEndpointMappingsCodec.encode(webEndpointMappings) : toEncodedJSON(webEndpointMappings);
 
         metadata.put(WEB_CONTEXT_PATH_METADATA_NAME, contextPath);
-        metadata.put(WEB_MAPPINGS_METADATA_NAME, encodedJson);
+        metadata.put(WEB_MAPPINGS_METADATA_NAME, webMappings);
         if (logger.isTraceEnabled()) {
             logger.trace("ServiceInstance's metadata :");
             metadata.forEach((name, value) -> logger.trace("{} : {}", name, value));
@@ -101,15 +146,18 @@ public class ServiceInstanceUtils extends BaseUtils {
     }
 
     /**
-     * Get {@link WebEndpointMapping}s from {@link ServiceInstance}
+     * Get {@link WebEndpointMapping}s from {@link ServiceInstance}, the identical metadata shared by the service
+     * instances is parsed once, and the result is cached and shared until it's evicted as one of the least recently
+     * accessed ones beyond the bounded size of the cache.
      *
      * @param serviceInstance {@link ServiceInstance}
-     * @return {@link WebEndpointMapping}s
+     * @return the unmodifiable {@link WebEndpointMapping}s which may be the same instance shared by the other callers,
+     * thus it must not be modified, any attempt throws {@link UnsupportedOperationException}
      */
     @Nonnull
     public static Collection<WebEndpointMapping> getWebEndpointMappings(ServiceInstance serviceInstance) {
         String encodedJSON = getMetadata(serviceInstance, WEB_MAPPINGS_METADATA_NAME);
-        return parseWebEndpointMappings(encodedJSON);
+        return getCachedWebEndpointMappings(encodedJSON);
     }
 
     /**
@@ -204,10 +252,186 @@ public class ServiceInstanceUtils extends BaseUtils {
         metadata.putAll(source.getMetadata());
     }
 
+    /**
+     * Writes the JSON array of the {@link WebEndpointMapping}s in the URL-encoded form (the same as
+     * {@link io.microsphere.net.URLUtils#encode(String)} in UTF-8) in a single pass, the line separators are
+     * removed, the exact length of the encoded form is computed at first, thus the result is written into one
+     * presized buffer without the intermediate copies of the joined and the replaced JSON.
+     *
+     * @param webEndpointMappings the {@link WebEndpointMapping}s
+     * @return the URL-encoded JSON array
+     */
+    static String toEncodedJSON(Collection<WebEndpointMapping> webEndpointMappings) {
+        int size = webEndpointMappings.size();
+        String[] jsons = new String[size];
+        // "%5B" + "%2C" * (size - 1) + "%5D"
+        int length = size == 0 ? 6 : 3 * (size + 1);
+        int i = 0;
+        for (WebEndpointMapping webEndpointMapping : webEndpointMappings) {
+            String json = webEndpointMapping.toJSON();
+            jsons[i++] = json;
+            length += encodedLength(json);
+        }
+        if (logger.isTraceEnabled()) {
+            logger.trace("Web Endpoint Mappings JSON: \n{}", String.join(COMMA + LINE_SEPARATOR, jsons));
+        }
+        StringBuilder encodedJSON = new StringBuilder(length);
+        encodedJSON.append(ENCODED_LEFT_SQUARE_BRACKET);
+        for (i = 0; i < size; i++) {
+            if (i > 0) {
+                encodedJSON.append(ENCODED_COMMA);
+            }
+            appendEncoded(encodedJSON, jsons[i]);
+        }
+        encodedJSON.append(ENCODED_RIGHT_SQUARE_BRACKET);
+        return encodedJSON.toString();
+    }
+
+    /**
+     * Computes the length of the URL-encoded form of the JSON without the line separators
+     *
+     * @param json the JSON
+     * @return the length of the URL-encoded form
+     */
+    static int encodedLength(String json) {
+        int length = 0;
+        int jsonLength = json.length();
+        for (int i = 0; i < jsonLength; i++) {
+            char c = json.charAt(i);
+            if (c == LINE_SEPARATOR_FIRST_CHAR && json.startsWith(LINE_SEPARATOR, i)) {
+                i += LINE_SEPARATOR.length() - 1;
+            } else if (isUnreserved(c) || c == ' ') {
+                length++;
+            } else if (c < 0x80) {
+                length += 3;
+            } else if (c < 0x800) {
+                length += 6;
+            } else if (Character.isHighSurrogate(c) && i + 1 < jsonLength && Character.isLowSurrogate(json.charAt(i + 1))) {
+                length += 12;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // the malformed surrogate is replaced by '?'
+                length += 3;
+            } else {
+                length += 9;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Appends the URL-encoded form of the JSON without the line separators, which is compatible with
+     * {@link java.net.URLEncoder} in UTF-8
+     *
+     * @param builder the {@link StringBuilder} to append
+     * @param json    the JSON
+     */
+    static void appendEncoded(StringBuilder builder, String json) {
+        int jsonLength = json.length();
+        for (int i = 0; i < jsonLength; i++) {
+            char c = json.charAt(i);
+            if (c == LINE_SEPARATOR_FIRST_CHAR && json.startsWith(LINE_SEPARATOR, i)) {
+                i += LINE_SEPARATOR.length() - 1;
+            } else if (isUnreserved(c)) {
+                builder.append(c);
+            } else if (c == ' ') {
+                builder.append('+');
+            } else if (c < 0x80) {
+                appendEncodedByte(builder, c);
+            } else if (c < 0x800) {
+                appendEncodedByte(builder, 0xC0 | (c >> 6));
+                appendEncodedByte(builder, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < jsonLength && Character.isLowSurrogate(json.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, json.charAt(++i));
+                appendEncodedByte(builder, 0xF0 | (codePoint >> 18));
+                appendEncodedByte(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+                appendEncodedByte(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+                appendEncodedByte(builder, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                appendEncodedByte(builder, '?');
+            } else {
+                appendEncodedByte(builder, 0xE0 | (c >> 12));
+                appendEncodedByte(builder, 0x80 | ((c >> 6) & 0x3F));
+                appendEncodedByte(builder, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_';
+    }
+
+    private static void appendEncodedByte(StringBuilder builder, int b) {
+        builder.append('%')
+                .append(UPPER_HEX_DIGITS[(b >> 4) & 0x0F])
+                .append(UPPER_HEX_DIGITS[b & 0x0F]);
+    }
+
+    static List<WebEndpointMapping> getCachedWebEndpointMappings(String encodedJSON) {
+        if (isBlank(encodedJSON)) {
+            return emptyList();
+        }
+        Integer hash = encodedJSON.hashCode();
+        WebEndpointMappingsEntry entry = webEndpointMappingsCache.get(hash);
+        List<WebEndpointMapping> webEndpointMappings = entry == null ? null : entry.get(encodedJSON);
+        if (webEndpointMappings != null) {
+            return webEndpointMappings;
+        }
+        // the concurrent parsers may race, the first cached one wins
+        List<WebEndpointMapping> parsed = unmodifiableList(parseWebEndpointMappings(encodedJSON));
+        WebEndpointMappingsEntry newEntry = new WebEndpointMappingsEntry(hash, encodedJSON, parsed);
+        while (true) {
+            entry = webEndpointMappingsCache.putIfAbsent(hash, newEntry);
+            if (entry == null) {
+                evictWebEndpointMappingsCache();
+                return parsed;
+            }
+            webEndpointMappings = entry.get(encodedJSON);
+            if (webEndpointMappings != null) {
+                return webEndpointMappings;
+            }
+            // the hash collision is replaced
+            if (webEndpointMappingsCache.replace(hash, entry, newEntry)) {
+                return parsed;
+            }
+        }
+    }
+
+    private static void evictWebEndpointMappingsCache() {
+        if (webEndpointMappingsCache.size() <= WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE
+                || !evictingWebEndpointMappingsCache.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = webEndpointMappingsCache.size() - WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE;
+            if (excess > 0) {
+                List<WebEndpointMappingsEntry> entries = webEndpointMappingsCache.values().stream()
+                        .sorted(comparingLong(entry -> entry.lastAccessTime))
+                        .limit(excess)
+                        .collect(toList());
+                entries.forEach(entry -> webEndpointMappingsCache.remove(entry.hash, entry));
+            }
+        } finally {
+            evictingWebEndpointMappingsCache.set(false);
+        }
+    }
+
+    static int getWebEndpointMappingsCacheSize() {
+        return webEndpointMappingsCache.size();
+    }
+
+    static void clearWebEndpointMappingsCache() {
+        webEndpointMappingsCache.clear();
+    }
+
     static List<WebEndpointMapping> parseWebEndpointMappings(String encodedJSON) {
         if (isBlank(encodedJSON)) {
             return emptyList();
         }
+        if (WebEndpointMappingsCodec.isEncoded(encodedJSON)) {
+            return WebEndpointMappingsCodec.decode(encodedJSON);
+        }
         String json = decode(encodedJSON);
         JSONArray jsonArray = jsonArray(json);
         int size = jsonArray.length();
@@ -251,4 +475,40 @@ public class ServiceInstanceUtils extends BaseUtils {
 
     private ServiceInstanceUtils() {
     }
+
+    /**
+     * The entry of the parsed {@link WebEndpointMapping}s with the encoded metadata to verify the hit
+     */
+    static final class WebEndpointMappingsEntry {
+
+        private final Integer hash;
+
+        private final String encodedJSON;
+
+        private final List<WebEndpointMapping> webEndpointMappings;
+
+        private volatile long lastAccessTime;
+
+        WebEndpointMappingsEntry(Integer hash, String encodedJSON, List<WebEndpointMapping> webEndpointMappings) {
+            this.hash = hash;
+            this.encodedJSON = encodedJSON;
+            this.webEndpointMappings = webEndpointMappings;
+            this.lastAccessTime = currentTimeMillis();
+        }
+
+        /**
+         * Get the parsed {@link WebEndpointMapping}s if the encoded metadata is equal
+         *
+         * @param encodedJSON the encoded metadata
+         * @return <code>null</code> if the encoded metadata is not equal
+         */
+        @Nullable
+        List<WebEndpointMapping> get(String encodedJSON) {
+            if (!this.encodedJSON.equals(encodedJSON)) {
+                return null;
+            }
+            this.lastAccessTime = currentTimeMillis();
+            return this.webEndpointMappings;
+        }
+    }
 }
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.service.util;
+
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import io.microsphere.spring.web.metadata.WebEndpointMapping.Builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.Kind.valueOf;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.of;
+import static io.microsphere.util.StringUtils.EMPTY_STRING_ARRAY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getUrlDecoder;
+import static java.util.Base64.getUrlEncoder;
+
+/**
+ * The compact codec of the {@link WebEndpointMapping}s in the "web.mappings" metadata of the service instance.
+ * <p>
+ * The format is the {@link #FORMAT_PREFIX format marker} followed by the URL-safe Base64 of the deflated
+ * binary layout (version 1) :
+ * <pre>
+ * dictionary : varint count, (varint length, UTF-8 bytes) * count
+ * mappings   : varint count, mapping * count
+ * mapping    : varint kind, zigzag varint id, byte negated,
+ *              (varint length, varint dictionary index * length) * 6 for patterns, methods, params, headers,
+ *              consumes and produces
+ * </pre>
+ * The strings are deduplicated by the dictionary, since the methods, media types and the pattern prefixes are
+ * repeated heavily across the mappings.
+ * <p>
+ * As the metadata comes from the other service instances, the decoding never trusts it : the inflated size is capped
+ * by {@link #MAX_INFLATED_SIZE}, and every count or length is checked against the remaining bytes before allocating.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * String value = WebEndpointMappingsCodec.encode(webEndpointMappings);  // "c1:..."
+ * if (WebEndpointMappingsCodec.isEncoded(value)) {
+ *     List<WebEndpointMapping> mappings = WebEndpointMappingsCodec.decode(value);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstanceUtils#attachMetadata(String, org.springframework.cloud.client.ServiceInstance, Collection, boolean)
+ * @since 1.0.0
+ */
+final class WebEndpointMappingsCodec {
+
+    /**
+     * The format marker of the compact encoding version 1, which never starts the URL-encoded JSON
+     */
+    static final String FORMAT_PREFIX = "c1:";
+
+    /**
+     * The max size in bytes of the inflated binary layout, which guards against the deflate bombs
+     */
+    static final int MAX_INFLATED_SIZE = 1024 * 1024;
+
+    /**
+     * Encodes the {@link WebEndpointMapping}s to the compact format
+     *
+     * @param webEndpointMappings the {@link WebEndpointMapping}s
+     * @return the compact format starts with {@link #FORMAT_PREFIX}
+     */
+    static String encode(Collection<WebEndpointMapping> webEndpointMappings) {
+        int size = webEndpointMappings.size();
+        Map<String, Integer> dictionary = newHashMap(size * 4);
+        List<String> strings = newArrayList(size * 4);
+        ByteArrayOutputStream mappingsBytes = new ByteArrayOutputStream(size * 16);
+        try {
+            DataOutputStream mappingsOutput = new DataOutputStream(mappingsBytes);
+            writeVarInt(mappingsOutput, size);
+            for (WebEndpointMapping webEndpointMapping : webEndpointMappings) {
+                writeVarInt(mappingsOutput, index(webEndpointMapping.getKind().name(), dictionary, strings));
+                int id = webEndpointMapping.getId();
+                writeVarInt(mappingsOutput, (id << 1) ^ (id >> 31));
+                mappingsOutput.writeBoolean(webEndpointMapping.isNegated());
+                writeArray(mappingsOutput, webEndpointMapping.getPatterns(), dictionary, strings);
+                writeArray(mappingsOutput, webEndpointMapping.getMethods(), dictionary, strings);
+                writeArray(mappingsOutput, webEndpointMapping.getParams(), dictionary, strings);
+                writeArray(mappingsOutput, webEndpointMapping.getHeaders(), dictionary, strings);
+                writeArray(mappingsOutput, webEndpointMapping.getConsumes(), dictionary, strings);
+                writeArray(mappingsOutput, webEndpointMapping.getProduces(), dictionary, strings);
+            }
+            mappingsOutput.flush();
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(mappingsBytes.size());
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+                writeVarInt(output, strings.size());
+                for (String string : strings) {
+                    byte[] stringBytes = string.getBytes(UTF_8);
+                    writeVarInt(output, stringBytes.length);
+                    output.write(stringBytes);
+                }
+                mappingsBytes.writeTo(output);
+            } finally {
+                deflater.end();
+            }
+            return FORMAT_PREFIX + getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            // never happens on the in-memory streams
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the {@link WebEndpointMapping}s from the compact format
+     *
+     * @param value the compact format starts with {@link #FORMAT_PREFIX}
+     * @return non-null
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    static List<WebEndpointMapping> decode(String value) throws IllegalArgumentException {
+        if (!isEncoded(value)) {
+            throw new IllegalArgumentException("The value is not the compact format of web mappings : " + value);
+        }
+        try {
+            byte[] bytes = inflate(getUrlDecoder().decode(value.substring(FORMAT_PREFIX.length())), MAX_INFLATED_SIZE);
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            int dictionarySize = readLength(input);
+            String[] dictionary = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                byte[] stringBytes = new byte[readLength(input)];
+                input.readFully(stringBytes);
+                dictionary[i] = new String(stringBytes, UTF_8);
+            }
+            int size = readLength(input);
+            List<WebEndpointMapping> webEndpointMappings = newArrayList(size);
+            for (int i = 0; i < size; i++) {
+                String kind = dictionary[readVarInt(input)];
+                int zigzag = readVarInt(input);
+                int id = (zigzag >>> 1) ^ -(zigzag & 1);
+                boolean negated = input.readBoolean();
+                Builder<?> builder = of(valueOf(kind))
+                        .endpoint(Integer.valueOf(id))
+                        .patterns(readArray(input, dictionary))
+                        .methods(readArray(input, dictionary))
+                        .params(readArray(input, dictionary))
+                        .headers(readArray(input, dictionary))
+                        .consumes(readArray(input, dictionary))
+                        .produces(readArray(input, dictionary));
+                if (negated) {
+                    builder.negate();
+                }
+                webEndpointMappings.add(builder.build());
+            }
+            return webEndpointMappings;
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("The compact format of web mappings is malformed : " + value, e);
+        }
+    }
+
+    /**
+     * Is the value encoded by the compact format or not
+     *
+     * @param value the value of the metadata
+     * @return <code>true</code> if it starts with {@link #FORMAT_PREFIX}
+     */
+    static boolean isEncoded(String value) {
+        return value != null && value.startsWith(FORMAT_PREFIX);
+    }
+
+    private static int index(String string, Map<String, Integer> dictionary, List<String> strings) {
+        Integer index = dictionary.get(string);
+        if (index == null) {
+            index = strings.size();
+            dictionary.put(string, index);
+            strings.add(string);
+        }
+        return index;
+    }
+
+    private static void writeArray(DataOutputStream output, String[] values, Map<String, Integer> dictionary,
+                                   List<String> strings) throws IOException {
+        int length = values == null ? 0 : values.length;
+        writeVarInt(output, length);
+        for (int i = 0; i < length; i++) {
+            writeVarInt(output, index(values[i], dictionary, strings));
+        }
+    }
+
+    private static String[] readArray(DataInputStream input, String[] dictionary) throws IOException {
+        int length = readLength(input);
+        if (length == 0) {
+            return EMPTY_STRING_ARRAY;
+        }
+        String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = dictionary[readVarInt(input)];
+        }
+        return values;
+    }
+
+    /**
+     * Inflates the bytes, the inflated size must not exceed the max size
+     *
+     * @param bytes   the deflated bytes
+     * @param maxSize the max size of the inflated bytes
+     * @return the inflated bytes
+     * @throws IOException if the bytes are malformed or the inflated size exceeds the max size
+     */
+    static byte[] inflate(byte[] bytes, int maxSize) throws IOException {
+        Inflater inflater = new Inflater();
+        try (InflaterInputStream input = new InflaterInputStream(new ByteArrayInputStream(bytes), inflater)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                if (output.size() + n > maxSize) {
+                    throw new IOException("The inflated size exceeds the max size : " + maxSize);
+                }
+                output.write(buffer, 0, n);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Reads the count or the length, which must not exceed the remaining bytes since every element takes
+     * one byte at least
+     *
+     * @param input the {@link DataInputStream} on the inflated bytes
+     * @return the non-negative count or length
+     * @throws IOException if the count or the length is out of bounds
+     */
+    static int readLength(DataInputStream input) throws IOException {
+        int length = readVarInt(input);
+        if (length < 0 || length > input.available()) {
+            throw new IOException("The length[" + length + "] is out of the remaining bytes : " + input.available());
+        }
+        return length;
+    }
+
+    static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("The varint is too long");
+    }
+
+    private WebEndpointMappingsCodec() {
+    }
+}
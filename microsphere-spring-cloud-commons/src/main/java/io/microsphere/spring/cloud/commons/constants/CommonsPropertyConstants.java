@@ -78,6 +78,17 @@ public interface CommonsPropertyConstants extends SpringCloudPropertyConstants {
     )
     String COMPOSITE_REGISTRATION_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "composite-registration." + ENABLED_PROPERTY_NAME;
 
+    /**
+     * The property name for the compact format of the "web.mappings" metadata of the service instance Enabled Feature :
+     * "microsphere.spring.cloud.web-mappings.compact.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String WEB_MAPPINGS_COMPACT_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "web-mappings.compact." + ENABLED_PROPERTY_NAME;
+
     /**
      * The placeholder of Spring Application Name : ${spring.application.name:application}
      *
@@ -25,6 +25,68 @@ public interface FaultTolerancePropertyConstants {
      */
     String LOAD_BALANCER_PROPERTY_PREFIX = FAULT_TOLERANCE_PROPERTY_NAME_PREFIX + "load-balancer.";
 
+    /**
+     * The property name of Load Balancer's algorithm, e.g, "weighted-round-robin", "power-of-two-choices"
+     */
+    @ConfigurationProperty(
+            source = APPLICATION_SOURCE
+    )
+    String LOAD_BALANCER_ALGORITHM_PROPERTY_NAME = LOAD_BALANCER_PROPERTY_PREFIX + "algorithm";
+
+    /**
+     * The Load Balancer's algorithm of Weighted Round-Robin : "weighted-round-robin"
+     */
+    String WEIGHTED_ROUND_ROBIN_ALGORITHM = "weighted-round-robin";
+
+    /**
+     * The Load Balancer's algorithm of Power-of-Two-Choices with the least outstanding requests :
+     * "power-of-two-choices"
+     */
+    String POWER_OF_TWO_CHOICES_ALGORITHM = "power-of-two-choices";
+
+    /**
+     * The property name of Load Balancer's warm-up enabled, the weights of the service instances inside their warm-up
+     * windows will be adjusted
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String LOAD_BALANCER_WARMUP_ENABLED_PROPERTY_NAME = LOAD_BALANCER_PROPERTY_PREFIX + "warmup.enabled";
+
+    /**
+     * The property name of Load Balancer's adaptive weight enabled, the weights of "weighted-round-robin" will be
+     * scaled by the EWMA of the response latency and the error rate
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String LOAD_BALANCER_ADAPTIVE_WEIGHT_ENABLED_PROPERTY_NAME = LOAD_BALANCER_PROPERTY_PREFIX + "adaptive-weight.enabled";
+
+    /**
+     * The property name of Load Balancer's endpoint routing enabled, the requests only go to the service instances
+     * exposing the endpoints in their "web.mappings" metadata
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME = LOAD_BALANCER_PROPERTY_PREFIX + "endpoint-routing.enabled";
+
+    /**
+     * The property name of the decay time(milliseconds) of Load Balancer's EWMA statistics
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "5000",
+            source = APPLICATION_SOURCE
+    )
+    String LOAD_BALANCER_EWMA_DECAY_TIME_PROPERTY_NAME = LOAD_BALANCER_PROPERTY_PREFIX + "ewma.decay-time";
+
     /**
      * The metadata name of warm-up time
      */
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.SetUtils.newLinkedHashSet;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.ServiceInstanceStats.DEFAULT_DECAY_TIME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getInstanceId;
+import static java.lang.System.identityHashCode;
+
+/**
+ * The registry of {@link ServiceInstanceStats} keyed by {@link io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils#getInstanceId(ServiceInstance) the identifier of service instance},
+ * which is shared by the load balancers and {@link LoadBalancerStatsLifecycle} of the same load-balanced client.
+ * <p>
+ * The lookups on the hot path are allocation-free, the recently looked-up {@link ServiceInstance service instances}
+ * are remembered by their identities in a small direct-mapped cache, thus the identifier, e.g. "host:port", is only
+ * derived on the cache miss.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+ * int active = loadBalancerStats.getStats(serviceInstance).getActive();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstanceStats
+ * @see LoadBalancerStatsLifecycle
+ * @since 1.0.0
+ */
+public class LoadBalancerStats {
+
+    /**
+     * The size of the cache of the recently looked-up {@link ServiceInstance service instances}, the power of two
+     */
+    static final int CACHE_SIZE = 256;
+
+    final Map<String, ServiceInstanceStats> statsMap = newConcurrentHashMap();
+
+    private final CacheEntry[] cache = new CacheEntry[CACHE_SIZE];
+
+    private final long decayTime;
+
+    /**
+     * Create a new {@link LoadBalancerStats} with {@link ServiceInstanceStats#DEFAULT_DECAY_TIME the default decay time}
+     */
+    public LoadBalancerStats() {
+        this(DEFAULT_DECAY_TIME);
+    }
+
+    /**
+     * Create a new {@link LoadBalancerStats}
+     *
+     * @param decayTime the decay time(milliseconds) of EWMA
+     */
+    public LoadBalancerStats(long decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    /**
+     * Get the {@link ServiceInstanceStats} of {@link ServiceInstance}, create one if absent
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return non-null
+     */
+    public ServiceInstanceStats getStats(ServiceInstance serviceInstance) {
+        int index = identityHashCode(serviceInstance) & (CACHE_SIZE - 1);
+        CacheEntry entry = this.cache[index];
+        if (entry != null && entry.serviceInstance == serviceInstance) {
+            ServiceInstanceStats stats = entry.stats;
+            // the removed one by retain(Collection) is not reused
+            if (this.statsMap.get(stats.getId()) == stats) {
+                return stats;
+            }
+        }
+        String id = getInstanceId(serviceInstance);
+        ServiceInstanceStats stats = this.statsMap.get(id);
+        if (stats == null) {
+            stats = this.statsMap.computeIfAbsent(id, key -> new ServiceInstanceStats(key, this.decayTime));
+        }
+        this.cache[index] = new CacheEntry(serviceInstance, stats);
+        return stats;
+    }
+
+    /**
+     * Retain the {@link ServiceInstanceStats} of the specified {@link ServiceInstance service instances}, the others
+     * without in-flight requests will be removed.
+     *
+     * @param serviceInstances the alive {@link ServiceInstance service instances}
+     */
+    public void retain(Collection<ServiceInstance> serviceInstances) {
+        Set<String> ids = newLinkedHashSet(serviceInstances.size());
+        for (ServiceInstance serviceInstance : serviceInstances) {
+            ids.add(getInstanceId(serviceInstance));
+        }
+        this.statsMap.values().removeIf(stats -> stats.getActive() == 0 && !ids.contains(stats.getId()));
+    }
+
+    /**
+     * Get the decay time of EWMA
+     *
+     * @return the decay time in milliseconds
+     */
+    public long getDecayTime() {
+        return this.decayTime;
+    }
+
+    /**
+     * Get the size of {@link ServiceInstanceStats}
+     *
+     * @return the size of {@link ServiceInstanceStats}
+     */
+    public int size() {
+        return this.statsMap.size();
+    }
+
+    /**
+     * The immutable entry of the cache, which is published safely by the final fields
+     */
+    private static final class CacheEntry {
+
+        private final ServiceInstance serviceInstance;
+
+        private final ServiceInstanceStats stats;
+
+        private CacheEntry(ServiceInstance serviceInstance, ServiceInstanceStats stats) {
+            this.serviceInstance = serviceInstance;
+            this.stats = stats;
+        }
+    }
+}
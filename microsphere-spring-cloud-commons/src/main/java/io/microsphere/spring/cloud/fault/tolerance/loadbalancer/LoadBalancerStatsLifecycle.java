@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.http.HttpStatusCode;
+
+import static java.lang.System.nanoTime;
+import static org.springframework.cloud.client.loadbalancer.CompletionContext.Status.DISCARD;
+import static org.springframework.cloud.client.loadbalancer.CompletionContext.Status.FAILED;
+
+/**
+ * The {@link LoadBalancerLifecycle} records {@link ServiceInstanceStats} into {@link LoadBalancerStats}, it's invoked
+ * by the blocking, reactive and OpenFeign load-balanced clients, e.g, {@code BlockingLoadBalancerClient},
+ * {@code ReactorLoadBalancerExchangeFilterFunction} and {@code FeignBlockingLoadBalancerClient}.
+ * <p>
+ * The latency is measured from the start time of {@link TimedRequestContext}, and the request is regarded as failed if
+ * it's completed with {@link CompletionContext.Status#FAILED} or the 5xx HTTP status.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * @Bean
+ * public LoadBalancerStatsLifecycle loadBalancerStatsLifecycle(LoadBalancerStats loadBalancerStats) {
+ *     return new LoadBalancerStatsLifecycle(loadBalancerStats);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerStats
+ * @see LoadBalancerLifecycle
+ * @since 1.0.0
+ */
+public class LoadBalancerStatsLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final LoadBalancerStats loadBalancerStats;
+
+    /**
+     * Create a new {@link LoadBalancerStatsLifecycle}
+     *
+     * @param loadBalancerStats {@link LoadBalancerStats}
+     */
+    public LoadBalancerStatsLifecycle(LoadBalancerStats loadBalancerStats) {
+        this.loadBalancerStats = loadBalancerStats;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        ServiceInstance serviceInstance = getServiceInstance(lbResponse);
+        if (serviceInstance != null) {
+            Object context = request == null ? null : request.getContext();
+            if (context instanceof TimedRequestContext) {
+                ((TimedRequestContext) context).setRequestStartTime(nanoTime());
+            }
+            this.loadBalancerStats.getStats(serviceInstance).incrementActive();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (DISCARD == completionContext.status()) {
+            // no service instance was chosen
+            return;
+        }
+        ServiceInstance serviceInstance = getServiceInstance(completionContext.getLoadBalancerResponse());
+        if (serviceInstance != null) {
+            ServiceInstanceStats stats = this.loadBalancerStats.getStats(serviceInstance);
+            stats.decrementActive();
+            stats.record(getLatency(completionContext), isFailed(completionContext));
+        }
+    }
+
+    /**
+     * Get the {@link LoadBalancerStats}
+     *
+     * @return {@link LoadBalancerStats}
+     */
+    public LoadBalancerStats getLoadBalancerStats() {
+        return this.loadBalancerStats;
+    }
+
+    static long getLatency(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        Object context = request == null ? null : request.getContext();
+        if (context instanceof TimedRequestContext) {
+            long startTime = ((TimedRequestContext) context).getRequestStartTime();
+            if (startTime != 0L) {
+                return nanoTime() - startTime;
+            }
+        }
+        return -1L;
+    }
+
+    static boolean isFailed(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (FAILED == completionContext.status()) {
+            return true;
+        }
+        Object clientResponse = completionContext.getClientResponse();
+        if (clientResponse instanceof ResponseData) {
+            HttpStatusCode httpStatus = ((ResponseData) clientResponse).getHttpStatus();
+            return httpStatus != null && httpStatus.is5xxServerError();
+        }
+        return false;
+    }
+
+    private static ServiceInstance getServiceInstance(Response<ServiceInstance> lbResponse) {
+        return lbResponse == null ? null : lbResponse.getServer();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancer.RECYCLE_PERIOD;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.unwrap;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * The Power-of-Two-Choices(P2C) {@link ReactorServiceInstanceLoadBalancer} picks two distinct
+ * {@link ServiceInstance service instances} randomly and selects the one with the least outstanding requests
+ * relative to its weight, thus the slow instances that pile up the in-flight requests receive less traffic.
+ * <p>
+ * The in-flight requests are recorded by {@link LoadBalancerStatsLifecycle} into the shared {@link LoadBalancerStats},
+ * and the weight takes warm-up into account by
+ * {@link LoadBalancerUtils#getWarmupWeight(ServiceInstance, long, long)}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer("test-service", supplierProvider,
+ *         loadBalancerStats, 10 * 60 * 1000L);
+ * Mono<Response<ServiceInstance>> response = loadBalancer.choose(request);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerStats
+ * @see LoadBalancerStatsLifecycle
+ * @see ReactorServiceInstanceLoadBalancer
+ * @since 1.0.0
+ */
+public class PowerOfTwoChoicesLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final String serviceId;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    private final LoadBalancerStats loadBalancerStats;
+
+    private final long defaultWarmupTime;
+
+    private volatile long lastRecycleTime = currentTimeMillis();
+
+    /**
+     * Create a new {@link PowerOfTwoChoicesLoadBalancer}
+     *
+     * @param serviceId                           the service id
+     * @param serviceInstanceListSupplierProvider the provider of {@link ServiceInstanceListSupplier}
+     * @param loadBalancerStats                   {@link LoadBalancerStats}
+     * @param defaultWarmupTime                   the default warm-up time in milliseconds
+     */
+    public PowerOfTwoChoicesLoadBalancer(String serviceId,
+                                         ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                         LoadBalancerStats loadBalancerStats, long defaultWarmupTime) {
+        this.serviceId = serviceId;
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.loadBalancerStats = loadBalancerStats;
+        this.defaultWarmupTime = defaultWarmupTime;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(serviceInstances -> getInstanceResponse(supplier, serviceInstances));
+    }
+
+    /**
+     * Select one of {@link ServiceInstance service instances} by the Power-of-Two-Choices.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ServiceInstance serviceInstance = loadBalancer.select(serviceInstances);
+     * }</pre>
+     *
+     * @param serviceInstances the candidates of {@link ServiceInstance service instances}
+     * @return <code>null</code> if <code>serviceInstances</code> is empty
+     */
+    public ServiceInstance select(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            return serviceInstances.get(0);
+        }
+
+        long now = currentTimeMillis();
+        if (now - this.lastRecycleTime > RECYCLE_PERIOD) {
+            this.lastRecycleTime = now;
+            this.loadBalancerStats.retain(serviceInstances);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(size);
+        int j = random.nextInt(size - 1);
+        if (j >= i) {
+            // two distinct indexes
+            j++;
+        }
+        ServiceInstance first = serviceInstances.get(i);
+        ServiceInstance second = serviceInstances.get(j);
+        return compare(first, second, now) <= 0 ? first : second;
+    }
+
+    /**
+     * Compare the loads of two {@link ServiceInstance service instances}, the load is the count of the in-flight
+     * requests plus one divided by the weight.
+     *
+     * @param first  the first {@link ServiceInstance}
+     * @param second the second {@link ServiceInstance}
+     * @param now    the current time in milliseconds
+     * @return negative if the first one is less loaded, positive if the second one is less loaded, or zero
+     */
+    int compare(ServiceInstance first, ServiceInstance second, long now) {
+        int firstWeight = getWeight(first, now);
+        int secondWeight = getWeight(second, now);
+        if (firstWeight <= 0 || secondWeight <= 0) {
+            // the one with zero weight is the most loaded
+            return Integer.compare(secondWeight, firstWeight);
+        }
+        // (firstActive + 1) / firstWeight  vs  (secondActive + 1) / secondWeight
+        long firstLoad = (this.loadBalancerStats.getStats(first).getActive() + 1L) * secondWeight;
+        long secondLoad = (this.loadBalancerStats.getStats(second).getActive() + 1L) * firstWeight;
+        return Long.compare(firstLoad, secondLoad);
+    }
+
+    /**
+     * Get the weight of {@link ServiceInstance} which takes warm-up into account, the sub-class may override it.
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @param now             the current time in milliseconds
+     * @return the weight that is not negative
+     */
+    protected int getWeight(ServiceInstance serviceInstance, long now) {
+        return LoadBalancerUtils.getWarmupWeight(serviceInstance, this.defaultWarmupTime, now);
+    }
+
+    /**
+     * Get the service id
+     *
+     * @return the service id
+     */
+    public String getServiceId() {
+        return this.serviceId;
+    }
+
+    /**
+     * Get the {@link LoadBalancerStats}
+     *
+     * @return {@link LoadBalancerStats}
+     */
+    public LoadBalancerStats getLoadBalancerStats() {
+        return this.loadBalancerStats;
+    }
+
+    private Response<ServiceInstance> getInstanceResponse(ServiceInstanceListSupplier supplier, List<ServiceInstance> serviceInstances) {
+        ServiceInstance serviceInstance = select(serviceInstances);
+        if (serviceInstance == null) {
+            return new EmptyResponse();
+        }
+        serviceInstance = unwrap(serviceInstance);
+        if (supplier instanceof SelectedInstanceCallback) {
+            ((SelectedInstanceCallback) supplier).selectedServiceInstance(serviceInstance);
+        }
+        return new DefaultResponse(serviceInstance);
+    }
+}
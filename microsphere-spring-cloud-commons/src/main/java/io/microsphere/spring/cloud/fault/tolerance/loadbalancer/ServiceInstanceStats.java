@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+import static java.lang.Math.exp;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The statistics of {@link ServiceInstance} for the load balancing, e.g, the count of the in-flight requests, the
+ * exponentially weighted moving averages(EWMA) of the response latency and the error rate.
+ * <p>
+ * The EWMA is time-decayed, the weight of a sample is {@code 1 - e^(-elapsed / decayTime)}, thus the averages react
+ * to the degraded instance within about {@link #getDecayTime() the decay time} regardless of the request rate. The
+ * recording is lock-free and allocation-free, the averages are stored as the raw bits of double in {@link AtomicLong}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * ServiceInstanceStats stats = loadBalancerStats.getStats(serviceInstance);
+ * stats.incrementActive();
+ * long startTime = System.nanoTime();
+ * boolean failed = false;
+ * try {
+ *     // execute the request
+ * } catch (Throwable e) {
+ *     failed = true;
+ * } finally {
+ *     stats.decrementActive();
+ *     stats.record(System.nanoTime() - startTime, failed);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerStats
+ * @since 1.0.0
+ */
+public class ServiceInstanceStats {
+
+    /**
+     * The default decay time(milliseconds) of EWMA : 5 seconds
+     */
+    public static final long DEFAULT_DECAY_TIME = 5 * 1000L;
+
+    /**
+     * The raw bits of the negative latency which means no sample
+     */
+    private static final long NO_LATENCY_BITS = doubleToRawLongBits(-1.0d);
+
+    private final String id;
+
+    private final double decayTimeNanos;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong latencyBits = new AtomicLong(NO_LATENCY_BITS);
+
+    private final AtomicLong errorRateBits = new AtomicLong(doubleToRawLongBits(0.0d));
+
+    private final AtomicLong lastRecordTime = new AtomicLong();
+
+    /**
+     * Create a new {@link ServiceInstanceStats} with {@link #DEFAULT_DECAY_TIME the default decay time}
+     *
+     * @param id the identifier of {@link ServiceInstance}
+     */
+    public ServiceInstanceStats(String id) {
+        this(id, DEFAULT_DECAY_TIME);
+    }
+
+    /**
+     * Create a new {@link ServiceInstanceStats}
+     *
+     * @param id        the identifier of {@link ServiceInstance}
+     * @param decayTime the decay time(milliseconds) of EWMA
+     */
+    public ServiceInstanceStats(String id, long decayTime) {
+        this.id = id;
+        this.decayTimeNanos = MILLISECONDS.toNanos(decayTime > 0 ? decayTime : DEFAULT_DECAY_TIME);
+    }
+
+    /**
+     * Get the identifier of {@link ServiceInstance}
+     *
+     * @return the identifier of {@link ServiceInstance}
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Get the count of the in-flight requests
+     *
+     * @return the count of the in-flight requests
+     */
+    public int getActive() {
+        return this.active.get();
+    }
+
+    /**
+     * Increment the count of the in-flight requests
+     *
+     * @return the count after incremented
+     */
+    public int incrementActive() {
+        return this.active.incrementAndGet();
+    }
+
+    /**
+     * Decrement the count of the in-flight requests, the count will not be negative
+     *
+     * @return the count after decremented
+     */
+    public int decrementActive() {
+        return this.active.updateAndGet(count -> count > 0 ? count - 1 : 0);
+    }
+
+    /**
+     * Record the result of a request
+     *
+     * @param latency the latency in nanoseconds, the negative value means unknown
+     * @param failed  the request was failed or not
+     */
+    public void record(long latency, boolean failed) {
+        long now = nanoTime();
+        long last = this.lastRecordTime.getAndSet(now);
+        // the first sample takes the full weight
+        double alpha = last == 0L ? 1.0d : 1.0d - exp(-Math.max(now - last, 0L) / this.decayTimeNanos);
+        if (latency >= 0L) {
+            update(this.latencyBits, latency, alpha);
+        }
+        update(this.errorRateBits, failed ? 1.0d : 0.0d, alpha);
+    }
+
+    /**
+     * Get the EWMA of the response latency
+     *
+     * @return the latency in nanoseconds, or <code>-1</code> if no sample
+     */
+    public double getLatency() {
+        return longBitsToDouble(this.latencyBits.get());
+    }
+
+    /**
+     * Get the EWMA of the error rate
+     *
+     * @return the error rate within 0(inclusive) to 1(inclusive)
+     */
+    public double getErrorRate() {
+        return longBitsToDouble(this.errorRateBits.get());
+    }
+
+    /**
+     * Get the decay time of EWMA
+     *
+     * @return the decay time in milliseconds
+     */
+    public long getDecayTime() {
+        return (long) (this.decayTimeNanos / MILLISECONDS.toNanos(1));
+    }
+
+    private static void update(AtomicLong bits, double sample, double alpha) {
+        long oldBits;
+        long newBits;
+        do {
+            oldBits = bits.get();
+            double old = longBitsToDouble(oldBits);
+            double value = old < 0.0d ? sample : old + alpha * (sample - old);
+            newBits = doubleToRawLongBits(value);
+        } while (!bits.compareAndSet(oldBits, newBits));
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceInstanceStats{" +
+                "id='" + id + '\'' +
+                ", active=" + active +
+                ", latency=" + getLatency() +
+                ", errorRate=" + getErrorRate() +
+                '}';
+    }
+}
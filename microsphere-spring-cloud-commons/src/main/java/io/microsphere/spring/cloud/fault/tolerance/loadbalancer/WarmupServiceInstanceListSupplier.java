@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.SetUtils.newLinkedHashSet;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.START_TIME_METADATA_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getInstanceId;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getWarmupWeight;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getWeight;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * The {@link ServiceInstanceListSupplier} decorator adjusts the weights of the {@link ServiceInstance service instances}
+ * which are still warming up, thus the freshly started instances ramp up rather than taking the full traffic.
+ * <p>
+ * The start time(epoch milliseconds) is resolved from the metadata named {@code "start-time"}, and the warm-up time is
+ * resolved from the metadata named {@code "microsphere.spring.cloud.fault-tolerance.warmup-time"} or the default value.
+ * The instance inside its warm-up window is wrapped by {@link WeightedServiceInstance} with the weight calculated by
+ * {@link io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils#getWarmupWeight(long, long, int, long)},
+ * or else it is emitted as it is. The parsed metadata and the wrappers are cached, the weight is only recomputed when
+ * the instance is inside its warm-up window.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * ServiceInstanceListSupplier supplier = new WarmupServiceInstanceListSupplier(delegate, 10 * 60 * 1000L);
+ * Flux<List<ServiceInstance>> serviceInstances = supplier.get();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WeightedServiceInstance
+ * @see WeightedRoundRobinLoadBalancer
+ * @since 1.0.0
+ */
+public class WarmupServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final long defaultWarmupTime;
+
+    final Map<String, WarmupState> warmupStates = newConcurrentHashMap();
+
+    /**
+     * Create a new {@link WarmupServiceInstanceListSupplier}
+     *
+     * @param delegate          the delegate {@link ServiceInstanceListSupplier}
+     * @param defaultWarmupTime the default warm-up time in milliseconds if the metadata is absent
+     */
+    public WarmupServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, long defaultWarmupTime) {
+        super(delegate);
+        this.defaultWarmupTime = defaultWarmupTime;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(this::warmup);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return getDelegate().get(request).map(this::warmup);
+    }
+
+    List<ServiceInstance> warmup(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        long now = currentTimeMillis();
+        List<ServiceInstance> warmedServiceInstances = null;
+        for (int i = 0; i < size; i++) {
+            ServiceInstance serviceInstance = serviceInstances.get(i);
+            ServiceInstance warmedServiceInstance = warmup(serviceInstance, now);
+            if (warmedServiceInstance != serviceInstance && warmedServiceInstances == null) {
+                // copy on the first change
+                warmedServiceInstances = newArrayList(serviceInstances);
+            }
+            if (warmedServiceInstances != null) {
+                warmedServiceInstances.set(i, warmedServiceInstance);
+            }
+        }
+        if (this.warmupStates.size() > size) {
+            recycle(serviceInstances);
+        }
+        return warmedServiceInstances == null ? serviceInstances : warmedServiceInstances;
+    }
+
+    private ServiceInstance warmup(ServiceInstance serviceInstance, long now) {
+        String id = getInstanceId(serviceInstance);
+        String startTime = getMetadata(serviceInstance, START_TIME_METADATA_NAME);
+        WarmupState warmupState = this.warmupStates.get(id);
+        if (warmupState == null || !Objects.equals(warmupState.startTimeValue, startTime)) {
+            // the first time or the instance was restarted
+            warmupState = new WarmupState(startTime, parseLong(startTime, 0L),
+                    parseLong(getMetadata(serviceInstance, WARMUP_TIME_PROPERTY_NAME), this.defaultWarmupTime),
+                    getWeight(serviceInstance));
+            this.warmupStates.put(id, warmupState);
+        }
+        return warmupState.warmup(serviceInstance, now);
+    }
+
+    private void recycle(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        Set<String> ids = newLinkedHashSet(size);
+        for (int i = 0; i < size; i++) {
+            ids.add(getInstanceId(serviceInstances.get(i)));
+        }
+        this.warmupStates.keySet().retainAll(ids);
+    }
+
+    private static String getMetadata(ServiceInstance serviceInstance, String name) {
+        Map<String, String> metadata = serviceInstance.getMetadata();
+        return metadata == null ? null : metadata.get(name);
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        if (isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * The warm-up state of {@link ServiceInstance}
+     */
+    static final class WarmupState {
+
+        final String startTimeValue;
+
+        final long startTime;
+
+        final long warmupTime;
+
+        final int weight;
+
+        volatile boolean warmedUp;
+
+        volatile WeightedServiceInstance weightedServiceInstance;
+
+        WarmupState(String startTimeValue, long startTime, long warmupTime, int weight) {
+            this.startTimeValue = startTimeValue;
+            this.startTime = startTime;
+            this.warmupTime = warmupTime;
+            this.weight = weight;
+            this.warmedUp = startTime <= 0 || warmupTime <= 0 || weight <= 0;
+        }
+
+        ServiceInstance warmup(ServiceInstance serviceInstance, long now) {
+            if (this.warmedUp) {
+                return serviceInstance;
+            }
+            if (now - this.startTime >= this.warmupTime) {
+                this.warmedUp = true;
+                this.weightedServiceInstance = null;
+                return serviceInstance;
+            }
+            int warmupWeight = getWarmupWeight(this.startTime, this.warmupTime, this.weight, now);
+            WeightedServiceInstance weightedServiceInstance = this.weightedServiceInstance;
+            if (weightedServiceInstance == null || weightedServiceInstance.getWeight() != warmupWeight
+                    || weightedServiceInstance.getDelegate() != serviceInstance) {
+                weightedServiceInstance = new WeightedServiceInstance(serviceInstance, warmupWeight);
+                this.weightedServiceInstance = weightedServiceInstance;
+            }
+            return weightedServiceInstance;
+        }
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import io.microsphere.spring.web.metadata.WebEndpointMapping.Kind;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.collection.SetUtils.newLinkedHashSet;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_CONTEXT_PATH_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_MAPPINGS_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getWebEndpointMappings;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getInstanceId;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.Kind.FILTER;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.Kind.SERVLET;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.util.Collections.emptyList;
+
+/**
+ * The consumer-side routing index maps the (HTTP method, path pattern) to the {@link ServiceInstance service instances}
+ * exposing the endpoint, which is built from the {@link WebEndpointMapping}s in the "web.mappings" metadata published
+ * by the providers. The index of a service is rebuilt atomically from the changed instances of the service, which come
+ * from the unfiltered instances of the {@link WebEndpointServiceInstanceListSupplier} only, rather than the ones
+ * filtered per request, the parsed routes of the unchanged instances are reused.
+ * <p>
+ * The path patterns are indexed in a trie of the path segments, the literal segment is matched exactly, the segment
+ * with the URI variable or the wildcard (e.g. "{id}", "*.json") matches any one segment, and "**" or "{*path}" matches
+ * the rest segments, thus the lookup costs the depth of the path rather than a linear scan of the patterns. The match
+ * is an over-approximation of the Spring path matching, that is never narrower.
+ * <p>
+ * Only the mappings of the handlers (e.g. Spring WebMVC or WebFlux) are indexed, the Servlet and Filter mappings
+ * are skipped, since they don't declare the endpoints. The instances without the "web.mappings" metadata or any
+ * handler mapping are not indexed, they're always considered to serve the endpoints. If no indexed instance declares
+ * the endpoint, all instances are considered to serve it.
+ * <p>
+ * The index of a service is kept only while its consumers (e.g. {@link WebEndpointServiceInstanceListSupplier}) are
+ * {@link #register(String) registered}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * WebEndpointRoutingIndex index = new WebEndpointRoutingIndex();
+ * index.register("test-service");
+ * index.update("test-service", serviceInstances);
+ * // the instances exposing "GET /users/{id}"
+ * List<ServiceInstance> instances = index.filter("test-service", "GET", "/users/1", serviceInstances);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointServiceInstanceListSupplier
+ * @see io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils#getWebEndpointMappings(ServiceInstance)
+ * @since 1.0.0
+ */
+public class WebEndpointRoutingIndex {
+
+    private static final Logger logger = getLogger(WebEndpointRoutingIndex.class);
+
+    /**
+     * The key of any HTTP method
+     */
+    static final String ANY_METHOD = "*";
+
+    private static final String[] EMPTY_SEGMENTS = new String[0];
+
+    private final Map<String, ServiceRoutes> serviceRoutesMap = newConcurrentHashMap();
+
+    /**
+     * The counts of the registered consumers keyed by the service id
+     */
+    private final Map<String, Integer> consumerCounts = newConcurrentHashMap();
+
+    /**
+     * Registers a consumer of the service, the index of the service is kept until all consumers are
+     * {@link #unregister(String) unregistered}.
+     *
+     * @param serviceId the service id
+     */
+    public void register(String serviceId) {
+        this.consumerCounts.merge(serviceId, 1, Integer::sum);
+    }
+
+    /**
+     * Unregisters a consumer of the service, the index of the service is evicted if no consumer is left.
+     *
+     * @param serviceId the service id
+     */
+    public void unregister(String serviceId) {
+        this.consumerCounts.compute(serviceId, (id, count) -> {
+            if (count == null || count <= 1) {
+                this.serviceRoutesMap.remove(id);
+                return null;
+            }
+            return count - 1;
+        });
+    }
+
+    /**
+     * Whether any consumer of the service is registered
+     *
+     * @param serviceId the service id
+     * @return <code>true</code> if registered
+     */
+    public boolean isRegistered(String serviceId) {
+        return this.consumerCounts.containsKey(serviceId);
+    }
+
+    /**
+     * Updates the index of the service by its current instances atomically, it's no-op if the instances and their web
+     * metadata are unchanged.
+     *
+     * @param serviceId        the service id
+     * @param serviceInstances the current {@link ServiceInstance service instances} of the service
+     */
+    public void update(String serviceId, List<ServiceInstance> serviceInstances) {
+        if (serviceInstances == null || serviceInstances.isEmpty()) {
+            this.serviceRoutesMap.remove(serviceId);
+            return;
+        }
+        this.serviceRoutesMap.compute(serviceId, (id, current) -> {
+            if (current != null && current.isUpToDate(serviceInstances)) {
+                return current;
+            }
+            ServiceRoutes serviceRoutes = new ServiceRoutes(current, serviceInstances);
+            if (logger.isTraceEnabled()) {
+                logger.trace("The routing index of the service['{}'] was rebuilt, indexed instances : {}", id,
+                        serviceRoutes.instanceRoutes.keySet());
+            }
+            return serviceRoutes;
+        });
+    }
+
+    /**
+     * Filters the {@link ServiceInstance service instances} of the service which serve the endpoint.
+     *
+     * @param serviceId        the service id
+     * @param method           the HTTP method, <code>null</code> means any method
+     * @param path             the request path, <code>null</code> means no filtering
+     * @param serviceInstances the {@link ServiceInstance service instances} to filter
+     * @return the filtered instances, or the <code>serviceInstances</code> if the service is not indexed, or no
+     * indexed instance declares the endpoint, or all instances serve the endpoint
+     */
+    public List<ServiceInstance> filter(String serviceId, @Nullable String method, @Nullable String path,
+                                        List<ServiceInstance> serviceInstances) {
+        ServiceRoutes serviceRoutes = path == null ? null : this.serviceRoutesMap.get(serviceId);
+        if (serviceRoutes == null) {
+            return serviceInstances;
+        }
+        Set<String> instanceIds = serviceRoutes.match(method, path);
+        if (instanceIds.isEmpty()) {
+            // fail open if no indexed instance declares the endpoint, e.g. the endpoint isn't published
+            return serviceInstances;
+        }
+        int size = serviceInstances.size();
+        List<ServiceInstance> filteredInstances = newArrayList(size);
+        for (int i = 0; i < size; i++) {
+            ServiceInstance serviceInstance = serviceInstances.get(i);
+            String instanceId = getInstanceId(serviceInstance);
+            if (instanceIds.contains(instanceId) || !serviceRoutes.isIndexed(instanceId)) {
+                filteredInstances.add(serviceInstance);
+            }
+        }
+        return filteredInstances.size() == size ? serviceInstances : filteredInstances;
+    }
+
+    /**
+     * Matches the ids of the indexed {@link ServiceInstance service instances} serving the endpoint.
+     *
+     * @param serviceId the service id
+     * @param method    the HTTP method, <code>null</code> means any method
+     * @param path      the request path
+     * @return <code>null</code> if the service is not indexed
+     */
+    @Nullable
+    public Set<String> match(String serviceId, @Nullable String method, String path) {
+        ServiceRoutes serviceRoutes = this.serviceRoutesMap.get(serviceId);
+        return serviceRoutes == null ? null : serviceRoutes.match(method, path);
+    }
+
+    /**
+     * Removes the index of the service
+     *
+     * @param serviceId the service id
+     */
+    public void remove(String serviceId) {
+        this.serviceRoutesMap.remove(serviceId);
+    }
+
+    static String[] split(String path) {
+        if (isBlank(path)) {
+            return EMPTY_SEGMENTS;
+        }
+        List<String> segments = newArrayList();
+        int length = path.length();
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(EMPTY_SEGMENTS);
+    }
+
+    static boolean isMultiSegmentsWildcard(String segment) {
+        return "**".equals(segment) || segment.startsWith("{*");
+    }
+
+    static boolean isSingleSegmentWildcard(String segment) {
+        return segment.indexOf('{') > -1 || segment.indexOf('*') > -1 || segment.indexOf('?') > -1;
+    }
+
+    /**
+     * Whether the {@link WebEndpointMapping} is the mapping of a handler declaring the endpoint, rather than a Servlet
+     * or Filter (e.g. "/*" matches any path)
+     *
+     * @param webEndpointMapping the {@link WebEndpointMapping}
+     * @return <code>true</code> if it should be indexed
+     */
+    static boolean isHandler(WebEndpointMapping webEndpointMapping) {
+        Kind kind = webEndpointMapping.getKind();
+        return kind != SERVLET && kind != FILTER;
+    }
+
+    /**
+     * The routes of the service
+     */
+    static final class ServiceRoutes {
+
+        /**
+         * The routes of the instances with the metadata keyed by the instance id
+         */
+        final Map<String, InstanceRoutes> instanceRoutes;
+
+        /**
+         * The ids of the instances of the service, including the instances without the metadata
+         */
+        final Set<String> instanceIds;
+
+        final Node root = new Node();
+
+        ServiceRoutes(@Nullable ServiceRoutes previous, List<ServiceInstance> serviceInstances) {
+            int size = serviceInstances.size();
+            this.instanceRoutes = newHashMap(size);
+            this.instanceIds = newLinkedHashSet(size);
+            for (int i = 0; i < size; i++) {
+                ServiceInstance serviceInstance = serviceInstances.get(i);
+                String instanceId = getInstanceId(serviceInstance);
+                this.instanceIds.add(instanceId);
+                InstanceRoutes routes = previous == null ? null : previous.instanceRoutes.get(instanceId);
+                if (routes == null || !routes.isUpToDate(serviceInstance)) {
+                    routes = InstanceRoutes.of(serviceInstance);
+                }
+                if (routes != null) {
+                    this.instanceRoutes.put(instanceId, routes);
+                    routes.insertInto(this.root, instanceId);
+                }
+            }
+        }
+
+        boolean isUpToDate(List<ServiceInstance> serviceInstances) {
+            int size = serviceInstances.size();
+            if (size != this.instanceIds.size()) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                ServiceInstance serviceInstance = serviceInstances.get(i);
+                String instanceId = getInstanceId(serviceInstance);
+                if (!this.instanceIds.contains(instanceId)) {
+                    return false;
+                }
+                InstanceRoutes routes = this.instanceRoutes.get(instanceId);
+                if (routes == null ? getWebMappings(serviceInstance) != null : !routes.isUpToDate(serviceInstance)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isIndexed(String instanceId) {
+            InstanceRoutes routes = this.instanceRoutes.get(instanceId);
+            return routes != null && routes.indexed;
+        }
+
+        Set<String> match(@Nullable String method, String path) {
+            Set<String> instanceIds = newLinkedHashSet();
+            this.root.collect(split(path), 0, method, instanceIds);
+            return instanceIds;
+        }
+    }
+
+    /**
+     * The routes of the instance parsed from its metadata
+     */
+    static final class InstanceRoutes {
+
+        final String contextPath;
+
+        final String webMappings;
+
+        /**
+         * The handler mappings to index
+         */
+        final List<WebEndpointMapping> webEndpointMappings;
+
+        /**
+         * Whether any handler mapping is declared
+         */
+        final boolean indexed;
+
+        InstanceRoutes(String contextPath, String webMappings, Collection<WebEndpointMapping> webEndpointMappings) {
+            this.contextPath = contextPath;
+            this.webMappings = webMappings;
+            List<WebEndpointMapping> handlerMappings = newArrayList(webEndpointMappings.size());
+            for (WebEndpointMapping webEndpointMapping : webEndpointMappings) {
+                if (isHandler(webEndpointMapping)) {
+                    handlerMappings.add(webEndpointMapping);
+                }
+            }
+            this.webEndpointMappings = handlerMappings;
+            this.indexed = !handlerMappings.isEmpty();
+        }
+
+        @Nullable
+        static InstanceRoutes of(ServiceInstance serviceInstance) {
+            String webMappings = getWebMappings(serviceInstance);
+            if (webMappings == null) {
+                return null;
+            }
+            Collection<WebEndpointMapping> webEndpointMappings;
+            try {
+                webEndpointMappings = getWebEndpointMappings(serviceInstance);
+            } catch (RuntimeException e) {
+                logger.warn("The metadata['{}'] of the service instance[{}] can't be parsed", WEB_MAPPINGS_METADATA_NAME,
+                        serviceInstance, e);
+                webEndpointMappings = emptyList();
+            }
+            return new InstanceRoutes(getContextPath(serviceInstance), webMappings, webEndpointMappings);
+        }
+
+        boolean isUpToDate(ServiceInstance serviceInstance) {
+            return Objects.equals(this.webMappings, getWebMappings(serviceInstance))
+                    && Objects.equals(this.contextPath, getContextPath(serviceInstance));
+        }
+
+        void insertInto(Node root, String instanceId) {
+            String[] contextPathSegments = split(this.contextPath);
+            for (WebEndpointMapping webEndpointMapping : this.webEndpointMappings) {
+                if (webEndpointMapping.isNegated()) {
+                    continue;
+                }
+                String[] methods = webEndpointMapping.getMethods();
+                for (String pattern : webEndpointMapping.getPatterns()) {
+                    Node node = root;
+                    for (String segment : contextPathSegments) {
+                        node = node.child(segment);
+                    }
+                    for (String segment : split(pattern)) {
+                        node = node.child(segment);
+                    }
+                    if (methods == null || methods.length == 0) {
+                        node.add(ANY_METHOD, instanceId);
+                    } else {
+                        for (String method : methods) {
+                            node.add(method, instanceId);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The node of the path segments trie, which is never changed after the {@link ServiceRoutes} is built
+     */
+    static final class Node {
+
+        private Map<String, Node> children;
+
+        private Node singleSegmentWildcard;
+
+        private Node multiSegmentsWildcard;
+
+        /**
+         * The instance ids keyed by the HTTP method
+         */
+        private Map<String, Set<String>> instanceIds;
+
+        Node child(String segment) {
+            if (isMultiSegmentsWildcard(segment)) {
+                if (this.multiSegmentsWildcard == null) {
+                    this.multiSegmentsWildcard = new Node();
+                }
+                return this.multiSegmentsWildcard;
+            }
+            if (isSingleSegmentWildcard(segment)) {
+                if (this.singleSegmentWildcard == null) {
+                    this.singleSegmentWildcard = new Node();
+                }
+                return this.singleSegmentWildcard;
+            }
+            if (this.children == null) {
+                this.children = newHashMap();
+            }
+            return this.children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void add(String method, String instanceId) {
+            if (this.instanceIds == null) {
+                this.instanceIds = newHashMap();
+            }
+            this.instanceIds.computeIfAbsent(method, m -> newLinkedHashSet()).add(instanceId);
+        }
+
+        void collect(String[] segments, int index, @Nullable String method, Set<String> result) {
+            if (this.multiSegmentsWildcard != null) {
+                for (int i = index; i <= segments.length; i++) {
+                    this.multiSegmentsWildcard.collect(segments, i, method, result);
+                }
+            }
+            if (index == segments.length) {
+                collect(method, result);
+                return;
+            }
+            if (this.children != null) {
+                Node child = this.children.get(segments[index]);
+                if (child != null) {
+                    child.collect(segments, index + 1, method, result);
+                }
+            }
+            if (this.singleSegmentWildcard != null) {
+                this.singleSegmentWildcard.collect(segments, index + 1, method, result);
+            }
+        }
+
+        private void collect(@Nullable String method, Set<String> result) {
+            Map<String, Set<String>> instanceIds = this.instanceIds;
+            if (instanceIds == null) {
+                return;
+            }
+            if (method == null) {
+                instanceIds.values().forEach(result::addAll);
+                return;
+            }
+            Set<String> ids = instanceIds.get(method);
+            if (ids != null) {
+                result.addAll(ids);
+            }
+            ids = instanceIds.get(ANY_METHOD);
+            if (ids != null) {
+                result.addAll(ids);
+            }
+        }
+    }
+
+    @Nullable
+    static String getWebMappings(ServiceInstance serviceInstance) {
+        Map<String, String> metadata = serviceInstance.getMetadata();
+        String webMappings = metadata == null ? null : metadata.get(WEB_MAPPINGS_METADATA_NAME);
+        return isBlank(webMappings) ? null : webMappings;
+    }
+
+    @Nullable
+    static String getContextPath(ServiceInstance serviceInstance) {
+        Map<String, String> metadata = serviceInstance.getMetadata();
+        return metadata == null ? null : metadata.get(WEB_CONTEXT_PATH_METADATA_NAME);
+    }
+}
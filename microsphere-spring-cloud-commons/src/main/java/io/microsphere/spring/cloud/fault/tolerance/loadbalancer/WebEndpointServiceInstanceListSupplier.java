@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * The {@link ServiceInstanceListSupplier} decorator filters the {@link ServiceInstance service instances} which serve
+ * the endpoint of the request by the {@link WebEndpointRoutingIndex}, thus the requests only go to the instances
+ * actually exposing the endpoint during the rolling deployments. The index of the service is updated only by the
+ * unfiltered instances from {@link ServiceInstanceListSupplier#get() the delegate} once they're changed, since the
+ * instances from {@link ServiceInstanceListSupplier#get(Request)} may be filtered per request (e.g. by the hints or
+ * the zone preference), thus the delegate is expected to be cached as the default configurations do.
+ * <p>
+ * The instances are not filtered if the request doesn't carry the {@link RequestDataContext}, or none of the instances
+ * is matched. The service is {@link WebEndpointRoutingIndex#register(String) registered} to the
+ * {@link WebEndpointRoutingIndex} on creation, and {@link WebEndpointRoutingIndex#unregister(String) unregistered}
+ * on {@link #destroy()}, thus its index is evicted once the load-balancer context of the service is closed.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * ServiceInstanceListSupplier supplier = new WebEndpointServiceInstanceListSupplier(delegate, routingIndex);
+ * Flux<List<ServiceInstance>> serviceInstances = supplier.get(request);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointRoutingIndex
+ * @since 1.0.0
+ */
+public class WebEndpointServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final WebEndpointRoutingIndex routingIndex;
+
+    /**
+     * The last instances updated to the {@link WebEndpointRoutingIndex}
+     */
+    private volatile List<ServiceInstance> indexedServiceInstances;
+
+    /**
+     * Create a new {@link WebEndpointServiceInstanceListSupplier}
+     *
+     * @param delegate     the delegate {@link ServiceInstanceListSupplier}
+     * @param routingIndex the {@link WebEndpointRoutingIndex}
+     */
+    public WebEndpointServiceInstanceListSupplier(ServiceInstanceListSupplier delegate, WebEndpointRoutingIndex routingIndex) {
+        super(delegate);
+        this.routingIndex = routingIndex;
+        routingIndex.register(getServiceId());
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().doOnNext(this::index);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        ServiceInstanceListSupplier delegate = getDelegate();
+        return delegate.get().next().doOnNext(this::index)
+                .thenMany(delegate.get(request))
+                .map(serviceInstances -> filter(serviceInstances, request));
+    }
+
+    List<ServiceInstance> filter(List<ServiceInstance> serviceInstances, Request<?> request) {
+        Object context = request == null ? null : request.getContext();
+        if (!(context instanceof RequestDataContext)) {
+            return serviceInstances;
+        }
+        RequestData requestData = ((RequestDataContext) context).getClientRequest();
+        if (requestData == null) {
+            return serviceInstances;
+        }
+        HttpMethod httpMethod = requestData.getHttpMethod();
+        URI url = requestData.getUrl();
+        String method = httpMethod == null ? null : httpMethod.name();
+        String path = url == null ? null : url.getPath();
+        return this.routingIndex.filter(getServiceId(), method, path, serviceInstances);
+    }
+
+    void index(List<ServiceInstance> serviceInstances) {
+        // the cached suppliers emit the same list until the instances are changed
+        if (this.indexedServiceInstances != serviceInstances) {
+            this.routingIndex.update(getServiceId(), serviceInstances);
+            this.indexedServiceInstances = serviceInstances;
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        try {
+            super.destroy();
+        } finally {
+            this.routingIndex.unregister(getServiceId());
+        }
+    }
+
+    /**
+     * Get the {@link WebEndpointRoutingIndex}
+     *
+     * @return the {@link WebEndpointRoutingIndex}
+     */
+    public WebEndpointRoutingIndex getRoutingIndex() {
+        return this.routingIndex;
+    }
+}
@@ -1,10 +1,13 @@
 package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
 
 import java.util.StringJoiner;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Weighed Round-Robin
+ * <p>
+ * The current counter is updated and read in a single atomic step, thus the value returned by
+ * {@link #increaseCurrent()} is consistent under contention.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
@@ -15,7 +18,9 @@ public class WeightedRoundRobin {
 
     private volatile int weight;
 
-    LongAdder current = new LongAdder();
+    private volatile int effectiveWeight;
+
+    final AtomicLong current = new AtomicLong();
 
     private volatile long lastUpdate;
 
@@ -66,7 +71,43 @@ public class WeightedRoundRobin {
     }
 
     /**
-     * Set the weight for this {@link WeightedRoundRobin} entry and reset the current counter.
+     * Get the effective weight of this {@link WeightedRoundRobin} entry, which is accumulated by
+     * {@link #increaseCurrent()}, it equals to {@link #getWeight() the weight} unless it's scaled by
+     * {@link #setEffectiveWeight(int)}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * WeightedRoundRobin wrr = new WeightedRoundRobin("server-1");
+     * wrr.setWeight(10);
+     * wrr.setEffectiveWeight(5);
+     * int effectiveWeight = wrr.getEffectiveWeight(); // 5
+     * }</pre>
+     *
+     * @return the effective weight
+     */
+    public int getEffectiveWeight() {
+        return effectiveWeight;
+    }
+
+    /**
+     * Set the effective weight for this {@link WeightedRoundRobin} entry without resetting the current counter,
+     * thus the frequent adjustments, e.g, by the latency, keep the selection smooth.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * WeightedRoundRobin wrr = new WeightedRoundRobin("server-1");
+     * wrr.setWeight(10);
+     * wrr.setEffectiveWeight(5);
+     * }</pre>
+     *
+     * @param effectiveWeight the new effective weight value
+     */
+    public void setEffectiveWeight(int effectiveWeight) {
+        this.effectiveWeight = effectiveWeight;
+    }
+
+    /**
+     * Set the weight for this {@link WeightedRoundRobin} entry, reset the effective weight and the current counter.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -78,11 +119,12 @@ public class WeightedRoundRobin {
      */
     public void setWeight(int weight) {
         this.weight = weight;
-        current.reset();
+        this.effectiveWeight = weight;
+        current.set(0L);
     }
 
     /**
-     * Increase the current counter by the weight value and return the updated value.
+     * Increase the current counter by the effective weight value and return the updated value.
      * Used during weighted round-robin selection to accumulate the weight for this entry.
      *
      * <h3>Example Usage</h3>
@@ -96,8 +138,7 @@ public class WeightedRoundRobin {
      * @return the updated current counter value
      */
     public long increaseCurrent() {
-        current.add(weight);
-        return current.longValue();
+        return current.addAndGet(effectiveWeight);
     }
 
     /**
@@ -115,7 +156,7 @@ public class WeightedRoundRobin {
      * @param total the total weight of all entries to subtract
      */
     public void sel(int total) {
-        current.add(-1 * total);
+        current.addAndGet(-total);
     }
 
     /**
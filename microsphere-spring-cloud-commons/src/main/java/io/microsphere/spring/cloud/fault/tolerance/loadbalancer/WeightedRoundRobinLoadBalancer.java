@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getInstanceId;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.unwrap;
+import static java.lang.System.currentTimeMillis;
+
+/**
+ * The smooth Weighted Round-Robin {@link ReactorServiceInstanceLoadBalancer} based on {@link WeightedRoundRobin}.
+ * <p>
+ * The weight of {@link ServiceInstance} comes from its metadata named
+ * {@code "microsphere.spring.cloud.fault-tolerance.weight"}, the state of the instance that has not been selected
+ * in {@link #RECYCLE_PERIOD} milliseconds will be expired.
+ * <p>
+ * If {@link LoadBalancerStats} is present, the effective weight is scaled by the EWMA of the error rate and the ratio
+ * of the lowest EWMA latency among the candidates to the instance's, thus the traffic moves away from the degraded
+ * instances, while they still keep the effective weight at least 1 to recover.
+ * <p>
+ * The selection is atomic per service. The concurrent selections are serialized by a short lock held over the pass of
+ * the candidates, which only reads the weights and updates the in-memory counters. Thus the concurrent selections
+ * follow exactly the same smooth sequence as the sequential ones, neither skewed nor bursty.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * WeightedRoundRobinLoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer("test-service", supplierProvider);
+ * Mono<Response<ServiceInstance>> response = loadBalancer.choose(request);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WeightedRoundRobin
+ * @see ReactorServiceInstanceLoadBalancer
+ * @since 1.0.0
+ */
+public class WeightedRoundRobinLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /**
+     * The period(milliseconds) to recycle the expired {@link WeightedRoundRobin} : 60 seconds
+     */
+    public static final long RECYCLE_PERIOD = 60 * 1000L;
+
+    private final String serviceId;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    private final LoadBalancerStats loadBalancerStats;
+
+    final Map<String, WeightedRoundRobin> weightedRoundRobins = newConcurrentHashMap();
+
+    private final Object lock = new Object();
+
+    /**
+     * Create a new {@link WeightedRoundRobinLoadBalancer}
+     *
+     * @param serviceId                           the service id
+     * @param serviceInstanceListSupplierProvider the provider of {@link ServiceInstanceListSupplier}
+     */
+    public WeightedRoundRobinLoadBalancer(String serviceId,
+                                          ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider) {
+        this(serviceId, serviceInstanceListSupplierProvider, null);
+    }
+
+    /**
+     * Create a new {@link WeightedRoundRobinLoadBalancer} with the adaptive weights
+     *
+     * @param serviceId                           the service id
+     * @param serviceInstanceListSupplierProvider the provider of {@link ServiceInstanceListSupplier}
+     * @param loadBalancerStats                   {@link LoadBalancerStats}, <code>null</code> if the weights are static
+     */
+    public WeightedRoundRobinLoadBalancer(String serviceId,
+                                          ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                          @Nullable LoadBalancerStats loadBalancerStats) {
+        this.serviceId = serviceId;
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.loadBalancerStats = loadBalancerStats;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = this.serviceInstanceListSupplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(serviceInstances -> getInstanceResponse(supplier, serviceInstances));
+    }
+
+    /**
+     * Select one of {@link ServiceInstance service instances} by the smooth Weighted Round-Robin.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ServiceInstance serviceInstance = loadBalancer.select(serviceInstances);
+     * }</pre>
+     *
+     * @param serviceInstances the candidates of {@link ServiceInstance service instances}
+     * @return <code>null</code> if <code>serviceInstances</code> is empty
+     */
+    public ServiceInstance select(List<ServiceInstance> serviceInstances) {
+        int size = serviceInstances.size();
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            return serviceInstances.get(0);
+        }
+
+        long now = currentTimeMillis();
+        double minLatency = getMinLatency(serviceInstances);
+
+        synchronized (this.lock) {
+            long maxCurrent = Long.MIN_VALUE;
+            int totalWeight = 0;
+            ServiceInstance selectedInstance = null;
+            WeightedRoundRobin selectedWeightedRoundRobin = null;
+
+            for (int i = 0; i < size; i++) {
+                ServiceInstance serviceInstance = serviceInstances.get(i);
+                int weight = getWeight(serviceInstance);
+                WeightedRoundRobin weightedRoundRobin = this.weightedRoundRobins.computeIfAbsent(getInstanceId(serviceInstance), id -> {
+                    WeightedRoundRobin wrr = new WeightedRoundRobin(id);
+                    wrr.setWeight(weight);
+                    return wrr;
+                });
+                if (weight != weightedRoundRobin.getWeight()) {
+                    // the weight was changed
+                    weightedRoundRobin.setWeight(weight);
+                }
+                int effectiveWeight = getEffectiveWeight(serviceInstance, weight, minLatency);
+                if (effectiveWeight != weightedRoundRobin.getEffectiveWeight()) {
+                    weightedRoundRobin.setEffectiveWeight(effectiveWeight);
+                }
+                long current = weightedRoundRobin.increaseCurrent();
+                weightedRoundRobin.setLastUpdate(now);
+                if (current > maxCurrent) {
+                    maxCurrent = current;
+                    selectedInstance = serviceInstance;
+                    selectedWeightedRoundRobin = weightedRoundRobin;
+                }
+                totalWeight += effectiveWeight;
+            }
+
+            if (size != this.weightedRoundRobins.size()) {
+                this.weightedRoundRobins.values().removeIf(wrr -> now - wrr.getLastUpdate() > RECYCLE_PERIOD);
+                if (this.loadBalancerStats != null) {
+                    this.loadBalancerStats.retain(serviceInstances);
+                }
+            }
+
+            selectedWeightedRoundRobin.sel(totalWeight);
+            return selectedInstance;
+        }
+    }
+
+    /**
+     * Get the weight of {@link ServiceInstance}, the sub-class may override it.
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return the weight that is not negative
+     */
+    protected int getWeight(ServiceInstance serviceInstance) {
+        return LoadBalancerUtils.getWeight(serviceInstance);
+    }
+
+    /**
+     * Get the effective weight of {@link ServiceInstance} which is scaled by {@link ServiceInstanceStats}, the sub-class
+     * may override it.
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @param weight          the weight of {@link ServiceInstance}
+     * @param minLatency      the lowest EWMA latency among the candidates, or negative if no sample
+     * @return the weight if {@link LoadBalancerStats} is absent, or the scaled weight that is at least 1 if
+     * <code>weight</code> is positive
+     */
+    protected int getEffectiveWeight(ServiceInstance serviceInstance, int weight, double minLatency) {
+        if (this.loadBalancerStats == null || weight <= 0) {
+            return weight;
+        }
+        ServiceInstanceStats stats = this.loadBalancerStats.getStats(serviceInstance);
+        double factor = 1.0d - stats.getErrorRate();
+        double latency = stats.getLatency();
+        if (minLatency > 0.0d && latency > minLatency) {
+            factor *= minLatency / latency;
+        }
+        return Math.max(1, (int) Math.round(weight * factor));
+    }
+
+    /**
+     * Get the {@link LoadBalancerStats}
+     *
+     * @return <code>null</code> if the weights are static
+     */
+    @Nullable
+    public LoadBalancerStats getLoadBalancerStats() {
+        return this.loadBalancerStats;
+    }
+
+    /**
+     * Get the service id
+     *
+     * @return the service id
+     */
+    public String getServiceId() {
+        return this.serviceId;
+    }
+
+    private double getMinLatency(List<ServiceInstance> serviceInstances) {
+        double minLatency = -1.0d;
+        if (this.loadBalancerStats != null) {
+            for (int i = 0, size = serviceInstances.size(); i < size; i++) {
+                double latency = this.loadBalancerStats.getStats(serviceInstances.get(i)).getLatency();
+                if (latency > 0.0d && (minLatency < 0.0d || latency < minLatency)) {
+                    minLatency = latency;
+                }
+            }
+        }
+        return minLatency;
+    }
+
+    private Response<ServiceInstance> getInstanceResponse(ServiceInstanceListSupplier supplier, List<ServiceInstance> serviceInstances) {
+        ServiceInstance serviceInstance = select(serviceInstances);
+        if (serviceInstance == null) {
+            return new EmptyResponse();
+        }
+        serviceInstance = unwrap(serviceInstance);
+        if (supplier instanceof SelectedInstanceCallback) {
+            ((SelectedInstanceCallback) supplier).selectedServiceInstance(serviceInstance);
+        }
+        return new DefaultResponse(serviceInstance);
+    }
+}
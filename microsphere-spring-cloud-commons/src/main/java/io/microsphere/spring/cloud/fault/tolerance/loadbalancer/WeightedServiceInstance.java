@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * The {@link ServiceInstance} wrapper with the effective weight, e.g, the weight adjusted by warm-up.
+ * <p>
+ * The weight is carried only for the load balancers, the wrapper is equal to the other wrapper of the same original
+ * {@link ServiceInstance} whatever the weight is, and it's unwrapped before the chosen one is responded.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * WeightedServiceInstance weightedServiceInstance = new WeightedServiceInstance(serviceInstance, 10);
+ * int weight = weightedServiceInstance.getWeight(); // 10
+ * ServiceInstance original = weightedServiceInstance.getDelegate();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ServiceInstance
+ * @since 1.0.0
+ */
+public class WeightedServiceInstance implements ServiceInstance {
+
+    private final ServiceInstance delegate;
+
+    private final int weight;
+
+    /**
+     * Create a new {@link WeightedServiceInstance}
+     *
+     * @param delegate the original {@link ServiceInstance}
+     * @param weight   the effective weight
+     */
+    public WeightedServiceInstance(ServiceInstance delegate, int weight) {
+        this.delegate = delegate;
+        this.weight = weight;
+    }
+
+    /**
+     * Get the original {@link ServiceInstance}
+     *
+     * @return the original {@link ServiceInstance}
+     */
+    public ServiceInstance getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the effective weight
+     *
+     * @return the effective weight
+     */
+    public int getWeight() {
+        return this.weight;
+    }
+
+    @Override
+    public String getInstanceId() {
+        return this.delegate.getInstanceId();
+    }
+
+    @Override
+    public String getServiceId() {
+        return this.delegate.getServiceId();
+    }
+
+    @Override
+    public String getHost() {
+        return this.delegate.getHost();
+    }
+
+    @Override
+    public int getPort() {
+        return this.delegate.getPort();
+    }
+
+    @Override
+    public boolean isSecure() {
+        return this.delegate.isSecure();
+    }
+
+    @Override
+    public URI getUri() {
+        return this.delegate.getUri();
+    }
+
+    @Override
+    public Map<String, String> getMetadata() {
+        return this.delegate.getMetadata();
+    }
+
+    @Override
+    public String getScheme() {
+        return this.delegate.getScheme();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof WeightedServiceInstance) {
+            return this.delegate.equals(((WeightedServiceInstance) o).delegate);
+        }
+        return this.delegate.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", WeightedServiceInstance.class.getSimpleName() + "[", "]")
+                .add("delegate=" + delegate)
+                .add("weight=" + weight)
+                .toString();
+    }
+}
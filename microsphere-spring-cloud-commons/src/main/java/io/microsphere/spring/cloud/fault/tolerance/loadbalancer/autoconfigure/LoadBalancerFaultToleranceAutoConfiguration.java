@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer.autoconfigure;
+
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointRoutingIndex;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.config.FaultToleranceLoadBalancerConfiguration;
+import io.microsphere.spring.cloud.loadbalancer.condition.ConditionalOnLoadBalancerEnabled;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME;
+
+/**
+ * The Auto-Configuration class of Spring Cloud LoadBalancer's Fault-Tolerance, registers
+ * {@link FaultToleranceLoadBalancerConfiguration} as the default configuration for all load-balanced clients.
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FaultToleranceLoadBalancerConfiguration
+ * @see LoadBalancerClients
+ * @since 1.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnLoadBalancerEnabled
+@ConditionalOnClass(name = {
+        "org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer"   // Spring Cloud LoadBalancer API
+})
+@AutoConfigureBefore(name = {
+        "org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration"      // Spring Cloud LoadBalancer API
+})
+@LoadBalancerClients(defaultConfiguration = FaultToleranceLoadBalancerConfiguration.class)
+public class LoadBalancerFaultToleranceAutoConfiguration {
+
+    /**
+     * Creates a {@link WebEndpointRoutingIndex} bean shared by the load-balanced clients, which is built from
+     * the unfiltered instances of their {@link io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointServiceInstanceListSupplier}s, if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.endpoint-routing.enabled"} is "true".
+     *
+     * @return {@link WebEndpointRoutingIndex}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public WebEndpointRoutingIndex webEndpointRoutingIndex() {
+        return new WebEndpointRoutingIndex();
+    }
+}
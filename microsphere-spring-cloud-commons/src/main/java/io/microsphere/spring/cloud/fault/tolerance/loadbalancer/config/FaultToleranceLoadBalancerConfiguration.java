@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer.config;
+
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStats;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStatsLifecycle;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.PowerOfTwoChoicesLoadBalancer;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WarmupServiceInstanceListSupplier;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointRoutingIndex;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointServiceInstanceListSupplier;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.DEFAULT_WARMUP_TIME_PROPERTY_VALUE;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ADAPTIVE_WEIGHT_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ALGORITHM_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_EWMA_DECAY_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_WARMUP_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.POWER_OF_TWO_CHOICES_ALGORITHM;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHTED_ROUND_ROBIN_ALGORITHM;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.ServiceInstanceStats.DEFAULT_DECAY_TIME;
+import static org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory.PROPERTY_NAME;
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
+/**
+ * The Fault-Tolerance Configuration class for the child context of Spring Cloud LoadBalancer, the
+ * {@link ReactorLoadBalancer} is decided by the property
+ * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm"}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * // for all load-balanced clients, registered by LoadBalancerFaultToleranceAutoConfiguration
+ * microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm = weighted-round-robin
+ * // scales the weights by the EWMA of the response latency and the error rate
+ * microsphere.spring.cloud.fault-tolerance.load-balancer.adaptive-weight.enabled = true
+ * // or the Power-of-Two-Choices with the least outstanding requests
+ * microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm = power-of-two-choices
+ * // adjusts the weights of the service instances inside their warm-up windows
+ * microsphere.spring.cloud.fault-tolerance.load-balancer.warmup.enabled = true
+ * // routes the requests to the service instances exposing the endpoints
+ * microsphere.spring.cloud.fault-tolerance.load-balancer.endpoint-routing.enabled = true
+ *
+ * // or for the specified client
+ * @LoadBalancerClient(name = "test-service", configuration = FaultToleranceLoadBalancerConfiguration.class)
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WeightedRoundRobinLoadBalancer
+ * @see PowerOfTwoChoicesLoadBalancer
+ * @see WarmupServiceInstanceListSupplier
+ * @see WebEndpointServiceInstanceListSupplier
+ * @see org.springframework.cloud.loadbalancer.annotation.LoadBalancerClientConfiguration
+ * @since 1.0.0
+ */
+@Configuration(proxyBeanMethods = false)
+public class FaultToleranceLoadBalancerConfiguration {
+
+    /**
+     * The order of the {@link BeanPostProcessor} decorating the {@link ServiceInstanceListSupplier} by
+     * {@link WebEndpointServiceInstanceListSupplier}, it runs before the warm-up one, thus the endpoint routing filters
+     * the original service instances.
+     */
+    public static final int WEB_ENDPOINT_ROUTING_BEAN_POST_PROCESSOR_ORDER = LOWEST_PRECEDENCE - 200;
+
+    /**
+     * The order of the {@link BeanPostProcessor} decorating the {@link ServiceInstanceListSupplier} by
+     * {@link WarmupServiceInstanceListSupplier}, it runs after the endpoint routing one, thus only the routed service
+     * instances are weighted.
+     */
+    public static final int WARMUP_BEAN_POST_PROCESSOR_ORDER = LOWEST_PRECEDENCE - 100;
+
+    /**
+     * Creates a {@link WeightedRoundRobinLoadBalancer} bean for the current load-balanced client if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm"} is "weighted-round-robin", the weights
+     * are adaptive if the property {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.adaptive-weight.enabled"}
+     * is "true".
+     *
+     * @param environment               {@link Environment}
+     * @param loadBalancerClientFactory {@link LoadBalancerClientFactory}
+     * @param loadBalancerStats         {@link LoadBalancerStats}
+     * @return {@link WeightedRoundRobinLoadBalancer}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ALGORITHM_PROPERTY_NAME, havingValue = WEIGHTED_ROUND_ROBIN_ALGORITHM)
+    public ReactorLoadBalancer<?> weightedRoundRobinLoadBalancer(Environment environment,
+                                                                 LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                 LoadBalancerStats loadBalancerStats) {
+        String serviceId = environment.getProperty(PROPERTY_NAME);
+        boolean adaptiveWeightEnabled = environment.getProperty(LOAD_BALANCER_ADAPTIVE_WEIGHT_ENABLED_PROPERTY_NAME, boolean.class, false);
+        return new WeightedRoundRobinLoadBalancer(serviceId,
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                adaptiveWeightEnabled ? loadBalancerStats : null);
+    }
+
+    /**
+     * Creates a {@link LoadBalancerStats} bean for the current load-balanced client if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm"} is present.
+     *
+     * @param environment {@link Environment}
+     * @return {@link LoadBalancerStats}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ALGORITHM_PROPERTY_NAME)
+    public LoadBalancerStats loadBalancerStats(Environment environment) {
+        long decayTime = environment.getProperty(LOAD_BALANCER_EWMA_DECAY_TIME_PROPERTY_NAME, long.class, DEFAULT_DECAY_TIME);
+        return new LoadBalancerStats(decayTime);
+    }
+
+    /**
+     * Creates a {@link LoadBalancerStatsLifecycle} bean recording the statistics of the current load-balanced client,
+     * including the requests executed by OpenFeign.
+     *
+     * @param loadBalancerStats {@link LoadBalancerStats}
+     * @return {@link LoadBalancerStatsLifecycle}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ALGORITHM_PROPERTY_NAME)
+    public LoadBalancerStatsLifecycle loadBalancerStatsLifecycle(LoadBalancerStats loadBalancerStats) {
+        return new LoadBalancerStatsLifecycle(loadBalancerStats);
+    }
+
+    /**
+     * Creates a {@link PowerOfTwoChoicesLoadBalancer} bean for the current load-balanced client if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm"} is "power-of-two-choices".
+     *
+     * @param environment               {@link Environment}
+     * @param loadBalancerClientFactory {@link LoadBalancerClientFactory}
+     * @param loadBalancerStats         {@link LoadBalancerStats}
+     * @return {@link PowerOfTwoChoicesLoadBalancer}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ALGORITHM_PROPERTY_NAME, havingValue = POWER_OF_TWO_CHOICES_ALGORITHM)
+    public ReactorLoadBalancer<?> powerOfTwoChoicesLoadBalancer(Environment environment,
+                                                                LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                LoadBalancerStats loadBalancerStats) {
+        String serviceId = environment.getProperty(PROPERTY_NAME);
+        long defaultWarmupTime = getDefaultWarmupTime(environment);
+        return new PowerOfTwoChoicesLoadBalancer(serviceId,
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                loadBalancerStats, defaultWarmupTime);
+    }
+
+    /**
+     * Creates a {@link BeanPostProcessor} bean decorating the {@link ServiceInstanceListSupplier} of the current
+     * load-balanced client by {@link WarmupServiceInstanceListSupplier} if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.warmup.enabled"} is "true".
+     *
+     * @param environment {@link Environment}
+     * @return {@link BeanPostProcessor}
+     */
+    @Bean
+    @ConditionalOnProperty(name = LOAD_BALANCER_WARMUP_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public static BeanPostProcessor warmupServiceInstanceListSupplierBeanPostProcessor(Environment environment) {
+        return new WarmupBeanPostProcessor(getDefaultWarmupTime(environment));
+    }
+
+    /**
+     * Creates a {@link BeanPostProcessor} bean decorating the {@link ServiceInstanceListSupplier} of the current
+     * load-balanced client by {@link WebEndpointServiceInstanceListSupplier} if the property
+     * {@code "microsphere.spring.cloud.fault-tolerance.load-balancer.endpoint-routing.enabled"} is "true".
+     *
+     * @param routingIndexProvider the {@link ObjectProvider} of {@link WebEndpointRoutingIndex} from the parent context
+     * @return {@link BeanPostProcessor}
+     */
+    @Bean
+    @ConditionalOnProperty(name = LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public static BeanPostProcessor webEndpointServiceInstanceListSupplierBeanPostProcessor(ObjectProvider<WebEndpointRoutingIndex> routingIndexProvider) {
+        return new WebEndpointRoutingBeanPostProcessor(routingIndexProvider);
+    }
+
+    static long getDefaultWarmupTime(Environment environment) {
+        return environment.getProperty(WARMUP_TIME_PROPERTY_NAME, long.class, DEFAULT_WARMUP_TIME_PROPERTY_VALUE);
+    }
+
+    static class WarmupBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final long defaultWarmupTime;
+
+        WarmupBeanPostProcessor(long defaultWarmupTime) {
+            this.defaultWarmupTime = defaultWarmupTime;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ServiceInstanceListSupplier && !(bean instanceof WarmupServiceInstanceListSupplier)) {
+                return new WarmupServiceInstanceListSupplier((ServiceInstanceListSupplier) bean, this.defaultWarmupTime);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return WARMUP_BEAN_POST_PROCESSOR_ORDER;
+        }
+    }
+
+    static class WebEndpointRoutingBeanPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<WebEndpointRoutingIndex> routingIndexProvider;
+
+        WebEndpointRoutingBeanPostProcessor(ObjectProvider<WebEndpointRoutingIndex> routingIndexProvider) {
+            this.routingIndexProvider = routingIndexProvider;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ServiceInstanceListSupplier && !(bean instanceof WebEndpointServiceInstanceListSupplier)) {
+                WebEndpointRoutingIndex routingIndex = this.routingIndexProvider.getIfAvailable(WebEndpointRoutingIndex::new);
+                return new WebEndpointServiceInstanceListSupplier((ServiceInstanceListSupplier) bean, routingIndex);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return WEB_ENDPOINT_ROUTING_BEAN_POST_PROCESSOR_ORDER;
+        }
+    }
+}
@@ -1,5 +1,19 @@
 package io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util;
 
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Map;
+
+import static io.microsphere.constants.SymbolConstants.COLON_CHAR;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.START_TIME_METADATA_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.DEFAULT_WEIGHT_PROPERTY_VALUE;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
+import static io.microsphere.util.StringUtils.isBlank;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
+
 /**
  * The utilities class of Load Balancer
  *
@@ -22,6 +36,144 @@ public abstract class LoadBalancerUtils {
         return ww < 1 ? 1 : (Math.min(ww, weight));
     }
 
+    /**
+     * Get the weight of {@link ServiceInstance} from its metadata named {@link io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants#WEIGHT_PROPERTY_NAME}
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * serviceInstance.getMetadata().put(WEIGHT_PROPERTY_NAME, "50");
+     * int weight = LoadBalancerUtils.getWeight(serviceInstance); // 50
+     * }</pre>
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return the effective weight if it's a {@link WeightedServiceInstance}, or
+     * {@link io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants#DEFAULT_WEIGHT_PROPERTY_VALUE} if absent or invalid,
+     * the negative value will be treated as zero
+     */
+    public static int getWeight(ServiceInstance serviceInstance) {
+        if (serviceInstance instanceof WeightedServiceInstance) {
+            return ((WeightedServiceInstance) serviceInstance).getWeight();
+        }
+        Map<String, String> metadata = serviceInstance.getMetadata();
+        String weight = metadata == null ? null : metadata.get(WEIGHT_PROPERTY_NAME);
+        if (isBlank(weight)) {
+            return DEFAULT_WEIGHT_PROPERTY_VALUE;
+        }
+        try {
+            return Math.max(0, parseInt(weight.trim()));
+        } catch (NumberFormatException e) {
+            return DEFAULT_WEIGHT_PROPERTY_VALUE;
+        }
+    }
+
+    /**
+     * Get the weight of {@link ServiceInstance} which takes warm-up into account, the start time(epoch milliseconds)
+     * comes from its metadata named {@link io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants#START_TIME_METADATA_NAME},
+     * and the warm-up time comes from its metadata named {@link io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants#WARMUP_TIME_PROPERTY_NAME}
+     * or <code>defaultWarmupTime</code>.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * int weight = LoadBalancerUtils.getWarmupWeight(serviceInstance, 10 * 60 * 1000L, System.currentTimeMillis());
+     * }</pre>
+     *
+     * @param serviceInstance   {@link ServiceInstance}
+     * @param defaultWarmupTime the default warm-up time in milliseconds
+     * @param now               the current time in milliseconds
+     * @return the effective weight if it's a {@link WeightedServiceInstance}, the weight calculated by
+     * {@link #calculateWarmupWeight(long, long, int)} if it's inside the warm-up window, or {@link #getWeight(ServiceInstance)}
+     */
+    public static int getWarmupWeight(ServiceInstance serviceInstance, long defaultWarmupTime, long now) {
+        int weight = getWeight(serviceInstance);
+        if (weight <= 0 || serviceInstance instanceof WeightedServiceInstance) {
+            return weight;
+        }
+        Map<String, String> metadata = serviceInstance.getMetadata();
+        if (metadata == null) {
+            return weight;
+        }
+        long startTime = getLong(metadata, START_TIME_METADATA_NAME, 0L);
+        if (startTime <= 0) {
+            return weight;
+        }
+        long warmupTime = getLong(metadata, WARMUP_TIME_PROPERTY_NAME, defaultWarmupTime);
+        return getWarmupWeight(startTime, warmupTime, weight, now);
+    }
+
+    /**
+     * Get the weight which takes warm-up into account by the resolved start time and warm-up time.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * int weight = LoadBalancerUtils.getWarmupWeight(startTime, 10 * 60 * 1000L, 100, System.currentTimeMillis());
+     * }</pre>
+     *
+     * @param startTime  the start time(epoch milliseconds), the non-positive value means unknown
+     * @param warmupTime the warm-up time in milliseconds
+     * @param weight     the weight of the service instance
+     * @param now        the current time in milliseconds
+     * @return the weight calculated by {@link #calculateWarmupWeight(long, long, int)} if it's inside the warm-up
+     * window, or <code>weight</code>
+     */
+    public static int getWarmupWeight(long startTime, long warmupTime, int weight, long now) {
+        if (weight <= 0 || startTime <= 0 || warmupTime <= 0) {
+            return weight;
+        }
+        long uptime = now - startTime;
+        if (uptime >= warmupTime) {
+            return weight;
+        }
+        return uptime <= 0 ? 1 : calculateWarmupWeight(uptime, warmupTime, weight);
+    }
+
+    /**
+     * Get the original {@link ServiceInstance} if it's wrapped by {@link WeightedServiceInstance}, the load balancers
+     * should respond the original one, thus the callers never see the wrapper.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * ServiceInstance original = LoadBalancerUtils.unwrap(new WeightedServiceInstance(serviceInstance, 10)); // serviceInstance
+     * }</pre>
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return the original {@link ServiceInstance}
+     */
+    public static ServiceInstance unwrap(ServiceInstance serviceInstance) {
+        if (serviceInstance instanceof WeightedServiceInstance) {
+            return ((WeightedServiceInstance) serviceInstance).getDelegate();
+        }
+        return serviceInstance;
+    }
+
+    /**
+     * Get the identifier of {@link ServiceInstance}, it's {@link ServiceInstance#getInstanceId() the instance id} if
+     * present, or "host:port"
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * String id = LoadBalancerUtils.getInstanceId(serviceInstance); // "127.0.0.1:8080" if no instance id
+     * }</pre>
+     *
+     * @param serviceInstance {@link ServiceInstance}
+     * @return non-null
+     */
+    public static String getInstanceId(ServiceInstance serviceInstance) {
+        String instanceId = serviceInstance.getInstanceId();
+        return isBlank(instanceId) ? serviceInstance.getHost() + COLON_CHAR + serviceInstance.getPort() : instanceId;
+    }
+
+    private static long getLong(Map<String, String> metadata, String name, long defaultValue) {
+        String value = metadata.get(name);
+        if (isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private LoadBalancerUtils() {
     }
 }
\ No newline at end of file
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery;
+
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity;
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MergedServiceInstance;
+import io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Locale;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity.HOST_PORT;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity.INSTANCE_ID;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy.FIRST;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy.MERGE;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.MetadataStrategy.OVERRIDE;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link DefaultServiceInstancesMerger} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DefaultServiceInstancesMerger
+ * @since 1.0.0
+ */
+class DefaultServiceInstancesMergerTest {
+
+    @Test
+    void testConstructor() {
+        DefaultServiceInstancesMerger merger = new DefaultServiceInstancesMerger();
+        assertSame(HOST_PORT, merger.getIdentity());
+        assertSame(FIRST, merger.getMetadataStrategy());
+        assertThrows(IllegalArgumentException.class, () -> new DefaultServiceInstancesMerger(null, FIRST));
+        assertThrows(IllegalArgumentException.class, () -> new DefaultServiceInstancesMerger(INSTANCE_ID, null));
+    }
+
+    @Test
+    void testMergeWithoutDuplicates() {
+        DefaultServiceInstancesMerger merger = new DefaultServiceInstancesMerger();
+        List<ServiceInstance> serviceInstances = emptyList();
+        assertSame(serviceInstances, merger.merge(serviceInstances));
+
+        serviceInstances = ofList(createInstance("1", "127.0.0.1", 8080, "a", "1"),
+                createInstance("2", "127.0.0.1", 8081, "a", "1"));
+        assertSame(serviceInstances, merger.merge(serviceInstances));
+    }
+
+    @Test
+    void testMergeByInstanceId() {
+        DefaultServiceInstancesMerger merger = new DefaultServiceInstancesMerger(INSTANCE_ID, FIRST);
+        ServiceInstance first = createInstance("1", "127.0.0.1", 8080, "a", "1");
+        ServiceInstance second = createInstance("2", "127.0.0.1", 8081, "a", "1");
+        List<ServiceInstance> merged = merger.merge(ofList(first, second, createInstance("1", "127.0.0.2", 8080, "a", "2")));
+        assertEquals(2, merged.size());
+        assertSame(first, merged.get(0));
+        assertSame(second, merged.get(1));
+
+        // falls back to host:port if the instance id is absent
+        merged = merger.merge(ofList(createInstance(null, "127.0.0.1", 8080, "a", "1"),
+                createInstance(null, "127.0.0.1", 8080, "a", "2")));
+        assertEquals(1, merged.size());
+    }
+
+    @Test
+    void testMergeByHostPort() {
+        DefaultServiceInstancesMerger merger = new DefaultServiceInstancesMerger(HOST_PORT, FIRST);
+        ServiceInstance first = createInstance("1", "127.0.0.1", 8080, "a", "1");
+        List<ServiceInstance> merged = merger.merge(ofList(first, createInstance("2", "127.0.0.1", 8080, "a", "2"),
+                createInstance("3", "127.0.0.1", 8081, "a", "3")));
+        assertEquals(2, merged.size());
+        assertSame(first, merged.get(0));
+        assertEquals("3", merged.get(1).getInstanceId());
+
+        // the same host and port with the different schemes
+        ServiceInstance secure = new DefaultServiceInstance("4", "test", "127.0.0.1", 8080, true);
+        merged = merger.merge(ofList(first, secure));
+        assertEquals(2, merged.size());
+
+        // the explicit scheme takes precedence over the secure flag
+        ServiceInstance http = new SchemeServiceInstance("5", "127.0.0.1", 8080, true, "HTTP");
+        merged = merger.merge(ofList(first, http));
+        assertEquals(1, merged.size());
+        assertSame(first, merged.get(0));
+    }
+
+    @Test
+    void testScheme() {
+        assertEquals("http", DefaultServiceInstancesMerger.scheme(createInstance("1", "127.0.0.1", 8080, "a", "1")));
+        assertEquals("https", DefaultServiceInstancesMerger.scheme(new DefaultServiceInstance("1", "test", "127.0.0.1", 8080, true)));
+        assertEquals("grpc", DefaultServiceInstancesMerger.scheme(new SchemeServiceInstance("1", "127.0.0.1", 8080, false, "gRPC")));
+    }
+
+    @Test
+    void testMergeMetadata() {
+        ServiceInstance first = createInstance("1", "127.0.0.1", 8080, "a", "1");
+        ServiceInstance duplicate = createInstance("1", "127.0.0.1", 8080, "a", "2");
+        duplicate.getMetadata().put("b", "2");
+
+        ServiceInstance merged = new DefaultServiceInstancesMerger(INSTANCE_ID, MERGE).merge(ofList(first, duplicate)).get(0);
+        assertEquals("1", merged.getMetadata().get("a"));
+        assertEquals("2", merged.getMetadata().get("b"));
+        assertEquals("1", merged.getInstanceId());
+        assertEquals(8080, merged.getPort());
+        assertSame(first, ((MergedServiceInstance) merged).getDelegate());
+        // the metadata of the original instances is not changed
+        assertNull(first.getMetadata().get("b"));
+
+        merged = new DefaultServiceInstancesMerger(INSTANCE_ID, OVERRIDE).merge(ofList(first, duplicate)).get(0);
+        assertEquals("2", merged.getMetadata().get("a"));
+        assertEquals("2", merged.getMetadata().get("b"));
+
+        // the subtype and the scheme are kept
+        ServiceInstance grpc = new SchemeServiceInstance("1", "127.0.0.1", 8080, false, "grpc");
+        merged = new DefaultServiceInstancesMerger(INSTANCE_ID, MERGE).merge(ofList(grpc, duplicate)).get(0);
+        assertEquals("grpc", merged.getScheme());
+        assertSame(grpc, ((MergedServiceInstance) merged).getDelegate());
+        assertEquals("2", merged.getMetadata().get("b"));
+
+        // the merged one is not nested
+        ServiceInstance another = createInstance("1", "127.0.0.1", 8080, "c", "3");
+        merged = new DefaultServiceInstancesMerger(INSTANCE_ID, MERGE).merge(ofList(grpc, duplicate, another)).get(0);
+        assertSame(grpc, ((MergedServiceInstance) merged).getDelegate());
+        assertEquals("3", merged.getMetadata().get("c"));
+
+        // the first one is kept if the metadata is not changed
+        assertSame(first, new DefaultServiceInstancesMerger(INSTANCE_ID, MERGE)
+                .merge(ofList(first, createInstance("1", "127.0.0.1", 8080, "a", "1"))).get(0));
+    }
+
+    @Test
+    void testParse() {
+        assertSame(INSTANCE_ID, Identity.parse("instance-id"));
+        assertSame(HOST_PORT, Identity.parse(" host-port "));
+        assertSame(FIRST, MetadataStrategy.parse("first"));
+        assertSame(MERGE, MetadataStrategy.parse("MERGE"));
+        assertSame(OVERRIDE, MetadataStrategy.parse("override"));
+        assertThrows(IllegalArgumentException.class, () -> Identity.parse("unknown"));
+    }
+
+    @Test
+    void testNormalizeWithTurkishLocale() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertSame(INSTANCE_ID, Identity.parse("instance-id"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private ServiceInstance createInstance(String instanceId, String host, int port, String key, String value) {
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance(instanceId, "test", host, port, false, newHashMap());
+        serviceInstance.getMetadata().put(key, value);
+        return serviceInstance;
+    }
+
+    static class SchemeServiceInstance extends DefaultServiceInstance {
+
+        private final String scheme;
+
+        SchemeServiceInstance(String instanceId, String host, int port, boolean secure, String scheme) {
+            super(instanceId, "test", host, port, secure, newHashMap());
+            this.scheme = scheme;
+        }
+
+        @Override
+        public String getScheme() {
+            return this.scheme;
+        }
+    }
+}
@@ -32,13 +32,22 @@ import reactor.core.scheduler.Scheduler;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.collection.MapUtils.newHashMap;
 import static io.microsphere.spring.cloud.client.discovery.ReactiveDiscoveryClientAdapter.toList;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtilsTest.createDefaultServiceInstance;
+import static java.lang.System.currentTimeMillis;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static reactor.core.scheduler.Schedulers.immediate;
 import static reactor.core.scheduler.Schedulers.newSingle;
 
@@ -104,6 +113,134 @@ class ReactiveDiscoveryClientAdapterTest {
         assertEquals(this.client.getOrder(), this.adapter.getOrder());
     }
 
+    @Test
+    void testLocalView() throws Exception {
+        assertFalse(this.adapter.isLocalViewEnabled());
+        ReactiveDiscoveryClientAdapter adapter = new ReactiveDiscoveryClientAdapter(this.client, ofMillis(50), ofSeconds(1));
+        try {
+            assertTrue(adapter.isLocalViewEnabled());
+            List<ServiceInstance> serviceInstances = adapter.getInstances(this.appName);
+            assertEquals(1, serviceInstances.size());
+            assertSame(this.serviceInstance, serviceInstances.get(0));
+            assertSame(serviceInstances, adapter.getInstances(this.appName));
+            assertThrows(UnsupportedOperationException.class, serviceInstances::clear);
+
+            List<String> services = adapter.getServices();
+            assertEquals(ofList(this.appName), services);
+            assertSame(services, adapter.getServices());
+
+            // the local view is refreshed in the background
+            Map<String, List<DefaultServiceInstance>> instances = newHashMap();
+            instances.put(this.appName, emptyList());
+            this.properties.setInstances(instances);
+            long deadline = currentTimeMillis() + 3000L;
+            while (!adapter.getInstances(this.appName).isEmpty() && currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            assertTrue(adapter.getInstances(this.appName).isEmpty());
+        } finally {
+            adapter.destroy();
+        }
+    }
+
+    @Test
+    void testLocalViewOnColdMissTimeout() {
+        AtomicBoolean available = new AtomicBoolean(false);
+        ReactiveDiscoveryClient client = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "Flaky Reactive Discovery Client";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return available.get() ? ReactiveDiscoveryClientAdapterTest.this.client.getInstances(serviceId) : Flux.never();
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return available.get() ? ReactiveDiscoveryClientAdapterTest.this.client.getServices() : Flux.never();
+            }
+        };
+        // the refresh interval is long enough that only the reads can retry
+        ReactiveDiscoveryClientAdapter adapter = new ReactiveDiscoveryClientAdapter(client, ofSeconds(60), ofMillis(10));
+        try {
+            assertTrue(adapter.getInstances(this.appName).isEmpty());
+            assertTrue(adapter.getServices().isEmpty());
+
+            // the failed fetch is not kept
+            assertEquals(0, adapter.getLocalViewSize());
+
+            // the next read retries the fetch
+            available.set(true);
+            List<ServiceInstance> serviceInstances = adapter.getInstances(this.appName);
+            assertEquals(1, serviceInstances.size());
+            assertSame(this.serviceInstance, serviceInstances.get(0));
+            assertEquals(ofList(this.appName), adapter.getServices());
+            assertEquals(1, adapter.getLocalViewSize());
+        } finally {
+            adapter.destroy();
+        }
+    }
+
+    @Test
+    void testLocalViewEviction() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        ReactiveDiscoveryClient client = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "Counting Reactive Discovery Client";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.defer(() -> {
+                    fetches.incrementAndGet();
+                    return Flux.empty();
+                });
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.empty();
+            }
+        };
+
+        // bounded by the max size
+        ReactiveDiscoveryClientAdapter adapter = new ReactiveDiscoveryClientAdapter(client, ofSeconds(10), ofSeconds(1),
+                2, ofSeconds(10));
+        try {
+            adapter.getInstances("a");
+            Thread.sleep(5L);
+            adapter.getInstances("b");
+            Thread.sleep(5L);
+            adapter.getInstances("a");
+            adapter.getInstances("c");
+            assertEquals(2, adapter.getLocalViewSize());
+            assertEquals(3, fetches.get());
+            // "b" is the least recently read one
+            adapter.getInstances("a");
+            adapter.getInstances("c");
+            assertEquals(3, fetches.get());
+            adapter.getInstances("b");
+            assertEquals(4, fetches.get());
+        } finally {
+            adapter.destroy();
+        }
+
+        // expired after the max idle time
+        adapter = new ReactiveDiscoveryClientAdapter(client, ofSeconds(10), ofSeconds(1), 2, ofMillis(20));
+        try {
+            adapter.getInstances("a");
+            assertEquals(1, adapter.getLocalViewSize());
+            Thread.sleep(30L);
+            adapter.refresh().block();
+            assertEquals(0, adapter.getLocalViewSize());
+        } finally {
+            adapter.destroy();
+        }
+    }
+
     @Test
     void testToList() throws Exception {
         assertList(immediate(), "1,2,3");
@@ -19,6 +19,8 @@ package io.microsphere.spring.cloud.client.discovery;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient.Snapshot;
+import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.client.discovery.composite.CompositeDiscoveryClient;
@@ -31,10 +33,22 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
 
 import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient.virtualThreadFactory;
+import static io.microsphere.spring.cloud.client.discovery.UnionDiscoveryClient.virtualThreadPerTaskExecutor;
+import static java.lang.Runtime.version;
+import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -96,6 +110,176 @@ class UnionDiscoveryClientTest {
         assertTrue(this.unionDiscoveryClient.getInstances("unknown").isEmpty());
     }
 
+    @Test
+    void testGetInstancesWithCache() {
+        assertFalse(this.unionDiscoveryClient.isCacheEnabled());
+        assertEquals(30000L, this.unionDiscoveryClient.getCacheTtl());
+        try {
+            this.unionDiscoveryClient.setCacheEnabled(true);
+            List<ServiceInstance> serviceInstances = this.unionDiscoveryClient.getInstances("test");
+            assertServiceInstances(serviceInstances);
+            assertSame(serviceInstances, this.unionDiscoveryClient.getInstances("test"));
+            assertThrows(UnsupportedOperationException.class, serviceInstances::clear);
+
+            // the stale snapshot is served while revalidating
+            this.unionDiscoveryClient.setCacheTtl(0L);
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+
+            this.unionDiscoveryClient.evict("test");
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+        } finally {
+            this.unionDiscoveryClient.setCacheTtl(30000L);
+            this.unionDiscoveryClient.setCacheEnabled(false);
+        }
+    }
+
+    @Test
+    void testGetInstancesWithCacheEviction() {
+        assertEquals(1024, this.unionDiscoveryClient.getCacheMaxSize());
+        assertEquals(600000L, this.unionDiscoveryClient.getCacheMaxIdle());
+        try {
+            this.unionDiscoveryClient.setCacheEnabled(true);
+            this.unionDiscoveryClient.setCacheMaxSize(2);
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+            assertTrue(this.unionDiscoveryClient.getInstances("unknown-1").isEmpty());
+            assertTrue(this.unionDiscoveryClient.getInstances("unknown-2").isEmpty());
+            // the least recently read snapshot is evicted
+            assertEquals(2, this.unionDiscoveryClient.getCacheSize());
+
+            // the idle snapshots are evicted
+            this.unionDiscoveryClient.setCacheMaxIdle(0L);
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+            assertEquals(0, this.unionDiscoveryClient.getCacheSize());
+        } finally {
+            this.unionDiscoveryClient.setCacheMaxIdle(600000L);
+            this.unionDiscoveryClient.setCacheMaxSize(1024);
+            this.unionDiscoveryClient.setCacheEnabled(false);
+        }
+    }
+
+    @Test
+    void testGetInstancesInParallel() {
+        assertFalse(this.unionDiscoveryClient.isParallelEnabled());
+        assertEquals(3000L, this.unionDiscoveryClient.getParallelTimeout());
+        try {
+            this.unionDiscoveryClient.setParallelEnabled(true);
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+            assertServices(this.unionDiscoveryClient.getServices());
+            assertTrue(this.unionDiscoveryClient.getFailures().isEmpty());
+
+            // partial results if the delegate fails
+            assertTrue(this.unionDiscoveryClient.getInstances("error").isEmpty());
+            assertEquals(1, this.unionDiscoveryClient.getFailures().size());
+            assertInstanceOf(IllegalStateException.class, this.unionDiscoveryClient.getFailures().values().iterator().next());
+
+            // partial results if the delegate times out
+            this.unionDiscoveryClient.setParallelTimeout(10L);
+            assertTrue(this.unionDiscoveryClient.getInstances("slow").isEmpty());
+            assertInstanceOf(TimeoutException.class, this.unionDiscoveryClient.getFailures().values().iterator().next());
+
+            // the slow delegate is interrupted
+            awaitUnfinishedCalls();
+
+            // the delegate ignoring the interruption is skipped until its timed-out call finishes
+            assertTrue(this.unionDiscoveryClient.getInstances("hang").isEmpty());
+            assertInstanceOf(TimeoutException.class, this.unionDiscoveryClient.getFailures().values().iterator().next());
+            assertEquals(1, this.unionDiscoveryClient.getUnfinishedCalls());
+            this.unionDiscoveryClient.setParallelTimeout(3000L);
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+            assertInstanceOf(IllegalStateException.class, this.unionDiscoveryClient.getFailures().values().iterator().next());
+            awaitUnfinishedCalls();
+
+            // the failure will be removed once the delegate answers
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+            assertTrue(this.unionDiscoveryClient.getFailures().isEmpty());
+        } finally {
+            this.unionDiscoveryClient.setParallelTimeout(3000L);
+            this.unionDiscoveryClient.setParallelEnabled(false);
+        }
+    }
+
+    @Test
+    void testGetInstancesWithCacheOnPartialResults() {
+        try {
+            this.unionDiscoveryClient.setParallelEnabled(true);
+            Snapshot snapshot = this.unionDiscoveryClient.loadSnapshot("flaky", currentTimeMillis());
+            assertTrue(snapshot.complete);
+            assertFalse(snapshot.retrying);
+            assertEquals(1, snapshot.serviceInstances.size());
+
+            // the partial snapshot expires after the retry TTL rather than the full TTL
+            DummyDiscoveryClient.failing = true;
+            Snapshot partialSnapshot = this.unionDiscoveryClient.loadSnapshot("flaky", currentTimeMillis());
+            assertFalse(partialSnapshot.complete);
+            assertTrue(partialSnapshot.retrying);
+            assertTrue(partialSnapshot.serviceInstances.isEmpty());
+            assertFalse(partialSnapshot.isExpired(30000L));
+
+            // the stale snapshot is kept on the partial revalidation
+            Snapshot reloadedSnapshot = this.unionDiscoveryClient.reloadSnapshot("flaky", snapshot);
+            assertTrue(reloadedSnapshot.complete);
+            assertTrue(reloadedSnapshot.retrying);
+            assertEquals(snapshot.serviceInstances, reloadedSnapshot.serviceInstances);
+
+            // the partial snapshot is replaced by the partial one
+            assertFalse(this.unionDiscoveryClient.reloadSnapshot("flaky", partialSnapshot).complete);
+
+            // the complete revalidation replaces the stale snapshot
+            DummyDiscoveryClient.failing = false;
+            reloadedSnapshot = this.unionDiscoveryClient.reloadSnapshot("flaky", reloadedSnapshot);
+            assertTrue(reloadedSnapshot.complete);
+            assertFalse(reloadedSnapshot.retrying);
+            assertEquals(1, reloadedSnapshot.serviceInstances.size());
+        } finally {
+            DummyDiscoveryClient.failing = false;
+            this.unionDiscoveryClient.setParallelEnabled(false);
+        }
+    }
+
+    @Test
+    void testGetInstancesWithMerger() {
+        assertNull(this.unionDiscoveryClient.getServiceInstancesMerger());
+        try {
+            this.unionDiscoveryClient.setServiceInstancesMerger(new DefaultServiceInstancesMerger());
+            assertServiceInstances(this.unionDiscoveryClient.getInstances("test"));
+
+            ServiceInstancesMerger merger = serviceInstances -> emptyList();
+            this.unionDiscoveryClient.setServiceInstancesMerger(merger);
+            assertSame(merger, this.unionDiscoveryClient.getServiceInstancesMerger());
+            assertTrue(this.unionDiscoveryClient.getInstances("test").isEmpty());
+        } finally {
+            this.unionDiscoveryClient.setServiceInstancesMerger(null);
+        }
+    }
+
+    @Test
+    void testVirtualThreadFactory() {
+        if (version().feature() >= 21) {
+            assertNotNull(virtualThreadFactory());
+        } else {
+            assertNull(virtualThreadFactory());
+        }
+    }
+
+    @Test
+    void testVirtualThreadPerTaskExecutor() {
+        ExecutorService executor = virtualThreadPerTaskExecutor();
+        if (version().feature() >= 21) {
+            assertNotNull(executor);
+            executor.shutdown();
+        } else {
+            assertNull(executor);
+        }
+    }
+
+    private void awaitUnfinishedCalls() {
+        long deadline = currentTimeMillis() + 3000L;
+        while (this.unionDiscoveryClient.getUnfinishedCalls() > 0 && currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(0, this.unionDiscoveryClient.getUnfinishedCalls());
+    }
+
     @Test
     void testGetServices() {
         assertServices(this.discoveryClient.getServices());
@@ -118,6 +302,8 @@ class UnionDiscoveryClientTest {
 
     static class DummyDiscoveryClient implements DiscoveryClient {
 
+        static volatile boolean failing;
+
         @Override
         public String description() {
             return "Dummy Discovery Client";
@@ -125,6 +311,26 @@ class UnionDiscoveryClientTest {
 
         @Override
         public List<ServiceInstance> getInstances(String serviceId) {
+            if ("error".equals(serviceId)) {
+                throw new IllegalStateException("For testing");
+            } else if ("flaky".equals(serviceId)) {
+                if (failing) {
+                    throw new IllegalStateException("For testing");
+                }
+                return ofList(new DefaultServiceInstance("flaky-1", "flaky", "127.0.0.1", 8080, false));
+            } else if ("hang".equals(serviceId)) {
+                // ignores the interruption
+                long deadline = currentTimeMillis() + 300L;
+                while (currentTimeMillis() < deadline) {
+                    Thread.interrupted();
+                }
+            } else if ("slow".equals(serviceId)) {
+                try {
+                    Thread.sleep(500L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
             return emptyList();
         }
 
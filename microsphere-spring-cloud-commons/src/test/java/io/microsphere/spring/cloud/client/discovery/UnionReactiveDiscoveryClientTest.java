@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.simple.reactive.SimpleReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.simple.reactive.SimpleReactiveDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.commons.util.UtilAutoConfiguration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.spring.cloud.client.discovery.DefaultServiceInstancesMerger.Identity.INSTANCE_ID;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static reactor.core.publisher.Flux.error;
+import static reactor.core.publisher.Flux.interval;
+import static reactor.core.publisher.Flux.never;
+
+/**
+ * {@link UnionReactiveDiscoveryClient} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see UnionReactiveDiscoveryClient
+ * @since 1.0.0
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {
+        UtilAutoConfiguration.class,
+        SimpleReactiveDiscoveryClientAutoConfiguration.class,
+        UnionReactiveDiscoveryClient.class,
+        UnionReactiveDiscoveryClientTest.DummyReactiveDiscoveryClient.class,
+        UnionReactiveDiscoveryClientTest.class
+})
+@TestPropertySource(
+        properties = {
+                "spring.cloud.discovery.client.simple.order=-1",
+                "spring.cloud.discovery.client.simple.instances.test[0].instanceId=1",
+                "spring.cloud.discovery.client.simple.instances.test[0].serviceId=test",
+                "spring.cloud.discovery.client.simple.instances.test[0].host=127.0.0.1",
+                "spring.cloud.discovery.client.simple.instances.test[0].port=8080",
+                "spring.cloud.discovery.client.simple.instances.test[0].metadata.key-1=value-1"
+        }
+)
+class UnionReactiveDiscoveryClientTest {
+
+    @Autowired
+    private UnionReactiveDiscoveryClient unionReactiveDiscoveryClient;
+
+    @Test
+    void testDescription() {
+        assertEquals("Union Reactive Discovery Client", this.unionReactiveDiscoveryClient.description());
+    }
+
+    @Test
+    void testGetReactiveDiscoveryClients() {
+        List<ReactiveDiscoveryClient> reactiveDiscoveryClients = this.unionReactiveDiscoveryClient.getReactiveDiscoveryClients();
+        assertEquals(2, reactiveDiscoveryClients.size());
+        assertEquals(SimpleReactiveDiscoveryClient.class, reactiveDiscoveryClients.get(0).getClass());
+        assertEquals(DummyReactiveDiscoveryClient.class, reactiveDiscoveryClients.get(1).getClass());
+    }
+
+    @Test
+    void testGetInstances() {
+        assertServiceInstances(this.unionReactiveDiscoveryClient.getInstances("test").collectList().block());
+        assertTrue(this.unionReactiveDiscoveryClient.getInstances("unknown").collectList().block().isEmpty());
+    }
+
+    @Test
+    void testGetInstancesWithPartialResults() {
+        assertEquals(ofSeconds(3), this.unionReactiveDiscoveryClient.getTimeout());
+        try {
+            // the error of DummyReactiveDiscoveryClient is skipped
+            assertTrue(this.unionReactiveDiscoveryClient.getInstances("error").collectList().block().isEmpty());
+
+            // DummyReactiveDiscoveryClient times out
+            this.unionReactiveDiscoveryClient.setTimeout(ofMillis(10));
+            assertTrue(this.unionReactiveDiscoveryClient.getInstances("slow").collectList().block().isEmpty());
+
+            // DummyReactiveDiscoveryClient keeps emitting within the interval, but misses the deadline of the source
+            this.unionReactiveDiscoveryClient.setTimeout(ofMillis(50));
+            assertFalse(this.unionReactiveDiscoveryClient.getInstances("trickle").collectList().block(ofSeconds(1)).isEmpty());
+        } finally {
+            this.unionReactiveDiscoveryClient.setTimeout(ofSeconds(3));
+        }
+    }
+
+    @Test
+    void testGetInstancesWithDistinct() {
+        assertNull(this.unionReactiveDiscoveryClient.getIdentity());
+        // DummyReactiveDiscoveryClient emits the duplicated instance for "duplicate"
+        assertEquals(2, this.unionReactiveDiscoveryClient.getInstances("duplicate").collectList().block().size());
+        try {
+            this.unionReactiveDiscoveryClient.setIdentity(INSTANCE_ID);
+            assertSame(INSTANCE_ID, this.unionReactiveDiscoveryClient.getIdentity());
+            assertEquals(1, this.unionReactiveDiscoveryClient.getInstances("duplicate").collectList().block().size());
+        } finally {
+            this.unionReactiveDiscoveryClient.setIdentity(null);
+        }
+    }
+
+    @Test
+    void testGetServices() {
+        assertEquals(ofList("test"), this.unionReactiveDiscoveryClient.getServices().collectList().block());
+    }
+
+    void assertServiceInstances(List<ServiceInstance> serviceInstances) {
+        assertEquals(1, serviceInstances.size());
+        ServiceInstance serviceInstance = serviceInstances.get(0);
+        assertEquals("test", serviceInstance.getServiceId());
+        assertEquals("1", serviceInstance.getInstanceId());
+        assertEquals("127.0.0.1", serviceInstance.getHost());
+        assertEquals(8080, serviceInstance.getPort());
+        assertEquals("value-1", serviceInstance.getMetadata().get("key-1"));
+    }
+
+    static class DummyReactiveDiscoveryClient implements ReactiveDiscoveryClient {
+
+        @Override
+        public String description() {
+            return "Dummy Reactive Discovery Client";
+        }
+
+        @Override
+        public Flux<ServiceInstance> getInstances(String serviceId) {
+            if ("error".equals(serviceId)) {
+                return error(new IllegalStateException("For testing"));
+            } else if ("slow".equals(serviceId)) {
+                return never();
+            } else if ("trickle".equals(serviceId)) {
+                return interval(ofMillis(5)).map(i -> new DefaultServiceInstance(String.valueOf(i), serviceId, "127.0.0.1", 8080, false));
+            } else if ("duplicate".equals(serviceId)) {
+                ServiceInstance serviceInstance = new DefaultServiceInstance("1", serviceId, "127.0.0.1", 8080, false);
+                return Flux.just(serviceInstance, serviceInstance);
+            }
+            return Flux.empty();
+        }
+
+        @Override
+        public Flux<String> getServices() {
+            return Flux.just("test");
+        }
+    }
+}
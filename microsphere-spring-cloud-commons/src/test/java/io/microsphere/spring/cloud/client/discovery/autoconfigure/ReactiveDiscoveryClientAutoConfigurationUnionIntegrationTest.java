@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery.autoconfigure;
+
+import io.microsphere.spring.cloud.client.discovery.UnionReactiveDiscoveryClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClient;
+import org.springframework.cloud.client.discovery.composite.reactive.ReactiveCompositeDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.client.discovery.simple.reactive.SimpleReactiveDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.commons.util.UtilAutoConfiguration;
+
+import static io.microsphere.collection.Lists.ofList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link ReactiveDiscoveryClientAutoConfiguration} Integration Test for the "union" mode
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveDiscoveryClientAutoConfiguration.UnionConfiguration
+ * @since 1.0.0
+ */
+@SpringBootTest(classes = {
+        UtilAutoConfiguration.class,
+        SimpleReactiveDiscoveryClientAutoConfiguration.class,
+        ReactiveCompositeDiscoveryClientAutoConfiguration.class,
+        ReactiveDiscoveryClientAutoConfiguration.class
+}, properties = {
+        "microsphere.spring.cloud.client.discovery.mode=union",
+        "spring.cloud.discovery.client.simple.instances.test[0].instanceId=1",
+        "spring.cloud.discovery.client.simple.instances.test[0].serviceId=test",
+        "spring.cloud.discovery.client.simple.instances.test[0].host=127.0.0.1",
+        "spring.cloud.discovery.client.simple.instances.test[0].port=8080"
+})
+class ReactiveDiscoveryClientAutoConfigurationUnionIntegrationTest {
+
+    @Autowired
+    private ReactiveDiscoveryClient reactiveDiscoveryClient;
+
+    @Autowired
+    private UnionReactiveDiscoveryClient unionReactiveDiscoveryClient;
+
+    @Autowired
+    private ReactiveCompositeDiscoveryClient reactiveCompositeDiscoveryClient;
+
+    @Test
+    void test() {
+        assertSame(this.unionReactiveDiscoveryClient, this.reactiveDiscoveryClient);
+        assertEquals(1, this.unionReactiveDiscoveryClient.getReactiveDiscoveryClients().size());
+        assertEquals(ofList("test"), this.reactiveDiscoveryClient.getServices().collectList().block());
+        assertEquals(1, this.reactiveDiscoveryClient.getInstances("test").collectList().block().size());
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.discovery.constants;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_CACHE_TTL_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_MERGE_METADATA_STRATEGY_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_THREADS_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PARALLEL_VIRTUAL_THREADS_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_REACTIVE_DISCOVERY_CLIENT_DISTINCT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_REACTIVE_DISCOVERY_CLIENT_PROPERTY_PREFIX;
+import static io.microsphere.spring.cloud.client.discovery.constants.DiscoveryClientPropertyConstants.UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT_PROPERTY_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * {@link DiscoveryClientPropertyConstants} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DiscoveryClientPropertyConstants
+ * @since 1.0.0
+ */
+class DiscoveryClientPropertyConstantsTest {
+
+    @Test
+    void testConstants() {
+        assertEquals("microsphere.spring.cloud.client.discovery.union.", UNION_DISCOVERY_CLIENT_PROPERTY_PREFIX);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.cache.enabled", UNION_DISCOVERY_CLIENT_CACHE_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.cache.ttl", UNION_DISCOVERY_CLIENT_CACHE_TTL_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.cache.max-size", UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.cache.max-idle", UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.cache.revalidation-threads", UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS_PROPERTY_NAME);
+        assertEquals(30000L, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_TTL);
+        assertEquals(1024, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_SIZE);
+        assertEquals(600000L, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_MAX_IDLE);
+        assertEquals(4, DEFAULT_UNION_DISCOVERY_CLIENT_CACHE_REVALIDATION_THREADS);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.parallel.enabled", UNION_DISCOVERY_CLIENT_PARALLEL_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.parallel.threads", UNION_DISCOVERY_CLIENT_PARALLEL_THREADS_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.parallel.virtual-threads", UNION_DISCOVERY_CLIENT_PARALLEL_VIRTUAL_THREADS_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.parallel.timeout", UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT_PROPERTY_NAME);
+        assertEquals(16, DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_THREADS);
+        assertEquals(3000L, DEFAULT_UNION_DISCOVERY_CLIENT_PARALLEL_TIMEOUT);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.merge.enabled", UNION_DISCOVERY_CLIENT_MERGE_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.merge.identity", UNION_DISCOVERY_CLIENT_MERGE_IDENTITY_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.merge.metadata-strategy", UNION_DISCOVERY_CLIENT_MERGE_METADATA_STRATEGY_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.reactive.", UNION_REACTIVE_DISCOVERY_CLIENT_PROPERTY_PREFIX);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.reactive.timeout", UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.union.reactive.distinct", UNION_REACTIVE_DISCOVERY_CLIENT_DISTINCT_PROPERTY_NAME);
+        assertEquals(3000L, DEFAULT_UNION_REACTIVE_DISCOVERY_CLIENT_TIMEOUT);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_PROPERTY_PREFIX);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.enabled", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.refresh-interval", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.timeout", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.max-size", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.client.discovery.adapter.local-view.max-idle", REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE_PROPERTY_NAME);
+        assertEquals(30000L, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_REFRESH_INTERVAL);
+        assertEquals(3000L, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_TIMEOUT);
+        assertEquals(1024, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_SIZE);
+        assertEquals(600000L, DEFAULT_REACTIVE_DISCOVERY_CLIENT_ADAPTER_LOCAL_VIEW_MAX_IDLE);
+    }
+}
@@ -21,16 +21,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.microsphere.collection.ListUtils.newArrayList;
 import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
 import static io.microsphere.collection.MapUtils.ofEntry;
 import static io.microsphere.collection.Maps.ofMap;
+import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.spring.cloud.client.service.registry.DefaultRegistrationTest.createDefaultRegistration;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -124,6 +136,177 @@ class RegistrationMetaDataTest {
         assertEquals(0, metaData.size());
     }
 
+    @Test
+    void testBatch() {
+        List<RegistrationMetaDataDelta> deltas = newArrayList();
+        RegistrationMetaDataListener listener = (source, delta) -> {
+            assertSame(metaData, source);
+            deltas.add(delta);
+        };
+        metaData.addListener(listener);
+
+        RegistrationMetaDataDelta delta = metaData.batch()
+                .put("key1", "value1")
+                .put("key2", "value-2")
+                .putAll(ofMap("key4", "value4", "key5", "value5"))
+                .remove("key5")
+                .remove("key3")
+                .remove("key6")
+                .commit();
+
+        assertEquals(ofMap("key2", "value-2", "key4", "value4"), delta.getChangedMetadata());
+        assertEquals(ofSet("key3"), delta.getRemovedKeys());
+        assertFalse(delta.isEmpty());
+        assertEquals(1, deltas.size());
+        assertEquals(delta, deltas.get(0));
+        assertEquals(delta.hashCode(), deltas.get(0).hashCode());
+        assertTrue(delta.toString().contains("key4"));
+
+        Map<String, String> metadata = this.defaultRegistration.getMetadata();
+        assertEquals("value1", metadata.get("key1"));
+        assertEquals("value-2", metadata.get("key2"));
+        assertFalse(metadata.containsKey("key3"));
+        assertEquals("value4", metadata.get("key4"));
+        assertFalse(metadata.containsKey("key5"));
+        assertEquals(metadata, ofMap("key1", "value1", "key2", "value-2", "key4", "value4"));
+        assertEquals(3, metaData.size());
+
+        // no change
+        assertTrue(metaData.batch().put("key1", "value1").remove("key3").commit().isEmpty());
+        assertEquals(1, deltas.size());
+
+        metaData.removeListener(listener);
+        metaData.batch().put("key6", "value6").commit();
+        assertEquals(1, deltas.size());
+    }
+
+    @Test
+    void testBatchOnCommitted() {
+        RegistrationMetaData.Batch batch = metaData.batch().put("key4", "value4");
+        batch.commit();
+        assertThrows(IllegalStateException.class, batch::commit);
+        assertThrows(IllegalArgumentException.class, () -> metaData.batch().put(null, "value"));
+        assertThrows(IllegalArgumentException.class, () -> metaData.batch().put("key", null));
+        assertThrows(IllegalArgumentException.class, () -> metaData.batch().remove(null));
+        assertThrows(IllegalArgumentException.class, () -> metaData.addListener(null));
+    }
+
+    @Test
+    void testListenerOnMapOperations() {
+        List<RegistrationMetaDataDelta> deltas = newArrayList();
+        metaData.addListener((source, delta) -> deltas.add(delta));
+
+        assertEquals("value1", metaData.put("key1", "value-1"));
+        assertNull(metaData.put("key4", "value4"));
+        assertEquals("value4", metaData.put("key4", "value4"));
+        metaData.putAll(ofMap("key5", "value5", "key6", "value6"));
+        assertEquals("value2", metaData.remove("key2"));
+        assertNull(metaData.remove("key7"));
+        metaData.clear();
+
+        assertEquals(5, deltas.size());
+        assertEquals(ofMap("key1", "value-1"), deltas.get(0).getChangedMetadata());
+        assertEquals(ofMap("key4", "value4"), deltas.get(1).getChangedMetadata());
+        assertEquals(ofMap("key5", "value5", "key6", "value6"), deltas.get(2).getChangedMetadata());
+        assertEquals(ofSet("key2"), deltas.get(3).getRemovedKeys());
+        assertEquals(ofSet("key1", "key3", "key4", "key5", "key6"), deltas.get(4).getRemovedKeys());
+    }
+
+    @Test
+    void testListenerOnFailure() {
+        List<RegistrationMetaDataDelta> deltas = newArrayList();
+        metaData.addListener((source, delta) -> {
+            throw new RuntimeException("For testing");
+        });
+        metaData.addListener((source, delta) -> deltas.add(delta));
+
+        RegistrationMetaDataDelta delta = metaData.batch().put("key4", "value4").commit();
+        assertEquals("value4", metaData.get("key4"));
+        assertEquals(ofList(delta), deltas);
+    }
+
+    @Test
+    void testListenerOutsideLock() {
+        List<Map<String, String>> snapshots = newArrayList();
+        metaData.addListener((source, delta) -> {
+            // the lock is released, otherwise the snapshot from another thread is blocked
+            try {
+                snapshots.add(supplyAsync(source::snapshot).get(5, SECONDS));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        metaData.put("key4", "value4");
+        assertEquals(1, snapshots.size());
+        assertEquals("value4", snapshots.get(0).get("key4"));
+    }
+
+    @Test
+    void testListenerInOrder() throws Exception {
+        int threads = 4;
+        int changes = 1000;
+        AtomicInteger concurrentNotifications = new AtomicInteger();
+        AtomicInteger maxConcurrentNotifications = new AtomicInteger();
+        AtomicInteger outOfOrderNotifications = new AtomicInteger();
+        Map<String, Integer> lastValues = newHashMap();
+        metaData.addListener((source, delta) -> {
+            maxConcurrentNotifications.accumulateAndGet(concurrentNotifications.incrementAndGet(), Math::max);
+            delta.getChangedMetadata().forEach((key, value) -> {
+                Integer lastValue = lastValues.put(key, Integer.valueOf(value));
+                // the values of the key "key-{thread}" are increasing
+                if (lastValue != null && lastValue >= Integer.parseInt(value)) {
+                    outOfOrderNotifications.incrementAndGet();
+                }
+            });
+            concurrentNotifications.decrementAndGet();
+        });
+        ExecutorService executor = newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                String key = "key-" + i;
+                executor.execute(() -> {
+                    for (int j = 1; j <= changes; j++) {
+                        metaData.put(key, String.valueOf(j));
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, maxConcurrentNotifications.get());
+        assertEquals(0, outOfOrderNotifications.get());
+        for (int i = 0; i < threads; i++) {
+            assertEquals(changes, lastValues.get("key-" + i));
+        }
+    }
+
+    @Test
+    void testListenerOnReentrantChange() {
+        List<String> keys = newArrayList();
+        metaData.addListener((source, delta) -> {
+            keys.addAll(delta.getChangedMetadata().keySet());
+            if (delta.getChangedMetadata().containsKey("key4")) {
+                // delivered after this notification rather than recursively
+                source.put("key5", "value5");
+                assertEquals(ofList("key4"), keys);
+            }
+        });
+        metaData.put("key4", "value4");
+        assertEquals(ofList("key4", "key5"), keys);
+    }
+
+    @Test
+    void testSnapshot() {
+        Map<String, String> snapshot = metaData.snapshot();
+        assertEquals(ofMap("key1", "value1", "key2", "value2", "key3", "value3"), snapshot);
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.put("key4", "value4"));
+        metaData.put("key4", "value4");
+        assertFalse(snapshot.containsKey("key4"));
+    }
+
     @Test
     void testKeySet() {
         Set<String> keys = metaData.keySet();
@@ -27,31 +27,49 @@ import org.springframework.cloud.client.DefaultServiceInstance;
 
 import java.net.URI;
 import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
 
 import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.constants.SeparatorConstants.LINE_SEPARATOR;
+import static io.microsphere.constants.SymbolConstants.COMMA;
+import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
+import static io.microsphere.constants.SymbolConstants.RIGHT_SQUARE_BRACKET;
 import static io.microsphere.json.JSONUtils.jsonObject;
+import static io.microsphere.net.URLUtils.encode;
 import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_CONTEXT_PATH_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_MAPPINGS_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.appendEncoded;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.attachMetadata;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.clearWebEndpointMappingsCache;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.encodedLength;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getCachedWebEndpointMappings;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getMetadata;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getUri;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getUriString;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getWebEndpointMappings;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.getWebEndpointMappingsCacheSize;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.parseWebEndpointMapping;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.parseWebEndpointMappings;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.removeMetadata;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.setMetadata;
 import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.setProperties;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.toEncodedJSON;
 import static io.microsphere.spring.web.metadata.WebEndpointMapping.Kind.SERVLET;
 import static io.microsphere.spring.web.metadata.WebEndpointMapping.servlet;
 import static io.microsphere.util.StringUtils.EMPTY_STRING;
 import static io.microsphere.util.StringUtils.EMPTY_STRING_ARRAY;
 import static java.lang.System.currentTimeMillis;
+import static java.lang.System.identityHashCode;
 import static java.net.URI.create;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -105,6 +123,95 @@ public class ServiceInstanceUtilsTest {
         assertArrayEquals(EMPTY_STRING_ARRAY, webEndpointMapping.getConsumes());
     }
 
+    @Test
+    void testGetWebEndpointMappingsOnCompact() {
+        attachMetadata(this.context, this.serviceInstance, this.webEndpointMappings, true);
+        assertTrue(getMetadata(this.serviceInstance, WEB_MAPPINGS_METADATA_NAME).startsWith("c1:"));
+        Collection<WebEndpointMapping> webEndpointMappings = getWebEndpointMappings(this.serviceInstance);
+        assertEquals(this.webEndpointMappings, webEndpointMappings);
+    }
+
+    @Test
+    void testGetWebEndpointMappingsOnCache() {
+        clearWebEndpointMappingsCache();
+        attachMetadata(this.context, this.serviceInstance, this.webEndpointMappings);
+        DefaultServiceInstance anotherServiceInstance = createDefaultServiceInstance();
+        attachMetadata(this.context, anotherServiceInstance, this.webEndpointMappings);
+
+        Collection<WebEndpointMapping> webEndpointMappings = getWebEndpointMappings(this.serviceInstance);
+        assertSame(webEndpointMappings, getWebEndpointMappings(anotherServiceInstance));
+        assertEquals(1, getWebEndpointMappingsCacheSize());
+        assertThrows(UnsupportedOperationException.class, webEndpointMappings::clear);
+
+        assertSame(emptyList(), getCachedWebEndpointMappings(null));
+        assertSame(emptyList(), getCachedWebEndpointMappings(" "));
+
+        // the least recently accessed ones are evicted beyond the max size
+        for (int i = 0; i <= WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE; i++) {
+            getCachedWebEndpointMappings(WebEndpointMappingsCodec.encode(ofList(servlet().endpoint(i).pattern("/test").build())));
+        }
+        assertEquals(WEB_ENDPOINT_MAPPINGS_CACHE_MAX_SIZE, getWebEndpointMappingsCacheSize());
+        clearWebEndpointMappingsCache();
+        assertEquals(0, getWebEndpointMappingsCacheSize());
+    }
+
+    @Test
+    void testGetWebEndpointMappingsOnHashCollision() {
+        clearWebEndpointMappingsCache();
+        // "Aa" and "BB" have the same hash code
+        String encodedJSON = toEncodedJSON(ofList(servlet().endpoint(1).pattern("/Aa").build()));
+        String collidedEncodedJSON = toEncodedJSON(ofList(servlet().endpoint(1).pattern("/BB").build()));
+        assertEquals(encodedJSON.hashCode(), collidedEncodedJSON.hashCode());
+
+        List<WebEndpointMapping> webEndpointMappings = getCachedWebEndpointMappings(encodedJSON);
+        List<WebEndpointMapping> collidedWebEndpointMappings = getCachedWebEndpointMappings(collidedEncodedJSON);
+        assertEquals(parseWebEndpointMappings(encodedJSON), webEndpointMappings);
+        assertEquals(parseWebEndpointMappings(collidedEncodedJSON), collidedWebEndpointMappings);
+        assertNotEquals(webEndpointMappings, collidedWebEndpointMappings);
+        assertSame(collidedWebEndpointMappings, getCachedWebEndpointMappings(collidedEncodedJSON));
+        assertEquals(1, getWebEndpointMappingsCacheSize());
+        clearWebEndpointMappingsCache();
+    }
+
+    @Test
+    void testGetWebEndpointMappingsOnUnreferenced() throws InterruptedException {
+        clearWebEndpointMappingsCache();
+        String encodedJSON = toEncodedJSON(this.webEndpointMappings);
+        int identity = identityHashCode(getCachedWebEndpointMappings(encodedJSON));
+        // the cached value is strongly held even if no caller references it
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, getWebEndpointMappingsCacheSize());
+        assertEquals(identity, identityHashCode(getCachedWebEndpointMappings(encodedJSON)));
+        clearWebEndpointMappingsCache();
+    }
+
+    @Test
+    void testToEncodedJSON() {
+        assertEquals(legacyEncodedJSON(emptyList()), toEncodedJSON(emptyList()));
+        assertEquals(legacyEncodedJSON(this.webEndpointMappings), toEncodedJSON(this.webEndpointMappings));
+
+        Collection<WebEndpointMapping> webEndpointMappings = ofList(
+                servlet().endpoint(1).pattern("/users/{id}/a b").method("GET").build(),
+                servlet().endpoint(2).pattern("/\u7528\u6237/*").method("POST").build(),
+                servlet().endpoint(3).pattern("/emoji/\uD83D\uDE00/~!@#$%^&()+=\u00E9").negate().build()
+        );
+        String encodedJSON = toEncodedJSON(webEndpointMappings);
+        assertEquals(legacyEncodedJSON(webEndpointMappings), encodedJSON);
+        assertEquals(webEndpointMappings, parseWebEndpointMappings(encodedJSON));
+    }
+
+    @Test
+    void testEncodedLength() {
+        String json = "{\"a\":\"b c\u00E9\u4E2D\uD83D\uDE00\uD83D\"}" + LINE_SEPARATOR;
+        StringBuilder builder = new StringBuilder();
+        appendEncoded(builder, json);
+        assertEquals(encode(json.replace(LINE_SEPARATOR, EMPTY_STRING)), builder.toString());
+        assertEquals(builder.length(), encodedLength(json));
+    }
+
     @Test
     void testParseWebEndpointMapping() {
         WebEndpointMapping webEndpointMapping = buildWebEndpointMapping(false);
@@ -173,6 +280,12 @@ public class ServiceInstanceUtilsTest {
         assertEquals(this.serviceInstance, target);
     }
 
+    private static String legacyEncodedJSON(Collection<WebEndpointMapping> webEndpointMappings) {
+        StringJoiner jsonBuilder = new StringJoiner(COMMA + LINE_SEPARATOR, LEFT_SQUARE_BRACKET, RIGHT_SQUARE_BRACKET);
+        webEndpointMappings.stream().map(WebEndpointMapping::toJSON).forEach(jsonBuilder::add);
+        return encode(jsonBuilder.toString().replace(LINE_SEPARATOR, EMPTY_STRING));
+    }
+
     private Collection<WebEndpointMapping> createWebEndpointMappings() {
         return ofList(buildWebEndpointMapping(true));
     }
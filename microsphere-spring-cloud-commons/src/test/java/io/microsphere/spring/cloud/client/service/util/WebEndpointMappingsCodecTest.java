@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.client.service.util;
+
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.toEncodedJSON;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.FORMAT_PREFIX;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.MAX_INFLATED_SIZE;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.decode;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.encode;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.inflate;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.isEncoded;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.readLength;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.readVarInt;
+import static io.microsphere.spring.cloud.client.service.util.WebEndpointMappingsCodec.writeVarInt;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.servlet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getUrlEncoder;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WebEndpointMappingsCodec} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointMappingsCodec
+ * @since 1.0.0
+ */
+class WebEndpointMappingsCodecTest {
+
+    @Test
+    void testEncodeAndDecode() {
+        List<WebEndpointMapping> webEndpointMappings = createWebEndpointMappings(128);
+        String value = encode(webEndpointMappings);
+        assertTrue(isEncoded(value));
+        assertEquals(webEndpointMappings, decode(value));
+        // the compact format is much smaller than the URL-encoded JSON
+        assertTrue(value.length() * 4 < toEncodedJSON(webEndpointMappings).length());
+    }
+
+    @Test
+    void testEncodeAndDecodeOnEmpty() {
+        String value = encode(emptyList());
+        assertTrue(value.startsWith(FORMAT_PREFIX));
+        assertTrue(decode(value).isEmpty());
+    }
+
+    @Test
+    void testIsEncoded() {
+        assertFalse(isEncoded(null));
+        assertFalse(isEncoded(toEncodedJSON(createWebEndpointMappings(1))));
+        assertTrue(isEncoded(FORMAT_PREFIX));
+    }
+
+    @Test
+    void testDecodeOnMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> decode("%5B%5D"));
+        assertThrows(IllegalArgumentException.class, () -> decode(FORMAT_PREFIX + "AAAA"));
+    }
+
+    @Test
+    void testDecodeOnOutOfBounds() throws IOException {
+        // the dictionary size
+        assertThrows(IllegalArgumentException.class, () -> decode(deflate(Integer.MAX_VALUE)));
+        assertThrows(IllegalArgumentException.class, () -> decode(deflate(-1)));
+        // the string length
+        assertThrows(IllegalArgumentException.class, () -> decode(deflate(1, Integer.MAX_VALUE)));
+        // the mappings size
+        assertThrows(IllegalArgumentException.class, () -> decode(deflate(0, Integer.MAX_VALUE)));
+        // the array length
+        assertThrows(IllegalArgumentException.class, () -> decode(deflate(1, "SERVLET", 1, 0, 0, 0, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void testDecodeOnDeflateBomb() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(bytes)) {
+            output.write(new byte[MAX_INFLATED_SIZE + 1]);
+        }
+        assertThrows(IOException.class, () -> inflate(bytes.toByteArray(), MAX_INFLATED_SIZE));
+        assertEquals(MAX_INFLATED_SIZE + 1, inflate(bytes.toByteArray(), MAX_INFLATED_SIZE + 1).length);
+        String value = FORMAT_PREFIX + getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        assertThrows(IllegalArgumentException.class, () -> decode(value));
+    }
+
+    @Test
+    void testReadLength() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeVarInt(output, 1);
+        output.writeByte(0);
+        writeVarInt(output, 1);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(1, readLength(input));
+        input.readByte();
+        assertThrows(IOException.class, () -> readLength(input));
+    }
+
+    @Test
+    void testVarInt() throws IOException {
+        int[] values = {0, 1, 127, 128, 16384, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        for (int value : values) {
+            writeVarInt(output, value);
+        }
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int value : values) {
+            assertEquals(value, readVarInt(input));
+        }
+    }
+
+    /**
+     * Deflates the values, the {@link Integer} is written as the varint, and the {@link String} is written as the
+     * dictionary entry
+     */
+    private String deflate(Object... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            for (Object value : values) {
+                if (value instanceof String) {
+                    byte[] stringBytes = ((String) value).getBytes(UTF_8);
+                    writeVarInt(output, stringBytes.length);
+                    output.write(stringBytes);
+                } else {
+                    writeVarInt(output, (Integer) value);
+                }
+            }
+        }
+        return FORMAT_PREFIX + getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    private List<WebEndpointMapping> createWebEndpointMappings(int size) {
+        List<WebEndpointMapping> webEndpointMappings = newArrayList(size);
+        for (int i = 0; i < size; i++) {
+            WebEndpointMapping.Builder<?> builder = servlet()
+                    .endpoint(i)
+                    .method(i % 2 == 0 ? "GET" : "POST")
+                    .pattern("/api/v1/resources-" + i + "/{id}");
+            if (i % 3 == 0) {
+                builder.negate();
+            }
+            webEndpointMappings.add(builder.build());
+        }
+        return webEndpointMappings;
+    }
+}
@@ -19,6 +19,7 @@ package io.microsphere.spring.cloud.commons.constants;
 import org.junit.jupiter.api.Test;
 
 import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.COMPOSITE_REGISTRATION_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.WEB_MAPPINGS_COMPACT_ENABLED_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.FEATURES_ENABLED_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX;
 import static io.microsphere.spring.cloud.commons.constants.CommonsPropertyConstants.MICROSPHERE_SPRING_CLOUD_WEB_MVC_PROPERTY_NAME_PREFIX;
@@ -52,6 +53,7 @@ class CommonsPropertyConstantsTest {
         assertEquals("microsphere.spring.cloud.default-registration.type", MULTIPLE_REGISTRATION_DEFAULT_REGISTRATION_PROPERTY_NAME);
         assertEquals("microsphere.spring.cloud.default-service-registry.type", MULTIPLE_REGISTRATION_DEFAULT_REGISTRY_PROPERTY_NAME);
         assertEquals("microsphere.spring.cloud.composite-registration.enabled", COMPOSITE_REGISTRATION_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.web-mappings.compact.enabled", WEB_MAPPINGS_COMPACT_ENABLED_PROPERTY_NAME);
         assertEquals("${spring.application.name:application}", SPRING_APPLICATION_NAME_PLACEHOLDER);
     }
 }
\ No newline at end of file
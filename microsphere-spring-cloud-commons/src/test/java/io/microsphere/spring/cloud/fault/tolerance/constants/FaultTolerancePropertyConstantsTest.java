@@ -22,8 +22,15 @@ import org.junit.jupiter.api.Test;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.DEFAULT_WARMUP_TIME_PROPERTY_VALUE;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.DEFAULT_WEIGHT_PROPERTY_VALUE;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.FAULT_TOLERANCE_PROPERTY_NAME_PREFIX;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ADAPTIVE_WEIGHT_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ALGORITHM_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_EWMA_DECAY_TIME_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_PROPERTY_PREFIX;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.LOAD_BALANCER_WARMUP_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.POWER_OF_TWO_CHOICES_ALGORITHM;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHTED_ROUND_ROBIN_ALGORITHM;
 import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -40,6 +47,13 @@ class FaultTolerancePropertyConstantsTest {
     void testConstants() {
         assertEquals("microsphere.spring.cloud.fault-tolerance.", FAULT_TOLERANCE_PROPERTY_NAME_PREFIX);
         assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.", LOAD_BALANCER_PROPERTY_PREFIX);
+        assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm", LOAD_BALANCER_ALGORITHM_PROPERTY_NAME);
+        assertEquals("weighted-round-robin", WEIGHTED_ROUND_ROBIN_ALGORITHM);
+        assertEquals("power-of-two-choices", POWER_OF_TWO_CHOICES_ALGORITHM);
+        assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.warmup.enabled", LOAD_BALANCER_WARMUP_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.adaptive-weight.enabled", LOAD_BALANCER_ADAPTIVE_WEIGHT_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.endpoint-routing.enabled", LOAD_BALANCER_ENDPOINT_ROUTING_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.fault-tolerance.load-balancer.ewma.decay-time", LOAD_BALANCER_EWMA_DECAY_TIME_PROPERTY_NAME);
         assertEquals("microsphere.spring.cloud.fault-tolerance.warmup-time", WARMUP_TIME_PROPERTY_NAME);
         assertEquals("microsphere.spring.cloud.fault-tolerance.weight", WEIGHT_PROPERTY_NAME);
         assertEquals(600000, DEFAULT_WARMUP_TIME_PROPERTY_VALUE);
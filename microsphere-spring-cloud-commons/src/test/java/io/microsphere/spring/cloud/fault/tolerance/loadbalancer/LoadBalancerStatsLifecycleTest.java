@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStatsLifecycle.getLatency;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStatsLifecycle.isFailed;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancerTest.createInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.client.loadbalancer.CompletionContext.Status.DISCARD;
+import static org.springframework.cloud.client.loadbalancer.CompletionContext.Status.FAILED;
+import static org.springframework.cloud.client.loadbalancer.CompletionContext.Status.SUCCESS;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * {@link LoadBalancerStatsLifecycle} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerStatsLifecycle
+ * @since 1.0.0
+ */
+class LoadBalancerStatsLifecycleTest {
+
+    @Test
+    void test() {
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        LoadBalancerStatsLifecycle lifecycle = new LoadBalancerStatsLifecycle(loadBalancerStats);
+        assertSame(loadBalancerStats, lifecycle.getLoadBalancerStats());
+        assertTrue(lifecycle.supports(Object.class, Object.class, ServiceInstance.class));
+        assertFalse(lifecycle.supports(Object.class, Object.class, Object.class));
+
+        ServiceInstance serviceInstance = createInstance("a", 100);
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+        DefaultResponse response = new DefaultResponse(serviceInstance);
+        ServiceInstanceStats stats = loadBalancerStats.getStats(serviceInstance);
+
+        lifecycle.onStart(request);
+        lifecycle.onStartRequest(request, response);
+        lifecycle.onStartRequest(request, response);
+        assertEquals(2, stats.getActive());
+
+        lifecycle.onComplete(new CompletionContext<>(SUCCESS, request, response));
+        assertEquals(1, stats.getActive());
+        assertTrue(stats.getLatency() >= 0.0d);
+        assertEquals(0.0d, stats.getErrorRate());
+
+        lifecycle.onComplete(new CompletionContext<>(DISCARD, request, new EmptyResponse()));
+        assertEquals(1, stats.getActive());
+
+        lifecycle.onComplete(new CompletionContext<>(FAILED, new RuntimeException(), request, response));
+        assertEquals(0, stats.getActive());
+        assertTrue(stats.getErrorRate() > 0.0d);
+
+        lifecycle.onStartRequest(request, new EmptyResponse());
+        lifecycle.onComplete(new CompletionContext<>(FAILED, new RuntimeException(), request, new EmptyResponse()));
+        assertEquals(0, stats.getActive());
+    }
+
+    @Test
+    void testGetLatency() {
+        ServiceInstance serviceInstance = createInstance("a", 100);
+        assertEquals(-1L, getLatency(new CompletionContext<>(SUCCESS, new DefaultRequest<>(), new DefaultResponse(serviceInstance))));
+        RequestDataContext context = new RequestDataContext();
+        context.setRequestStartTime(System.nanoTime());
+        assertTrue(getLatency(new CompletionContext<>(SUCCESS, new DefaultRequest<>(context), new DefaultResponse(serviceInstance))) >= 0L);
+    }
+
+    @Test
+    void testIsFailed() {
+        Request<Object> request = new DefaultRequest<>();
+        DefaultResponse response = new DefaultResponse(createInstance("a", 100));
+        assertFalse(isFailed(new CompletionContext<>(SUCCESS, request, response)));
+        assertTrue(isFailed(new CompletionContext<>(FAILED, new RuntimeException(), request, response)));
+        assertTrue(isFailed(new CompletionContext<>(SUCCESS, request, response, createResponseData(INTERNAL_SERVER_ERROR))));
+        assertFalse(isFailed(new CompletionContext<>(SUCCESS, request, response, createResponseData(OK))));
+    }
+
+    private static Object createResponseData(HttpStatus httpStatus) {
+        return new ResponseData(httpStatus, new HttpHeaders(), null, null);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStats.CACHE_SIZE;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.ServiceInstanceStats.DEFAULT_DECAY_TIME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancerTest.createInstance;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LoadBalancerStats} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerStats
+ * @see ServiceInstanceStats
+ * @since 1.0.0
+ */
+class LoadBalancerStatsTest {
+
+    @Test
+    void testGetStats() {
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        ServiceInstance a = createInstance("a", 100);
+        ServiceInstanceStats stats = loadBalancerStats.getStats(a);
+        assertEquals("a", stats.getId());
+        assertSame(stats, loadBalancerStats.getStats(a));
+        assertNotNull(stats.toString());
+
+        assertEquals(0, stats.getActive());
+        assertEquals(1, stats.incrementActive());
+        assertEquals(0, stats.decrementActive());
+        assertEquals(0, stats.decrementActive());
+    }
+
+    @Test
+    void testRecord() throws Exception {
+        ServiceInstanceStats stats = new ServiceInstanceStats("a", 100L);
+        assertEquals(100L, stats.getDecayTime());
+        assertEquals(-1.0d, stats.getLatency());
+        assertEquals(0.0d, stats.getErrorRate());
+
+        // the first sample takes the full weight
+        stats.record(1000L, true);
+        assertEquals(1000.0d, stats.getLatency());
+        assertEquals(1.0d, stats.getErrorRate());
+
+        // the unknown latency
+        Thread.sleep(10L);
+        stats.record(-1L, false);
+        assertEquals(1000.0d, stats.getLatency());
+        double errorRate = stats.getErrorRate();
+        assertTrue(errorRate < 1.0d && errorRate > 0.0d, "error rate : " + errorRate);
+
+        // decayed after several decay times
+        Thread.sleep(500L);
+        stats.record(2000L, false);
+        assertTrue(stats.getLatency() > 1950.0d);
+        assertTrue(stats.getErrorRate() < 0.05d);
+
+        assertEquals(DEFAULT_DECAY_TIME, new ServiceInstanceStats("b").getDecayTime());
+        assertEquals(DEFAULT_DECAY_TIME, new ServiceInstanceStats("c", 0L).getDecayTime());
+    }
+
+    @Test
+    void testDecayTime() {
+        assertEquals(DEFAULT_DECAY_TIME, new LoadBalancerStats().getDecayTime());
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats(1000L);
+        assertEquals(1000L, loadBalancerStats.getDecayTime());
+        assertEquals(1000L, loadBalancerStats.getStats(createInstance("a", 100)).getDecayTime());
+    }
+
+    @Test
+    void testRetain() {
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        ServiceInstance a = createInstance("a", 100);
+        ServiceInstance b = createInstance("b", 100);
+        ServiceInstance c = createInstance("c", 100);
+        loadBalancerStats.getStats(a);
+        loadBalancerStats.getStats(b).incrementActive();
+        loadBalancerStats.getStats(c);
+        assertEquals(3, loadBalancerStats.size());
+
+        // "b" has the in-flight request
+        loadBalancerStats.retain(ofList(a));
+        assertEquals(2, loadBalancerStats.size());
+
+        loadBalancerStats.getStats(b).decrementActive();
+        loadBalancerStats.retain(ofList(a));
+        assertEquals(1, loadBalancerStats.size());
+
+        // the removed one is not reused by the cache
+        ServiceInstanceStats stats = loadBalancerStats.getStats(b);
+        assertEquals(2, loadBalancerStats.size());
+        assertSame(stats, loadBalancerStats.getStats(b));
+    }
+
+    @Test
+    void testGetStatsOnCache() {
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        ServiceInstance a = createInstance("a", 100);
+        // the equal one, but not the same
+        ServiceInstance anotherA = createInstance("a", 100);
+        ServiceInstanceStats stats = loadBalancerStats.getStats(a);
+        assertSame(stats, loadBalancerStats.getStats(anotherA));
+        assertSame(stats, loadBalancerStats.getStats(a));
+
+        // more instances than the cache
+        for (int i = 0; i < CACHE_SIZE * 2; i++) {
+            ServiceInstance serviceInstance = createInstance("i-" + i, 100);
+            assertSame(loadBalancerStats.getStats(serviceInstance), loadBalancerStats.getStats(serviceInstance));
+        }
+        assertEquals(CACHE_SIZE * 2 + 1, loadBalancerStats.size());
+        assertSame(stats, loadBalancerStats.getStats(a));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.START_TIME_METADATA_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancerTest.createInstance;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers.toProvider;
+
+/**
+ * {@link PowerOfTwoChoicesLoadBalancer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see PowerOfTwoChoicesLoadBalancer
+ * @since 1.0.0
+ */
+class PowerOfTwoChoicesLoadBalancerTest {
+
+    private static final String SERVICE_ID = "test-service";
+
+    private static final long WARMUP_TIME = 10 * 60 * 1000L;
+
+    private ServiceInstance a;
+
+    private ServiceInstance b;
+
+    private LoadBalancerStats loadBalancerStats;
+
+    private PowerOfTwoChoicesLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        this.a = createInstance("a", 100);
+        this.b = createInstance("b", 100);
+        this.loadBalancerStats = new LoadBalancerStats();
+        this.loadBalancer = new PowerOfTwoChoicesLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID, a, b),
+                this.loadBalancerStats, WARMUP_TIME);
+    }
+
+    @Test
+    void testGetters() {
+        assertEquals(SERVICE_ID, this.loadBalancer.getServiceId());
+        assertSame(this.loadBalancerStats, this.loadBalancer.getLoadBalancerStats());
+    }
+
+    @Test
+    void testSelectOnEmptyOrSingle() {
+        assertNull(this.loadBalancer.select(emptyList()));
+        assertSame(this.a, this.loadBalancer.select(ofList(this.a)));
+    }
+
+    @Test
+    void testSelectLeastOutstandingRequests() {
+        this.loadBalancerStats.getStats(this.a).incrementActive();
+        List<ServiceInstance> serviceInstances = ofList(this.a, this.b);
+        for (int i = 0; i < 100; i++) {
+            // two candidates are always picked
+            assertSame(this.b, this.loadBalancer.select(serviceInstances));
+        }
+        this.loadBalancerStats.getStats(this.a).decrementActive();
+        this.loadBalancerStats.getStats(this.b).incrementActive();
+        assertSame(this.a, this.loadBalancer.select(serviceInstances));
+    }
+
+    @Test
+    void testCompare() {
+        long now = currentTimeMillis();
+        ServiceInstance heavy = createInstance("heavy", 300);
+        // (1 + 1) / 300 < (0 + 1) / 100
+        this.loadBalancerStats.getStats(heavy).incrementActive();
+        assertTrue(this.loadBalancer.compare(heavy, this.a, now) < 0);
+        assertEquals(0, this.loadBalancer.compare(this.a, this.b, now));
+
+        ServiceInstance zero = createInstance("zero", 0);
+        assertTrue(this.loadBalancer.compare(zero, this.a, now) > 0);
+        assertTrue(this.loadBalancer.compare(this.a, zero, now) < 0);
+    }
+
+    @Test
+    void testCompareOnWarmup() {
+        long now = currentTimeMillis();
+        ServiceInstance warming = createInstance("warming", 100);
+        warming.getMetadata().put(START_TIME_METADATA_NAME, String.valueOf(now - WARMUP_TIME / 10));
+        // warm-up weight is 1 : (0 + 1) / 1 > (1 + 1) / 100
+        this.loadBalancerStats.getStats(this.a).incrementActive();
+        assertTrue(this.loadBalancer.compare(warming, this.a, now) > 0);
+    }
+
+    @Test
+    void testChoose() {
+        Response<ServiceInstance> response = this.loadBalancer.choose(new DefaultRequest<>()).block();
+        assertTrue(response.hasServer());
+
+        PowerOfTwoChoicesLoadBalancer emptyLoadBalancer = new PowerOfTwoChoicesLoadBalancer(SERVICE_ID,
+                toProvider(SERVICE_ID), this.loadBalancerStats, WARMUP_TIME);
+        assertNull(emptyLoadBalancer.choose().block().getServer());
+
+        // the wrapper is not exposed
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer(SERVICE_ID,
+                toProvider(SERVICE_ID, new WeightedServiceInstance(this.a, 10)), this.loadBalancerStats, WARMUP_TIME);
+        assertSame(this.a, loadBalancer.choose().block().getServer());
+    }
+}
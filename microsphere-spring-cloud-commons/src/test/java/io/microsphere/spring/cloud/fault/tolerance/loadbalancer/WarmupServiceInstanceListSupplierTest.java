@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.START_TIME_METADATA_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getWeight;
+import static java.lang.System.currentTimeMillis;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers.from;
+
+/**
+ * {@link WarmupServiceInstanceListSupplier} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WarmupServiceInstanceListSupplier
+ * @since 1.0.0
+ */
+class WarmupServiceInstanceListSupplierTest {
+
+    private static final String SERVICE_ID = "test-service";
+
+    private static final long WARMUP_TIME = 10 * 60 * 1000L;
+
+    @Test
+    void testGet() {
+        long now = currentTimeMillis();
+        ServiceInstance warming = createInstance("warming", now - WARMUP_TIME / 2, null);
+        ServiceInstance warmedUp = createInstance("warmed-up", now - WARMUP_TIME * 2, null);
+        ServiceInstance unknown = createInstance("unknown", null, null);
+        WarmupServiceInstanceListSupplier supplier = new WarmupServiceInstanceListSupplier(
+                from(SERVICE_ID, warming, warmedUp, unknown), WARMUP_TIME);
+
+        List<ServiceInstance> serviceInstances = supplier.get().blockFirst();
+        assertEquals(3, serviceInstances.size());
+
+        ServiceInstance serviceInstance = serviceInstances.get(0);
+        assertInstanceOf(WeightedServiceInstance.class, serviceInstance);
+        assertSame(warming, ((WeightedServiceInstance) serviceInstance).getDelegate());
+        int weight = getWeight(serviceInstance);
+        assertTrue(weight > 1 && weight < 100, "weight : " + weight);
+        assertEquals("warming", serviceInstance.getInstanceId());
+        assertEquals(SERVICE_ID, serviceInstance.getServiceId());
+
+        assertSame(warmedUp, serviceInstances.get(1));
+        assertSame(unknown, serviceInstances.get(2));
+
+        // equal to the original one whatever the weight is
+        assertEquals(warming, serviceInstance);
+        assertEquals(new WeightedServiceInstance(warming, 1), serviceInstance);
+        assertEquals(warming.hashCode(), serviceInstance.hashCode());
+        assertNotEquals(new WeightedServiceInstance(warmedUp, weight), serviceInstance);
+
+        // cached
+        assertSame(serviceInstance, supplier.get(new DefaultRequest<>()).blockFirst().get(0));
+        assertEquals(SERVICE_ID, supplier.getServiceId());
+    }
+
+    @Test
+    void testGetWithWarmupTimeMetadata() {
+        long now = currentTimeMillis();
+        ServiceInstance instance = createInstance("a", now - 1000L, "500");
+        WarmupServiceInstanceListSupplier supplier = new WarmupServiceInstanceListSupplier(from(SERVICE_ID, instance), WARMUP_TIME);
+        assertSame(instance, supplier.get().blockFirst().get(0));
+    }
+
+    @Test
+    void testWarmup() {
+        long now = currentTimeMillis();
+        ServiceInstance a = createInstance("a", now - WARMUP_TIME / 10, null);
+        ServiceInstance b = createInstance("b", now - WARMUP_TIME * 2, null);
+        WarmupServiceInstanceListSupplier supplier = new WarmupServiceInstanceListSupplier(from(SERVICE_ID), WARMUP_TIME);
+
+        List<ServiceInstance> serviceInstances = ofList(b);
+        assertSame(serviceInstances, supplier.warmup(serviceInstances));
+
+        serviceInstances = ofList(a, b);
+        List<ServiceInstance> warmedServiceInstances = supplier.warmup(serviceInstances);
+        assertNotSame(serviceInstances, warmedServiceInstances);
+        assertEquals(1, getWeight(warmedServiceInstances.get(0)));
+        assertEquals(2, supplier.warmupStates.size());
+
+        // the instance restarted
+        ServiceInstance restarted = createInstance("b", now - WARMUP_TIME / 2, null);
+        warmedServiceInstances = supplier.warmup(ofList(restarted));
+        assertInstanceOf(WeightedServiceInstance.class, warmedServiceInstances.get(0));
+
+        // recycled
+        assertEquals(1, supplier.warmupStates.size());
+    }
+
+    static ServiceInstance createInstance(String instanceId, Long startTime, String warmupTime) {
+        Map<String, String> metadata = newHashMap();
+        metadata.put(WEIGHT_PROPERTY_NAME, "100");
+        if (startTime != null) {
+            metadata.put(START_TIME_METADATA_NAME, String.valueOf(startTime));
+        }
+        if (warmupTime != null) {
+            metadata.put(WARMUP_TIME_PROPERTY_NAME, warmupTime);
+        }
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, instanceId + ".test", 8080, false, metadata);
+    }
+}
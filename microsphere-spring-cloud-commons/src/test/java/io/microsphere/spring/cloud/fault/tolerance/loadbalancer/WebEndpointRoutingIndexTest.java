@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import io.microsphere.spring.web.metadata.WebEndpointMapping;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_CONTEXT_PATH_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.WEB_MAPPINGS_METADATA_NAME;
+import static io.microsphere.spring.cloud.client.service.util.ServiceInstanceUtils.attachMetadata;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointRoutingIndex.split;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.filter;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.servlet;
+import static io.microsphere.spring.web.metadata.WebEndpointMapping.webmvc;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link WebEndpointRoutingIndex} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointRoutingIndex
+ * @since 1.0.0
+ */
+class WebEndpointRoutingIndexTest {
+
+    private static final String SERVICE_ID = "test-service";
+
+    private final WebEndpointRoutingIndex index = new WebEndpointRoutingIndex();
+
+    @Test
+    void testMatch() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"), mapping("POST", "/users"));
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/users/{id}"), mapping(null, "/orders/**"));
+        ServiceInstance c = createInstance("c", "/app", mapping("GET", "/users/*"));
+        this.index.register(SERVICE_ID);
+        this.index.update(SERVICE_ID, ofList(a, b, c));
+
+        assertEquals(ofSet("a", "b"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "POST", "/users"));
+        assertEquals(ofSet("b"), this.index.match(SERVICE_ID, "DELETE", "/orders/1/items"));
+        assertEquals(ofSet("b"), this.index.match(SERVICE_ID, "GET", "/orders"));
+        assertEquals(ofSet("c"), this.index.match(SERVICE_ID, "GET", "/app/users/1"));
+        assertEquals(ofSet("a", "b"), this.index.match(SERVICE_ID, null, "/users/1"));
+        assertTrue(this.index.match(SERVICE_ID, "PUT", "/users/1").isEmpty());
+        assertTrue(this.index.match(SERVICE_ID, "GET", "/users/1/profile").isEmpty());
+        assertNull(this.index.match("other-service", "GET", "/users/1"));
+
+        this.index.remove(SERVICE_ID);
+        assertNull(this.index.match(SERVICE_ID, "GET", "/users/1"));
+    }
+
+    @Test
+    void testFilter() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/orders/{id}"));
+        ServiceInstance legacy = new DefaultServiceInstance("legacy", SERVICE_ID, "legacy.test", 8080, false);
+        List<ServiceInstance> serviceInstances = ofList(a, b, legacy);
+
+        // not indexed
+        assertSame(serviceInstances, this.index.filter(SERVICE_ID, "GET", "/users/1", serviceInstances));
+
+        this.index.update(SERVICE_ID, serviceInstances);
+        assertEquals(ofList(a, legacy), this.index.filter(SERVICE_ID, "GET", "/users/1", serviceInstances));
+        assertEquals(ofList(b, legacy), this.index.filter(SERVICE_ID, "GET", "/orders/1", serviceInstances));
+        // no indexed instance declares the endpoint
+        assertSame(serviceInstances, this.index.filter(SERVICE_ID, "GET", "/unknown", serviceInstances));
+        assertSame(serviceInstances, this.index.filter(SERVICE_ID, "GET", null, serviceInstances));
+    }
+
+    @Test
+    void testFilterOnServletAndFilterMappings() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        ServiceInstance servlet = createInstance("servlet", "/", servlet().endpoint("/*").pattern("/*").build());
+        ServiceInstance filter = createInstance("filter", "/", filter().endpoint("/*").pattern("/*").build());
+        List<ServiceInstance> serviceInstances = ofList(a, servlet, filter);
+        this.index.update(SERVICE_ID, serviceInstances);
+
+        // the Servlet and Filter mappings are not indexed
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+        assertTrue(this.index.match(SERVICE_ID, "GET", "/orders").isEmpty());
+        assertSame(serviceInstances, this.index.filter(SERVICE_ID, "GET", "/users/1", serviceInstances));
+        assertSame(serviceInstances, this.index.filter(SERVICE_ID, "GET", "/orders", serviceInstances));
+
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/orders/{id}"), servlet().endpoint("/*").pattern("/*").build());
+        serviceInstances = ofList(a, b, servlet);
+        this.index.update(SERVICE_ID, serviceInstances);
+        assertEquals(ofList(a, servlet), this.index.filter(SERVICE_ID, "GET", "/users/1", serviceInstances));
+    }
+
+    @Test
+    void testRegister() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        assertFalse(this.index.isRegistered(SERVICE_ID));
+
+        this.index.register(SERVICE_ID);
+        this.index.register(SERVICE_ID);
+        assertTrue(this.index.isRegistered(SERVICE_ID));
+        this.index.update(SERVICE_ID, ofList(a));
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+
+        this.index.unregister(SERVICE_ID);
+        assertTrue(this.index.isRegistered(SERVICE_ID));
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+
+        // the index is evicted once all consumers are unregistered
+        this.index.unregister(SERVICE_ID);
+        assertFalse(this.index.isRegistered(SERVICE_ID));
+        assertNull(this.index.match(SERVICE_ID, "GET", "/users/1"));
+        this.index.unregister(SERVICE_ID);
+        assertFalse(this.index.isRegistered(SERVICE_ID));
+    }
+
+    @Test
+    void testUpdate() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        this.index.update(SERVICE_ID, ofList(a));
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+
+        // the rolling deployment
+        ServiceInstance upgraded = createInstance("a", "/", mapping("GET", "/accounts/{id}"));
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/users/{id}"));
+        this.index.update(SERVICE_ID, ofList(upgraded, b));
+        assertEquals(ofSet("b"), this.index.match(SERVICE_ID, "GET", "/users/1"));
+        assertEquals(ofSet("a"), this.index.match(SERVICE_ID, "GET", "/accounts/1"));
+
+        this.index.update(SERVICE_ID, ofList());
+        assertNull(this.index.match(SERVICE_ID, "GET", "/users/1"));
+    }
+
+    @Test
+    void testUpdateOnMalformedMetadata() {
+        Map<String, String> metadata = newHashMap();
+        metadata.put(WEB_MAPPINGS_METADATA_NAME, "c1:malformed");
+        ServiceInstance instance = new DefaultServiceInstance("a", SERVICE_ID, "a.test", 8080, false, metadata);
+        this.index.update(SERVICE_ID, ofList(instance));
+        Set<String> instanceIds = this.index.match(SERVICE_ID, "GET", "/users/1");
+        assertTrue(instanceIds.isEmpty());
+    }
+
+    @Test
+    void testSplit() {
+        assertArrayEquals(new String[0], split(null));
+        assertArrayEquals(new String[0], split("/"));
+        assertArrayEquals(new String[]{"a", "b"}, split("//a/b/"));
+    }
+
+    static WebEndpointMapping mapping(String method, String pattern) {
+        WebEndpointMapping.Builder<?> builder = webmvc().endpoint(pattern).pattern(pattern);
+        if (method != null) {
+            builder.method(method);
+        }
+        return builder.build();
+    }
+
+    static ServiceInstance createInstance(String instanceId, String contextPath, WebEndpointMapping... mappings) {
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance(instanceId, SERVICE_ID, instanceId + ".test",
+                8080, false, newHashMap());
+        attachMetadata(contextPath, serviceInstance, ofList(mappings));
+        assertEquals(contextPath, serviceInstance.getMetadata().get(WEB_CONTEXT_PATH_METADATA_NAME));
+        return serviceInstance;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointRoutingIndexTest.createInstance;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WebEndpointRoutingIndexTest.mapping;
+import static java.net.URI.create;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers.from;
+
+/**
+ * {@link WebEndpointServiceInstanceListSupplier} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WebEndpointServiceInstanceListSupplier
+ * @since 1.0.0
+ */
+class WebEndpointServiceInstanceListSupplierTest {
+
+    private static final String SERVICE_ID = "test-service";
+
+    @Test
+    void testGet() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/orders/{id}"));
+        WebEndpointRoutingIndex routingIndex = new WebEndpointRoutingIndex();
+        WebEndpointServiceInstanceListSupplier supplier = new WebEndpointServiceInstanceListSupplier(
+                from(SERVICE_ID, a, b), routingIndex);
+        assertSame(routingIndex, supplier.getRoutingIndex());
+
+        assertEquals(2, supplier.get().blockFirst().size());
+        assertEquals(2, supplier.get(new DefaultRequest<>()).blockFirst().size());
+
+        List<ServiceInstance> serviceInstances = supplier.get(request(HttpMethod.GET, "http://test-service/users/1")).blockFirst();
+        assertEquals(ofList(a), serviceInstances);
+
+        serviceInstances = supplier.get(request(HttpMethod.GET, "http://test-service/orders/1")).blockFirst();
+        assertEquals(ofList(b), serviceInstances);
+
+        serviceInstances = supplier.get(request(HttpMethod.POST, "http://test-service/orders/1")).blockFirst();
+        assertEquals(2, serviceInstances.size());
+    }
+
+    @Test
+    void testGetOnFilteredDelegate() {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        ServiceInstance b = createInstance("b", "/", mapping("GET", "/users/{id}"));
+        ServiceInstanceListSupplier delegate = new DelegatingServiceInstanceListSupplier(from(SERVICE_ID, a, b)) {
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return getDelegate().get();
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get(Request request) {
+                // filters the instances per request, e.g. the zone preference
+                return Flux.just(ofList(b));
+            }
+        };
+        WebEndpointRoutingIndex routingIndex = new WebEndpointRoutingIndex();
+        WebEndpointServiceInstanceListSupplier supplier = new WebEndpointServiceInstanceListSupplier(delegate, routingIndex);
+
+        assertEquals(ofList(b), supplier.get(request(HttpMethod.GET, "http://test-service/users/1")).blockFirst());
+        // the index is built from the unfiltered instances
+        assertEquals(ofSet("a", "b"), routingIndex.match(SERVICE_ID, "GET", "/users/1"));
+    }
+
+    @Test
+    void testDestroy() throws Exception {
+        ServiceInstance a = createInstance("a", "/", mapping("GET", "/users/{id}"));
+        WebEndpointRoutingIndex routingIndex = new WebEndpointRoutingIndex();
+        WebEndpointServiceInstanceListSupplier supplier = new WebEndpointServiceInstanceListSupplier(
+                from(SERVICE_ID, a), routingIndex);
+        assertTrue(routingIndex.isRegistered(SERVICE_ID));
+        supplier.get().blockFirst();
+        assertNotNull(routingIndex.match(SERVICE_ID, "GET", "/users/1"));
+
+        supplier.destroy();
+        assertFalse(routingIndex.isRegistered(SERVICE_ID));
+        assertNull(routingIndex.match(SERVICE_ID, "GET", "/users/1"));
+    }
+
+    private DefaultRequest<RequestDataContext> request(HttpMethod method, String url) {
+        RequestData requestData = new RequestData(method, create(url), new HttpHeaders(), new LinkedMultiValueMap<>(), null);
+        return new DefaultRequest<>(new RequestDataContext(requestData));
+    }
+}
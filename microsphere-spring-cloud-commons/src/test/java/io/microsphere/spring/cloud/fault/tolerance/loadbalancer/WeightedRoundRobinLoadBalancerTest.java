@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedRoundRobinLoadBalancer.RECYCLE_PERIOD;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers.toProvider;
+
+/**
+ * {@link WeightedRoundRobinLoadBalancer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see WeightedRoundRobinLoadBalancer
+ * @since 1.0.0
+ */
+class WeightedRoundRobinLoadBalancerTest {
+
+    private static final String SERVICE_ID = "test-service";
+
+    private ServiceInstance a;
+
+    private ServiceInstance b;
+
+    private ServiceInstance c;
+
+    private WeightedRoundRobinLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        this.a = createInstance("a", 5);
+        this.b = createInstance("b", 1);
+        this.c = createInstance("c", 1);
+        this.loadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID, a, b, c));
+    }
+
+    @Test
+    void testGetServiceId() {
+        assertEquals(SERVICE_ID, this.loadBalancer.getServiceId());
+    }
+
+    @Test
+    void testSelectOnEmptyOrSingle() {
+        assertNull(this.loadBalancer.select(emptyList()));
+        assertSame(this.a, this.loadBalancer.select(ofList(this.a)));
+    }
+
+    @Test
+    void testSelectSmoothly() {
+        List<ServiceInstance> serviceInstances = ofList(this.a, this.b, this.c);
+        // The classic smooth weighted round-robin sequence of {a:5, b:1, c:1}
+        List<ServiceInstance> expected = ofList(a, a, b, a, c, a, a);
+        for (int round = 0; round < 3; round++) {
+            for (ServiceInstance serviceInstance : expected) {
+                assertSame(serviceInstance, this.loadBalancer.select(serviceInstances));
+            }
+        }
+    }
+
+    @Test
+    void testSelectConcurrently() throws Exception {
+        List<ServiceInstance> serviceInstances = ofList(this.a, this.b, this.c);
+        int threads = 4;
+        // 400 full rounds of {a:5, b:1, c:1}
+        int selections = 700;
+        AtomicInteger[] counts = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        ExecutorService executorService = newFixedThreadPool(threads);
+        try {
+            CountDownLatch latch = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                executorService.execute(() -> {
+                    try {
+                        for (int j = 0; j < selections; j++) {
+                            counts[serviceInstances.indexOf(this.loadBalancer.select(serviceInstances))].incrementAndGet();
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        } finally {
+            executorService.shutdown();
+        }
+        // the selections are atomic, thus the concurrent ones end up with the exact shares
+        assertEquals(2000, counts[0].get());
+        assertEquals(400, counts[1].get());
+        assertEquals(400, counts[2].get());
+    }
+
+    @Test
+    void testSelectOnWeightChanged() {
+        List<ServiceInstance> serviceInstances = ofList(this.a, this.b);
+        this.loadBalancer.select(serviceInstances);
+        this.b.getMetadata().put(WEIGHT_PROPERTY_NAME, "0");
+        this.a.getMetadata().put(WEIGHT_PROPERTY_NAME, "1");
+        for (int i = 0; i < 10; i++) {
+            assertSame(this.a, this.loadBalancer.select(serviceInstances));
+        }
+    }
+
+    @Test
+    void testSelectOnAdaptiveWeight() {
+        LoadBalancerStats loadBalancerStats = new LoadBalancerStats();
+        WeightedRoundRobinLoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID,
+                toProvider(SERVICE_ID), loadBalancerStats);
+        assertSame(loadBalancerStats, loadBalancer.getLoadBalancerStats());
+        assertNull(this.loadBalancer.getLoadBalancerStats());
+
+        ServiceInstance x = createInstance("x", 100);
+        ServiceInstance y = createInstance("y", 100);
+        ServiceInstance z = createInstance("z", 100);
+        // "y" is 4 times slower than "x", "z" is always failed
+        loadBalancerStats.getStats(x).record(1000L, false);
+        loadBalancerStats.getStats(y).record(4000L, false);
+        loadBalancerStats.getStats(z).record(1000L, true);
+
+        assertEquals(100, loadBalancer.getEffectiveWeight(x, 100, 1000.0d));
+        assertEquals(25, loadBalancer.getEffectiveWeight(y, 100, 1000.0d));
+        assertEquals(1, loadBalancer.getEffectiveWeight(z, 100, 1000.0d));
+        assertEquals(0, loadBalancer.getEffectiveWeight(z, 0, 1000.0d));
+        assertEquals(100, this.loadBalancer.getEffectiveWeight(y, 100, 1000.0d));
+
+        List<ServiceInstance> serviceInstances = ofList(x, y, z);
+        int[] counts = new int[3];
+        for (int i = 0; i < 126; i++) {
+            counts[serviceInstances.indexOf(loadBalancer.select(serviceInstances))]++;
+        }
+        assertEquals(100, counts[0]);
+        assertEquals(25, counts[1]);
+        assertEquals(1, counts[2]);
+        assertEquals(25, loadBalancer.weightedRoundRobins.get("y").getEffectiveWeight());
+        assertEquals(100, loadBalancer.weightedRoundRobins.get("y").getWeight());
+    }
+
+    @Test
+    void testRecycle() {
+        this.loadBalancer.select(ofList(this.a, this.b, this.c));
+        assertEquals(3, this.loadBalancer.weightedRoundRobins.size());
+        this.loadBalancer.weightedRoundRobins.get("c").setLastUpdate(System.currentTimeMillis() - RECYCLE_PERIOD - 1);
+        this.loadBalancer.select(ofList(this.a, this.b));
+        assertEquals(2, this.loadBalancer.weightedRoundRobins.size());
+        assertFalse(this.loadBalancer.weightedRoundRobins.containsKey("c"));
+    }
+
+    @Test
+    void testChoose() {
+        Response<ServiceInstance> response = this.loadBalancer.choose(new DefaultRequest<>()).block();
+        assertTrue(response.hasServer());
+        assertSame(this.a, response.getServer());
+
+        WeightedRoundRobinLoadBalancer loadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID));
+        response = loadBalancer.choose(new DefaultRequest<>()).block();
+        assertFalse(response.hasServer());
+
+        // the wrapper is not exposed
+        loadBalancer = new WeightedRoundRobinLoadBalancer(SERVICE_ID, toProvider(SERVICE_ID,
+                new WeightedServiceInstance(this.a, 10)));
+        response = loadBalancer.choose(new DefaultRequest<>()).block();
+        assertSame(this.a, response.getServer());
+    }
+
+    static ServiceInstance createInstance(String instanceId, int weight) {
+        Map<String, String> metadata = newHashMap();
+        metadata.put(WEIGHT_PROPERTY_NAME, String.valueOf(weight));
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, instanceId + ".test", 8080, false, metadata);
+    }
+}
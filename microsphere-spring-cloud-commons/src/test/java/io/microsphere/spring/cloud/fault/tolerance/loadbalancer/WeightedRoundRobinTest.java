@@ -20,8 +20,12 @@ package io.microsphere.spring.cloud.fault.tolerance.loadbalancer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
 import static io.microsphere.text.FormatUtils.format;
 import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -51,6 +55,23 @@ class WeightedRoundRobinTest {
         assertEquals(10, this.weightedRoundRobin.getWeight());
     }
 
+    @Test
+    void testEffectiveWeight() {
+        this.weightedRoundRobin.setWeight(10);
+        assertEquals(10, this.weightedRoundRobin.getEffectiveWeight());
+        assertEquals(10L, this.weightedRoundRobin.increaseCurrent());
+
+        this.weightedRoundRobin.setEffectiveWeight(5);
+        assertEquals(10, this.weightedRoundRobin.getWeight());
+        assertEquals(5, this.weightedRoundRobin.getEffectiveWeight());
+        // the current counter is kept
+        assertEquals(15L, this.weightedRoundRobin.increaseCurrent());
+
+        this.weightedRoundRobin.setWeight(20);
+        assertEquals(20, this.weightedRoundRobin.getEffectiveWeight());
+        assertEquals(20L, this.weightedRoundRobin.increaseCurrent());
+    }
+
     @Test
     void testIncreaseCurrent() {
         this.weightedRoundRobin.setWeight(10);
@@ -59,6 +80,27 @@ class WeightedRoundRobinTest {
         assertEquals(30L, this.weightedRoundRobin.increaseCurrent());
     }
 
+    @Test
+    void testIncreaseCurrentAndSelOnContention() throws Exception {
+        this.weightedRoundRobin.setWeight(10);
+        int threads = 8;
+        int times = 1000;
+        ExecutorService executorService = newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < times; j++) {
+                    this.weightedRoundRobin.increaseCurrent();
+                    this.weightedRoundRobin.sel(5);
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        assertEquals(5L * threads * times, this.weightedRoundRobin.current.longValue());
+    }
+
     @Test
     void testSel() {
         this.weightedRoundRobin.sel(10);
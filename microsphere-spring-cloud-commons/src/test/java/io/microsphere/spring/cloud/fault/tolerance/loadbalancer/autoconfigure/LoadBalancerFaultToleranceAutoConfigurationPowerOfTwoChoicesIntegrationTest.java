@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.fault.tolerance.loadbalancer.autoconfigure;
+
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.LoadBalancerStatsLifecycle;
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.PowerOfTwoChoicesLoadBalancer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.simple.SimpleDiscoveryClientAutoConfiguration;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.commons.util.UtilAutoConfiguration;
+import org.springframework.cloud.loadbalancer.config.LoadBalancerAutoConfiguration;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link LoadBalancerFaultToleranceAutoConfiguration} Integration Test for {@link PowerOfTwoChoicesLoadBalancer}
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see LoadBalancerFaultToleranceAutoConfiguration
+ * @since 1.0.0
+ */
+@SpringBootTest(classes = {
+        UtilAutoConfiguration.class,
+        SimpleDiscoveryClientAutoConfiguration.class,
+        LoadBalancerFaultToleranceAutoConfiguration.class,
+        LoadBalancerAutoConfiguration.class
+}, properties = {
+        "microsphere.spring.cloud.fault-tolerance.load-balancer.algorithm=power-of-two-choices",
+        "spring.cloud.discovery.client.simple.instances.test[0].instanceId=1",
+        "spring.cloud.discovery.client.simple.instances.test[0].serviceId=test",
+        "spring.cloud.discovery.client.simple.instances.test[0].host=127.0.0.1",
+        "spring.cloud.discovery.client.simple.instances.test[0].port=8080"
+})
+class LoadBalancerFaultToleranceAutoConfigurationPowerOfTwoChoicesIntegrationTest {
+
+    @Autowired
+    private LoadBalancerClientFactory loadBalancerClientFactory;
+
+    @Test
+    void test() {
+        ReactorServiceInstanceLoadBalancer loadBalancer = this.loadBalancerClientFactory.getInstance("test");
+        assertInstanceOf(PowerOfTwoChoicesLoadBalancer.class, loadBalancer);
+        Response<ServiceInstance> response = loadBalancer.choose().block();
+        assertEquals("1", response.getServer().getInstanceId());
+
+        Map<String, LoadBalancerLifecycle> lifecycles = this.loadBalancerClientFactory.getInstances("test", LoadBalancerLifecycle.class);
+        assertTrue(lifecycles.values().stream().anyMatch(LoadBalancerStatsLifecycle.class::isInstance));
+    }
+}
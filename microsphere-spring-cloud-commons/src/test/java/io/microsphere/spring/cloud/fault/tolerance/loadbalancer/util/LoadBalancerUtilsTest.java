@@ -17,10 +17,23 @@
 
 package io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util;
 
+import io.microsphere.spring.cloud.fault.tolerance.loadbalancer.WeightedServiceInstance;
 import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
 
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.spring.cloud.client.service.registry.constants.InstanceConstants.START_TIME_METADATA_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.DEFAULT_WEIGHT_PROPERTY_VALUE;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WARMUP_TIME_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.fault.tolerance.constants.FaultTolerancePropertyConstants.WEIGHT_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.calculateWarmupWeight;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getInstanceId;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getWarmupWeight;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.getWeight;
+import static io.microsphere.spring.cloud.fault.tolerance.loadbalancer.util.LoadBalancerUtils.unwrap;
 import static java.lang.System.currentTimeMillis;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -39,4 +52,64 @@ class LoadBalancerUtilsTest {
         assertTrue(calculateWarmupWeight(uptime, uptime, weight) > 1);
         assertTrue(calculateWarmupWeight(uptime, 1, weight) == 1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetWeight() {
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance("1", "test", "127.0.0.1", 8080, false, newHashMap());
+        assertEquals(DEFAULT_WEIGHT_PROPERTY_VALUE, getWeight(serviceInstance));
+        serviceInstance.getMetadata().put(WEIGHT_PROPERTY_NAME, " 50 ");
+        assertEquals(50, getWeight(serviceInstance));
+        serviceInstance.getMetadata().put(WEIGHT_PROPERTY_NAME, "-1");
+        assertEquals(0, getWeight(serviceInstance));
+        serviceInstance.getMetadata().put(WEIGHT_PROPERTY_NAME, "invalid");
+        assertEquals(DEFAULT_WEIGHT_PROPERTY_VALUE, getWeight(serviceInstance));
+        assertEquals(10, getWeight(new WeightedServiceInstance(serviceInstance, 10)));
+    }
+
+    @Test
+    void testGetWarmupWeight() {
+        long now = currentTimeMillis();
+        long warmupTime = 10 * 60 * 1000L;
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance("1", "test", "127.0.0.1", 8080, false, newHashMap());
+        assertEquals(DEFAULT_WEIGHT_PROPERTY_VALUE, getWarmupWeight(serviceInstance, warmupTime, now));
+
+        serviceInstance.getMetadata().put(START_TIME_METADATA_NAME, String.valueOf(now - warmupTime / 2));
+        assertEquals(25, getWarmupWeight(serviceInstance, warmupTime, now));
+        assertEquals(1, getWarmupWeight(serviceInstance, warmupTime, now - warmupTime));
+
+        serviceInstance.getMetadata().put(WARMUP_TIME_PROPERTY_NAME, "1000");
+        assertEquals(DEFAULT_WEIGHT_PROPERTY_VALUE, getWarmupWeight(serviceInstance, warmupTime, now));
+
+        serviceInstance.getMetadata().put(START_TIME_METADATA_NAME, "invalid");
+        assertEquals(DEFAULT_WEIGHT_PROPERTY_VALUE, getWarmupWeight(serviceInstance, warmupTime, now));
+
+        assertEquals(10, getWarmupWeight(new WeightedServiceInstance(serviceInstance, 10), warmupTime, now));
+    }
+
+    @Test
+    void testGetWarmupWeightWithStartTime() {
+        long now = currentTimeMillis();
+        long warmupTime = 10 * 60 * 1000L;
+        assertEquals(25, getWarmupWeight(now - warmupTime / 2, warmupTime, 100, now));
+        assertEquals(1, getWarmupWeight(now + 1000L, warmupTime, 100, now));
+        assertEquals(100, getWarmupWeight(now - warmupTime, warmupTime, 100, now));
+        assertEquals(100, getWarmupWeight(0L, warmupTime, 100, now));
+        assertEquals(100, getWarmupWeight(now - 1000L, 0L, 100, now));
+        assertEquals(0, getWarmupWeight(now - 1000L, warmupTime, 0, now));
+    }
+
+    @Test
+    void testUnwrap() {
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance("1", "test", "127.0.0.1", 8080, false);
+        assertSame(serviceInstance, unwrap(serviceInstance));
+        assertSame(serviceInstance, unwrap(new WeightedServiceInstance(serviceInstance, 10)));
+    }
+
+    @Test
+    void testGetInstanceId() {
+        DefaultServiceInstance serviceInstance = new DefaultServiceInstance("1", "test", "127.0.0.1", 8080, false);
+        assertEquals("1", getInstanceId(serviceInstance));
+        serviceInstance.setInstanceId(null);
+        assertEquals("127.0.0.1:8080", getInstanceId(serviceInstance));
+    }
+}
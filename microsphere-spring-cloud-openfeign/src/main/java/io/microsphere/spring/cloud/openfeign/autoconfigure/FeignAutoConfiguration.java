@@ -1,15 +1,22 @@
 package io.microsphere.spring.cloud.openfeign.autoconfigure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.microsphere.spring.cloud.openfeign.codec.StreamingDecodeCapability;
+import io.microsphere.spring.cloud.openfeign.codec.StreamingDecoder;
 import io.microsphere.spring.cloud.openfeign.components.NoOpRequestInterceptor;
 import io.microsphere.spring.cloud.openfeign.condition.ConditionalOnOpenFeignAvailable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.openfeign.FeignBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import static io.microsphere.spring.cloud.openfeign.components.NoOpRequestInterceptor.INSTANCE;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_BUILDER_CUSTOMIZER_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.OBJECT_MAPPER_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.STREAMING_DECODE_ENABLED_PROPERTY_NAME;
 
 /**
  * The Auto-Configuration class for Spring Cloud OpenFeign
@@ -39,4 +46,36 @@ public class FeignAutoConfiguration {
             builder.requestInterceptor(INSTANCE);
         };
     }
-}
\ No newline at end of file
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = {
+            OBJECT_MAPPER_CLASS_NAME                                                             // Jackson API
+    })
+    @ConditionalOnProperty(name = STREAMING_DECODE_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public static class StreamingDecodeConfiguration {
+
+        /**
+         * Creates a {@link FeignBuilderCustomizer} that decodes the JSON array response body incrementally
+         * by the {@link StreamingDecoder} for the streaming return types.
+         *
+         * <h3>Example Usage</h3>
+         * <pre>{@code
+         * // Activated when microsphere.spring.cloud.openfeign.streaming-decode.enabled=true
+         * try (Stream<User> users = userClient.users()) {
+         *     users.forEach(this::process);
+         * }
+         * }</pre>
+         *
+         * @param objectMapperProvider the {@link ObjectProvider} of {@link ObjectMapper}
+         * @return a {@link FeignBuilderCustomizer} that adds the {@link StreamingDecodeCapability}
+         */
+        @Bean
+        public FeignBuilderCustomizer streamingDecodeCustomizer(ObjectProvider<ObjectMapper> objectMapperProvider) {
+            return builder -> {
+                ObjectMapper objectMapper = objectMapperProvider.getIfAvailable(ObjectMapper::new);
+                builder.doNotCloseAfterDecode()
+                        .addCapability(new StreamingDecodeCapability(objectMapper));
+            };
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.microsphere.spring.cloud.openfeign.autorefresh.EnableFeignAutoRefresh.
 import io.microsphere.spring.cloud.openfeign.autorefresh.FeignClientConfigurationChangedListener;
 import io.microsphere.spring.cloud.openfeign.autorefresh.FeignComponentRegistry;
 import io.microsphere.spring.cloud.openfeign.condition.ConditionalOnOpenFeignAvailable;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -13,10 +14,14 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.EventListener;
 
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.AUTO_REFRESH_DEBOUNCE_WINDOW_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_CAPABILITY_CLASS_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_CLIENT_FACTORY_BEAN_CLASS_NAME;
 
@@ -38,16 +43,24 @@ import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEI
         "org.springframework.cloud.openfeign.FeignAutoConfiguration",                            // Spring Cloud OpenFeign API
         "io.microsphere.spring.cloud.context.named.autoconfigure.SpecificationAutoConfiguration" // Microsphere Spring Cloud Commons API
 })
-public class FeignClientAutoRefreshAutoConfiguration {
+public class FeignClientAutoRefreshAutoConfiguration implements ApplicationContextAware {
+
+    private ApplicationContext context;
+
+    private volatile FeignClientConfigurationChangedListener listener;
 
     /**
      * Handles the {@link ApplicationReadyEvent} to register the
-     * {@link FeignClientConfigurationChangedListener} after the application is fully initialized.
+     * {@link FeignClientConfigurationChangedListener} after the application is fully initialized, the events of the
+     * other contexts, e.g. the child contexts, are ignored.
      *
      * @param event the {@link ApplicationReadyEvent} fired when the application is ready
      */
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReadyEvent(ApplicationReadyEvent event) {
+        if (!isOwningContext(event.getApplicationContext())) {
+            return;
+        }
         /**
          * Make sure the FeignClientConfigurationChangedListener is registered after the ConfigurationPropertiesRebinder
          */
@@ -74,9 +87,38 @@ public class FeignClientAutoRefreshAutoConfiguration {
         return new AutoRefreshCapabilityCustomizer();
     }
 
+    /**
+     * Handles the {@link ContextClosedEvent} to shut down the registered {@link FeignClientConfigurationChangedListener},
+     * the events of the other contexts, e.g. the child contexts, are ignored.
+     *
+     * @param event the {@link ContextClosedEvent}
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosedEvent(ContextClosedEvent event) {
+        if (!isOwningContext(event.getApplicationContext())) {
+            return;
+        }
+        FeignClientConfigurationChangedListener listener = this.listener;
+        if (listener != null) {
+            listener.destroy();
+        }
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.context = applicationContext;
+    }
+
+    private boolean isOwningContext(ApplicationContext context) {
+        return this.context == context;
+    }
+
     private void registerFeignClientConfigurationChangedListener(ApplicationReadyEvent event) {
         ConfigurableApplicationContext context = event.getApplicationContext();
         FeignComponentRegistry feignComponentRegistry = context.getBean(FeignComponentRegistry.class);
-        context.addApplicationListener(new FeignClientConfigurationChangedListener(feignComponentRegistry));
+        long debounceWindow = context.getEnvironment().getProperty(AUTO_REFRESH_DEBOUNCE_WINDOW_PROPERTY_NAME, long.class, 0L);
+        FeignClientConfigurationChangedListener listener = new FeignClientConfigurationChangedListener(feignComponentRegistry, debounceWindow);
+        context.addApplicationListener(listener);
+        this.listener = listener;
     }
 }
\ No newline at end of file
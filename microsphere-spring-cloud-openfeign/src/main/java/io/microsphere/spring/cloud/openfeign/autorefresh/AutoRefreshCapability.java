@@ -1,6 +1,7 @@
 package io.microsphere.spring.cloud.openfeign.autorefresh;
 
 import feign.Capability;
+import feign.Client;
 import feign.Contract;
 import feign.QueryMapEncoder;
 import feign.RequestInterceptor;
@@ -8,20 +9,46 @@ import feign.Retryer;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
 import feign.codec.ErrorDecoder;
+import io.microsphere.annotation.Nullable;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedContract;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedDecoder;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedEncoder;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedErrorDecoder;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedFeignComponent;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedQueryMapEncoder;
 import io.microsphere.spring.cloud.openfeign.components.DecoratedRetryer;
+import io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache;
+import io.microsphere.spring.cloud.openfeign.components.EncodedBodyKeyResolver;
+import io.microsphere.spring.cloud.openfeign.components.MethodMetadataCache;
+import io.microsphere.spring.cloud.openfeign.components.RetryBudget;
+import io.microsphere.spring.cloud.openfeign.components.RetryBudgetClient;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
+import io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics;
 import org.springframework.beans.BeansException;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientSpecification;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.env.Environment;
 
 import static io.microsphere.spring.cloud.openfeign.components.DecoratedFeignComponent.instantiate;
+import static io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache.DEFAULT_MAX_ENTRIES;
+import static io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache.DEFAULT_MAX_WEIGHT;
+import static io.microsphere.spring.cloud.openfeign.components.EncodedBodyKeyResolver.IMMUTABLE_BODY;
+import static io.microsphere.spring.cloud.openfeign.components.RetryBudget.DEFAULT_MAX_RETRIES;
+import static io.microsphere.spring.cloud.openfeign.components.RetryBudget.DEFAULT_RATIO;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.AUTO_REFRESH_EAGER_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.METER_REGISTRY_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.METRICS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_RATIO_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+import static org.springframework.util.ClassUtils.isPresent;
 
 /**
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
@@ -38,6 +65,19 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
     private String contextId;
 
+    private boolean eagerRefresh;
+
+    private FeignClientMetrics metrics = NOOP;
+
+    private RetryBudget retryBudget;
+
+    private EncodedBodyCache encodedBodyCache;
+
+    /**
+     * The {@link MethodMetadataCache} of the Feign client outlives the {@link feign.Feign.Builder} builds
+     */
+    private final MethodMetadataCache methodMetadataCache = new MethodMetadataCache();
+
     /**
      * Constructs an {@link AutoRefreshCapability} with the required dependencies.
      *
@@ -61,7 +101,10 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
     /**
      * Sets the {@link ApplicationContext} and extracts the Feign client context ID
-     * from the {@code spring.cloud.openfeign.client.name} property.
+     * from the {@code spring.cloud.openfeign.client.name} property, and whether the decorated
+     * components are refreshed eagerly from the {@link io.microsphere.spring.cloud.openfeign.constants.FeignConstants#AUTO_REFRESH_EAGER_PROPERTY_NAME}
+     * property, and resolves the {@link FeignClientMetrics}, the {@link RetryBudget} and the {@link EncodedBodyCache}
+     * of the decorated components.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -74,7 +117,13 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
      */
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
-        this.contextId = applicationContext.getEnvironment().getProperty("spring.cloud.openfeign.client.name");
+        Environment environment = applicationContext.getEnvironment();
+        this.contextId = environment.getProperty("spring.cloud.openfeign.client.name");
+        this.eagerRefresh = environment.getProperty(AUTO_REFRESH_EAGER_PROPERTY_NAME, boolean.class, false);
+        this.metrics = resolveMetrics(applicationContext, this.contextId);
+        this.retryBudget = resolveRetryBudget(environment);
+        this.encodedBodyCache = resolveEncodedBodyCache(environment,
+                applicationContext.getBeanProvider(EncodedBodyKeyResolver.class).getIfUnique());
     }
 
     /**
@@ -98,13 +147,37 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
         DecoratedRetryer decoratedRetryer = instantiate(DecoratedRetryer.class, Retryer.class,
                 contextId, contextFactory, clientProperties, retryer);
-        this.componentRegistry.register(contextId, decoratedRetryer);
+        decoratedRetryer.setRetryBudget(this.retryBudget);
+        register(decoratedRetryer);
         return decoratedRetryer;
     }
 
+    /**
+     * Enriches the given {@link Client} by wrapping it in a {@link RetryBudgetClient} that deposits the
+     * {@link RetryBudget} on every successful response if the {@link RetryBudget} is enabled.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * Client original = new Client.Default(null, null);
+     * Client enriched = capability.enrich(original);
+     * }</pre>
+     *
+     * @param client the original {@link Client} to enrich, or {@code null}
+     * @return the {@link RetryBudgetClient}, or the original {@link Client} if the {@link RetryBudget} is disabled
+     */
+    @Override
+    public Client enrich(Client client) {
+        RetryBudget retryBudget = this.retryBudget;
+        if (client == null || retryBudget == null) {
+            return client;
+        }
+        return new RetryBudgetClient(client, retryBudget);
+    }
+
     /**
      * Enriches the given {@link Contract} by wrapping it in a {@link DecoratedContract}
-     * that supports auto-refresh on configuration changes.
+     * that supports auto-refresh on configuration changes, and looks up the {@link MethodMetadataCache}
+     * of the Feign client.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -123,7 +196,8 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
         DecoratedContract decoratedContract = instantiate(DecoratedContract.class, Contract.class,
                 contextId, contextFactory, clientProperties, contract);
-        this.componentRegistry.register(contextId, decoratedContract);
+        decoratedContract.setMethodMetadataCache(this.methodMetadataCache);
+        register(decoratedContract);
         return decoratedContract;
     }
 
@@ -148,7 +222,7 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
         DecoratedDecoder decoratedDecoder = instantiate(DecoratedDecoder.class, Decoder.class,
                 contextId, contextFactory, clientProperties, decoder);
-        this.componentRegistry.register(contextId, decoratedDecoder);
+        register(decoratedDecoder);
         return decoratedDecoder;
     }
 
@@ -173,7 +247,8 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
         DecoratedEncoder decoratedEncoder = instantiate(DecoratedEncoder.class, Encoder.class,
                 contextId, contextFactory, clientProperties, encoder);
-        this.componentRegistry.register(contextId, decoratedEncoder);
+        decoratedEncoder.setEncodedBodyCache(this.encodedBodyCache);
+        register(decoratedEncoder);
         return decoratedEncoder;
     }
 
@@ -197,7 +272,7 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
 
         DecoratedErrorDecoder decoratedErrorDecoder = instantiate(DecoratedErrorDecoder.class, ErrorDecoder.class,
                 contextId, contextFactory, clientProperties, decoder);
-        this.componentRegistry.register(contextId, decoratedErrorDecoder);
+        register(decoratedErrorDecoder);
         return decoratedErrorDecoder;
     }
 
@@ -244,7 +319,67 @@ public class AutoRefreshCapability implements Capability, ApplicationContextAwar
         DecoratedQueryMapEncoder decoratedQueryMapEncoder = instantiate(DecoratedQueryMapEncoder.class, QueryMapEncoder.class,
                 contextId, contextFactory, clientProperties, queryMapEncoder);
 
-        this.componentRegistry.register(contextId, decoratedQueryMapEncoder);
+        register(decoratedQueryMapEncoder);
         return decoratedQueryMapEncoder;
     }
-}
\ No newline at end of file
+
+    /**
+     * Resolves the {@link FeignClientMetrics} for the Feign client, the {@link MicrometerFeignClientMetrics} is used
+     * if {@link io.microsphere.spring.cloud.openfeign.constants.FeignConstants#METRICS_ENABLED_PROPERTY_NAME enabled}
+     * and the {@link io.micrometer.core.instrument.MeterRegistry} is available.
+     *
+     * @param applicationContext the {@link ApplicationContext} for this Feign client
+     * @param contextId          the Feign client context ID
+     * @return {@link FeignClientMetrics#NOOP} if not available
+     */
+    static FeignClientMetrics resolveMetrics(ApplicationContext applicationContext, String contextId) {
+        Environment environment = applicationContext.getEnvironment();
+        if (contextId == null
+                || !environment.getProperty(METRICS_ENABLED_PROPERTY_NAME, boolean.class, false)
+                || !isPresent(METER_REGISTRY_CLASS_NAME, applicationContext.getClassLoader())) {
+            return NOOP;
+        }
+        return MicrometerFeignClientMetrics.create(applicationContext, contextId);
+    }
+
+    /**
+     * Resolves the {@link RetryBudget} shared by the {@link DecoratedRetryer} and the {@link RetryBudgetClient}
+     * of the Feign client if {@link io.microsphere.spring.cloud.openfeign.constants.FeignConstants#RETRY_BUDGET_ENABLED_PROPERTY_NAME enabled}.
+     *
+     * @param environment the {@link Environment} for this Feign client
+     * @return {@code null} if disabled
+     */
+    static RetryBudget resolveRetryBudget(Environment environment) {
+        if (!environment.getProperty(RETRY_BUDGET_ENABLED_PROPERTY_NAME, boolean.class, false)) {
+            return null;
+        }
+        double ratio = environment.getProperty(RETRY_BUDGET_RATIO_PROPERTY_NAME, double.class, DEFAULT_RATIO);
+        int maxRetries = environment.getProperty(RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME, int.class, DEFAULT_MAX_RETRIES);
+        return new RetryBudget(ratio, maxRetries);
+    }
+
+    /**
+     * Resolves the {@link EncodedBodyCache} of the {@link DecoratedEncoder} of the Feign client if
+     * {@link io.microsphere.spring.cloud.openfeign.constants.FeignConstants#ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME enabled},
+     * only the request objects keyed by the {@link EncodedBodyKeyResolver} bean of the Feign client are cached, or
+     * the ones annotated by {@link io.microsphere.spring.cloud.openfeign.components.ImmutableBody} if absent.
+     *
+     * @param environment the {@link Environment} for this Feign client
+     * @param keyResolver the {@link EncodedBodyKeyResolver} bean of the Feign client, may be {@code null}
+     * @return {@code null} if disabled
+     */
+    static EncodedBodyCache resolveEncodedBodyCache(Environment environment, @Nullable EncodedBodyKeyResolver keyResolver) {
+        if (!environment.getProperty(ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME, boolean.class, false)) {
+            return null;
+        }
+        int maxEntries = environment.getProperty(ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME, int.class, DEFAULT_MAX_ENTRIES);
+        long maxWeight = environment.getProperty(ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME, long.class, DEFAULT_MAX_WEIGHT);
+        return new EncodedBodyCache(maxEntries, maxWeight, keyResolver == null ? IMMUTABLE_BODY : keyResolver);
+    }
+
+    private void register(DecoratedFeignComponent<?> decoratedComponent) {
+        decoratedComponent.setEagerRefresh(this.eagerRefresh);
+        decoratedComponent.setMetrics(this.metrics);
+        this.componentRegistry.register(this.contextId, decoratedComponent);
+    }
+}
@@ -1,20 +1,55 @@
 package io.microsphere.spring.cloud.openfeign.autorefresh;
 
+import io.microsphere.logging.Logger;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
 import org.springframework.context.ApplicationListener;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.SetUtils.newHashSet;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 /**
+ * The {@link ApplicationListener} refreshes the Feign components once the {@link EnvironmentChangeEvent} arrives.
+ * <p>
+ * If the debounce window is positive, the changed keys are merged per client over the window, then
+ * each client is refreshed once per window, the bursts of the {@link EnvironmentChangeEvent}s are coalesced.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * // merges the changes over 500 milliseconds
+ * FeignClientConfigurationChangedListener listener =
+ *     new FeignClientConfigurationChangedListener(registry, 500);
+ * context.addApplicationListener(listener);
+ * }</pre>
+ *
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
-public class FeignClientConfigurationChangedListener implements ApplicationListener<EnvironmentChangeEvent> {
+public class FeignClientConfigurationChangedListener implements ApplicationListener<EnvironmentChangeEvent>, DisposableBean {
+
+    private static final Logger logger = getLogger(FeignClientConfigurationChangedListener.class);
 
     private final FeignComponentRegistry registry;
 
+    private final long debounceWindow;
+
+    private final Map<String, PendingRefresh> pendingRefreshes;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final LongAdder coalescedEvents = new LongAdder();
+
     /**
      * Constructs a listener that refreshes Feign components when the environment changes.
      *
@@ -28,14 +63,45 @@ public class FeignClientConfigurationChangedListener implements ApplicationListe
      * @param registry the {@link FeignComponentRegistry} used to refresh affected Feign components
      */
     public FeignClientConfigurationChangedListener(FeignComponentRegistry registry) {
+        this(registry, 0);
+    }
+
+    /**
+     * Constructs a listener that refreshes Feign components when the environment changes, the changes
+     * are coalesced per client over the given debounce window.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * FeignComponentRegistry registry = ...;
+     * FeignClientConfigurationChangedListener listener =
+     *     new FeignClientConfigurationChangedListener(registry, 500);
+     * }</pre>
+     *
+     * @param registry       the {@link FeignComponentRegistry} used to refresh affected Feign components
+     * @param debounceWindow the debounce window in milliseconds, the non-positive value refreshes immediately
+     */
+    public FeignClientConfigurationChangedListener(FeignComponentRegistry registry, long debounceWindow) {
         this.registry = registry;
+        this.debounceWindow = debounceWindow;
+        if (debounceWindow > 0) {
+            this.pendingRefreshes = newConcurrentHashMap();
+            this.scheduler = newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "FeignClientConfigurationChangedListener-Debounce");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.pendingRefreshes = null;
+            this.scheduler = null;
+        }
     }
 
     private final String PREFIX = "spring.cloud.openfeign.client.config.";
 
     /**
      * Handles an {@link EnvironmentChangeEvent} by resolving which Feign clients are affected
-     * and triggering a refresh on the corresponding components in the registry.
+     * and triggering a refresh on the corresponding components in the registry, or scheduling
+     * the refresh at the end of the debounce window.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -49,7 +115,11 @@ public class FeignClientConfigurationChangedListener implements ApplicationListe
     public void onApplicationEvent(EnvironmentChangeEvent event) {
         Map<String, Set<String>> effectiveClients = resolveChangedClient(event);
         if (!effectiveClients.isEmpty()) {
-            effectiveClients.forEach(registry::refresh);
+            if (this.scheduler == null) {
+                effectiveClients.forEach(registry::refresh);
+            } else {
+                effectiveClients.forEach(this::scheduleRefresh);
+            }
         }
     }
 
@@ -78,4 +148,100 @@ public class FeignClientConfigurationChangedListener implements ApplicationListe
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the debounce window in milliseconds.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long window = listener.getDebounceWindow();
+     * }</pre>
+     *
+     * @return the non-positive value if the refresh is immediate
+     */
+    public long getDebounceWindow() {
+        return this.debounceWindow;
+    }
+
+    /**
+     * Returns the number of the {@link EnvironmentChangeEvent}s per client merged into a pending refresh.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long coalesced = listener.getCoalescedEvents();
+     * }</pre>
+     *
+     * @return the number of the coalesced events
+     */
+    public long getCoalescedEvents() {
+        return this.coalescedEvents.sum();
+    }
+
+    /**
+     * Shuts down the scheduler of the debounced refreshes, the pending refreshes are discarded, and the changes
+     * arriving afterward are ignored.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * // Automatically called by the Spring container on shutdown
+     * listener.destroy();
+     * }</pre>
+     */
+    @Override
+    public void destroy() {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            this.pendingRefreshes.clear();
+        }
+    }
+
+    private void scheduleRefresh(String clientName, Set<String> changedConfigs) {
+        this.pendingRefreshes.compute(clientName, (name, pendingRefresh) -> {
+            if (pendingRefresh == null) {
+                try {
+                    this.scheduler.schedule(() -> refresh(name), this.debounceWindow, MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // the scheduler has been shut down, the change is ignored as the application is closing
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("The Feign client['{}'] will not be refreshed for the changed configs : {} , the listener has been destroyed",
+                                name, changedConfigs);
+                    }
+                    return null;
+                }
+                pendingRefresh = new PendingRefresh();
+            } else {
+                this.coalescedEvents.increment();
+            }
+            pendingRefresh.changedConfigs.addAll(changedConfigs);
+            pendingRefresh.events++;
+            return pendingRefresh;
+        });
+    }
+
+    private void refresh(String clientName) {
+        PendingRefresh pendingRefresh = this.pendingRefreshes.remove(clientName);
+        if (pendingRefresh == null) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("The Feign client['{}'] is refreshing for the changed configs : {} , coalesced events : {}",
+                    clientName, pendingRefresh.changedConfigs, pendingRefresh.events - 1);
+        }
+        try {
+            this.registry.refresh(clientName, pendingRefresh.changedConfigs);
+        } catch (Throwable e) {
+            logger.warn("The Feign client['{}'] failed to refresh for the changed configs : {}",
+                    clientName, pendingRefresh.changedConfigs, e);
+        }
+    }
+
+    /**
+     * The pending refresh of a Feign client, guarded by {@link Map#compute} of {@link #pendingRefreshes}.
+     */
+    private static class PendingRefresh {
+
+        private final Set<String> changedConfigs = newHashSet();
+
+        private int events;
+    }
+}
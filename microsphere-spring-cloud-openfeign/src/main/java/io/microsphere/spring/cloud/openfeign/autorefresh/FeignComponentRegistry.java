@@ -11,15 +11,19 @@ import io.microsphere.spring.cloud.openfeign.components.CompositedRequestInterce
 import io.microsphere.spring.cloud.openfeign.components.Refreshable;
 import org.springframework.beans.factory.BeanFactory;
 
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static io.microsphere.collection.ListUtils.newArrayList;
 import static io.microsphere.collection.ListUtils.newLinkedList;
 import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.collection.MapUtils.newHashMap;
 import static io.microsphere.collection.Maps.ofMap;
 import static io.microsphere.collection.SetUtils.newHashSet;
+import static io.microsphere.collection.SetUtils.newLinkedHashSet;
 import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
 import static io.microsphere.spring.boot.context.properties.source.util.ConfigurationPropertyUtils.toDashedForm;
@@ -30,6 +34,10 @@ import static io.microsphere.util.Assert.assertNotEmpty;
 import static io.microsphere.util.Assert.assertNotNull;
 import static io.microsphere.util.StringUtils.isBlank;
 import static io.microsphere.util.StringUtils.substringBefore;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSet;
 
 /**
  * Feign Component Registry
@@ -52,7 +60,12 @@ public class FeignComponentRegistry {
             "query-map-encoder", QueryMapEncoder.class
     );
 
-    private final Map<String, List<Refreshable>> refreshableComponents = newConcurrentHashMap(32);
+    /**
+     * The distinct Feign component classes from {@link #configComponentMappings}
+     */
+    private static final Set<Class<?>> componentClasses = resolveComponentClasses();
+
+    private final Map<String, RefreshableComponents> refreshableComponents = newConcurrentHashMap(32);
 
     private final Map<String, CompositedRequestInterceptor> interceptorsMap = newConcurrentHashMap(32);
 
@@ -80,6 +93,12 @@ public class FeignComponentRegistry {
         return configComponentMappings.get(normalizedConfig);
     }
 
+    private static Set<Class<?>> resolveComponentClasses() {
+        Set<Class<?>> componentClasses = newLinkedHashSet(configComponentMappings.size());
+        componentClasses.addAll(configComponentMappings.values());
+        return unmodifiableSet(componentClasses);
+    }
+
     /**
      * Normalizes a configuration key by stripping array index suffixes and converting
      * to dashed form.
@@ -131,8 +150,8 @@ public class FeignComponentRegistry {
         assertNotBlank(clientName, () -> "The 'clientName' must not be blank!");
         assertNotEmpty(components, () -> "The 'components' must not be empty!");
         assertNoNullElements(components, () -> "The 'components' must not contain the null  element!");
-        List<Refreshable> componentList = this.refreshableComponents.computeIfAbsent(clientName, name -> newLinkedList());
-        componentList.addAll(components);
+        RefreshableComponents refreshableComponents = this.refreshableComponents.computeIfAbsent(clientName, RefreshableComponents::new);
+        refreshableComponents.register(components);
     }
 
     /**
@@ -194,6 +213,9 @@ public class FeignComponentRegistry {
      * Refreshes the Feign components for the specified client based on a set of changed
      * configuration keys. If the default client configuration changed, all registered
      * components are refreshed.
+     * <p>
+     * The components are looked up from the index by the client name and the component class
+     * built on registration, the refreshes for the different clients run concurrently.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -204,36 +226,37 @@ public class FeignComponentRegistry {
      * @param clientName     the Feign client name
      * @param changedConfigs the set of changed configuration sub-keys
      */
-    public synchronized void refresh(String clientName, Set<String> changedConfigs) {
+    public void refresh(String clientName, Set<String> changedConfigs) {
         Set<Class<?>> effectiveComponents = newHashSet(changedConfigs.size());
 
-        boolean hasInterceptor = false;
         for (String changedConfig : changedConfigs) {
             changedConfig = changedConfig.replace(clientName + ".", "");
             Class<?> clazz = getComponentClass(changedConfig);
             if (clazz != null) {
                 effectiveComponents.add(clazz);
-                hasInterceptor = RequestInterceptor.class.equals(clazz);
             }
         }
 
+        if (effectiveComponents.isEmpty()) {
+            return;
+        }
+
+        boolean hasInterceptor = effectiveComponents.contains(RequestInterceptor.class);
+
         if (defaultClientName.equals(clientName)) {
             //default configs changed, need refresh all
-            refreshableComponents.values().stream()
-                    .flatMap(List::stream)
-                    .filter(component -> isComponentPresent(component, effectiveComponents))
-                    .forEach(Refreshable::refresh);
+            for (RefreshableComponents components : this.refreshableComponents.values()) {
+                components.refresh(effectiveComponents);
+            }
             if (hasInterceptor) {
                 this.interceptorsMap.values().forEach(CompositedRequestInterceptor::refresh);
             }
             return;
         }
 
-        List<Refreshable> components = this.refreshableComponents.get(clientName);
+        RefreshableComponents components = this.refreshableComponents.get(clientName);
         if (components != null) {
-            components.stream()
-                    .filter(component -> isComponentPresent(component, effectiveComponents))
-                    .forEach(Refreshable::refresh);
+            components.refresh(effectiveComponents);
         }
 
         if (hasInterceptor) {
@@ -244,42 +267,66 @@ public class FeignComponentRegistry {
     }
 
     /**
-     * Checks whether the given {@link Refreshable} component's class is assignable from
-     * any of the effective component classes.
-     *
-     * <h3>Example Usage</h3>
-     * <pre>{@code
-     * boolean present = FeignComponentRegistry.isComponentPresent(
-     *     refreshableComponent, List.of(Retryer.class, Decoder.class));
-     * }</pre>
+     * Returns the registered {@link Refreshable} components of the specified Feign client
+     * which are instances of the given Feign component class.
      *
-     * @param component           the {@link Refreshable} component to check
-     * @param effectiveComponents the component classes to match against
-     * @return {@code true} if the component matches any of the effective classes
+     * @param clientName     the Feign client name
+     * @param componentClass the Feign component class, e.g. {@link Decoder}
+     * @return non-null read-only {@link List}
      */
-    static boolean isComponentPresent(Refreshable component, Iterable<Class<?>> effectiveComponents) {
-        return isComponentClassPresent(component.getClass(), effectiveComponents);
+    List<Refreshable> getRefreshableComponents(String clientName, Class<?> componentClass) {
+        RefreshableComponents components = this.refreshableComponents.get(clientName);
+        return components == null ? emptyList() : components.get(componentClass);
     }
 
     /**
-     * Checks whether the given class is assignable from any of the effective component classes.
-     *
-     * <h3>Example Usage</h3>
-     * <pre>{@code
-     * boolean present = FeignComponentRegistry.isComponentClassPresent(
-     *     DecoratedRetryer.class, List.of(Retryer.class));
-     * }</pre>
-     *
-     * @param componentsClass     the class to check
-     * @param effectiveComponents the component classes to match against
-     * @return {@code true} if the class is assignable from any effective class
+     * The {@link Refreshable} components of a Feign client indexed by the Feign component classes,
+     * guarded by its own monitor.
      */
-    static boolean isComponentClassPresent(Class<?> componentsClass, Iterable<Class<?>> effectiveComponents) {
-        for (Class<?> actualComponent : effectiveComponents) {
-            if (actualComponent.isAssignableFrom(componentsClass)) {
-                return true;
+    static class RefreshableComponents {
+
+        private final String clientName;
+
+        private final Map<Class<?>, List<Refreshable>> index = newHashMap(componentClasses.size());
+
+        RefreshableComponents(String clientName) {
+            this.clientName = clientName;
+        }
+
+        synchronized void register(List<Refreshable> components) {
+            for (Refreshable component : components) {
+                for (Class<?> componentClass : componentClasses) {
+                    if (componentClass.isInstance(component)) {
+                        this.index.computeIfAbsent(componentClass, c -> newLinkedList()).add(component);
+                    }
+                }
+            }
+        }
+
+        synchronized void refresh(Set<Class<?>> effectiveComponents) {
+            // the component implements multiple Feign component classes must be refreshed once
+            Set<Refreshable> refreshed = effectiveComponents.size() > 1 ? newSetFromMap(new IdentityHashMap<>()) : null;
+            for (Class<?> effectiveComponent : effectiveComponents) {
+                List<Refreshable> components = this.index.get(effectiveComponent);
+                if (components == null) {
+                    continue;
+                }
+                for (Refreshable component : components) {
+                    if (refreshed == null || refreshed.add(component)) {
+                        component.refresh();
+                    }
+                }
             }
         }
-        return false;
+
+        synchronized List<Refreshable> get(Class<?> componentClass) {
+            List<Refreshable> components = this.index.get(componentClass);
+            return components == null ? emptyList() : unmodifiableList(newArrayList(components));
+        }
+
+        @Override
+        public String toString() {
+            return "RefreshableComponents{clientName='" + this.clientName + "'}";
+        }
     }
-}
\ No newline at end of file
+}
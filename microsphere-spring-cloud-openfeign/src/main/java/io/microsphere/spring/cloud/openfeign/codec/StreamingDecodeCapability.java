@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Capability;
+import feign.codec.Decoder;
+
+/**
+ * The {@link Capability} enriches the {@link Decoder} to be {@link StreamingDecoder}, the Feign client must be built
+ * with {@link feign.Feign.Builder#doNotCloseAfterDecode()}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * Feign.builder()
+ *      .doNotCloseAfterDecode()
+ *      .addCapability(new StreamingDecodeCapability(objectMapper));
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StreamingDecoder
+ * @since 1.0.0
+ */
+public class StreamingDecodeCapability implements Capability {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a {@link StreamingDecodeCapability}
+     *
+     * @param objectMapper the {@link ObjectMapper} to decode the elements
+     */
+    public StreamingDecodeCapability(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enriches the given {@link Decoder} to be {@link StreamingDecoder}
+     *
+     * @param decoder the original {@link Decoder}, or {@code null}
+     * @return the {@link StreamingDecoder}, or {@code null} if the input is {@code null}
+     */
+    @Override
+    public Decoder enrich(Decoder decoder) {
+        if (decoder == null || decoder instanceof StreamingDecoder) {
+            return decoder;
+        }
+        return new StreamingDecoder(decoder, this.objectMapper);
+    }
+}
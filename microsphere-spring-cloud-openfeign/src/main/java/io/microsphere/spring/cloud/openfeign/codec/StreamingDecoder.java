@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import feign.FeignException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import io.microsphere.logging.Logger;
+import reactor.core.publisher.Flux;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import static io.microsphere.collection.MapUtils.newConcurrentHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
+import static org.springframework.util.ClassUtils.isPresent;
+
+/**
+ * The {@link Decoder} decodes the JSON array of the response body incrementally from the response input stream for
+ * the return types {@link Stream Stream&lt;T&gt;}, {@link Iterator Iterator&lt;T&gt;} and {@link Flux Flux&lt;T&gt;}
+ * (if Reactor is present), thus the memory keeps flat on the large list endpoints. The elements are decoded one by one
+ * by Jackson when consumed, the response is closed once the elements are exhausted or the result is closed.
+ * <p>
+ * The other return types are decoded by the delegate {@link Decoder}, and the response is closed after decoding,
+ * since the Feign client must be built with {@link feign.Feign.Builder#doNotCloseAfterDecode()} for streaming.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * @FeignClient("users")
+ * public interface UserClient {
+ *
+ *     @GetMapping("/users")
+ *     Stream<User> users();
+ * }
+ *
+ * try (Stream<User> users = userClient.users()) {
+ *     users.forEach(this::process);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StreamingDecodeCapability
+ * @since 1.0.0
+ */
+public class StreamingDecoder implements Decoder {
+
+    private static final Logger logger = getLogger(StreamingDecoder.class);
+
+    /**
+     * The class name of {@link Flux}
+     */
+    static final String FLUX_CLASS_NAME = "reactor.core.publisher.Flux";
+
+    static final boolean FLUX_PRESENT = isPresent(FLUX_CLASS_NAME, StreamingDecoder.class.getClassLoader());
+
+    private final Decoder delegate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Type, ObjectReader> objectReaders = newConcurrentHashMap();
+
+    /**
+     * Constructs a {@link StreamingDecoder}
+     *
+     * @param delegate     the {@link Decoder} for the non-streaming return types
+     * @param objectMapper the {@link ObjectMapper} to decode the elements
+     */
+    public StreamingDecoder(Decoder delegate, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
+        Class<?> streamingType = getStreamingType(type);
+        if (streamingType == null) {
+            try {
+                return this.delegate.decode(response, type);
+            } finally {
+                close(response);
+            }
+        }
+        Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        JsonArrayIterator<Object> iterator = newIterator(response, elementType);
+        if (Iterator.class.equals(streamingType)) {
+            return iterator;
+        } else if (Stream.class.equals(streamingType)) {
+            return toStream(iterator);
+        }
+        return FluxAdapter.toFlux(iterator);
+    }
+
+    /**
+     * Get the delegate {@link Decoder}
+     *
+     * @return the delegate {@link Decoder}
+     */
+    public Decoder getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the streaming type of the given return type
+     *
+     * @param type the return type
+     * @return {@link Stream}, {@link Iterator} or {@link Flux} if the given type is parameterized by them,
+     * otherwise <code>null</code>
+     */
+    static Class<?> getStreamingType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type rawType = ((ParameterizedType) type).getRawType();
+            if (Stream.class.equals(rawType) || Iterator.class.equals(rawType)) {
+                return (Class<?>) rawType;
+            }
+            if (FLUX_PRESENT && rawType instanceof Class && FLUX_CLASS_NAME.equals(((Class<?>) rawType).getName())) {
+                return (Class<?>) rawType;
+            }
+        }
+        return null;
+    }
+
+    <T> JsonArrayIterator<T> newIterator(Response response, Type elementType) throws IOException {
+        Response.Body body = response.body();
+        if (body == null) {
+            close(response);
+            return new JsonArrayIterator<>(response, null, null);
+        }
+        ObjectReader objectReader = this.objectReaders.computeIfAbsent(elementType,
+                t -> this.objectMapper.readerFor(this.objectMapper.constructType(t)));
+        JsonParser parser = null;
+        try {
+            parser = this.objectMapper.getFactory().createParser(body.asInputStream());
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                // empty body
+                close(response);
+                return new JsonArrayIterator<>(response, null, null);
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new DecodeException(response.status(), "The response body is not a JSON array : " + token, response.request());
+            }
+            return new JsonArrayIterator<>(response, parser, objectReader);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(parser);
+            close(response);
+            throw e;
+        }
+    }
+
+    static <T> Stream<T> toStream(JsonArrayIterator<T> iterator) {
+        return stream(spliteratorUnknownSize(iterator, ORDERED), false).onClose(iterator::close);
+    }
+
+    static void close(Response response) {
+        try {
+            response.close();
+        } catch (Throwable e) {
+            logger.trace("Failed to close the response", e);
+        }
+    }
+
+    static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Throwable e) {
+                logger.trace("Failed to close : {}", closeable, e);
+            }
+        }
+    }
+
+    /**
+     * The {@link Iterator} reads the elements of a JSON array one by one.
+     *
+     * @param <T> the type of element
+     */
+    static class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+        private final Response response;
+
+        private final JsonParser parser;
+
+        private final ObjectReader objectReader;
+
+        /**
+         * The next token is read ahead or not
+         */
+        private boolean advanced;
+
+        private boolean closed;
+
+        JsonArrayIterator(Response response, JsonParser parser, ObjectReader objectReader) {
+            this.response = response;
+            this.parser = parser;
+            this.objectReader = objectReader;
+            this.closed = parser == null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.closed) {
+                return false;
+            }
+            if (!this.advanced) {
+                try {
+                    JsonToken token = this.parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        close();
+                        return false;
+                    }
+                } catch (IOException e) {
+                    close();
+                    throw new UncheckedIOException(e);
+                }
+                this.advanced = true;
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.advanced = false;
+            try {
+                return this.objectReader.readValue(this.parser);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!this.closed) {
+                this.closed = true;
+                closeQuietly(this.parser);
+                StreamingDecoder.close(this.response);
+            }
+        }
+    }
+
+    /**
+     * The adapter of {@link Flux} is isolated for Reactor is optional
+     */
+    static class FluxAdapter {
+
+        static Object toFlux(JsonArrayIterator<Object> iterator) {
+            return Flux.using(() -> iterator, it -> Flux.fromIterable(() -> it), JsonArrayIterator::close);
+        }
+    }
+}
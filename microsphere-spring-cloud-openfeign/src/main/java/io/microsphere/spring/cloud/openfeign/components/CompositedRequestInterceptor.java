@@ -10,6 +10,7 @@ import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConf
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import static io.microsphere.collection.CollectionUtils.isNotEmpty;
@@ -21,18 +22,36 @@ import static java.util.Collections.unmodifiableSet;
 import static org.springframework.beans.BeanUtils.instantiateClass;
 
 /**
+ * The composite {@link RequestInterceptor} for a Feign client, the chain of {@link RequestInterceptor}s is held as an
+ * immutable array snapshot which is atomically replaced by {@link #addRequestInterceptor(RequestInterceptor)} and
+ * {@link #refresh()}, thus {@link #apply(RequestTemplate)} is lock-free and allocation-free.
+ *
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
 public class CompositedRequestInterceptor implements RequestInterceptor, Refreshable {
 
+    private static final RequestInterceptor[] EMPTY_REQUEST_INTERCEPTORS = new RequestInterceptor[0];
+
     private final BeanFactory beanFactory;
 
     private final String contextId;
 
+    /**
+     * The registered {@link RequestInterceptor}s guarded by itself, only for the mutations
+     */
     private final Set<RequestInterceptor> set = newLinkedHashSet();
 
+    /**
+     * The snapshot of {@link #set} for {@link #apply(RequestTemplate)}
+     */
+    private volatile RequestInterceptor[] chain = EMPTY_REQUEST_INTERCEPTORS;
+
+    private final LongAdder appliedDefaultRequestHeaders = new LongAdder();
+
+    private final LongAdder appliedDefaultQueryParameters = new LongAdder();
+
     /**
      * Constructs a {@link CompositedRequestInterceptor} for the specified Feign client context.
      *
@@ -51,7 +70,7 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
     }
 
     /**
-     * Returns an unmodifiable view of the registered {@link RequestInterceptor} instances.
+     * Returns an unmodifiable snapshot of the registered {@link RequestInterceptor} instances.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -61,7 +80,42 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
      * @return an unmodifiable {@link Set} of registered request interceptors
      */
     public Set<RequestInterceptor> getRequestInterceptors() {
-        return unmodifiableSet(set);
+        RequestInterceptor[] chain = this.chain;
+        Set<RequestInterceptor> requestInterceptors = newLinkedHashSet(chain.length);
+        for (RequestInterceptor requestInterceptor : chain) {
+            requestInterceptors.add(requestInterceptor);
+        }
+        return unmodifiableSet(requestInterceptors);
+    }
+
+    /**
+     * Returns the count of the default request headers applied for the current Feign client since created, which
+     * survives {@link #refresh()}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long count = compositedInterceptor.getAppliedDefaultRequestHeaders();
+     * }</pre>
+     *
+     * @return the count of the applied default request headers
+     */
+    public long getAppliedDefaultRequestHeaders() {
+        return this.appliedDefaultRequestHeaders.sum();
+    }
+
+    /**
+     * Returns the count of the default query parameters applied for the current Feign client since created, which
+     * survives {@link #refresh()}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * long count = compositedInterceptor.getAppliedDefaultQueryParameters();
+     * }</pre>
+     *
+     * @return the count of the applied default query parameters
+     */
+    public long getAppliedDefaultQueryParameters() {
+        return this.appliedDefaultQueryParameters.sum();
     }
 
     /**
@@ -77,8 +131,9 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
      */
     @Override
     public void apply(RequestTemplate template) {
-        synchronized (this.set) {
-            set.forEach(requestInterceptor -> requestInterceptor.apply(template));
+        RequestInterceptor[] chain = this.chain;
+        for (int i = 0; i < chain.length; i++) {
+            chain[i].apply(template);
         }
     }
 
@@ -98,7 +153,9 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
     public boolean addRequestInterceptor(RequestInterceptor requestInterceptor) {
         synchronized (this.set) {
             boolean isFirst = this.set.isEmpty();
-            this.set.add(requestInterceptor);
+            if (this.set.add(requestInterceptor)) {
+                this.chain = this.set.toArray(EMPTY_REQUEST_INTERCEPTORS);
+            }
             return isFirst;
         }
     }
@@ -110,7 +167,8 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
     /**
      * Refreshes the set of {@link RequestInterceptor} instances by re-reading the
      * {@link FeignClientProperties} configuration for request interceptors, default
-     * headers, and default query parameters.
+     * headers, and default query parameters. The default headers and query parameters
+     * are precompiled into {@link DefaultValuesRequestInterceptor}s.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -138,31 +196,23 @@ public class CompositedRequestInterceptor implements RequestInterceptor, Refresh
         putIfAbsent(defaultConfiguration::getDefaultQueryParameters, params);
         putIfAbsent(currentConfiguration::getDefaultQueryParameters, params);
 
+        Set<RequestInterceptor> requestInterceptors = newLinkedHashSet();
+        for (Class<RequestInterceptor> interceptorClass : interceptors) {
+            requestInterceptors.add(getInterceptorOrInstantiate(interceptorClass));
+        }
+
+        if (isNotEmpty(headers)) {
+            requestInterceptors.add(DefaultValuesRequestInterceptor.headers(headers, this.appliedDefaultRequestHeaders));
+        }
+
+        if (isNotEmpty(params)) {
+            requestInterceptors.add(DefaultValuesRequestInterceptor.queries(params, this.appliedDefaultQueryParameters));
+        }
+
         synchronized (this.set) {
             this.set.clear();
-            for (Class<RequestInterceptor> interceptorClass : interceptors) {
-                set.add(getInterceptorOrInstantiate(interceptorClass));
-            }
-
-            if (isNotEmpty(headers))
-                set.add(requestTemplate -> {
-                    Map<String, Collection<String>> requestHeader = requestTemplate.headers();
-                    headers.keySet().forEach(key -> {
-                        if (!requestHeader.containsKey(key)) {
-                            requestTemplate.header(key, headers.get(key));
-                        }
-                    });
-                });
-
-            if (isNotEmpty(params))
-                set.add(requestTemplate -> {
-                    Map<String, Collection<String>> requestQueries = requestTemplate.queries();
-                    params.keySet().forEach(key -> {
-                        if (!requestQueries.containsKey(key)) {
-                            requestTemplate.query(key, params.get(key));
-                        }
-                    });
-                });
+            this.set.addAll(requestInterceptors);
+            this.chain = this.set.toArray(EMPTY_REQUEST_INTERCEPTORS);
         }
     }
 
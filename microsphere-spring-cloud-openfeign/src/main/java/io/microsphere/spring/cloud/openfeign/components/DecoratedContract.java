@@ -2,6 +2,7 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import feign.Contract;
 import feign.MethodMetadata;
+import io.microsphere.annotation.Nullable;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
@@ -10,12 +11,24 @@ import org.springframework.cloud.openfeign.FeignClientSpecification;
 import java.util.List;
 
 /**
+ * The decorated {@link Contract} looks up the parsed {@link MethodMetadata} from the {@link MethodMetadataCache} of
+ * the Feign client if present, thus the repeated {@link feign.Feign.Builder} builds do not re-parse the annotations.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * DecoratedContract contract = new DecoratedContract(
+ *     "my-client", contextFactory, clientProperties, new SpringMvcContract());
+ * List<MethodMetadata> metadata = contract.parseAndValidateMetadata(MyFeignClient.class);
+ * }</pre>
+ *
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
 public class DecoratedContract extends DecoratedFeignComponent<Contract> implements Contract {
 
+    private volatile MethodMetadataCache methodMetadataCache;
+
     /**
      * Constructs a {@link DecoratedContract} wrapping the given {@link Contract} delegate.
      *
@@ -53,7 +66,7 @@ public class DecoratedContract extends DecoratedFeignComponent<Contract> impleme
 
     /**
      * Parses and validates metadata for the given target type by delegating to the
-     * underlying {@link Contract}.
+     * underlying {@link Contract}, or looks up the {@link MethodMetadataCache} if present.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -65,6 +78,42 @@ public class DecoratedContract extends DecoratedFeignComponent<Contract> impleme
      */
     @Override
     public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType) {
-        return delegate().parseAndValidateMetadata(targetType);
+        MethodMetadataCache methodMetadataCache = this.methodMetadataCache;
+        Contract contract = delegate();
+        if (methodMetadataCache == null) {
+            return contract.parseAndValidateMetadata(targetType);
+        }
+        return methodMetadataCache.parseAndValidateMetadata(targetType, contract);
+    }
+
+    /**
+     * Returns the {@link MethodMetadataCache} of the Feign client.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * MethodMetadataCache methodMetadataCache = decoratedContract.getMethodMetadataCache();
+     * }</pre>
+     *
+     * @return {@code null} if the {@link MethodMetadata} is not cached
+     */
+    @Nullable
+    public MethodMetadataCache getMethodMetadataCache() {
+        return this.methodMetadataCache;
+    }
+
+    /**
+     * Sets the {@link MethodMetadataCache} of the Feign client, which is shared by the {@link DecoratedContract}s
+     * of the {@link feign.Feign.Builder} builds, and it's not invalidated on {@link #refresh()} unless the class of
+     * the rebuilt delegate is changed.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedContract.setMethodMetadataCache(new MethodMetadataCache());
+     * }</pre>
+     *
+     * @param methodMetadataCache the {@link MethodMetadataCache}, {@code null} means the {@link MethodMetadata} is not cached
+     */
+    public void setMethodMetadataCache(@Nullable MethodMetadataCache methodMetadataCache) {
+        this.methodMetadataCache = methodMetadataCache;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import feign.FeignException;
 import feign.Response;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
@@ -12,6 +13,9 @@ import org.springframework.cloud.openfeign.FeignClientSpecification;
 import java.io.IOException;
 import java.lang.reflect.Type;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+import static java.lang.System.nanoTime;
+
 /**
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
@@ -56,7 +60,7 @@ public class DecoratedDecoder extends DecoratedFeignComponent<Decoder> implement
 
     /**
      * Decodes a Feign {@link Response} into an object of the given type by delegating
-     * to the underlying {@link Decoder}.
+     * to the underlying {@link Decoder}, the duration is recorded by {@link FeignClientMetrics#recordDecode(long, boolean)}.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -72,6 +76,18 @@ public class DecoratedDecoder extends DecoratedFeignComponent<Decoder> implement
      */
     @Override
     public Object decode(Response response, Type type) throws IOException, DecodeException, FeignException {
-        return delegate().decode(response, type);
+        FeignClientMetrics metrics = this.metrics;
+        if (metrics == NOOP) {
+            return delegate().decode(response, type);
+        }
+        long startTime = nanoTime();
+        boolean failed = true;
+        try {
+            Object result = delegate().decode(response, type);
+            failed = false;
+            return result;
+        } finally {
+            metrics.recordDecode(nanoTime() - startTime, failed);
+        }
     }
 }
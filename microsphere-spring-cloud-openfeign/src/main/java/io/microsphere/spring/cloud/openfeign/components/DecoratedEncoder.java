@@ -3,6 +3,8 @@ package io.microsphere.spring.cloud.openfeign.components;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
@@ -10,6 +12,9 @@ import org.springframework.cloud.openfeign.FeignClientSpecification;
 
 import java.lang.reflect.Type;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+import static java.lang.System.nanoTime;
+
 /**
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
@@ -17,6 +22,9 @@ import java.lang.reflect.Type;
  */
 public class DecoratedEncoder extends DecoratedFeignComponent<Encoder> implements Encoder {
 
+    @Nullable
+    private volatile EncodedBodyCache encodedBodyCache;
+
     /**
      * Constructs a {@link DecoratedEncoder} wrapping the given {@link Encoder} delegate.
      *
@@ -55,7 +63,8 @@ public class DecoratedEncoder extends DecoratedFeignComponent<Encoder> implement
 
     /**
      * Encodes the given object into the {@link RequestTemplate} by delegating to the
-     * underlying {@link Encoder}.
+     * underlying {@link Encoder}, the duration is recorded by {@link FeignClientMetrics#recordEncode(long, boolean)}.
+     * If the {@link EncodedBodyCache} is set, the encoded body of the cacheable request object is reused.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -69,6 +78,74 @@ public class DecoratedEncoder extends DecoratedFeignComponent<Encoder> implement
      */
     @Override
     public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
-        delegate().encode(object, bodyType, template);
+        Encoder delegate = delegate();
+        EncodedBodyCache encodedBodyCache = this.encodedBodyCache;
+        if (encodedBodyCache == null) {
+            doEncode(delegate, object, bodyType, template);
+        } else {
+            encodedBodyCache.encode(delegate, (o, t, rt) -> doEncode(delegate, o, t, rt), object, bodyType, template);
+        }
+    }
+
+    private void doEncode(Encoder delegate, Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        FeignClientMetrics metrics = this.metrics;
+        if (metrics == NOOP) {
+            delegate.encode(object, bodyType, template);
+            return;
+        }
+        long startTime = nanoTime();
+        boolean failed = true;
+        try {
+            delegate.encode(object, bodyType, template);
+            failed = false;
+        } finally {
+            metrics.recordEncode(nanoTime() - startTime, failed);
+        }
+    }
+
+    /**
+     * Refreshes the delegate and invalidates the {@link EncodedBodyCache} if present.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedEncoder.refresh();
+     * }</pre>
+     */
+    @Override
+    public void refresh() {
+        super.refresh();
+        EncodedBodyCache encodedBodyCache = this.encodedBodyCache;
+        if (encodedBodyCache != null) {
+            encodedBodyCache.clear();
+        }
+    }
+
+    /**
+     * Returns the {@link EncodedBodyCache} of the Feign client.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * EncodedBodyCache encodedBodyCache = decoratedEncoder.getEncodedBodyCache();
+     * }</pre>
+     *
+     * @return {@code null} if the encoded bodies are not cached
+     */
+    @Nullable
+    public EncodedBodyCache getEncodedBodyCache() {
+        return this.encodedBodyCache;
+    }
+
+    /**
+     * Sets the {@link EncodedBodyCache} of the Feign client, which is invalidated on {@link #refresh()}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedEncoder.setEncodedBodyCache(new EncodedBodyCache(256, 1024 * 1024));
+     * }</pre>
+     *
+     * @param encodedBodyCache the {@link EncodedBodyCache}, {@code null} means the encoded bodies are not cached
+     */
+    public void setEncodedBodyCache(@Nullable EncodedBodyCache encodedBodyCache) {
+        this.encodedBodyCache = encodedBodyCache;
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import feign.Response;
 import feign.codec.ErrorDecoder;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
@@ -50,7 +51,8 @@ public class DecoratedErrorDecoder extends DecoratedFeignComponent<ErrorDecoder>
     }
 
     /**
-     * Decodes an error response by delegating to the underlying {@link ErrorDecoder}.
+     * Decodes an error response by delegating to the underlying {@link ErrorDecoder}, the outcome is recorded by
+     * {@link FeignClientMetrics#recordErrorDecode(Exception)}.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -63,6 +65,8 @@ public class DecoratedErrorDecoder extends DecoratedFeignComponent<ErrorDecoder>
      */
     @Override
     public Exception decode(String methodKey, Response response) {
-        return delegate().decode(methodKey, response);
+        Exception exception = delegate().decode(methodKey, response);
+        this.metrics.recordErrorDecode(exception);
+        return exception;
     }
 }
\ No newline at end of file
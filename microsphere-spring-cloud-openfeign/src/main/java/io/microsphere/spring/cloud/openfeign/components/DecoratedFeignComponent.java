@@ -2,6 +2,7 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.logging.Logger;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
@@ -9,10 +10,13 @@ import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConf
 import org.springframework.cloud.openfeign.FeignClientSpecification;
 
 import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.reflect.ConstructorUtils.findConstructor;
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
 import static org.springframework.beans.BeanUtils.instantiateClass;
 
 /**
@@ -32,6 +36,31 @@ public abstract class DecoratedFeignComponent<T> implements Refreshable {
 
     protected volatile T delegate;
 
+    /**
+     * The version of the configuration, increased by {@link #refresh()}
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * The version of the configuration which {@link #delegate} was built from
+     */
+    private volatile long delegateVersion;
+
+    /**
+     * The version of the configuration which the delegate failed to be rebuilt from, the rebuilding backs off until
+     * the next {@link #refresh()}
+     */
+    private volatile long failedVersion = -1L;
+
+    /**
+     * The lock makes sure only one thread rebuilds the delegate at a time
+     */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile boolean eagerRefresh;
+
+    protected volatile FeignClientMetrics metrics = NOOP;
+
     /**
      * Constructs a {@link DecoratedFeignComponent} wrapping the given delegate.
      *
@@ -54,8 +83,11 @@ public abstract class DecoratedFeignComponent<T> implements Refreshable {
     }
 
     /**
-     * Returns the current delegate instance, lazily loading it from the context factory
-     * if it was previously cleared by a {@link #refresh()} call.
+     * Returns the current delegate instance, rebuilding it from the context factory if it was
+     * marked stale by a {@link #refresh()} call. The rebuilding is single-flight : only one thread
+     * loads the new instance, meanwhile other threads keep using the previous delegate until the
+     * new one is ready. If the rebuilding fails, the previous delegate is kept without retrying until
+     * the next {@link #refresh()}.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -67,13 +99,56 @@ public abstract class DecoratedFeignComponent<T> implements Refreshable {
     public T delegate() {
         T delegate = this.delegate;
         if (delegate == null) {
-            delegate = loadInstance();
+            return rebuild(null);
+        }
+        long version = this.version.get();
+        if (this.delegateVersion != version && this.failedVersion != version) {
+            delegate = rebuild(delegate);
+        }
+        return delegate;
+    }
+
+    /**
+     * Rebuilds the delegate if it's stale.
+     *
+     * @param current the current delegate, may be {@code null}
+     * @return the rebuilt delegate, or the current one if other thread is rebuilding
+     */
+    private T rebuild(T current) {
+        ReentrantLock lock = this.rebuildLock;
+        if (current == null) {
+            // no delegate to fall back to, waits for the rebuilding
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            return current;
+        }
+        try {
+            T delegate = this.delegate;
+            long version = this.version.get();
+            if (delegate != null && (this.delegateVersion == version || this.failedVersion == version)) {
+                // rebuilt or failed by other thread
+                return delegate;
+            }
+            try {
+                delegate = loadInstance();
+            } catch (RuntimeException e) {
+                if (current == null) {
+                    throw e;
+                }
+                this.failedVersion = version;
+                logger.warn("the component[{}] - Failed to rebuild delegate instance for contextId : '{}', keeps using the previous one[{}] until the next refresh",
+                        componentType(), contextId, current, e);
+                return current;
+            }
             if (logger.isTraceEnabled()) {
                 logger.trace("the component[{}] - Creating delegate instance[{}] for contextId: '{}'", componentType(), delegate, contextId);
             }
             this.delegate = delegate;
+            this.delegateVersion = version;
+            return delegate;
+        } finally {
+            lock.unlock();
         }
-        return delegate;
     }
 
     /**
@@ -112,8 +187,10 @@ public abstract class DecoratedFeignComponent<T> implements Refreshable {
     }
 
     /**
-     * Refreshes this component by clearing the delegate, causing the next call to
-     * {@link #delegate()} to reload the instance from the context factory.
+     * Refreshes this component by marking the delegate stale, causing the next call to
+     * {@link #delegate()} to rebuild the instance from the context factory, the previous
+     * delegate is still in use until the new one is ready. If {@link #isEagerRefresh() eager refresh}
+     * is enabled, the delegate is rebuilt immediately.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -124,7 +201,67 @@ public abstract class DecoratedFeignComponent<T> implements Refreshable {
         if (logger.isTraceEnabled()) {
             logger.trace("the component[{}] - Refreshing delegate instance[{}] for contextId : '{}'", componentType(), this.delegate, contextId);
         }
-        this.delegate = null;
+        this.version.incrementAndGet();
+        if (this.eagerRefresh) {
+            delegate();
+        }
+    }
+
+    /**
+     * Whether the delegate is rebuilt immediately in {@link #refresh()} or not.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * boolean eager = decoratedFeignComponent.isEagerRefresh();
+     * }</pre>
+     *
+     * @return {@code true} if eager, default is {@code false}
+     */
+    public boolean isEagerRefresh() {
+        return this.eagerRefresh;
+    }
+
+    /**
+     * Sets whether the delegate is rebuilt immediately in {@link #refresh()} or lazily on the next use.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedFeignComponent.setEagerRefresh(true);
+     * }</pre>
+     *
+     * @param eagerRefresh {@code true} if eager
+     */
+    public void setEagerRefresh(boolean eagerRefresh) {
+        this.eagerRefresh = eagerRefresh;
+    }
+
+    /**
+     * Returns the {@link FeignClientMetrics} of the Feign client.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * FeignClientMetrics metrics = decoratedFeignComponent.getMetrics();
+     * }</pre>
+     *
+     * @return {@link FeignClientMetrics#NOOP} if not set
+     */
+    @Nonnull
+    public FeignClientMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the {@link FeignClientMetrics} of the Feign client.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedFeignComponent.setMetrics(new MicrometerFeignClientMetrics(meterRegistry, "my-client"));
+     * }</pre>
+     *
+     * @param metrics the {@link FeignClientMetrics}, {@code null} means {@link FeignClientMetrics#NOOP}
+     */
+    public void setMetrics(FeignClientMetrics metrics) {
+        this.metrics = metrics == null ? NOOP : metrics;
     }
 
     /**
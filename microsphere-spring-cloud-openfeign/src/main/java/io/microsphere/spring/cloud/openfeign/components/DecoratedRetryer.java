@@ -2,11 +2,15 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import feign.RetryableException;
 import feign.Retryer;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics;
 import org.springframework.cloud.context.named.NamedContextFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
 import org.springframework.cloud.openfeign.FeignClientSpecification;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+
 /**
  * @author <a href="mailto:maimengzzz@gmail.com">韩超</a>
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
@@ -14,6 +18,8 @@ import org.springframework.cloud.openfeign.FeignClientSpecification;
  */
 public class DecoratedRetryer extends DecoratedFeignComponent<Retryer> implements Retryer {
 
+    private volatile RetryBudget retryBudget;
+
     /**
      * Constructs a {@link DecoratedRetryer} wrapping the given {@link Retryer} delegate.
      *
@@ -65,7 +71,38 @@ public class DecoratedRetryer extends DecoratedFeignComponent<Retryer> implement
      */
     @Override
     public void continueOrPropagate(RetryableException e) {
-        continueOrPropagate(delegate(), e);
+        continueOrPropagate(delegate(), e, this.metrics, this.retryBudget);
+    }
+
+    /**
+     * Returns the {@link RetryBudget} of the Feign client.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * RetryBudget retryBudget = decoratedRetryer.getRetryBudget();
+     * }</pre>
+     *
+     * @return {@code null} if the retries are not budgeted
+     */
+    @Nullable
+    public RetryBudget getRetryBudget() {
+        return this.retryBudget;
+    }
+
+    /**
+     * Sets the {@link RetryBudget} of the Feign client, which should be shared with the {@link RetryBudgetClient}
+     * of the same Feign client to deposit the successful requests.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * decoratedRetryer.setRetryBudget(retryBudget);
+     * }</pre>
+     *
+     * @param retryBudget the {@link RetryBudget}, {@code null} means the retries are not budgeted
+     * @see RetryBudgetClient
+     */
+    public void setRetryBudget(@Nullable RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
     }
 
     /**
@@ -81,13 +118,44 @@ public class DecoratedRetryer extends DecoratedFeignComponent<Retryer> implement
      * @param e       the {@link RetryableException} to evaluate
      */
     static void continueOrPropagate(Retryer retryer, RetryableException e) {
+        continueOrPropagate(retryer, e, NOOP, null);
+    }
+
+    /**
+     * Delegates the continue-or-propagate decision to the given {@link Retryer} if it
+     * is not {@code null} and the {@link RetryBudget} allows, and records the decision by
+     * {@link FeignClientMetrics#recordRetry(boolean)}.
+     *
+     * @param retryer     the {@link Retryer} to delegate to, may be {@code null}
+     * @param e           the {@link RetryableException} to evaluate
+     * @param metrics     the {@link FeignClientMetrics}
+     * @param retryBudget the {@link RetryBudget}, may be {@code null}
+     */
+    static void continueOrPropagate(Retryer retryer, RetryableException e, FeignClientMetrics metrics,
+                                    @Nullable RetryBudget retryBudget) {
         if (retryer != null) {
-            retryer.continueOrPropagate(e);
+            if (retryBudget != null && !retryBudget.tryWithdraw()) {
+                // the retry budget is exhausted
+                metrics.recordRetry(false);
+                throw e;
+            }
+            try {
+                retryer.continueOrPropagate(e);
+            } catch (RetryableException ex) {
+                if (retryBudget != null) {
+                    retryBudget.refund();
+                }
+                metrics.recordRetry(false);
+                throw ex;
+            }
+            metrics.recordRetry(true);
         }
     }
 
     /**
-     * Returns a clone of the delegate {@link Retryer}.
+     * Returns a clone of the delegate {@link Retryer}, which is wrapped to record the retries if
+     * the {@link FeignClientMetrics} is set or to apply the {@link RetryBudget} if set, since Feign retries
+     * on the clone per request.
      *
      * <h3>Example Usage</h3>
      * <pre>{@code
@@ -98,6 +166,37 @@ public class DecoratedRetryer extends DecoratedFeignComponent<Retryer> implement
      */
     @Override
     public Retryer clone() {
-        return delegate().clone();
+        Retryer retryer = delegate().clone();
+        FeignClientMetrics metrics = this.metrics;
+        RetryBudget retryBudget = this.retryBudget;
+        return metrics == NOOP && retryBudget == null ? retryer : new DelegatingRetryer(retryer, metrics, retryBudget);
+    }
+
+    /**
+     * The {@link Retryer} records the retries by {@link FeignClientMetrics} and applies the {@link RetryBudget}
+     */
+    static class DelegatingRetryer implements Retryer {
+
+        private final Retryer delegate;
+
+        private final FeignClientMetrics metrics;
+
+        private final RetryBudget retryBudget;
+
+        DelegatingRetryer(Retryer delegate, FeignClientMetrics metrics, RetryBudget retryBudget) {
+            this.delegate = delegate;
+            this.metrics = metrics;
+            this.retryBudget = retryBudget;
+        }
+
+        @Override
+        public void continueOrPropagate(RetryableException e) {
+            DecoratedRetryer.continueOrPropagate(this.delegate, e, this.metrics, this.retryBudget);
+        }
+
+        @Override
+        public Retryer clone() {
+            return new DelegatingRetryer(this.delegate.clone(), this.metrics, this.retryBudget);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link RequestInterceptor} applies the default request headers or query parameters which are precompiled into
+ * the flat arrays of names and values, thus each request only does a single pass without the lookups on the defaults,
+ * the default is only applied if the {@link RequestTemplate} does not have the same name.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * LongAdder counter = new LongAdder();
+ * RequestInterceptor interceptor = DefaultValuesRequestInterceptor.headers(defaultRequestHeaders, counter);
+ * interceptor.apply(requestTemplate);
+ * long applied = counter.sum();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see CompositedRequestInterceptor
+ * @since 1.0.0
+ */
+public final class DefaultValuesRequestInterceptor implements RequestInterceptor {
+
+    private final boolean headers;
+
+    private final String[] names;
+
+    private final Collection<String>[] values;
+
+    private final LongAdder appliedCounter;
+
+    private DefaultValuesRequestInterceptor(boolean headers, Map<String, Collection<String>> defaultValues, LongAdder appliedCounter) {
+        int size = defaultValues.size();
+        this.headers = headers;
+        this.names = new String[size];
+        this.values = new Collection[size];
+        this.appliedCounter = appliedCounter;
+        int i = 0;
+        for (Map.Entry<String, Collection<String>> entry : defaultValues.entrySet()) {
+            this.names[i] = entry.getKey();
+            this.values[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * Creates a {@link DefaultValuesRequestInterceptor} for the default request headers
+     *
+     * @param defaultRequestHeaders the default request headers
+     * @param appliedCounter        the counter of the applied default request headers
+     * @return non-null
+     */
+    public static DefaultValuesRequestInterceptor headers(Map<String, Collection<String>> defaultRequestHeaders, LongAdder appliedCounter) {
+        return new DefaultValuesRequestInterceptor(true, defaultRequestHeaders, appliedCounter);
+    }
+
+    /**
+     * Creates a {@link DefaultValuesRequestInterceptor} for the default query parameters
+     *
+     * @param defaultQueryParameters the default query parameters
+     * @param appliedCounter         the counter of the applied default query parameters
+     * @return non-null
+     */
+    public static DefaultValuesRequestInterceptor queries(Map<String, Collection<String>> defaultQueryParameters, LongAdder appliedCounter) {
+        return new DefaultValuesRequestInterceptor(false, defaultQueryParameters, appliedCounter);
+    }
+
+    /**
+     * Applies the default values that are absent in the given {@link RequestTemplate}
+     *
+     * @param template the {@link RequestTemplate}
+     */
+    @Override
+    public void apply(RequestTemplate template) {
+        String[] names = this.names;
+        int length = names.length;
+        // RequestTemplate builds a new Map for every invocation
+        Map<String, Collection<String>> existed = this.headers ? template.headers() : template.queries();
+        int applied = 0;
+        for (int i = 0; i < length; i++) {
+            String name = names[i];
+            if (!existed.containsKey(name)) {
+                if (this.headers) {
+                    template.header(name, this.values[i]);
+                } else {
+                    template.query(name, this.values[i]);
+                }
+                applied++;
+            }
+        }
+        if (applied > 0) {
+            this.appliedCounter.add(applied);
+        }
+    }
+
+    /**
+     * Get the names of the default values
+     *
+     * @return the names of the default values
+     */
+    public String[] getNames() {
+        return this.names.clone();
+    }
+
+    /**
+     * Is for the default request headers or not
+     *
+     * @return <code>true</code> if for the default request headers, <code>false</code> for the default query parameters
+     */
+    public boolean isHeaders() {
+        return this.headers;
+    }
+}
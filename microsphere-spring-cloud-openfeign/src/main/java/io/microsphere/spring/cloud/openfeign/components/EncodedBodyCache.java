@@ -0,0 +1,441 @@
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import io.microsphere.annotation.Nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
+import static io.microsphere.util.Assert.assertNotNull;
+import static java.lang.System.identityHashCode;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The bounded cache of the request bodies encoded by the {@link Encoder} for the hot and repeated calls with the
+ * immutable request objects, e.g. polling with the identical query DTO. The caching is opt-in : only the request
+ * objects keyed by the {@link EncodedBodyKeyResolver} are cached, the default one keys the request objects annotated
+ * by {@link ImmutableBody} by their identities, which are held weakly and purged once the request objects are
+ * collected. The encoded body is reused only if the {@link Encoder}, the body type and the "Content-Type" header
+ * are unchanged. The least recently used entries are evicted once the count exceeds the max entries or the total
+ * bytes exceed the max weight.
+ * <p>
+ * The cached request objects must be immutable, otherwise the stale bodies would be sent.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * // at most 256 entries and 1 MB, the request objects annotated by @ImmutableBody are cached
+ * EncodedBodyCache cache = new EncodedBodyCache(256, 1024 * 1024);
+ * decoratedEncoder.setEncodedBodyCache(cache);
+ *
+ * // keyed by the user-supplied key
+ * EncodedBodyCache cache = new EncodedBodyCache(256, 1024 * 1024,
+ *     object -> object instanceof Query ? ((Query) object).getId() : null);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DecoratedEncoder
+ * @since 1.0.0
+ */
+public class EncodedBodyCache {
+
+    /**
+     * The default max entries : 256
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    /**
+     * The default max weight in bytes : 1 MB
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 1024 * 1024L;
+
+    /**
+     * The header name of "Content-Type"
+     */
+    static final String CONTENT_TYPE_HEADER_NAME = "Content-Type";
+
+    private final int maxEntries;
+
+    private final long maxWeight;
+
+    private final EncodedBodyKeyResolver keyResolver;
+
+    /**
+     * The queue of the cleared {@link IdentityKey identity keys} to purge
+     */
+    private final ReferenceQueue<Object> clearedKeys = new ReferenceQueue<>();
+
+    /**
+     * The access-ordered entries, guarded by itself
+     */
+    private final LinkedHashMap<CacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a {@link EncodedBodyCache} with {@link EncodedBodyKeyResolver#IMMUTABLE_BODY}
+     *
+     * @param maxEntries the max entries
+     * @param maxWeight  the max weight in bytes of the encoded bodies
+     * @throws IllegalArgumentException if <code>maxEntries</code> or <code>maxWeight</code> is not positive
+     */
+    public EncodedBodyCache(int maxEntries, long maxWeight) throws IllegalArgumentException {
+        this(maxEntries, maxWeight, EncodedBodyKeyResolver.IMMUTABLE_BODY);
+    }
+
+    /**
+     * Constructs a {@link EncodedBodyCache}
+     *
+     * @param maxEntries  the max entries
+     * @param maxWeight   the max weight in bytes of the encoded bodies
+     * @param keyResolver the {@link EncodedBodyKeyResolver}
+     * @throws IllegalArgumentException if <code>maxEntries</code> or <code>maxWeight</code> is not positive,
+     *                                  or <code>keyResolver</code> is <code>null</code>
+     */
+    public EncodedBodyCache(int maxEntries, long maxWeight, EncodedBodyKeyResolver keyResolver) throws IllegalArgumentException {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The 'maxEntries' must be positive : " + maxEntries);
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("The 'maxWeight' must be positive : " + maxWeight);
+        }
+        assertNotNull(keyResolver, () -> "The 'keyResolver' must not be null!");
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.keyResolver = keyResolver;
+    }
+
+    /**
+     * Encodes the request object into the {@link RequestTemplate} by the given {@link Encoder}, or reuses the
+     * encoded body and headers if cached.
+     *
+     * @param encoder  the {@link Encoder}
+     * @param object   the request object
+     * @param bodyType the body type
+     * @param template the {@link RequestTemplate}
+     */
+    public void encode(Encoder encoder, Object object, Type bodyType, RequestTemplate template) {
+        encode(encoder, encoder, object, bodyType, template);
+    }
+
+    /**
+     * Encodes the request object into the {@link RequestTemplate} by the given {@link Encoder}, or reuses the
+     * encoded body and headers if cached by the same source {@link Encoder}.
+     *
+     * @param source   the source {@link Encoder} which the cached entries belong to
+     * @param encoder  the {@link Encoder} encodes the request object actually, e.g. the instrumented source
+     * @param object   the request object
+     * @param bodyType the body type
+     * @param template the {@link RequestTemplate}
+     */
+    void encode(Encoder source, Encoder encoder, Object object, Type bodyType, RequestTemplate template) {
+        Object key = object == null ? null : this.keyResolver.resolve(object);
+        if (key == null) {
+            encoder.encode(object, bodyType, template);
+            return;
+        }
+
+        Map<String, Collection<String>> headers = template.headers();
+        CacheKey cacheKey = new CacheKey(key, bodyType, getContentType(headers));
+        Entry entry = get(cacheKey);
+        if (entry != null && entry.encoder == source) {
+            this.hits.increment();
+            entry.applyTo(template);
+            return;
+        }
+
+        this.misses.increment();
+        encoder.encode(object, bodyType, template);
+        byte[] body = template.body();
+        if (body != null && body.length <= this.maxWeight) {
+            put(cacheKey, new Entry(source, body, template.requestCharset(), changedHeaders(headers, template.headers())));
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        synchronized (this.entries) {
+            this.entries.clear();
+            this.weight = 0;
+        }
+    }
+
+    private Entry get(CacheKey cacheKey) {
+        synchronized (this.entries) {
+            return this.entries.get(cacheKey);
+        }
+    }
+
+    private void put(CacheKey cacheKey, Entry entry) {
+        if (cacheKey.key instanceof IdentityKey) {
+            // the identity key is registered to be purged once the request object is collected
+            IdentityKey identityKey = ((IdentityKey) cacheKey.key).register(this.clearedKeys);
+            cacheKey = new CacheKey(identityKey, cacheKey.bodyType, cacheKey.contentType);
+            identityKey.cacheKey = cacheKey;
+        }
+        synchronized (this.entries) {
+            purgeClearedKeys();
+            Entry previous = this.entries.put(cacheKey, entry);
+            if (previous != null) {
+                this.weight -= previous.body.length;
+            }
+            this.weight += entry.body.length;
+            Iterator<Entry> iterator = this.entries.values().iterator();
+            while ((this.entries.size() > this.maxEntries || this.weight > this.maxWeight) && iterator.hasNext()) {
+                Entry eldest = iterator.next();
+                iterator.remove();
+                this.weight -= eldest.body.length;
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes the entries whose request objects have been collected, guarded by the entries
+     */
+    private void purgeClearedKeys() {
+        Reference<?> reference;
+        while ((reference = this.clearedKeys.poll()) != null) {
+            Entry entry = this.entries.remove(((IdentityKey) reference).cacheKey);
+            if (entry != null) {
+                this.weight -= entry.body.length;
+            }
+        }
+    }
+
+    /**
+     * Get the max entries
+     *
+     * @return the max entries
+     */
+    public int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    /**
+     * Get the max weight in bytes
+     *
+     * @return the max weight in bytes
+     */
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    /**
+     * Get the number of the entries
+     *
+     * @return the number of the entries
+     */
+    public int size() {
+        synchronized (this.entries) {
+            purgeClearedKeys();
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Get the total bytes of the cached bodies
+     *
+     * @return the total bytes of the cached bodies
+     */
+    public long getWeight() {
+        synchronized (this.entries) {
+            purgeClearedKeys();
+            return this.weight;
+        }
+    }
+
+    /**
+     * Get the number of the hits
+     *
+     * @return the number of the hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Get the number of the misses
+     *
+     * @return the number of the misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Get the number of the evicted entries
+     *
+     * @return the number of the evicted entries
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedBodyCache{" +
+                "maxEntries=" + this.maxEntries +
+                ", maxWeight=" + this.maxWeight +
+                ", size=" + size() +
+                ", weight=" + getWeight() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                '}';
+    }
+
+    @Nullable
+    static Collection<String> getContentType(Map<String, Collection<String>> headers) {
+        for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+            if (CONTENT_TYPE_HEADER_NAME.equalsIgnoreCase(header.getKey())) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    static Map<String, Collection<String>> changedHeaders(Map<String, Collection<String>> before,
+                                                          Map<String, Collection<String>> after) {
+        Map<String, Collection<String>> changedHeaders = null;
+        for (Map.Entry<String, Collection<String>> header : after.entrySet()) {
+            String name = header.getKey();
+            Collection<String> values = header.getValue();
+            if (!Objects.equals(values, before.get(name))) {
+                if (changedHeaders == null) {
+                    changedHeaders = newLinkedHashMap(after.size());
+                }
+                changedHeaders.put(name, values);
+            }
+        }
+        return changedHeaders == null ? null : unmodifiableMap(changedHeaders);
+    }
+
+    /**
+     * The key of the request object by its identity, which is held weakly, the cleared one is equal to itself only
+     */
+    static final class IdentityKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        /**
+         * The {@link CacheKey} of the registered one to purge
+         */
+        CacheKey cacheKey;
+
+        IdentityKey(Object object) {
+            this(object, null);
+        }
+
+        private IdentityKey(Object object, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.hashCode = identityHashCode(object);
+        }
+
+        IdentityKey register(ReferenceQueue<Object> queue) {
+            return new IdentityKey(get(), queue);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            Object object = get();
+            return object != null && object == ((IdentityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    static class CacheKey {
+
+        private final Object key;
+
+        private final Type bodyType;
+
+        private final Collection<String> contentType;
+
+        private final int hashCode;
+
+        CacheKey(Object key, Type bodyType, Collection<String> contentType) {
+            this.key = key;
+            this.bodyType = bodyType;
+            this.contentType = contentType;
+            this.hashCode = Objects.hash(key, bodyType, contentType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return this.key.equals(that.key)
+                    && Objects.equals(this.bodyType, that.bodyType)
+                    && Objects.equals(this.contentType, that.contentType);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    static class Entry {
+
+        private final Encoder encoder;
+
+        private final byte[] body;
+
+        private final Charset charset;
+
+        @Nullable
+        private final Map<String, Collection<String>> headers;
+
+        Entry(Encoder encoder, byte[] body, Charset charset, Map<String, Collection<String>> headers) {
+            this.encoder = encoder;
+            this.body = body;
+            this.charset = charset;
+            this.headers = headers;
+        }
+
+        void applyTo(RequestTemplate template) {
+            if (this.headers != null) {
+                for (Map.Entry<String, Collection<String>> header : this.headers.entrySet()) {
+                    String name = header.getKey();
+                    template.removeHeader(name);
+                    template.header(name, header.getValue());
+                }
+            }
+            template.body(this.body, this.charset);
+        }
+    }
+}
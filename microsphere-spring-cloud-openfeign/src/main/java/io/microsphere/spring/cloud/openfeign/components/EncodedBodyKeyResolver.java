@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.components;
+
+import io.microsphere.annotation.Nullable;
+
+/**
+ * The resolver of the cache key of the request object for the {@link EncodedBodyCache}, the encoded body is cached
+ * only if the key is resolved, so the caching is opt-in. It could be declared as a bean in the configuration of
+ * the Feign client to replace the {@link #IMMUTABLE_BODY default one}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * @Bean
+ * public EncodedBodyKeyResolver encodedBodyKeyResolver() {
+ *     // keyed by the value, the request objects with the same id are encoded once
+ *     return object -> object instanceof Query ? ((Query) object).getId() : null;
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see EncodedBodyCache
+ * @see ImmutableBody
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface EncodedBodyKeyResolver {
+
+    /**
+     * The default {@link EncodedBodyKeyResolver} keys the request objects annotated by {@link ImmutableBody} by their
+     * identities, which are held weakly, and the others are not cacheable.
+     */
+    EncodedBodyKeyResolver IMMUTABLE_BODY = object -> object.getClass().isAnnotationPresent(ImmutableBody.class) ?
+            new EncodedBodyCache.IdentityKey(object) : null;
+
+    /**
+     * Resolves the cache key of the request object, the key must implement {@link Object#equals(Object)} and
+     * {@link Object#hashCode()}, and the request objects with the equal keys must be encoded into the same body.
+     *
+     * @param object the non-null request object
+     * @return <code>null</code> if the request object is not cacheable
+     */
+    @Nullable
+    Object resolve(Object object);
+}
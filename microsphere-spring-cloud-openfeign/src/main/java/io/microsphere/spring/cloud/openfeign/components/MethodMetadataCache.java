@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.RequestTemplate;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
+import static java.lang.reflect.Modifier.isStatic;
+import static org.springframework.beans.BeanUtils.instantiateClass;
+import static org.springframework.util.ReflectionUtils.doWithFields;
+import static org.springframework.util.ReflectionUtils.getField;
+import static org.springframework.util.ReflectionUtils.makeAccessible;
+import static org.springframework.util.ReflectionUtils.setField;
+
+/**
+ * The cache of the {@link MethodMetadata} parsed by the {@link Contract} of a Feign client, keyed by the target type
+ * and the {@link Contract} class. It's held by the {@link io.microsphere.spring.cloud.openfeign.autorefresh.AutoRefreshCapability}
+ * of the Feign client, thus it outlives the {@link feign.Feign.Builder} builds, the repeated builds do not re-parse
+ * the annotations unless the class of the {@link Contract} has been changed.
+ * <p>
+ * The entries are associated with the target types by {@link ClassValue}, so the cache does not prevent the
+ * {@link ClassLoader} of the target types from being unloaded. As {@link MethodMetadata} is mutable, every caller
+ * gets its own deep copy, the cached ones are never shared.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * MethodMetadataCache cache = new MethodMetadataCache();
+ * List<MethodMetadata> metadata = cache.parseAndValidateMetadata(MyFeignClient.class, new SpringMvcContract());
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DecoratedContract
+ * @since 1.0.0
+ */
+public class MethodMetadataCache {
+
+    private final ClassValue<Holder> holders = new HolderClassValue();
+
+    /**
+     * Parses and validates the metadata of the given target type by the given {@link Contract} if it's absent in the
+     * cache, or it was parsed by the other class of {@link Contract}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * List<MethodMetadata> metadata = cache.parseAndValidateMetadata(MyFeignClient.class, contract);
+     * }</pre>
+     *
+     * @param targetType the Feign client interface class to parse
+     * @param contract   the {@link Contract} to parse with
+     * @return the copy of the cached {@link MethodMetadata} list
+     */
+    public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType, Contract contract) {
+        Holder holder = this.holders.get(targetType);
+        Class<?> contractClass = contract.getClass();
+        Entry entry = holder.entry;
+        if (entry == null || entry.contractClass != contractClass) {
+            List<MethodMetadata> methodMetadataList = contract.parseAndValidateMetadata(targetType);
+            // the cached ones are the private copies, the parsed ones go to the caller
+            holder.entry = new Entry(contractClass, copy(methodMetadataList));
+            return methodMetadataList;
+        }
+        return copy(entry.methodMetadataList);
+    }
+
+    static List<MethodMetadata> copy(List<MethodMetadata> methodMetadataList) {
+        int size = methodMetadataList.size();
+        List<MethodMetadata> copies = newArrayList(size);
+        for (int i = 0; i < size; i++) {
+            copies.add(copy(methodMetadataList.get(i)));
+        }
+        return copies;
+    }
+
+    /**
+     * Deep copies the {@link MethodMetadata}, the mutable {@link RequestTemplate}, collections and maps are copied,
+     * the others, e.g. {@link java.lang.reflect.Method} and {@link java.lang.reflect.Type}, are immutable and shared.
+     *
+     * @param methodMetadata {@link MethodMetadata}
+     * @return the new {@link MethodMetadata}
+     */
+    static MethodMetadata copy(MethodMetadata methodMetadata) {
+        MethodMetadata copy = instantiateClass(MethodMetadata.class);
+        doWithFields(MethodMetadata.class, field -> {
+            makeAccessible(field);
+            Object value = copyValue(getField(field, methodMetadata));
+            if (value instanceof RequestTemplate) {
+                ((RequestTemplate) value).methodMetadata(copy);
+            }
+            setField(field, copy, value);
+        }, field -> !isStatic(field.getModifiers()));
+        return copy;
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof RequestTemplate) {
+            return RequestTemplate.from((RequestTemplate) value);
+        } else if (value instanceof BitSet) {
+            return ((BitSet) value).clone();
+        } else if (value instanceof List) {
+            return newArrayList((List<?>) value);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = newLinkedHashMap(map.size());
+            map.forEach((k, v) -> copy.put(k, v instanceof Collection ? newArrayList((Collection<?>) v) : v));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * The static {@link ClassValue} does not capture the {@link MethodMetadataCache}
+     */
+    private static class HolderClassValue extends ClassValue<Holder> {
+
+        @Override
+        protected Holder computeValue(Class<?> type) {
+            return new Holder();
+        }
+    }
+
+    private static class Holder {
+
+        private volatile Entry entry;
+    }
+
+    private static class Entry {
+
+        private final Class<?> contractClass;
+
+        private final List<MethodMetadata> methodMetadataList;
+
+        private Entry(Class<?> contractClass, List<MethodMetadata> methodMetadataList) {
+            this.contractClass = contractClass;
+            this.methodMetadataList = methodMetadataList;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.microsphere.spring.cloud.openfeign.components;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The lock-free retry budget of a Feign client, which is a token bucket caps the retries to a ratio of the recent
+ * successful requests : every successful request deposits the ratio of a token, every retry withdraws a token,
+ * and the retry is rejected if the balance is less than a token. The balance is capped by the max retries, so only
+ * the recent successful requests count, thus the retries can't amplify the load on the failing service.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * // the retries are capped to 20% of the successful requests, at most 20 retries in burst
+ * RetryBudget retryBudget = new RetryBudget(0.2, 20);
+ * retryBudget.deposit();             // on the successful request
+ * if (retryBudget.tryWithdraw()) {   // before the retry
+ *     // retry
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DecoratedRetryer
+ * @since 1.0.0
+ */
+public class RetryBudget {
+
+    /**
+     * The default ratio of the retries to the successful requests : 0.2
+     */
+    public static final double DEFAULT_RATIO = 0.2;
+
+    /**
+     * The default max retries in burst : 20
+     */
+    public static final int DEFAULT_MAX_RETRIES = 20;
+
+    /**
+     * The units of a token in the balance
+     */
+    static final long TOKEN_UNITS = 1000;
+
+    private final double ratio;
+
+    private final int maxRetries;
+
+    private final long depositUnits;
+
+    private final long maxBalance;
+
+    /**
+     * The balance in units, starts with the max retries
+     */
+    private final AtomicLong balance;
+
+    private final LongAdder deposits = new LongAdder();
+
+    private final LongAdder withdrawals = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Constructs a {@link RetryBudget}
+     *
+     * @param ratio      the ratio of the retries to the successful requests, in (0, 1]
+     * @param maxRetries the max retries in burst, the balance starts with it
+     * @throws IllegalArgumentException if <code>ratio</code> or <code>maxRetries</code> is illegal
+     */
+    public RetryBudget(double ratio, int maxRetries) throws IllegalArgumentException {
+        if (!(ratio > 0 && ratio <= 1)) {
+            throw new IllegalArgumentException("The 'ratio' must be in (0, 1] : " + ratio);
+        }
+        if (maxRetries < 1) {
+            throw new IllegalArgumentException("The 'maxRetries' must be positive : " + maxRetries);
+        }
+        this.ratio = ratio;
+        this.maxRetries = maxRetries;
+        this.depositUnits = Math.max(1, Math.round(ratio * TOKEN_UNITS));
+        this.maxBalance = maxRetries * TOKEN_UNITS;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    /**
+     * Deposits the ratio of a token for a successful request
+     */
+    public void deposit() {
+        add(this.depositUnits);
+        this.deposits.increment();
+    }
+
+    /**
+     * Tries to withdraw a token for a retry
+     *
+     * @return <code>true</code> if the retry is allowed, <code>false</code> if rejected
+     */
+    public boolean tryWithdraw() {
+        AtomicLong balance = this.balance;
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN_UNITS) {
+                this.rejections.increment();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN_UNITS));
+        this.withdrawals.increment();
+        return true;
+    }
+
+    /**
+     * Refunds the token withdrawn by {@link #tryWithdraw()} if the retry is not attempted finally
+     */
+    public void refund() {
+        add(TOKEN_UNITS);
+        this.withdrawals.decrement();
+    }
+
+    private void add(long units) {
+        AtomicLong balance = this.balance;
+        long maxBalance = this.maxBalance;
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + units)));
+    }
+
+    /**
+     * Get the ratio of the retries to the successful requests
+     *
+     * @return the ratio
+     */
+    public double getRatio() {
+        return this.ratio;
+    }
+
+    /**
+     * Get the max retries in burst
+     *
+     * @return the max retries
+     */
+    public int getMaxRetries() {
+        return this.maxRetries;
+    }
+
+    /**
+     * Get the available retries currently
+     *
+     * @return the available retries, may be fractional
+     */
+    public double getBalance() {
+        return (double) this.balance.get() / TOKEN_UNITS;
+    }
+
+    /**
+     * Get the number of the deposits (successful requests)
+     *
+     * @return the number of the deposits
+     */
+    public long getDeposits() {
+        return this.deposits.sum();
+    }
+
+    /**
+     * Get the number of the allowed retries
+     *
+     * @return the number of the allowed retries
+     */
+    public long getWithdrawals() {
+        return this.withdrawals.sum();
+    }
+
+    /**
+     * Get the number of the rejected retries
+     *
+     * @return the number of the rejected retries
+     */
+    public long getRejections() {
+        return this.rejections.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{" +
+                "ratio=" + this.ratio +
+                ", maxRetries=" + this.maxRetries +
+                ", balance=" + getBalance() +
+                ", deposits=" + getDeposits() +
+                ", withdrawals=" + getWithdrawals() +
+                ", rejections=" + getRejections() +
+                '}';
+    }
+}
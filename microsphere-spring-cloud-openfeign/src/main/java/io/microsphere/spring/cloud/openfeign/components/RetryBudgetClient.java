@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The {@link Client} deposits the {@link RetryBudget} of the Feign client on every successful (2xx) response,
+ * no matter whether the response is decoded or not, e.g, the methods returning {@code void} or {@link Response}
+ * skip the {@link feign.codec.Decoder}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * RetryBudget retryBudget = new RetryBudget(0.2, 20);
+ * Client client = new RetryBudgetClient(new Client.Default(null, null), retryBudget);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RetryBudget
+ * @see DecoratedRetryer
+ * @since 1.0.0
+ */
+public class RetryBudgetClient implements Client {
+
+    private final Client delegate;
+
+    private final RetryBudget retryBudget;
+
+    /**
+     * Constructs a {@link RetryBudgetClient}
+     *
+     * @param delegate    the {@link Client} to delegate to
+     * @param retryBudget the {@link RetryBudget} of the Feign client
+     * @throws IllegalArgumentException if any argument is {@code null}
+     */
+    public RetryBudgetClient(Client delegate, RetryBudget retryBudget) throws IllegalArgumentException {
+        assertNotNull(delegate, () -> "The 'delegate' must not be null!");
+        assertNotNull(retryBudget, () -> "The 'retryBudget' must not be null!");
+        this.delegate = delegate;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Response response = this.delegate.execute(request, options);
+        if (isSuccessful(response)) {
+            this.retryBudget.deposit();
+        }
+        return response;
+    }
+
+    /**
+     * Get the {@link Client} to delegate to
+     *
+     * @return the {@link Client} to delegate to
+     */
+    public Client getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * Get the {@link RetryBudget} of the Feign client
+     *
+     * @return the {@link RetryBudget}
+     */
+    public RetryBudget getRetryBudget() {
+        return this.retryBudget;
+    }
+
+    static boolean isSuccessful(Response response) {
+        int status = response.status();
+        return status >= 200 && status < 300;
+    }
+}
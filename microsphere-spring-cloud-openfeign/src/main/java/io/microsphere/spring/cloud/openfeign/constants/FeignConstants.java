@@ -44,6 +44,142 @@ public interface FeignConstants {
     )
     String ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + PropertyConstants.ENABLED_PROPERTY_NAME;
 
+    /**
+     * The property name for rebuilding the delegates of the decorated Feign components eagerly once refreshed :
+     * "microsphere.spring.cloud.openfeign.auto-refresh.eager"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.DecoratedFeignComponent#setEagerRefresh(boolean)
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String AUTO_REFRESH_EAGER_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "auto-refresh.eager";
+
+    /**
+     * The property name for the debounce window(milliseconds) of the Feign client auto-refresh, the changed configs
+     * are merged per client over the window, the non-positive value refreshes immediately :
+     * "microsphere.spring.cloud.openfeign.auto-refresh.debounce-window"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.autorefresh.FeignClientConfigurationChangedListener
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "0",
+            source = APPLICATION_SOURCE
+    )
+    String AUTO_REFRESH_DEBOUNCE_WINDOW_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "auto-refresh.debounce-window";
+
+    /**
+     * The property name for enabling the Micrometer metrics of the decorated Feign components :
+     * "microsphere.spring.cloud.openfeign.metrics.enabled"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String METRICS_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "metrics.enabled";
+
+    /**
+     * The property name for enabling the retry budget per Feign client :
+     * "microsphere.spring.cloud.openfeign.retry-budget.enabled"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.RetryBudget
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String RETRY_BUDGET_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "retry-budget.enabled";
+
+    /**
+     * The property name for the ratio of the retries to the successful requests of the retry budget :
+     * "microsphere.spring.cloud.openfeign.retry-budget.ratio"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.RetryBudget#DEFAULT_RATIO
+     */
+    @ConfigurationProperty(
+            type = double.class,
+            defaultValue = "0.2",
+            source = APPLICATION_SOURCE
+    )
+    String RETRY_BUDGET_RATIO_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "retry-budget.ratio";
+
+    /**
+     * The property name for the max retries in burst of the retry budget :
+     * "microsphere.spring.cloud.openfeign.retry-budget.max-retries"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.RetryBudget#DEFAULT_MAX_RETRIES
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "20",
+            source = APPLICATION_SOURCE
+    )
+    String RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "retry-budget.max-retries";
+
+    /**
+     * The property name for the cache of the encoded request bodies enabled or not :
+     * "microsphere.spring.cloud.openfeign.encoded-body-cache.enabled".
+     * Only the request objects keyed by the {@link io.microsphere.spring.cloud.openfeign.components.EncodedBodyKeyResolver}
+     * bean of the Feign client, or annotated by {@link io.microsphere.spring.cloud.openfeign.components.ImmutableBody}
+     * if absent, are cached, and they must be immutable, otherwise the stale bodies would be sent.
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache
+     * @see io.microsphere.spring.cloud.openfeign.components.EncodedBodyKeyResolver
+     * @see io.microsphere.spring.cloud.openfeign.components.ImmutableBody
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "encoded-body-cache.enabled";
+
+    /**
+     * The property name for the max entries of the cache of the encoded request bodies :
+     * "microsphere.spring.cloud.openfeign.encoded-body-cache.max-entries"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache#DEFAULT_MAX_ENTRIES
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = "256",
+            source = APPLICATION_SOURCE
+    )
+    String ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "encoded-body-cache.max-entries";
+
+    /**
+     * The property name for the max weight in bytes of the cache of the encoded request bodies :
+     * "microsphere.spring.cloud.openfeign.encoded-body-cache.max-weight"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache#DEFAULT_MAX_WEIGHT
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = "1048576",
+            source = APPLICATION_SOURCE
+    )
+    String ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "encoded-body-cache.max-weight";
+
+    /**
+     * The property name for the streaming decode of the JSON array response body enabled or not :
+     * "microsphere.spring.cloud.openfeign.streaming-decode.enabled"
+     *
+     * @see io.microsphere.spring.cloud.openfeign.codec.StreamingDecoder
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = "false",
+            source = APPLICATION_SOURCE
+    )
+    String STREAMING_DECODE_ENABLED_PROPERTY_NAME = MICROSPHERE_SPRING_CLOUD_PROPERTY_NAME_PREFIX + "openfeign" + DOT + "streaming-decode.enabled";
+
     /**
      * The class name of {@link feign.Feign}
      *
@@ -79,4 +215,18 @@ public interface FeignConstants {
      */
     String FEIGN_AUTO_CONFIGURATION_CLASS_NAME = "org.springframework.cloud.openfeign.FeignAutoConfiguration";
 
+    /**
+     * The class name of {@link io.micrometer.core.instrument.MeterRegistry}
+     *
+     * @see io.micrometer.core.instrument.MeterRegistry
+     */
+    String METER_REGISTRY_CLASS_NAME = "io.micrometer.core.instrument.MeterRegistry";
+
+    /**
+     * The class name of {@link com.fasterxml.jackson.databind.ObjectMapper}
+     *
+     * @see com.fasterxml.jackson.databind.ObjectMapper
+     */
+    String OBJECT_MAPPER_CLASS_NAME = "com.fasterxml.jackson.databind.ObjectMapper";
+
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.metrics;
+
+import feign.RetryableException;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedFeignComponent;
+
+/**
+ * The metrics of the decorated Feign components per Feign client, the implementation must be
+ * allocation-light since it's invoked on every call.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * FeignClientMetrics metrics = new MicrometerFeignClientMetrics(meterRegistry, "my-client");
+ * long start = System.nanoTime();
+ * encoder.encode(object, bodyType, template);
+ * metrics.recordEncode(System.nanoTime() - start, false);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DecoratedFeignComponent#setMetrics(FeignClientMetrics)
+ * @see MicrometerFeignClientMetrics
+ * @since 1.0.0
+ */
+public interface FeignClientMetrics {
+
+    /**
+     * The no-op {@link FeignClientMetrics}
+     */
+    FeignClientMetrics NOOP = new FeignClientMetrics() {
+    };
+
+    /**
+     * Records the duration of the encoding
+     *
+     * @param durationNanos the duration in nanoseconds
+     * @param failed        whether the encoding failed or not
+     */
+    default void recordEncode(long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records the duration of the decoding
+     *
+     * @param durationNanos the duration in nanoseconds
+     * @param failed        whether the decoding failed or not
+     */
+    default void recordDecode(long durationNanos, boolean failed) {
+    }
+
+    /**
+     * Records the outcome of the error decoding
+     *
+     * @param exception the decoded {@link Exception}, the {@link RetryableException} means retryable
+     */
+    default void recordErrorDecode(Exception exception) {
+    }
+
+    /**
+     * Records the retry attempt
+     *
+     * @param retried <code>true</code> if the retry will be attempted, <code>false</code> if the retries are exhausted
+     */
+    default void recordRetry(boolean retried) {
+    }
+}
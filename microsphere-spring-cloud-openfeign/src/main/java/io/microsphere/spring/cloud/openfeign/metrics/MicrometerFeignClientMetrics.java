@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.metrics;
+
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.BeanFactory;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The {@link FeignClientMetrics} based on Micrometer, all meters are tagged by the Feign client context ID
+ * and registered once in the constructor, thus recording does not build any tag per call.
+ *
+ * <table>
+ *     <tr><th>Meter</th><th>Type</th><th>Tags</th></tr>
+ *     <tr><td>{@value #ENCODE_METRIC_NAME}</td><td>{@link Timer}</td><td>contextId, outcome(success, failure)</td></tr>
+ *     <tr><td>{@value #DECODE_METRIC_NAME}</td><td>{@link Timer}</td><td>contextId, outcome(success, failure)</td></tr>
+ *     <tr><td>{@value #ERROR_DECODE_METRIC_NAME}</td><td>{@link Counter}</td><td>contextId, outcome(retryable, non-retryable)</td></tr>
+ *     <tr><td>{@value #RETRY_METRIC_NAME}</td><td>{@link Counter}</td><td>contextId, outcome(retried, exhausted)</td></tr>
+ * </table>
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ * FeignClientMetrics metrics = new MicrometerFeignClientMetrics(meterRegistry, "my-client");
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FeignClientMetrics
+ * @since 1.0.0
+ */
+public class MicrometerFeignClientMetrics implements FeignClientMetrics {
+
+    /**
+     * The prefix of the metric names : "microsphere.feign.client."
+     */
+    public static final String METRIC_NAME_PREFIX = "microsphere.feign.client.";
+
+    /**
+     * The metric name of the encoding : "microsphere.feign.client.encode"
+     */
+    public static final String ENCODE_METRIC_NAME = METRIC_NAME_PREFIX + "encode";
+
+    /**
+     * The metric name of the decoding : "microsphere.feign.client.decode"
+     */
+    public static final String DECODE_METRIC_NAME = METRIC_NAME_PREFIX + "decode";
+
+    /**
+     * The metric name of the error decoding : "microsphere.feign.client.error-decode"
+     */
+    public static final String ERROR_DECODE_METRIC_NAME = METRIC_NAME_PREFIX + "error-decode";
+
+    /**
+     * The metric name of the retries : "microsphere.feign.client.retry"
+     */
+    public static final String RETRY_METRIC_NAME = METRIC_NAME_PREFIX + "retry";
+
+    /**
+     * The tag name of the Feign client context ID : "contextId"
+     */
+    public static final String CONTEXT_ID_TAG_NAME = "contextId";
+
+    /**
+     * The tag name of the outcome : "outcome"
+     */
+    public static final String OUTCOME_TAG_NAME = "outcome";
+
+    private final Timer encodeSuccessTimer;
+
+    private final Timer encodeFailureTimer;
+
+    private final Timer decodeSuccessTimer;
+
+    private final Timer decodeFailureTimer;
+
+    private final Counter retryableErrorCounter;
+
+    private final Counter nonRetryableErrorCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter exhaustedCounter;
+
+    /**
+     * Constructs a {@link MicrometerFeignClientMetrics} registering the meters of the given Feign client.
+     *
+     * @param meterRegistry the {@link MeterRegistry}
+     * @param contextId     the Feign client context ID
+     */
+    public MicrometerFeignClientMetrics(MeterRegistry meterRegistry, String contextId) {
+        this.encodeSuccessTimer = timer(meterRegistry, ENCODE_METRIC_NAME, contextId, "success");
+        this.encodeFailureTimer = timer(meterRegistry, ENCODE_METRIC_NAME, contextId, "failure");
+        this.decodeSuccessTimer = timer(meterRegistry, DECODE_METRIC_NAME, contextId, "success");
+        this.decodeFailureTimer = timer(meterRegistry, DECODE_METRIC_NAME, contextId, "failure");
+        this.retryableErrorCounter = counter(meterRegistry, ERROR_DECODE_METRIC_NAME, contextId, "retryable");
+        this.nonRetryableErrorCounter = counter(meterRegistry, ERROR_DECODE_METRIC_NAME, contextId, "non-retryable");
+        this.retriedCounter = counter(meterRegistry, RETRY_METRIC_NAME, contextId, "retried");
+        this.exhaustedCounter = counter(meterRegistry, RETRY_METRIC_NAME, contextId, "exhausted");
+    }
+
+    @Override
+    public void recordEncode(long durationNanos, boolean failed) {
+        (failed ? this.encodeFailureTimer : this.encodeSuccessTimer).record(durationNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void recordDecode(long durationNanos, boolean failed) {
+        (failed ? this.decodeFailureTimer : this.decodeSuccessTimer).record(durationNanos, NANOSECONDS);
+    }
+
+    @Override
+    public void recordErrorDecode(Exception exception) {
+        (exception instanceof RetryableException ? this.retryableErrorCounter : this.nonRetryableErrorCounter).increment();
+    }
+
+    @Override
+    public void recordRetry(boolean retried) {
+        (retried ? this.retriedCounter : this.exhaustedCounter).increment();
+    }
+
+    /**
+     * Creates the {@link FeignClientMetrics} from the {@link MeterRegistry} bean of the given {@link BeanFactory}.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     * FeignClientMetrics metrics = MicrometerFeignClientMetrics.create(applicationContext, "my-client");
+     * }</pre>
+     *
+     * @param beanFactory the {@link BeanFactory}
+     * @param contextId   the Feign client context ID
+     * @return {@link FeignClientMetrics#NOOP} if the {@link MeterRegistry} bean is absent
+     */
+    public static FeignClientMetrics create(BeanFactory beanFactory, String contextId) {
+        MeterRegistry meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class).getIfAvailable();
+        return meterRegistry == null ? NOOP : new MicrometerFeignClientMetrics(meterRegistry, contextId);
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String name, String contextId, String outcome) {
+        return Timer.builder(name)
+                .tag(CONTEXT_ID_TAG_NAME, contextId)
+                .tag(OUTCOME_TAG_NAME, outcome)
+                .register(meterRegistry);
+    }
+
+    static Counter counter(MeterRegistry meterRegistry, String name, String contextId, String outcome) {
+        return Counter.builder(name)
+                .tag(CONTEXT_ID_TAG_NAME, contextId)
+                .tag(OUTCOME_TAG_NAME, outcome)
+                .register(meterRegistry);
+    }
+}
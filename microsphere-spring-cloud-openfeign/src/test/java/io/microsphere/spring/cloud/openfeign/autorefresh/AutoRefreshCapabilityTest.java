@@ -17,22 +17,43 @@
 
 package io.microsphere.spring.cloud.openfeign.autorefresh;
 
+import feign.Client;
 import feign.Contract;
+import feign.Feign;
+import feign.MethodMetadata;
 import feign.QueryMapEncoder;
 import feign.RequestInterceptor;
+import feign.RequestLine;
 import feign.Retryer;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
 import feign.codec.ErrorDecoder;
+import io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache;
+import io.microsphere.spring.cloud.openfeign.components.RetryBudget;
+import io.microsphere.spring.cloud.openfeign.components.RetryBudgetClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.openfeign.FeignClientFactory;
 import org.springframework.cloud.openfeign.FeignClientProperties;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static io.microsphere.spring.cloud.openfeign.autorefresh.AutoRefreshCapability.resolveEncodedBodyCache;
+import static io.microsphere.spring.cloud.openfeign.autorefresh.AutoRefreshCapability.resolveRetryBudget;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_RATIO_PROPERTY_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * {@link AutoRefreshCapability} Test
@@ -84,5 +105,98 @@ class AutoRefreshCapabilityTest {
         assertNull(this.capability.enrich((ErrorDecoder) null));
         assertNull(this.capability.enrich((RequestInterceptor) null));
         assertNull(this.capability.enrich((QueryMapEncoder) null));
+        assertNull(this.capability.enrich((Client) null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEnrichOnClient() {
+        Client client = (request, options) -> null;
+        assertSame(client, this.capability.enrich(client));
+
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(RETRY_BUDGET_ENABLED_PROPERTY_NAME, "true");
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setEnvironment(environment);
+        context.refresh();
+        this.capability.setApplicationContext(context);
+
+        Client enriched = this.capability.enrich(client);
+        assertInstanceOf(RetryBudgetClient.class, enriched);
+        assertSame(client, ((RetryBudgetClient) enriched).getDelegate());
+        context.close();
+    }
+
+    @Test
+    void testEnrichOnContract() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty("spring.cloud.openfeign.client.name", this.contextId);
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.setEnvironment(environment);
+        context.refresh();
+        this.capability.setApplicationContext(context);
+
+        CountingContract contract = new CountingContract();
+        Client client = (request, options) -> null;
+        // the MethodMetadata is parsed once across the builds
+        for (int i = 0; i < 2; i++) {
+            Feign.builder()
+                    .client(client)
+                    .contract(contract)
+                    .addCapability(this.capability)
+                    .target(TestApi.class, "http://localhost");
+        }
+        assertEquals(1, contract.parsed.get());
+        context.close();
+    }
+
+    @Test
+    void testResolveRetryBudget() {
+        MockEnvironment environment = new MockEnvironment();
+        assertNull(resolveRetryBudget(environment));
+
+        environment.setProperty(RETRY_BUDGET_ENABLED_PROPERTY_NAME, "true");
+        RetryBudget retryBudget = resolveRetryBudget(environment);
+        assertEquals(0.2, retryBudget.getRatio());
+        assertEquals(20, retryBudget.getMaxRetries());
+
+        environment.setProperty(RETRY_BUDGET_RATIO_PROPERTY_NAME, "0.5");
+        environment.setProperty(RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME, "5");
+        retryBudget = resolveRetryBudget(environment);
+        assertEquals(0.5, retryBudget.getRatio());
+        assertEquals(5, retryBudget.getMaxRetries());
+    }
+
+    @Test
+    void testResolveEncodedBodyCache() {
+        MockEnvironment environment = new MockEnvironment();
+        assertNull(resolveEncodedBodyCache(environment, null));
+
+        environment.setProperty(ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME, "true");
+        EncodedBodyCache encodedBodyCache = resolveEncodedBodyCache(environment, null);
+        assertEquals(256, encodedBodyCache.getMaxEntries());
+        assertEquals(1024 * 1024L, encodedBodyCache.getMaxWeight());
+
+        environment.setProperty(ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME, "8");
+        environment.setProperty(ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME, "1024");
+        encodedBodyCache = resolveEncodedBodyCache(environment, object -> object);
+        assertEquals(8, encodedBodyCache.getMaxEntries());
+        assertEquals(1024, encodedBodyCache.getMaxWeight());
+    }
+
+    interface TestApi {
+
+        @RequestLine("GET /get")
+        String get();
+    }
+
+    static class CountingContract extends Contract.Default {
+
+        private final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType) {
+            parsed.incrementAndGet();
+            return super.parseAndValidateMetadata(targetType);
+        }
+    }
+}
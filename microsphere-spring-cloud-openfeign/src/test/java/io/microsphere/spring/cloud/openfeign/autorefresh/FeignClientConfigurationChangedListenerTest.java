@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.autorefresh;
+
+import io.microsphere.spring.cloud.openfeign.autorefresh.FeignComponentRegistryTest.TestDecoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Map;
+import java.util.Set;
+
+import static io.microsphere.collection.Sets.ofSet;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FeignClientConfigurationChangedListener} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FeignClientConfigurationChangedListener
+ * @since 1.0.0
+ */
+class FeignClientConfigurationChangedListenerTest {
+
+    private static final String PREFIX = "spring.cloud.openfeign.client.config.";
+
+    private String clientName;
+
+    private GenericApplicationContext context;
+
+    private FeignComponentRegistry registry;
+
+    private TestDecoder decoder;
+
+    private FeignClientConfigurationChangedListener listener;
+
+    @BeforeEach
+    void setUp() {
+        this.clientName = "test-client";
+        this.context = new GenericApplicationContext();
+        this.context.refresh();
+        this.registry = new FeignComponentRegistry("default", this.context);
+        this.decoder = new TestDecoder();
+        this.registry.register(this.clientName, this.decoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (this.listener != null) {
+            this.listener.destroy();
+        }
+        this.context.close();
+    }
+
+    @Test
+    void testResolveChangedClient() {
+        this.listener = new FeignClientConfigurationChangedListener(this.registry);
+        Map<String, Set<String>> changedClients = this.listener.resolveChangedClient(newEvent("decoder", "encoder"));
+        assertEquals(ofSet("test-client.decoder", "test-client.encoder"), changedClients.get(this.clientName));
+        assertEquals(1, changedClients.size());
+    }
+
+    @Test
+    void testOnApplicationEvent() {
+        this.listener = new FeignClientConfigurationChangedListener(this.registry);
+        assertEquals(0, this.listener.getDebounceWindow());
+
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        assertEquals(2, this.decoder.refreshed);
+        assertEquals(0, this.listener.getCoalescedEvents());
+    }
+
+    @Test
+    void testOnApplicationEventOnDebounce() throws Exception {
+        this.listener = new FeignClientConfigurationChangedListener(this.registry, 500);
+        assertEquals(500, this.listener.getDebounceWindow());
+
+        this.listener.onApplicationEvent(newEvent("encoder"));
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        this.listener.onApplicationEvent(newEvent("retryer"));
+        this.listener.onApplicationEvent(new EnvironmentChangeEvent(ofSet("unknown")));
+        assertEquals(0, this.decoder.refreshed);
+        assertEquals(2, this.listener.getCoalescedEvents());
+
+        awaitRefreshed(1);
+
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        awaitRefreshed(2);
+        assertEquals(2, this.listener.getCoalescedEvents());
+    }
+
+    @Test
+    void testDestroy() {
+        this.listener = new FeignClientConfigurationChangedListener(this.registry);
+        this.listener.destroy();
+
+        this.listener = new FeignClientConfigurationChangedListener(this.registry, 500);
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        this.listener.destroy();
+        assertEquals(0, this.decoder.refreshed);
+    }
+
+    @Test
+    void testOnApplicationEventAfterDestroy() throws Exception {
+        this.listener = new FeignClientConfigurationChangedListener(this.registry, 10);
+        this.listener.destroy();
+
+        // the change is ignored rather than rejected
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        this.listener.onApplicationEvent(newEvent("decoder"));
+        sleep(50);
+        assertEquals(0, this.decoder.refreshed);
+        assertEquals(0, this.listener.getCoalescedEvents());
+    }
+
+    private void awaitRefreshed(int refreshed) throws InterruptedException {
+        long deadline = currentTimeMillis() + 5000;
+        while (this.decoder.refreshed < refreshed && currentTimeMillis() < deadline) {
+            sleep(10);
+        }
+        assertEquals(refreshed, this.decoder.refreshed);
+    }
+
+    private EnvironmentChangeEvent newEvent(String... configs) {
+        String[] keys = new String[configs.length];
+        for (int i = 0; i < configs.length; i++) {
+            keys[i] = PREFIX + this.clientName + "." + configs[i];
+        }
+        return new EnvironmentChangeEvent(ofSet(keys));
+    }
+}
@@ -20,6 +20,7 @@ package io.microsphere.spring.cloud.openfeign.autorefresh;
 import feign.Contract;
 import feign.QueryMapEncoder;
 import feign.RequestInterceptor;
+import feign.RequestTemplate;
 import feign.Retryer;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
@@ -30,8 +31,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.support.GenericApplicationContext;
 
+import java.lang.reflect.Type;
 import java.util.List;
 
+import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.spring.cloud.openfeign.autorefresh.FeignComponentRegistry.getComponentClass;
 import static io.microsphere.spring.cloud.openfeign.components.NoOpRequestInterceptor.INSTANCE;
 import static java.util.Collections.emptyList;
@@ -153,6 +156,50 @@ class FeignComponentRegistryTest {
         testRefresh("test-client-2");
     }
 
+    @Test
+    void testRefreshOnIndexedComponents() {
+        String clientName = "test-client-2";
+        TestDecoder defaultDecoder = new TestDecoder();
+        TestDecoder decoder = new TestDecoder();
+        TestCodec codec = new TestCodec();
+
+        this.registry.register(this.clientName, defaultDecoder);
+        this.registry.register(clientName, ofList(decoder, codec));
+
+        assertEquals(ofList(defaultDecoder), this.registry.getRefreshableComponents(this.clientName, Decoder.class));
+        assertEquals(ofList(decoder, codec), this.registry.getRefreshableComponents(clientName, Decoder.class));
+        assertEquals(ofList(codec), this.registry.getRefreshableComponents(clientName, Encoder.class));
+        assertTrue(this.registry.getRefreshableComponents(clientName, Retryer.class).isEmpty());
+        assertTrue(this.registry.getRefreshableComponents("unknown", Decoder.class).isEmpty());
+
+        // only the components of the specified client
+        this.registry.refresh(clientName, "decoder");
+        assertEquals(0, defaultDecoder.refreshed);
+        assertEquals(1, decoder.refreshed);
+        assertEquals(1, codec.refreshed);
+
+        // only the components of the changed component class
+        this.registry.refresh(clientName, clientName + ".encoder");
+        assertEquals(1, decoder.refreshed);
+        assertEquals(2, codec.refreshed);
+
+        // the component implements multiple component classes is refreshed once
+        this.registry.refresh(clientName, "decoder", "encoder");
+        assertEquals(2, decoder.refreshed);
+        assertEquals(3, codec.refreshed);
+
+        // all clients for the default client
+        this.registry.refresh(this.clientName, "decoder");
+        assertEquals(1, defaultDecoder.refreshed);
+        assertEquals(3, decoder.refreshed);
+        assertEquals(4, codec.refreshed);
+
+        this.registry.refresh(this.clientName, "retryer", "unknown");
+        assertEquals(1, defaultDecoder.refreshed);
+        assertEquals(3, decoder.refreshed);
+        assertEquals(4, codec.refreshed);
+    }
+
     void testRefresh(String clientName) {
         this.registry.refresh(clientName, "unknown");
         this.registry.refresh(clientName, "retryer");
@@ -163,4 +210,21 @@ class FeignComponentRegistryTest {
         this.registry.refresh(clientName, "error-decoder[0]", "decoder[0]", "encoder[0]");
         this.registry.refresh(clientName, "request-interceptors[0]", "default-request-headers[0]", "default-query-parameters[0]");
     }
-}
\ No newline at end of file
+
+    static class TestDecoder extends Decoder.Default implements Refreshable {
+
+        volatile int refreshed;
+
+        @Override
+        public void refresh() {
+            refreshed++;
+        }
+    }
+
+    static class TestCodec extends TestDecoder implements Encoder {
+
+        @Override
+        public void encode(Object object, Type bodyType, RequestTemplate template) {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static feign.Request.HttpMethod.GET;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StreamingDecoder} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see StreamingDecoder
+ * @since 1.0.0
+ */
+class StreamingDecoderTest {
+
+    private final Decoder delegate = new Decoder.Default();
+
+    private final StreamingDecoder decoder = new StreamingDecoder(delegate, new ObjectMapper());
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    Stream<User> stream;
+
+    Iterator<User> iterator;
+
+    Flux<User> flux;
+
+    List<User> list;
+
+    @Test
+    void testDecodeStream() throws Exception {
+        try (Stream<User> users = (Stream<User>) decode("[{\"name\":\"a\"},{\"name\":\"b\"}]", "stream")) {
+            assertFalse(closed.get());
+            assertEquals("a,b", users.map(user -> user.name).collect(Collectors.joining(",")));
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testDecodeIterator() throws Exception {
+        Iterator<User> users = (Iterator<User>) decode("[{\"name\":\"a\"}]", "iterator");
+        assertTrue(users.hasNext());
+        assertEquals("a", users.next().name);
+        assertFalse(closed.get());
+        assertFalse(users.hasNext());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testDecodeFlux() throws Exception {
+        Flux<User> users = (Flux<User>) decode("[{\"name\":\"a\"},{\"name\":\"b\"}]", "flux");
+        assertEquals(2, users.count().block());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testDecodeOnEmptyBody() throws Exception {
+        Iterator<User> users = (Iterator<User>) decode("", "iterator");
+        assertFalse(users.hasNext());
+        assertTrue(closed.get());
+
+        users = (Iterator<User>) decode("[]", "iterator");
+        assertFalse(users.hasNext());
+    }
+
+    @Test
+    void testDecodeOnNonArray() {
+        assertThrows(DecodeException.class, () -> decode("{\"name\":\"a\"}", "iterator"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testDecodeOnNonStreamingType() throws Exception {
+        assertEquals("[]", decoder.decode(createResponse("[]"), String.class));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testGetStreamingType() throws Exception {
+        assertSame(Stream.class, StreamingDecoder.getStreamingType(genericType("stream")));
+        assertSame(Iterator.class, StreamingDecoder.getStreamingType(genericType("iterator")));
+        assertSame(Flux.class, StreamingDecoder.getStreamingType(genericType("flux")));
+        assertNull(StreamingDecoder.getStreamingType(genericType("list")));
+        assertNull(StreamingDecoder.getStreamingType(Stream.class));
+    }
+
+    @Test
+    void testGetDelegate() {
+        assertSame(delegate, decoder.getDelegate());
+    }
+
+    @Test
+    void testCapability() {
+        StreamingDecodeCapability capability = new StreamingDecodeCapability(new ObjectMapper());
+        Decoder enriched = capability.enrich(delegate);
+        assertTrue(enriched instanceof StreamingDecoder);
+        assertSame(delegate, ((StreamingDecoder) enriched).getDelegate());
+        assertSame(enriched, capability.enrich(enriched));
+        assertNull(capability.enrich(null));
+    }
+
+    private Object decode(String json, String fieldName) throws Exception {
+        return decoder.decode(createResponse(json), genericType(fieldName));
+    }
+
+    private Type genericType(String fieldName) throws NoSuchFieldException {
+        return StreamingDecoderTest.class.getDeclaredField(fieldName).getGenericType();
+    }
+
+    private Response createResponse(String json) {
+        byte[] bytes = json.getBytes(UTF_8);
+        Request request = Request.create(GET, "http://localhost", emptyMap(), null, UTF_8, new RequestTemplate());
+        return Response.builder()
+                .status(200)
+                .request(request)
+                .body(new ByteArrayInputStream(bytes) {
+
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        closed.set(true);
+                    }
+                }, bytes.length)
+                .build();
+    }
+
+    static class User {
+
+        public String name;
+    }
+}
@@ -28,10 +28,16 @@ import org.springframework.context.support.GenericApplicationContext;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static io.microsphere.collection.ListUtils.newLinkedList;
 import static io.microsphere.spring.cloud.openfeign.components.NoOpRequestInterceptor.INSTANCE;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -101,6 +107,57 @@ class CompositedRequestInterceptorTest {
         this.interceptor.apply(template);
     }
 
+    @Test
+    void testApplyInOrder() {
+        this.interceptor.addRequestInterceptor(template -> template.header(TEST_NAME, "1"));
+        this.interceptor.addRequestInterceptor(template -> template.header(TEST_NAME, "2"));
+        RequestTemplate template = new RequestTemplate();
+        this.interceptor.apply(template);
+        assertEquals("1,2", String.join(",", template.headers().get(TEST_NAME)));
+    }
+
+    @Test
+    void testGetRequestInterceptorsSnapshot() {
+        Set<RequestInterceptor> requestInterceptors = this.interceptor.getRequestInterceptors();
+        this.interceptor.addRequestInterceptor(INSTANCE);
+        assertTrue(requestInterceptors.isEmpty());
+        assertEquals(1, this.interceptor.getRequestInterceptors().size());
+    }
+
+    @Test
+    void testApplyOnConcurrentRefresh() throws Exception {
+        initFeignClientConfiguration(getCurrentConfiguration());
+        this.interceptor.refresh();
+        int threads = 4;
+        int times = 1000;
+        ExecutorService executorService = newFixedThreadPool(threads + 1);
+        CountDownLatch latch = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        executorService.execute(() -> {
+            while (latch.getCount() > 0) {
+                this.interceptor.refresh();
+            }
+        });
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                try {
+                    for (int j = 0; j < times; j++) {
+                        RequestTemplate template = new RequestTemplate();
+                        this.interceptor.apply(template);
+                        assertTrue(template.headers().containsKey(TEST_NAME));
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        assertNull(failure.get());
+    }
+
     @Test
     void testRefresh() {
         this.interceptor.refresh();
@@ -127,6 +184,38 @@ class CompositedRequestInterceptorTest {
         this.interceptor.apply(template);
     }
 
+    @Test
+    void testGetAppliedDefaults() {
+        assertEquals(0, this.interceptor.getAppliedDefaultRequestHeaders());
+        assertEquals(0, this.interceptor.getAppliedDefaultQueryParameters());
+
+        initFeignClientConfiguration(getDefaultConfiguration());
+        this.interceptor.refresh();
+
+        RequestTemplate template = new RequestTemplate();
+        this.interceptor.apply(template);
+        assertEquals(1, this.interceptor.getAppliedDefaultRequestHeaders());
+        assertEquals(1, this.interceptor.getAppliedDefaultQueryParameters());
+        assertTrue(template.headers().get(TEST_NAME).contains(TEST_VALUE));
+        assertTrue(template.queries().get(TEST_NAME).contains(TEST_VALUE));
+
+        // the existed header and query parameter are not overridden
+        template = new RequestTemplate();
+        template.header(TEST_NAME, "header");
+        template.query(TEST_NAME, "query");
+        this.interceptor.apply(template);
+        assertEquals(1, this.interceptor.getAppliedDefaultRequestHeaders());
+        assertEquals(1, this.interceptor.getAppliedDefaultQueryParameters());
+        assertEquals(1, template.headers().get(TEST_NAME).size());
+        assertEquals(1, template.queries().get(TEST_NAME).size());
+
+        // the counters survive the refresh
+        this.interceptor.refresh();
+        this.interceptor.apply(new RequestTemplate());
+        assertEquals(2, this.interceptor.getAppliedDefaultRequestHeaders());
+        assertEquals(2, this.interceptor.getAppliedDefaultQueryParameters());
+    }
+
     void initFeignClientConfiguration(FeignClientConfiguration configuration) {
         addRequestInterceptor(configuration, NoOpRequestInterceptor.class);
 
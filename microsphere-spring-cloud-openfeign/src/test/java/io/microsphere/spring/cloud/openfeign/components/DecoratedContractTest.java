@@ -25,8 +25,11 @@ import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConf
 import org.springframework.cloud.openfeign.support.SpringMvcContract;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * {@link DecoratedContract} Test
@@ -53,6 +56,44 @@ class DecoratedContractTest extends DecoratedFeignComponentTest<Contract, Decora
                 this.decoratedComponent.parseAndValidateMetadata(BaseClient.class));
     }
 
+    @Test
+    void testParseAndValidateMetadataOnCache() {
+        TestContract.parsed.set(0);
+        DecoratedContract contract = new DecoratedContract(this.contextId, this.contextFactory, this.clientProperties, new TestContract());
+        MethodMetadataCache methodMetadataCache = new MethodMetadataCache();
+        contract.setMethodMetadataCache(methodMetadataCache);
+        assertSame(methodMetadataCache, contract.getMethodMetadataCache());
+
+        List<MethodMetadata> methodMetadataList = contract.parseAndValidateMetadata(BaseClient.class);
+        assertMethodMetadataList(methodMetadataList, contract.parseAndValidateMetadata(BaseClient.class));
+        assertEquals(1, TestContract.parsed.get());
+
+        // the cache is kept if the class of the rebuilt delegate is not changed
+        initCurrentConfiguration();
+        configureDelegateClass(contract.getCurrentConfiguration(), (Class) TestContract.class);
+        contract.refresh();
+        assertMethodMetadataList(methodMetadataList, contract.parseAndValidateMetadata(BaseClient.class));
+        assertEquals(1, TestContract.parsed.get());
+
+        // the cache is invalidated if the class of the rebuilt delegate is changed
+        configureDelegateClass(contract.getCurrentConfiguration(), (Class) AnotherTestContract.class);
+        contract.refresh();
+        assertMethodMetadataList(methodMetadataList, contract.parseAndValidateMetadata(BaseClient.class));
+        assertEquals(2, TestContract.parsed.get());
+        assertMethodMetadataList(methodMetadataList, contract.parseAndValidateMetadata(BaseClient.class));
+        assertEquals(2, TestContract.parsed.get());
+    }
+
+    @Test
+    void testParseAndValidateMetadataWithoutCache() {
+        TestContract.parsed.set(0);
+        DecoratedContract contract = new DecoratedContract(this.contextId, this.contextFactory, this.clientProperties, new TestContract());
+        assertNull(contract.getMethodMetadataCache());
+        contract.parseAndValidateMetadata(BaseClient.class);
+        contract.parseAndValidateMetadata(BaseClient.class);
+        assertEquals(2, TestContract.parsed.get());
+    }
+
     void assertMethodMetadataList(List<MethodMetadata> one, List<MethodMetadata> another) {
         assertEquals(one.size(), another.size());
         for (int i = 0; i < one.size(); i++) {
@@ -65,4 +106,18 @@ class DecoratedContractTest extends DecoratedFeignComponentTest<Contract, Decora
     void assertMethodMetadata(MethodMetadata one, MethodMetadata another) {
         assertEquals(one.method(), another.method());
     }
-}
\ No newline at end of file
+
+    static class TestContract extends SpringMvcContract {
+
+        static final AtomicInteger parsed = new AtomicInteger();
+
+        @Override
+        public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType) {
+            parsed.incrementAndGet();
+            return super.parseAndValidateMetadata(targetType);
+        }
+    }
+
+    static class AnotherTestContract extends TestContract {
+    }
+}
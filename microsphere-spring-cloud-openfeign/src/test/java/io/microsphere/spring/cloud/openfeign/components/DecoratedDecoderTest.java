@@ -19,6 +19,8 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import feign.Response;
 import feign.codec.Decoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
@@ -27,6 +29,9 @@ import org.springframework.cloud.openfeign.support.SpringDecoder;
 
 import java.io.IOException;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.CONTEXT_ID_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.DECODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.OUTCOME_TAG_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -55,4 +60,13 @@ class DecoratedDecoderTest extends DecoratedFeignComponentTest<Decoder, Decorate
         Response response = createTestResponse();
         assertEquals(this.decoratedComponent.decode(response, String.class), this.delegate.decode(response, String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDecodeOnMetrics() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        this.decoratedComponent.setMetrics(new MicrometerFeignClientMetrics(meterRegistry, this.contextId));
+        this.decoratedComponent.decode(createTestResponse(), String.class);
+        assertEquals(1, meterRegistry.get(DECODE_METRIC_NAME).tag(CONTEXT_ID_TAG_NAME, this.contextId)
+                .tag(OUTCOME_TAG_NAME, "success").timer().count());
+    }
+}
@@ -19,13 +19,21 @@ package io.microsphere.spring.cloud.openfeign.components;
 
 import feign.RequestTemplate;
 import feign.codec.Encoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
 import org.springframework.cloud.openfeign.support.SpringEncoder;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.CONTEXT_ID_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.ENCODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.OUTCOME_TAG_NAME;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * {@link DecoratedEncoder} Test
@@ -56,4 +64,34 @@ class DecoratedEncoderTest extends DecoratedFeignComponentTest<Encoder, Decorate
         byte[] body = template.body();
         assertArrayEquals(value.getBytes(template.requestCharset()), body);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEncodeOnMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        this.decoratedComponent.setMetrics(new MicrometerFeignClientMetrics(meterRegistry, this.contextId));
+        this.decoratedComponent.encode("Test", String.class, new RequestTemplate());
+        assertEquals(1, meterRegistry.get(ENCODE_METRIC_NAME).tag(CONTEXT_ID_TAG_NAME, this.contextId)
+                .tag(OUTCOME_TAG_NAME, "success").timer().count());
+        assertEquals(0, meterRegistry.get(ENCODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "failure").timer().count());
+    }
+
+    @Test
+    void testEncodeOnEncodedBodyCache() {
+        assertNull(this.decoratedComponent.getEncodedBodyCache());
+        EncodedBodyCache encodedBodyCache = new EncodedBodyCache(8, 1024, String::valueOf);
+        this.decoratedComponent.setEncodedBodyCache(encodedBodyCache);
+        assertSame(encodedBodyCache, this.decoratedComponent.getEncodedBodyCache());
+
+        String value = "Test";
+        RequestTemplate template = new RequestTemplate();
+        this.decoratedComponent.encode(value, String.class, template);
+        RequestTemplate cachedTemplate = new RequestTemplate();
+        this.decoratedComponent.encode(value, String.class, cachedTemplate);
+        assertArrayEquals(template.body(), cachedTemplate.body());
+        assertEquals(1, encodedBodyCache.getHits());
+        assertEquals(1, encodedBodyCache.getMisses());
+
+        this.decoratedComponent.refresh();
+        assertEquals(0, encodedBodyCache.size());
+    }
+}
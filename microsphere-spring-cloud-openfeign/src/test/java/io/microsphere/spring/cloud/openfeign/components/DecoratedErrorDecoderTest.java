@@ -20,9 +20,15 @@ package io.microsphere.spring.cloud.openfeign.components;
 import feign.Response;
 import feign.codec.ErrorDecoder;
 import feign.codec.ErrorDecoder.Default;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
 
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.CONTEXT_ID_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.ERROR_DECODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.OUTCOME_TAG_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -49,4 +55,14 @@ class DecoratedErrorDecoderTest extends DecoratedFeignComponentTest<ErrorDecoder
         Response response = createTestResponse();
         assertTrue(this.decoratedComponent.decode("echo", response) instanceof Exception);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDecodeOnMetrics() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        this.decoratedComponent.setMetrics(new MicrometerFeignClientMetrics(meterRegistry, this.contextId));
+        this.decoratedComponent.decode("echo", createTestResponse());
+        assertEquals(1, meterRegistry.get(ERROR_DECODE_METRIC_NAME).tag(CONTEXT_ID_TAG_NAME, this.contextId)
+                .tag(OUTCOME_TAG_NAME, "non-retryable").counter().count());
+        assertEquals(0, meterRegistry.get(ERROR_DECODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "retryable").counter().count());
+    }
+}
@@ -31,6 +31,7 @@ import org.springframework.cloud.openfeign.FeignClientSpecification;
 import org.springframework.core.ResolvableType;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static feign.Request.HttpMethod.GET;
 import static feign.Request.create;
@@ -40,7 +41,9 @@ import static io.microsphere.util.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.core.ResolvableType.forClass;
@@ -119,6 +122,61 @@ abstract class DecoratedFeignComponentTest<C, D extends DecoratedFeignComponent<
         assertEquals(this.decoratedComponent.toString(), this.delegate.toString());
     }
 
+    @Test
+    void testRefresh() {
+        assertFalse(this.decoratedComponent.isEagerRefresh());
+        this.decoratedComponent.refresh();
+        // the previous delegate is kept until rebuilt
+        assertSame(this.delegate, this.decoratedComponent.delegate);
+
+        C delegate = this.decoratedComponent.delegate();
+        assertNotNull(delegate);
+        assertNotSame(this.delegate, delegate);
+        assertSame(delegate, this.decoratedComponent.delegate());
+    }
+
+    @Test
+    void testRefreshOnEager() {
+        this.decoratedComponent.setEagerRefresh(true);
+        assertTrue(this.decoratedComponent.isEagerRefresh());
+        this.decoratedComponent.refresh();
+
+        C delegate = this.decoratedComponent.delegate;
+        assertNotNull(delegate);
+        assertNotSame(this.delegate, delegate);
+        assertSame(delegate, this.decoratedComponent.delegate());
+    }
+
+    @Test
+    void testRefreshOnFailure() {
+        AtomicInteger loads = new AtomicInteger();
+        DecoratedFeignComponent<C> component = new DecoratedFeignComponent<C>(this.contextId, this.contextFactory,
+                this.clientProperties, this.delegate) {
+            @Override
+            protected Class<? extends C> componentType() {
+                return componentClass;
+            }
+
+            @Override
+            protected C loadInstance() {
+                loads.incrementAndGet();
+                throw new IllegalStateException("For testing");
+            }
+        };
+
+        component.refresh();
+        // backs off until the next refresh
+        for (int i = 0; i < 3; i++) {
+            assertSame(this.delegate, component.delegate());
+        }
+        assertEquals(1, loads.get());
+
+        component.refresh();
+        assertSame(this.delegate, component.delegate());
+        assertSame(this.delegate, component.delegate());
+        assertEquals(2, loads.get());
+    }
+
     @Test
     void testLoadInstanceFromContextFactory() {
         String contextId = this.decoratedComponent.contextId();
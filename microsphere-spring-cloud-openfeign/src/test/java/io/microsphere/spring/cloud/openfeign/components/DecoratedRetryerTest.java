@@ -21,15 +21,28 @@ import feign.Request;
 import feign.RetryableException;
 import feign.Retryer;
 import feign.Retryer.Default;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedRetryer.DelegatingRetryer;
+import io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.openfeign.FeignClientProperties.FeignClientConfiguration;
 
 import java.util.Date;
 
 import static feign.Request.HttpMethod.GET;
+import static feign.Retryer.NEVER_RETRY;
 import static io.microsphere.spring.cloud.openfeign.components.DecoratedRetryer.continueOrPropagate;
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.CONTEXT_ID_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.OUTCOME_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.RETRY_METRIC_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link DecoratedRetryer} Test
@@ -63,4 +76,57 @@ class DecoratedRetryerTest extends DecoratedFeignComponentTest<Retryer, Decorate
     void testClone() {
         assertNotNull(this.decoratedComponent.clone());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCloneOnMetrics() {
+        assertSame(NOOP, this.decoratedComponent.getMetrics());
+        assertFalse(this.decoratedComponent.clone() instanceof DelegatingRetryer);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        this.decoratedComponent.setMetrics(new MicrometerFeignClientMetrics(meterRegistry, this.contextId));
+        Retryer retryer = this.decoratedComponent.clone();
+        assertTrue(retryer instanceof DelegatingRetryer);
+        assertTrue(retryer.clone() instanceof DelegatingRetryer);
+
+        RetryableException e = new RetryableException(1, "error", GET, new Date(), createTestRequest());
+        retryer.continueOrPropagate(e);
+        assertEquals(1, meterRegistry.get(RETRY_METRIC_NAME).tag(CONTEXT_ID_TAG_NAME, this.contextId)
+                .tag(OUTCOME_TAG_NAME, "retried").counter().count());
+
+        DecoratedRetryer neverRetryer = new DecoratedRetryer(this.contextId, this.contextFactory, this.clientProperties, NEVER_RETRY);
+        neverRetryer.setMetrics(this.decoratedComponent.getMetrics());
+        assertThrows(RetryableException.class, () -> neverRetryer.continueOrPropagate(e));
+        assertEquals(1, meterRegistry.get(RETRY_METRIC_NAME).tag(OUTCOME_TAG_NAME, "exhausted").counter().count());
+
+        this.decoratedComponent.setMetrics(null);
+        assertSame(NOOP, this.decoratedComponent.getMetrics());
+    }
+
+    @Test
+    void testContinueOrPropagateOnRetryBudget() {
+        assertNull(this.decoratedComponent.getRetryBudget());
+        RetryBudget retryBudget = new RetryBudget(0.5, 1);
+        this.decoratedComponent.setRetryBudget(retryBudget);
+        assertSame(retryBudget, this.decoratedComponent.getRetryBudget());
+
+        Retryer retryer = this.decoratedComponent.clone();
+        assertTrue(retryer instanceof DelegatingRetryer);
+
+        RetryableException e = new RetryableException(1, "error", GET, new Date(), createTestRequest());
+        retryer.continueOrPropagate(e);
+        assertEquals(0.0, retryBudget.getBalance());
+
+        // the budget is exhausted
+        assertThrows(RetryableException.class, () -> retryer.continueOrPropagate(e));
+        assertEquals(1, retryBudget.getRejections());
+
+        // the token is refunded if the retryer propagates
+        retryBudget.deposit();
+        retryBudget.deposit();
+        DecoratedRetryer neverRetryer = new DecoratedRetryer(this.contextId, this.contextFactory, this.clientProperties, NEVER_RETRY);
+        neverRetryer.setRetryBudget(retryBudget);
+        assertThrows(RetryableException.class, () -> neverRetryer.continueOrPropagate(e));
+        assertEquals(1.0, retryBudget.getBalance());
+        assertEquals(1, retryBudget.getWithdrawals());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.RequestTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.spring.cloud.openfeign.components.DefaultValuesRequestInterceptor.headers;
+import static io.microsphere.spring.cloud.openfeign.components.DefaultValuesRequestInterceptor.queries;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DefaultValuesRequestInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DefaultValuesRequestInterceptor
+ * @since 1.0.0
+ */
+class DefaultValuesRequestInterceptorTest {
+
+    private final LongAdder counter = new LongAdder();
+
+    private Map<String, Collection<String>> newDefaultValues() {
+        Map<String, Collection<String>> defaultValues = new LinkedHashMap<>();
+        defaultValues.put("a", ofList("1"));
+        defaultValues.put("b", ofList("2", "3"));
+        return defaultValues;
+    }
+
+    @Test
+    void testHeaders() {
+        DefaultValuesRequestInterceptor interceptor = headers(newDefaultValues(), counter);
+        assertTrue(interceptor.isHeaders());
+        assertArrayEquals(new String[]{"a", "b"}, interceptor.getNames());
+
+        RequestTemplate template = new RequestTemplate();
+        template.header("a", "0");
+        interceptor.apply(template);
+
+        assertEquals(1, template.headers().get("a").size());
+        assertTrue(template.headers().get("a").contains("0"));
+        assertEquals(2, template.headers().get("b").size());
+        assertTrue(template.queries().isEmpty());
+        assertEquals(1, counter.sum());
+
+        interceptor.apply(new RequestTemplate());
+        assertEquals(3, counter.sum());
+    }
+
+    @Test
+    void testQueries() {
+        DefaultValuesRequestInterceptor interceptor = queries(newDefaultValues(), counter);
+        assertFalse(interceptor.isHeaders());
+        assertArrayEquals(new String[]{"a", "b"}, interceptor.getNames());
+
+        RequestTemplate template = new RequestTemplate();
+        template.query("b", "0");
+        interceptor.apply(template);
+
+        assertEquals(1, template.queries().get("a").size());
+        assertEquals(1, template.queries().get("b").size());
+        assertTrue(template.headers().isEmpty());
+        assertEquals(1, counter.sum());
+    }
+
+    @Test
+    void testOnEmpty() {
+        DefaultValuesRequestInterceptor interceptor = headers(new LinkedHashMap<>(), counter);
+        assertArrayEquals(new String[0], interceptor.getNames());
+        interceptor.apply(new RequestTemplate());
+        assertEquals(0, counter.sum());
+    }
+}
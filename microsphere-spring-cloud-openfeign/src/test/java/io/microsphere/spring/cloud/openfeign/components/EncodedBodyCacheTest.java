@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import io.microsphere.spring.cloud.openfeign.components.EncodedBodyCache.IdentityKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link EncodedBodyCache} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see EncodedBodyCache
+ * @since 1.0.0
+ */
+class EncodedBodyCacheTest {
+
+    private final AtomicInteger encoded = new AtomicInteger();
+
+    private final Encoder encoder = (object, bodyType, template) -> {
+        encoded.incrementAndGet();
+        template.header("Content-Type", "text/plain");
+        template.body(String.valueOf(object).getBytes(UTF_8), UTF_8);
+    };
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new EncodedBodyCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EncodedBodyCache(1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new EncodedBodyCache(1, 1, null));
+    }
+
+    @Test
+    void testEncode() {
+        EncodedBodyCache cache = new EncodedBodyCache(8, 1024);
+        Query object = new Query("Test");
+
+        RequestTemplate template = encode(cache, object);
+        RequestTemplate cachedTemplate = encode(cache, object);
+        assertEquals(1, encoded.get());
+        assertArrayEquals(template.body(), cachedTemplate.body());
+        assertEquals(template.headers().get("Content-Type"), cachedTemplate.headers().get("Content-Type"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getWeight());
+
+        // the identity is different
+        encode(cache, new Query("Test"));
+        assertEquals(2, encoded.get());
+
+        // the encoder is different
+        cache.encode((o, t, rt) -> encoder.encode(o, t, rt), object, String.class, new RequestTemplate());
+        assertEquals(3, encoded.get());
+
+        // the null object is not cached
+        encode(cache, null);
+        encode(cache, null);
+        assertEquals(5, encoded.get());
+        assertTrue(cache.toString().startsWith("EncodedBodyCache{"));
+    }
+
+    @Test
+    void testEncodeOnMutableBody() {
+        EncodedBodyCache cache = new EncodedBodyCache(8, 1024);
+        String object = "Test";
+        encode(cache, object);
+        encode(cache, object);
+        assertEquals(2, encoded.get());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    void testEncodeOnCollectedBody() throws InterruptedException {
+        EncodedBodyCache cache = new EncodedBodyCache(8, 1024);
+        encode(cache, new Query("Test"));
+        assertEquals(1, cache.size());
+        for (int i = 0; i < 100 && cache.size() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void testIdentityKey() {
+        Query object = new Query("Test");
+        IdentityKey key = new IdentityKey(object);
+        assertEquals(key, new IdentityKey(object));
+        assertEquals(key.hashCode(), new IdentityKey(object).hashCode());
+        assertNotEquals(key, new IdentityKey(new Query("Test")));
+        assertNotEquals(key, object);
+        key.clear();
+        assertEquals(key, key);
+        assertNotEquals(key, new IdentityKey(object));
+    }
+
+    @Test
+    void testEncodeOnContentType() {
+        EncodedBodyCache cache = new EncodedBodyCache(8, 1024);
+        Query object = new Query("Test");
+        encode(cache, object);
+        RequestTemplate template = new RequestTemplate();
+        template.header("Content-Type", "application/json");
+        cache.encode(encoder, object, String.class, template);
+        assertEquals(2, encoded.get());
+    }
+
+    @Test
+    void testEncodeOnKeyResolver() {
+        EncodedBodyCache cache = new EncodedBodyCache(8, 1024, String::valueOf);
+        encode(cache, new String("Test"));
+        encode(cache, new String("Test"));
+        assertEquals(1, encoded.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void testEviction() {
+        EncodedBodyCache cache = new EncodedBodyCache(2, 1024, String::valueOf);
+        encode(cache, "a");
+        encode(cache, "b");
+        encode(cache, "a");
+        encode(cache, "c");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        // "b" is the least recently used
+        encode(cache, "a");
+        assertEquals(3, encoded.get());
+        encode(cache, "b");
+        assertEquals(4, encoded.get());
+
+        cache = new EncodedBodyCache(8, 4, String::valueOf);
+        encode(cache, "ab");
+        encode(cache, "cd");
+        encode(cache, "ef");
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.getWeight());
+        // the body exceeds the max weight
+        encode(cache, "ghijk");
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getWeight());
+    }
+
+    private RequestTemplate encode(EncodedBodyCache cache, Object object) {
+        RequestTemplate template = new RequestTemplate();
+        cache.encode(encoder, object, String.class, template);
+        return template;
+    }
+
+    @ImmutableBody
+    static final class Query {
+
+        private final String name;
+
+        Query(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.MethodMetadata;
+import io.microsphere.spring.cloud.openfeign.BaseClient;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedContractTest.AnotherTestContract;
+import io.microsphere.spring.cloud.openfeign.components.DecoratedContractTest.TestContract;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link MethodMetadataCache} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MethodMetadataCache
+ * @since 1.0.0
+ */
+class MethodMetadataCacheTest {
+
+    private MethodMetadataCache methodMetadataCache;
+
+    @BeforeEach
+    void setUp() {
+        TestContract.parsed.set(0);
+        this.methodMetadataCache = new MethodMetadataCache();
+    }
+
+    @Test
+    void testParseAndValidateMetadata() {
+        List<MethodMetadata> methodMetadataList = this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new TestContract());
+        List<MethodMetadata> cachedMethodMetadataList = this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new TestContract());
+        assertEquals(methodMetadataList.size(), cachedMethodMetadataList.size());
+        assertEquals(1, TestContract.parsed.get());
+
+        // re-parsed by the other class of Contract
+        this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new AnotherTestContract());
+        assertEquals(2, TestContract.parsed.get());
+        this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new AnotherTestContract());
+        assertEquals(2, TestContract.parsed.get());
+
+        // not shared by the other caches
+        new MethodMetadataCache().parseAndValidateMetadata(BaseClient.class, new AnotherTestContract());
+        assertEquals(3, TestContract.parsed.get());
+    }
+
+    @Test
+    void testParseAndValidateMetadataOnCopy() {
+        MethodMetadata methodMetadata = this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new TestContract()).get(0);
+        MethodMetadata copy = this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new TestContract()).get(0);
+        assertNotSame(methodMetadata, copy);
+        assertNotSame(methodMetadata.template(), copy.template());
+        assertSame(copy, copy.template().methodMetadata());
+        assertEquals(methodMetadata.configKey(), copy.configKey());
+        assertEquals(methodMetadata.returnType(), copy.returnType());
+        assertEquals(methodMetadata.template().method(), copy.template().method());
+        assertEquals(methodMetadata.template().url(), copy.template().url());
+        assertEquals(methodMetadata.indexToName(), copy.indexToName());
+        assertNotSame(methodMetadata.indexToName(), copy.indexToName());
+
+        // the changes of the copy are not visible to the others
+        copy.template().header("X-Test", "test");
+        copy.indexToName().clear();
+        MethodMetadata another = this.methodMetadataCache.parseAndValidateMetadata(BaseClient.class, new TestContract()).get(0);
+        assertFalse(another.template().headers().containsKey("X-Test"));
+        assertEquals(methodMetadata.indexToName(), another.indexToName());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.components;
+
+import feign.Client;
+import feign.Feign;
+import feign.FeignException;
+import feign.RequestLine;
+import feign.Retryer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static feign.Response.builder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link RetryBudgetClient} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RetryBudgetClient
+ * @since 1.0.0
+ */
+class RetryBudgetClientTest {
+
+    private int status;
+
+    private AtomicInteger decodes;
+
+    private RetryBudget retryBudget;
+
+    private RetryBudgetClient client;
+
+    private TestApi testApi;
+
+    @BeforeEach
+    void setUp() {
+        this.status = 200;
+        this.decodes = new AtomicInteger();
+        this.retryBudget = new RetryBudget(0.5, 1);
+        Client delegate = (request, options) -> builder()
+                .status(this.status)
+                .request(request)
+                .body(new byte[0])
+                .build();
+        this.client = new RetryBudgetClient(delegate, this.retryBudget);
+        this.testApi = Feign.builder()
+                .client(this.client)
+                .retryer(Retryer.NEVER_RETRY)
+                .decoder((response, type) -> {
+                    this.decodes.incrementAndGet();
+                    return "OK";
+                })
+                .target(TestApi.class, "http://localhost");
+    }
+
+    @Test
+    void testConstructorOnIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudgetClient(null, this.retryBudget));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudgetClient(this.client, null));
+    }
+
+    @Test
+    void testGetters() {
+        assertSame(this.retryBudget, this.client.getRetryBudget());
+    }
+
+    @Test
+    void testExecuteOnVoidMethod() {
+        this.testApi.execute();
+        assertEquals(0, this.decodes.get());
+        assertEquals(1, this.retryBudget.getDeposits());
+    }
+
+    @Test
+    void testExecuteOnDecodedMethod() {
+        assertEquals("OK", this.testApi.get());
+        assertEquals(1, this.decodes.get());
+        assertEquals(1, this.retryBudget.getDeposits());
+    }
+
+    @Test
+    void testExecuteOnFailure() {
+        this.status = 500;
+        assertThrows(FeignException.class, this.testApi::execute);
+        assertEquals(0, this.retryBudget.getDeposits());
+    }
+
+    @Test
+    void testIsSuccessful() {
+        for (int status : new int[]{200, 204, 299}) {
+            this.status = status;
+            this.testApi.execute();
+        }
+        assertEquals(3, this.retryBudget.getDeposits());
+    }
+
+    interface TestApi {
+
+        @RequestLine("POST /execute")
+        void execute();
+
+        @RequestLine("GET /get")
+        String get();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.microsphere.spring.cloud.openfeign.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.spring.cloud.openfeign.components.RetryBudget.DEFAULT_MAX_RETRIES;
+import static io.microsphere.spring.cloud.openfeign.components.RetryBudget.DEFAULT_RATIO;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RetryBudget} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RetryBudget
+ * @since 1.0.0
+ */
+class RetryBudgetTest {
+
+    @Test
+    void testConstructorOnIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(-0.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(1.1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RetryBudget(0.5, 0));
+    }
+
+    @Test
+    void testDefaults() {
+        RetryBudget retryBudget = new RetryBudget(DEFAULT_RATIO, DEFAULT_MAX_RETRIES);
+        assertEquals(0.2, retryBudget.getRatio());
+        assertEquals(20, retryBudget.getMaxRetries());
+        assertEquals(20.0, retryBudget.getBalance());
+        assertNotNull(retryBudget.toString());
+    }
+
+    @Test
+    void testWithdrawAndDeposit() {
+        RetryBudget retryBudget = new RetryBudget(0.5, 2);
+        assertTrue(retryBudget.tryWithdraw());
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+        assertEquals(0.0, retryBudget.getBalance());
+        assertEquals(2, retryBudget.getWithdrawals());
+        assertEquals(1, retryBudget.getRejections());
+
+        // two successful requests earn a retry
+        retryBudget.deposit();
+        assertFalse(retryBudget.tryWithdraw());
+        retryBudget.deposit();
+        assertTrue(retryBudget.tryWithdraw());
+        assertEquals(2, retryBudget.getDeposits());
+        assertEquals(3, retryBudget.getWithdrawals());
+        assertEquals(2, retryBudget.getRejections());
+
+        // the balance is capped by the max retries
+        for (int i = 0; i < 100; i++) {
+            retryBudget.deposit();
+        }
+        assertEquals(2.0, retryBudget.getBalance());
+
+        assertTrue(retryBudget.tryWithdraw());
+        retryBudget.refund();
+        assertEquals(2.0, retryBudget.getBalance());
+        assertEquals(3, retryBudget.getWithdrawals());
+    }
+
+    @Test
+    void testTryWithdrawConcurrently() throws Exception {
+        int maxRetries = 50;
+        RetryBudget retryBudget = new RetryBudget(0.1, maxRetries);
+        int threads = 8;
+        ExecutorService executorService = newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        AtomicInteger allowed = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                for (int j = 0; j < 100; j++) {
+                    if (retryBudget.tryWithdraw()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+        assertEquals(maxRetries, allowed.get());
+        assertEquals(maxRetries, retryBudget.getWithdrawals());
+        assertEquals(threads * 100 - maxRetries, retryBudget.getRejections());
+    }
+}
@@ -20,12 +20,24 @@ package io.microsphere.spring.cloud.openfeign.constants;
 
 import org.junit.jupiter.api.Test;
 
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.AUTO_REFRESH_DEBOUNCE_WINDOW_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.AUTO_REFRESH_EAGER_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_AUTO_CONFIGURATION_CLASS_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_BUILDER_CUSTOMIZER_CLASS_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_CAPABILITY_CLASS_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_CLASS_NAME;
 import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.FEIGN_CLIENT_FACTORY_BEAN_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.METER_REGISTRY_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.METRICS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.OBJECT_MAPPER_CLASS_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_ENABLED_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.RETRY_BUDGET_RATIO_PROPERTY_NAME;
+import static io.microsphere.spring.cloud.openfeign.constants.FeignConstants.STREAMING_DECODE_ENABLED_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
@@ -40,10 +52,22 @@ class FeignConstantsTest {
     @Test
     void test() {
         assertEquals("microsphere.spring.cloud.openfeign.enabled", ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.auto-refresh.eager", AUTO_REFRESH_EAGER_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.auto-refresh.debounce-window", AUTO_REFRESH_DEBOUNCE_WINDOW_PROPERTY_NAME);
         assertEquals("feign.Feign", FEIGN_CLASS_NAME);
         assertEquals("feign.Capability", FEIGN_CAPABILITY_CLASS_NAME);
         assertEquals("org.springframework.cloud.openfeign.FeignBuilderCustomizer", FEIGN_BUILDER_CUSTOMIZER_CLASS_NAME);
         assertEquals("org.springframework.cloud.openfeign.FeignClientFactoryBean", FEIGN_CLIENT_FACTORY_BEAN_CLASS_NAME);
         assertEquals("org.springframework.cloud.openfeign.FeignAutoConfiguration", FEIGN_AUTO_CONFIGURATION_CLASS_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.metrics.enabled", METRICS_ENABLED_PROPERTY_NAME);
+        assertEquals("io.micrometer.core.instrument.MeterRegistry", METER_REGISTRY_CLASS_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.retry-budget.enabled", RETRY_BUDGET_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.retry-budget.ratio", RETRY_BUDGET_RATIO_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.retry-budget.max-retries", RETRY_BUDGET_MAX_RETRIES_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.encoded-body-cache.enabled", ENCODED_BODY_CACHE_ENABLED_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.encoded-body-cache.max-entries", ENCODED_BODY_CACHE_MAX_ENTRIES_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.encoded-body-cache.max-weight", ENCODED_BODY_CACHE_MAX_WEIGHT_PROPERTY_NAME);
+        assertEquals("microsphere.spring.cloud.openfeign.streaming-decode.enabled", STREAMING_DECODE_ENABLED_PROPERTY_NAME);
+        assertEquals("com.fasterxml.jackson.databind.ObjectMapper", OBJECT_MAPPER_CLASS_NAME);
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.spring.cloud.openfeign.metrics;
+
+import feign.RequestTemplate;
+import feign.RetryableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Date;
+
+import static feign.Request.HttpMethod.GET;
+import static feign.Request.create;
+import static io.microsphere.spring.cloud.openfeign.metrics.FeignClientMetrics.NOOP;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.CONTEXT_ID_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.DECODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.ENCODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.ERROR_DECODE_METRIC_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.OUTCOME_TAG_NAME;
+import static io.microsphere.spring.cloud.openfeign.metrics.MicrometerFeignClientMetrics.RETRY_METRIC_NAME;
+import static io.microsphere.util.ArrayUtils.EMPTY_BYTE_ARRAY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MicrometerFeignClientMetrics} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MicrometerFeignClientMetrics
+ * @since 1.0.0
+ */
+class MicrometerFeignClientMetricsTest {
+
+    private static final String CONTEXT_ID = "test-context";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MicrometerFeignClientMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.metrics = new MicrometerFeignClientMetrics(this.meterRegistry, CONTEXT_ID);
+    }
+
+    @Test
+    void testRecordEncode() {
+        this.metrics.recordEncode(100, false);
+        this.metrics.recordEncode(200, true);
+        assertEquals(100, this.meterRegistry.get(ENCODE_METRIC_NAME).tag(CONTEXT_ID_TAG_NAME, CONTEXT_ID)
+                .tag(OUTCOME_TAG_NAME, "success").timer().totalTime(NANOSECONDS));
+        assertEquals(200, this.meterRegistry.get(ENCODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "failure").timer().totalTime(NANOSECONDS));
+    }
+
+    @Test
+    void testRecordDecode() {
+        this.metrics.recordDecode(100, false);
+        this.metrics.recordDecode(200, true);
+        this.metrics.recordDecode(300, true);
+        assertEquals(1, this.meterRegistry.get(DECODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "success").timer().count());
+        assertEquals(2, this.meterRegistry.get(DECODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "failure").timer().count());
+    }
+
+    @Test
+    void testRecordErrorDecode() {
+        this.metrics.recordErrorDecode(new RetryableException(503, "error", GET, (Date) null, create(GET, "http://localhost", emptyMap(), EMPTY_BYTE_ARRAY, UTF_8, new RequestTemplate())));
+        this.metrics.recordErrorDecode(new IllegalStateException());
+        this.metrics.recordErrorDecode(null);
+        assertEquals(1, this.meterRegistry.get(ERROR_DECODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "retryable").counter().count());
+        assertEquals(2, this.meterRegistry.get(ERROR_DECODE_METRIC_NAME).tag(OUTCOME_TAG_NAME, "non-retryable").counter().count());
+    }
+
+    @Test
+    void testRecordRetry() {
+        this.metrics.recordRetry(true);
+        this.metrics.recordRetry(true);
+        this.metrics.recordRetry(false);
+        assertEquals(2, this.meterRegistry.get(RETRY_METRIC_NAME).tag(OUTCOME_TAG_NAME, "retried").counter().count());
+        assertEquals(1, this.meterRegistry.get(RETRY_METRIC_NAME).tag(OUTCOME_TAG_NAME, "exhausted").counter().count());
+    }
+
+    @Test
+    void testCreate() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.refresh();
+        assertSame(NOOP, MicrometerFeignClientMetrics.create(context, CONTEXT_ID));
+        context.close();
+
+        context = new GenericApplicationContext();
+        context.registerBean(MeterRegistry.class, () -> this.meterRegistry);
+        context.refresh();
+        assertTrue(MicrometerFeignClientMetrics.create(context, CONTEXT_ID) instanceof MicrometerFeignClientMetrics);
+        context.close();
+    }
+}